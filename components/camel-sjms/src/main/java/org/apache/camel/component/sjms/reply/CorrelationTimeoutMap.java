@@ -20,7 +20,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 
-import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 
 import static org.apache.camel.TimeoutMap.Listener.Type.*;
 
@@ -29,7 +29,7 @@ import static org.apache.camel.TimeoutMap.Listener.Type.*;
  * trigger the waiting {@link org.apache.camel.Exchange} to timeout as well. Zero (or negative) timeout means infinite
  * but is actually encoded as {@link Integer#MAX_VALUE} which is 24 days.
  */
-class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandler> {
+class CorrelationTimeoutMap extends HashedWheelTimeoutMap<String, ReplyHandler> {
 
     private final BiConsumer<ReplyHandler, String> evictionTask;
 
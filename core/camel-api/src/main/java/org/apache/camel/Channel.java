@@ -77,6 +77,18 @@ public interface Channel extends AsyncProcessor, Navigate<Processor> {
      */
     Processor getNextProcessor();
 
+    /**
+     * Whether this channel is only a thin wrapper around the next processor, which means there are no interceptors, JMX
+     * instrumentation or advices (such as tracing, debugging or message history) other than keeping track of the
+     * current node and stream caching. The routing engine may then fuse the next processor with its neighbours and
+     * invoke it directly, and only route via this channel if the processing failed.
+     *
+     * @return <tt>true</tt> if the next processor can be invoked directly
+     */
+    default boolean isFusible() {
+        return false;
+    }
+
     /**
      * Gets the {@link Route}
      *
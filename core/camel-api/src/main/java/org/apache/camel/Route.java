@@ -51,6 +51,7 @@ public interface Route extends RuntimeConfiguration {
     String DESCRIPTION_PROPERTY = "description";
     String CONFIGURATION_ID_PROPERTY = "configurationId";
     String SUPERVISED = "supervised";
+    String FUSED_PROPERTY = "fused";
 
     /**
      * Gets the route id
@@ -55,6 +55,13 @@ public interface ExchangeFactoryManager extends StaticService {
      */
     int getCapacity();
 
+    /**
+     * Whether extended pooling is in use, where the pooled exchanges also recycle their message headers in place.
+     */
+    default boolean isExtendedPooling() {
+        return false;
+    }
+
     /**
      * Number of currently exchanges being pooled (if pooled is in use)
      */
@@ -54,6 +54,13 @@ public interface InternalProcessor extends AsyncProcessor {
      */
     <T> T getAdvice(Class<T> type);
 
+    /**
+     * Gets the added advices.
+     *
+     * @return the advices (unmodifiable)
+     */
+    List<CamelInternalProcessorAdvice<?>> getAdvices();
+
     /**
      * Adds advice for handling {@link RoutePolicy} for the route
      */
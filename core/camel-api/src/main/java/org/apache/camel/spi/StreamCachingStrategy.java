@@ -64,6 +64,34 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the counter for number of {@link StreamCache} spooled to off-heap memory.
+         * <p/>
+         * These are also included in the spooled counters.
+         */
+        long getCacheOffHeapCounter();
+
+        /**
+         * Gets the total accumulated number of bytes which has been stream cached for off-heap stream caches.
+         */
+        long getCacheOffHeapSize();
+
+        /**
+         * Gets the average number of bytes per cached stream for off-heap stream caches.
+         */
+        long getCacheOffHeapAverageSize();
+
+        /**
+         * Gets the number of bytes of off-heap memory currently in use.
+         */
+        long getOffHeapUsed();
+
+        /**
+         * Gets the counter for number of times the off-heap budget was exhausted, and the stream was spooled to disk
+         * instead.
+         */
+        long getOffHeapOverflowCounter();
+
         /**
          * Reset the counters
          */
@@ -224,6 +252,25 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolCipher();
 
+    /**
+     * Sets the maximum number of bytes of off-heap memory to use for spooling streams, before spooling to disk. When
+     * the budget is exhausted, then the streams are spooled to disk.
+     * <p/>
+     * This option is default <tt>0</tt> which means off-heap spooling is disabled.
+     */
+    void setSpoolOffHeapBudget(long budget);
+
+    long getSpoolOffHeapBudget();
+
+    /**
+     * Sets the size in bytes of the segments of off-heap memory which are pooled and reused.
+     * <p/>
+     * This option is default <tt>65536</tt> (64kb)
+     */
+    void setSpoolOffHeapSegmentSize(int segmentSize);
+
+    int getSpoolOffHeapSegmentSize();
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+/**
+ * A shared timer to run a large number of one-shot delayed tasks, such as the delayed exchanges of the Delayer EIP, and
+ * the asynchronous redeliveries of the error handlers.
+ * <p/>
+ * The tasks are kept in a hashed timer wheel, which makes scheduling and cancelling a task O(1) regardless of how many
+ * tasks are waiting, instead of O(log n) for a {@link java.util.concurrent.ScheduledExecutorService}. The tasks are run
+ * with the precision of the tick duration of the wheel, and are never run before their delay has elapsed.
+ */
+public interface TimerWheel {
+
+    /**
+     * Schedules the task to run once, after the given delay.
+     *
+     * @param  task                                            the task
+     * @param  delay                                           the delay in millis
+     * @return                                                 the timeout which can be used to cancel the task
+     * @throws java.util.concurrent.RejectedExecutionException if the timer is not started
+     */
+    Timeout schedule(Runnable task, long delay);
+
+    /**
+     * Number of tasks waiting to be run
+     */
+    int size();
+
+    /**
+     * The tick duration in millis
+     */
+    long getTickDuration();
+
+    /**
+     * A handle to a task scheduled on the {@link TimerWheel}.
+     */
+    interface Timeout {
+
+        /**
+         * Cancels the task.
+         *
+         * @return <tt>true</tt> if the task was cancelled, or <tt>false</tt> if the task has already been run or
+         *         cancelled
+         */
+        boolean cancel();
+
+        /**
+         * Whether the task has been cancelled
+         */
+        boolean isCancelled();
+
+        /**
+         * Whether the delay has elapsed and the task has been run (or is about to run)
+         */
+        boolean isExpired();
+    }
+}
@@ -64,6 +64,21 @@ public interface TypeConverterRegistry extends StaticService, CamelContextAware
          */
         long getFailedCounter();
 
+        /**
+         * Number of attempts where the converter for the given types was already resolved (and cached) by a previous
+         * attempt
+         */
+        default long getCacheHitCounter() {
+            return 0;
+        }
+
+        /**
+         * Number of attempts where the converter for the given types had to be resolved
+         */
+        default long getCacheMissCounter() {
+            return 0;
+        }
+
         /**
          * Reset the counters
          */
@@ -18,6 +18,7 @@ package org.apache.camel.impl.engine;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -177,6 +178,31 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         return null;
     }
 
+    @Override
+    public List<CamelInternalProcessorAdvice<?>> getAdvices() {
+        return Collections.unmodifiableList(advices);
+    }
+
+    /**
+     * Whether all the added advices are of the given types
+     */
+    boolean hasOnlyAdvices(Class<?>... types) {
+        for (CamelInternalProcessorAdvice<?> task : advices) {
+            Object advice = unwrap(task);
+            boolean match = false;
+            for (Class<?> type : types) {
+                if (type.isInstance(advice)) {
+                    match = true;
+                    break;
+                }
+            }
+            if (!match) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void addRoutePolicyAdvice(List<RoutePolicy> routePolicyList) {
         addAdvice(new CamelInternalProcessor.RoutePolicyAdvice(routePolicyList));
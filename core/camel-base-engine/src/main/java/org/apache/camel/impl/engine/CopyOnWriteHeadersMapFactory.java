@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.CopyOnWriteMap;
+
+/**
+ * {@link HeadersMapFactory} which uses a {@link CopyOnWriteMap} on top of the headers from another factory (by default
+ * {@link DefaultHeadersMapFactory}).
+ * <p/>
+ * When a message is copied, such as via {@link org.apache.camel.Exchange#copy()} or for the branches of the multicast,
+ * recipient list and splitter EIPs, then the copy shares the headers with the original message, until either message
+ * updates its headers. This avoids copying the headers for copies that only read the headers.
+ */
+public class CopyOnWriteHeadersMapFactory implements HeadersMapFactory {
+
+    private final HeadersMapFactory factory;
+    private final UnaryOperator<Map<String, Object>> copier;
+
+    public CopyOnWriteHeadersMapFactory() {
+        this(new DefaultHeadersMapFactory());
+    }
+
+    public CopyOnWriteHeadersMapFactory(HeadersMapFactory factory) {
+        this.factory = factory;
+        this.copier = factory::newMap;
+    }
+
+    public HeadersMapFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public Map<String, Object> newMap() {
+        return new CopyOnWriteMap<>(factory.newMap(), copier);
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        if (isInstanceOf(map)) {
+            return ((CopyOnWriteMap<String, Object>) map).share();
+        }
+        return new CopyOnWriteMap<>(factory.newMap(map), copier);
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof CopyOnWriteMap<String, Object> cow && cow.getCopier() == copier;
+    }
+
+    @Override
+    public boolean isCaseInsensitive() {
+        return factory.isCaseInsensitive();
+    }
+}
@@ -121,6 +121,13 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
         return route;
     }
 
+    @Override
+    public boolean isFusible() {
+        // node history and stream caching are added by default and are cheap to execute
+        return instrumentationProcessor == null && output == nextProcessor
+                && hasOnlyAdvices(NodeHistoryAdvice.class, StreamCachingAdvice.class);
+    }
+
     @Override
     protected void doStart() throws Exception {
         // do not call super as we want to be in control here of the lifecycle
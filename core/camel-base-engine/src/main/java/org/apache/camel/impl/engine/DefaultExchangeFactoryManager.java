@@ -34,6 +34,7 @@ public class DefaultExchangeFactoryManager extends ServiceSupport implements Exc
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private CamelContext camelContext;
     private int capacity;
+    private boolean extendedPooling;
     private boolean statisticsEnabled;
 
     public CamelContext getCamelContext() {
@@ -49,6 +50,7 @@ public class DefaultExchangeFactoryManager extends ServiceSupport implements Exc
         factories.put(exchangeFactory.getConsumer(), exchangeFactory);
         // same for all factories
         capacity = exchangeFactory.getCapacity();
+        extendedPooling = exchangeFactory instanceof PooledExchangeFactory pef && pef.isExtendedPooling();
         statisticsEnabled = exchangeFactory.isStatisticsEnabled();
     }
 
@@ -72,6 +74,11 @@ public class DefaultExchangeFactoryManager extends ServiceSupport implements Exc
         return capacity;
     }
 
+    @Override
+    public boolean isExtendedPooling() {
+        return extendedPooling;
+    }
+
     @Override
     public int getPooledCounter() {
         int counter = 0;
@@ -33,6 +33,8 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.OffHeapArena;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.TempDirHelper;
 import org.apache.camel.support.service.ServiceSupport;
@@ -61,6 +63,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private int spoolUsedHeapMemoryThreshold;
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolCipher;
+    private long spoolOffHeapBudget;
+    private int spoolOffHeapSegmentSize = 64 * 1024;
+    private OffHeapArena offHeapArena;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
@@ -180,6 +185,26 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.spoolCipher = spoolCipher;
     }
 
+    @Override
+    public long getSpoolOffHeapBudget() {
+        return spoolOffHeapBudget;
+    }
+
+    @Override
+    public void setSpoolOffHeapBudget(long spoolOffHeapBudget) {
+        this.spoolOffHeapBudget = spoolOffHeapBudget;
+    }
+
+    @Override
+    public int getSpoolOffHeapSegmentSize() {
+        return spoolOffHeapSegmentSize;
+    }
+
+    @Override
+    public void setSpoolOffHeapSegmentSize(int spoolOffHeapSegmentSize) {
+        this.spoolOffHeapSegmentSize = spoolOffHeapSegmentSize;
+    }
+
     @Override
     public int getBufferSize() {
         return bufferSize;
@@ -318,6 +343,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                 statistics.updateMemory(cache.length());
             } else {
                 statistics.updateSpool(cache.length());
+                if (cache instanceof OffHeapInputStreamCache) {
+                    statistics.updateOffHeap(cache.length());
+                }
             }
         } catch (Exception e) {
             LOG.debug("Error updating cache statistics. This exception is ignored.", e);
@@ -408,6 +436,13 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                 }
                 spoolRules.add(new UsedHeapMemorySpoolRule(spoolUsedHeapMemoryLimit));
             }
+            if (spoolOffHeapBudget > 0) {
+                // spool to off-heap memory before spooling to disk
+                offHeapArena = new OffHeapArena(spoolOffHeapBudget, spoolOffHeapSegmentSize);
+                camelContext.getCamelContextExtension().addContextPlugin(OffHeapArena.class, offHeapArena);
+                statistics.offHeapArena = offHeapArena;
+                LOG.debug("Using off-heap spool: {}", offHeapArena);
+            }
         }
 
         LOG.debug("StreamCaching configuration {}", this);
@@ -434,6 +469,11 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
 
         statistics.reset();
+
+        if (offHeapArena != null) {
+            // release the pooled off-heap memory (in use segments are released when their exchanges are done)
+            offHeapArena.clear();
+        }
     }
 
     private boolean isSpoolRemovable() {
@@ -447,6 +487,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + ", spoolDirectory=" + spoolDirectory
                + ", spoolCipher=" + spoolCipher
                + ", spoolThreshold=" + spoolThreshold
+               + ", spoolOffHeapBudget=" + spoolOffHeapBudget
+               + ", spoolOffHeapSegmentSize=" + spoolOffHeapSegmentSize
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
                + ", bufferSize=" + bufferSize
                + ", anySpoolRules=" + anySpoolRules + "]";
@@ -528,6 +570,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         private final AtomicLong spoolCounter = new AtomicLong();
         private final AtomicLong spoolSize = new AtomicLong();
         private final AtomicLong spoolAverageSize = new AtomicLong();
+        private final AtomicLong offHeapCounter = new AtomicLong();
+        private final AtomicLong offHeapSize = new AtomicLong();
+        private final AtomicLong offHeapAverageSize = new AtomicLong();
+        private volatile OffHeapArena offHeapArena;
 
         void updateMemory(long size) {
             lock.lock();
@@ -543,7 +589,16 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             try {
                 spoolAverageSize.set(spoolSize.addAndGet(size) / spoolCounter.incrementAndGet());
             } finally {
-                lock.lock();
+                lock.unlock();
+            }
+        }
+
+        void updateOffHeap(long size) {
+            lock.lock();
+            try {
+                offHeapAverageSize.set(offHeapSize.addAndGet(size) / offHeapCounter.incrementAndGet());
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -577,6 +632,33 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             return spoolAverageSize.get();
         }
 
+        @Override
+        public long getCacheOffHeapCounter() {
+            return offHeapCounter.get();
+        }
+
+        @Override
+        public long getCacheOffHeapSize() {
+            return offHeapSize.get();
+        }
+
+        @Override
+        public long getCacheOffHeapAverageSize() {
+            return offHeapAverageSize.get();
+        }
+
+        @Override
+        public long getOffHeapUsed() {
+            OffHeapArena arena = offHeapArena;
+            return arena != null ? arena.getUsed() : 0;
+        }
+
+        @Override
+        public long getOffHeapOverflowCounter() {
+            OffHeapArena arena = offHeapArena;
+            return arena != null ? arena.getOverflowCounter() : 0;
+        }
+
         @Override
         public void reset() {
             lock.lock();
@@ -587,6 +669,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                 spoolCounter.set(0);
                 spoolSize.set(0);
                 spoolAverageSize.set(0);
+                offHeapCounter.set(0);
+                offHeapSize.set(0);
+                offHeapAverageSize.set(0);
             } finally {
                 lock.unlock();
             }
@@ -605,8 +690,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         @Override
         public String toString() {
             return String.format(
-                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s, offHeapCounter=%s, offHeapSize=%s, offHeapAverageSize=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize,
+                    offHeapCounter, offHeapSize, offHeapAverageSize);
         }
     }
 
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.InternedCaseInsensitiveMap;
+
+/**
+ * {@link HeadersMapFactory} which uses the {@link InternedCaseInsensitiveMap} that stores the headers in open
+ * addressing arrays, instead of allocating an entry per header.
+ * <p/>
+ * The well-known {@link Exchange} header constants are interned, so looking up headers by these constants is an
+ * identity compare. Components can intern their own header constants via {@link #internHeaders(Class)}. Copying the
+ * headers (such as when copying an exchange) is an array clone.
+ */
+public class InternedHeadersMapFactory implements HeadersMapFactory {
+
+    public InternedHeadersMapFactory() {
+        internHeaders(Exchange.class);
+    }
+
+    /**
+     * Interns the header names from all the public static String constants of the given class, such as the component
+     * header constants.
+     */
+    public void internHeaders(Class<?> constants) {
+        List<String> names = new ArrayList<>();
+        for (Field field : constants.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    names.add((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    // ignore
+                }
+            }
+        }
+        InternedCaseInsensitiveMap.intern(names);
+    }
+
+    /**
+     * Interns the given header names
+     */
+    public void internHeaders(String... names) {
+        InternedCaseInsensitiveMap.intern(List.of(names));
+    }
+
+    @Override
+    public Map<String, Object> newMap() {
+        return new InternedCaseInsensitiveMap();
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        return new InternedCaseInsensitiveMap(map);
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof InternedCaseInsensitiveMap;
+    }
+
+    @Override
+    public boolean isCaseInsensitive() {
+        return true;
+    }
+}
@@ -0,0 +1,510 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.NamedThreadLocal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A work-stealing {@link ReactiveExecutor}.
+ * <p/>
+ * This executor works as the {@link DefaultReactiveExecutor} where each thread has its own worker with a queue of
+ * reactive tasks that is executed by the calling thread. However, when a worker builds up a backlog of tasks (more than
+ * the steal threshold) then a pool of stealer threads (by default one per core) are signalled to steal tasks from the
+ * tail of the queue and execute them, so the backlog is spread over the idle cores.
+ * <p/>
+ * Only tasks scheduled via {@link #schedule(Runnable)} while the worker is already busy can be stolen. Tasks scheduled
+ * via {@link #scheduleMain(Runnable)}, {@link #scheduleSync(Runnable)} and tasks scheduled via
+ * {@link #scheduleQueue(Runnable)} (used by transacted routes, which are kept in a separate queue that cannot be stolen)
+ * are always executed by the calling thread.
+ * <p/>
+ * To use this executor then set it on the {@link org.apache.camel.ExtendedCamelContext} before the {@link CamelContext}
+ * is started, or bind an instance in the registry when using Camel Main.
+ */
+@ManagedResource(description = "Managed WorkStealingReactiveExecutor")
+public class WorkStealingReactiveExecutor extends ServiceSupport
+        implements ReactiveExecutor, StaticService, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingReactiveExecutor.class);
+
+    private CamelContext camelContext;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int stealThreshold = 16;
+    private ExecutorService stealers;
+
+    // workers that have a backlog and where tasks can be stolen
+    private final ConcurrentLinkedQueue<Worker> victims = new ConcurrentLinkedQueue<>();
+    private final Semaphore signal = new Semaphore(0);
+
+    // use for statistics so we have insights at runtime
+    private boolean statisticsEnabled;
+    private final AtomicInteger createdWorkers = new AtomicInteger();
+    private final LongAdder runningWorkers = new LongAdder();
+    private final LongAdder pendingTasks = new LongAdder();
+    private final LongAdder stolenTasks = new LongAdder();
+    private final LongAdder stealAttempts = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+    private final NamedThreadLocal<Worker> workers = new NamedThreadLocal<>("CamelReactiveWorker", () -> {
+        int number = createdWorkers.incrementAndGet();
+        return new Worker(number, WorkStealingReactiveExecutor.this);
+    });
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedAttribute(description = "Number of stealer threads")
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Number of stealer threads that can steal tasks from busy workers. Is by default the number of available
+     * processors.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @ManagedAttribute(description = "Number of stealable pending tasks a worker must have before its tasks can be stolen")
+    public int getStealThreshold() {
+        return stealThreshold;
+    }
+
+    /**
+     * Number of pending tasks a worker must have in its queue (not counting tasks that cannot be stolen), before the
+     * stealer threads are signalled to steal tasks from the worker. Is by default 16.
+     */
+    public void setStealThreshold(int stealThreshold) {
+        this.stealThreshold = stealThreshold;
+    }
+
+    @Override
+    public void schedule(Runnable runnable) {
+        workers.get().schedule(runnable, false, false, false);
+    }
+
+    @Override
+    public void scheduleMain(Runnable runnable) {
+        workers.get().schedule(runnable, true, true, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable) {
+        workers.get().schedule(runnable, false, true, true);
+    }
+
+    @Override
+    public void scheduleQueue(Runnable runnable) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("ScheduleQueue: {}", runnable);
+        }
+        workers.get().enqueueLocal(runnable);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return workers.get().executeFromQueue();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Whether statistics is enabled")
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    @ManagedAttribute(description = "Number of created workers")
+    public int getCreatedWorkers() {
+        return createdWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of running workers")
+    public int getRunningWorkers() {
+        return runningWorkers.intValue();
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks")
+    public int getPendingTasks() {
+        return pendingTasks.intValue();
+    }
+
+    @ManagedAttribute(description = "Largest number of pending tasks in the queue of a single worker")
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    @ManagedAttribute(description = "Number of workers that currently have a backlog that can be stolen")
+    public int getVictimWorkers() {
+        return victims.size();
+    }
+
+    @ManagedAttribute(description = "Number of tasks stolen and executed by the stealer threads")
+    public long getStolenTasks() {
+        return stolenTasks.sum();
+    }
+
+    @ManagedAttribute(description = "Number of attempts by the stealer threads to steal tasks")
+    public long getStealAttempts() {
+        return stealAttempts.sum();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "CamelContext", this);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be a positive number, was: " + parallelism);
+        }
+        if (stealers == null) {
+            final ExecutorService pool
+                    = camelContext.getExecutorServiceManager().newFixedThreadPool(this, "ReactiveStealer", parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                pool.execute(() -> steal(pool));
+            }
+            stealers = pool;
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (LOG.isDebugEnabled() && statisticsEnabled) {
+            LOG.debug(
+                    "Stopping WorkStealingReactiveExecutor [createdWorkers: {}, runningWorkers: {}, pendingTasks: {}, maxQueueDepth: {}, stolenTasks: {}, stealAttempts: {}]",
+                    getCreatedWorkers(), getRunningWorkers(), getPendingTasks(), getMaxQueueDepth(), getStolenTasks(),
+                    getStealAttempts());
+        }
+        if (stealers != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(stealers);
+            stealers = null;
+        }
+        victims.clear();
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        workers.remove();
+    }
+
+    /**
+     * Signals the stealer threads that the worker has a backlog.
+     */
+    private void offerVictim(Worker worker) {
+        if (stealers != null && worker.victim.compareAndSet(false, true)) {
+            victims.offer(worker);
+            signal.release();
+        }
+    }
+
+    /**
+     * The task each stealer thread runs until the executor is stopped.
+     */
+    private void steal(ExecutorService pool) {
+        while (!pool.isShutdown() && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (!signal.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            Worker victim;
+            while ((victim = victims.poll()) != null) {
+                if (statisticsEnabled) {
+                    stealAttempts.increment();
+                }
+                Runnable task = victim.steal();
+                if (task != null && victim.stealable() > stealThreshold) {
+                    // still has a backlog so let other stealers help as well
+                    victims.offer(victim);
+                    signal.release();
+                } else {
+                    victim.victim.set(false);
+                }
+                if (task != null) {
+                    if (statisticsEnabled) {
+                        stolenTasks.increment();
+                    }
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Stolen task from worker #{}: {}", victim.number, task);
+                    }
+                    // run the task via the worker of this thread, so any work it schedules is also executed (or stolen)
+                    workers.get().schedule(task, false, false, false);
+                }
+            }
+        }
+    }
+
+    private static class Worker {
+
+        private final int number;
+        private final WorkStealingReactiveExecutor executor;
+        private final boolean stats;
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicBoolean victim = new AtomicBoolean();
+        // the current queue is the only queue where tasks can be stolen
+        private volatile TaskQueue queue = new TaskQueue();
+        private volatile Deque<TaskQueue> back;
+        // tasks scheduled from the queue (transacted) which must stay on this thread
+        private final Deque<Runnable> local = new ArrayDeque<>();
+        private volatile boolean running;
+        // when executing from the queue (transacted) then the work must stay on this thread
+        private volatile int pinned;
+
+        public Worker(int number, WorkStealingReactiveExecutor executor) {
+            this.number = number;
+            this.executor = executor;
+            this.stats = executor.isStatisticsEnabled();
+        }
+
+        void schedule(Runnable runnable, boolean first, boolean main, boolean sync) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Schedule [first={}, main={}, sync={}]: {}", first, main, sync, runnable);
+            }
+            if (main) {
+                executeMainFlow();
+            }
+            enqueue(runnable, first);
+
+            if (!running || sync) {
+                running = true;
+                incrementRunningWorkers();
+                try {
+                    executeReactiveWork();
+                } finally {
+                    running = false;
+                    decrementRunningWorkers();
+                }
+            } else {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Queuing reactive work: {}", runnable);
+                }
+                if (stealable() > executor.stealThreshold) {
+                    executor.offerVictim(this);
+                }
+            }
+        }
+
+        void enqueue(Runnable runnable, boolean first) {
+            if (first) {
+                queue.addFirst(runnable);
+            } else {
+                queue.addLast(runnable);
+            }
+            added();
+        }
+
+        void enqueueLocal(Runnable runnable) {
+            local.addLast(runnable);
+            added();
+        }
+
+        private void added() {
+            int size = depth.incrementAndGet();
+            if (stats) {
+                executor.pendingTasks.increment();
+                executor.maxQueueDepth.accumulate(size);
+            }
+        }
+
+        /**
+         * Number of pending tasks that can be stolen
+         */
+        int stealable() {
+            return pinned > 0 ? 0 : queue.size();
+        }
+
+        private void executeMainFlow() {
+            if (!queue.isEmpty()) {
+                if (back == null) {
+                    back = new ArrayDeque<>();
+                }
+                back.push(queue);
+                queue = new TaskQueue();
+            }
+        }
+
+        private void executeReactiveWork() {
+            for (;;) {
+                final Runnable polled = poll();
+                if (polled == null) {
+                    if (back != null && !back.isEmpty()) {
+                        queue = back.pollFirst();
+                        continue;
+                    } else {
+                        break;
+                    }
+                }
+                doRun(polled);
+            }
+        }
+
+        private Runnable poll() {
+            Runnable polled = queue.pollFirst();
+            if (polled == null) {
+                polled = local.pollFirst();
+            }
+            if (polled != null) {
+                taken();
+            }
+            return polled;
+        }
+
+        /**
+         * Steals the last task of the current queue (called by the stealer threads)
+         */
+        Runnable steal() {
+            if (pinned > 0) {
+                return null;
+            }
+            final Runnable polled = queue.pollLast();
+            if (polled != null) {
+                taken();
+            }
+            return polled;
+        }
+
+        private void taken() {
+            depth.decrementAndGet();
+            if (stats) {
+                executor.pendingTasks.decrement();
+            }
+        }
+
+        private void doRun(Runnable polled) {
+            try {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Worker #{} running: {}", number, polled);
+                }
+                polled.run();
+            } catch (Exception t) {
+                LOG.warn("Error executing reactive work due to {}. This exception is ignored.",
+                        t.getMessage(), t);
+            }
+        }
+
+        private void decrementRunningWorkers() {
+            if (stats) {
+                executor.runningWorkers.decrement();
+            }
+        }
+
+        private void incrementRunningWorkers() {
+            if (stats) {
+                executor.runningWorkers.increment();
+            }
+        }
+
+        boolean executeFromQueue() {
+            final Runnable polled = poll();
+            if (polled == null) {
+                return false;
+            }
+            pinned++;
+            try {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Running: {}", polled);
+                }
+                polled.run();
+            } catch (Exception t) {
+                // should not happen
+                LOG.warn("Error executing reactive work due to {}. This exception is ignored.", t.getMessage(), t);
+            } finally {
+                pinned--;
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * A queue of tasks which keeps track of its size, as the size of a {@link ConcurrentLinkedDeque} is not a constant
+     * time operation.
+     */
+    private static final class TaskQueue {
+
+        private final ConcurrentLinkedDeque<Runnable> tasks = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void addFirst(Runnable runnable) {
+            tasks.addFirst(runnable);
+            size.incrementAndGet();
+        }
+
+        void addLast(Runnable runnable) {
+            tasks.addLast(runnable);
+            size.incrementAndGet();
+        }
+
+        Runnable pollFirst() {
+            return taken(tasks.pollFirst());
+        }
+
+        Runnable pollLast() {
+            return taken(tasks.pollLast());
+        }
+
+        boolean isEmpty() {
+            return tasks.isEmpty();
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        private Runnable taken(Runnable polled) {
+            if (polled != null) {
+                size.decrementAndGet();
+            }
+            return polled;
+        }
+    }
+
+}
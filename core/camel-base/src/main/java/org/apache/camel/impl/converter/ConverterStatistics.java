@@ -55,6 +55,16 @@ interface ConverterStatistics extends TypeConverterRegistry.Statistics {
      */
     void incrementAttempt();
 
+    /**
+     * Increment the count of conversions where the converter was already resolved
+     */
+    void incrementCacheHit();
+
+    /**
+     * Increment the count of conversions where the converter had to be resolved
+     */
+    void incrementCacheMiss();
+
     /**
      * Log the statistics from the converters
      *
@@ -70,6 +70,9 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
     // Why 256: as of Camel 4, we have about 230 type converters. Therefore, set the capacity to a few more to provide
     // space for others added during runtime
     private final Map<TypeConvertible<?, ?>, TypeConverter> converters = new ConcurrentHashMap<>(256);
+    // per (from, to) cache of the resolved converters (including misses), which is looked up by the classes directly
+    // so there is no need to create a key per conversion. This cache is replaced when the converters are changed.
+    private volatile Map<Class<?>, Map<Class<?>, TypeConverter>> resolved = new ConcurrentHashMap<>();
 
     protected CoreTypeConverterRegistry(boolean statisticsEnabled) {
         if (statisticsEnabled) {
@@ -383,15 +386,33 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
 
         // attempt bulk first which is the fastest (also taking into account primitives)
         final Class<?> aClass = type.isPrimitive() ? ObjectHelper.convertPrimitiveTypeToWrapperType(type) : type;
-        final TypeConvertible<?, ?> typeConvertible = new TypeConvertible<>(value.getClass(), aClass);
+        final Class<?> from = value.getClass();
 
-        final Object ret = tryCachedConverters(type, exchange, value, typeConvertible);
+        // the resolved converter (or miss) for this pair from previous conversions
+        final Map<Class<?>, Map<Class<?>, TypeConverter>> cache = resolved;
+        final Map<Class<?>, TypeConverter> toCache = cache.get(from);
+        final TypeConverter cached = toCache != null ? toCache.get(aClass) : null;
+        if (cached != null) {
+            if (!tryConvert) {
+                statistics.incrementCacheHit();
+            }
+            final Object ret = cached.convertTo(type, exchange, value);
+            if (ret != null) {
+                return ret;
+            }
+        } else if (!tryConvert) {
+            statistics.incrementCacheMiss();
+        }
+
+        final TypeConvertible<?, ?> typeConvertible = new TypeConvertible<>(from, aClass);
+
+        final Object ret = tryCachedConverters(type, exchange, value, typeConvertible, cache);
         if (ret != null) {
             return ret;
         }
 
         // fallback converters
-        final Object fallBackRet = tryFallback(type, exchange, value, tryConvert, typeConvertible);
+        final Object fallBackRet = tryFallback(type, exchange, value, tryConvert, typeConvertible, cache);
         if (fallBackRet != null) {
             return fallBackRet;
         }
@@ -399,6 +420,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         final TypeConverter assignableConverter = tryAssignableFrom(typeConvertible, converters);
         if (assignableConverter != null) {
             converters.put(typeConvertible, assignableConverter);
+            cacheResolved(cache, from, aClass, assignableConverter);
             return assignableConverter.convertTo(type, exchange, value);
         }
 
@@ -406,20 +428,25 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         final TypeConverter objConverter = converters.get(new TypeConvertible<>(Object.class, type));
         if (objConverter != null) {
             converters.put(typeConvertible, objConverter);
+            cacheResolved(cache, from, aClass, objConverter);
             return objConverter.convertTo(type, exchange, value);
         }
 
         converters.put(typeConvertible, MISS_CONVERTER);
+        cacheResolved(cache, from, aClass, MISS_CONVERTER);
 
         // Could not find suitable conversion, so return Void to indicate not found
         return TypeConverter.MISS_VALUE;
     }
 
-    private Object tryCachedConverters(Class<?> type, Exchange exchange, Object value, TypeConvertible<?, ?> typeConvertible) {
+    private Object tryCachedConverters(
+            Class<?> type, Exchange exchange, Object value, TypeConvertible<?, ?> typeConvertible,
+            Map<Class<?>, Map<Class<?>, TypeConverter>> cache) {
         final TypeConverter typeConverter = converters.get(typeConvertible);
         if (typeConverter != null) {
             final Object ret = typeConverter.convertTo(type, exchange, value);
             if (ret != null) {
+                cacheResolved(cache, typeConvertible.getFrom(), typeConvertible.getTo(), typeConverter);
                 return ret;
             }
         }
@@ -429,6 +456,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
             final Object ret = superConverterTc.convertTo(type, exchange, value);
             if (ret != null) {
                 converters.put(typeConvertible, superConverterTc);
+                cacheResolved(cache, typeConvertible.getFrom(), typeConvertible.getTo(), superConverterTc);
                 return ret;
             }
         }
@@ -436,9 +464,22 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         return null;
     }
 
+    private static void cacheResolved(
+            Map<Class<?>, Map<Class<?>, TypeConverter>> cache, Class<?> from, Class<?> to, TypeConverter typeConverter) {
+        cache.computeIfAbsent(from, k -> new ConcurrentHashMap<>()).put(to, typeConverter);
+    }
+
+    /**
+     * Discards the resolved converters, which must be done whenever the converters are changed, as a cached converter
+     * (or miss) may no longer be the best match.
+     */
+    private void invalidateResolved() {
+        resolved = new ConcurrentHashMap<>();
+    }
+
     private Object tryFallback(
             final Class<?> type, final Exchange exchange, final Object value, boolean tryConvert,
-            TypeConvertible<?, ?> typeConvertible) {
+            TypeConvertible<?, ?> typeConvertible, Map<Class<?>, Map<Class<?>, TypeConverter>> cache) {
         for (FallbackTypeConverter fallback : fallbackConverters) {
             TypeConverter tc = fallback.getFallbackTypeConverter();
 
@@ -454,6 +495,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
 
             if (rc != null) {
                 converters.put(typeConvertible, tc);
+                cacheResolved(cache, typeConvertible.getFrom(), typeConvertible.getTo(), tc);
                 // if fallback can promote then let it be promoted to a first class type converter
                 if (fallback.isCanPromote()) {
                     // add it as a known type converter since we found a fallback that could do it
@@ -484,6 +526,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
     @Override
     public void addConverter(TypeConvertible<?, ?> typeConvertible, TypeConverter typeConverter) {
         converters.put(typeConvertible, typeConverter);
+        invalidateResolved();
     }
 
     @Override
@@ -504,6 +547,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         if (converter == MISS_CONVERTER) {
             // we have previously attempted to convert but missed, so add this converter
             converters.put(typeConvertible, typeConverter);
+            invalidateResolved();
             return;
         }
 
@@ -521,6 +565,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
 
             if (add) {
                 converters.put(typeConvertible, typeConverter);
+                invalidateResolved();
             }
         }
     }
@@ -545,6 +590,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         LOG.trace("Removing type converter from: {} to: {}", fromType, toType);
         final TypeConverter removed = converters.remove(new TypeConvertible<>(fromType, toType));
+        invalidateResolved();
         return removed != null;
     }
 
@@ -559,6 +605,7 @@ public abstract class CoreTypeConverterRegistry extends ServiceSupport implement
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        invalidateResolved();
     }
 
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
@@ -37,6 +37,8 @@ final class TypeConverterStatistics implements ConverterStatistics {
     private final LongAdder missCounter = new LongAdder();
     private final LongAdder hitCounter = new LongAdder();
     private final LongAdder failedCounter = new LongAdder();
+    private final LongAdder cacheHitCounter = new LongAdder();
+    private final LongAdder cacheMissCounter = new LongAdder();
 
     @Override
     public long getNoopCounter() {
@@ -63,6 +65,16 @@ final class TypeConverterStatistics implements ConverterStatistics {
         return failedCounter.longValue();
     }
 
+    @Override
+    public long getCacheHitCounter() {
+        return cacheHitCounter.longValue();
+    }
+
+    @Override
+    public long getCacheMissCounter() {
+        return cacheMissCounter.longValue();
+    }
+
     @Override
     public boolean isStatisticsEnabled() {
         return true;
@@ -93,6 +105,16 @@ final class TypeConverterStatistics implements ConverterStatistics {
         attemptCounter.increment();
     }
 
+    @Override
+    public void incrementCacheHit() {
+        cacheHitCounter.increment();
+    }
+
+    @Override
+    public void incrementCacheMiss() {
+        cacheMissCounter.increment();
+    }
+
     @Override
     public void reset() {
         noopCounter.reset();
@@ -100,6 +122,8 @@ final class TypeConverterStatistics implements ConverterStatistics {
         hitCounter.reset();
         missCounter.reset();
         failedCounter.reset();
+        cacheHitCounter.reset();
+        cacheMissCounter.reset();
     }
 
     /**
@@ -126,8 +150,8 @@ final class TypeConverterStatistics implements ConverterStatistics {
         final AtomicInteger misses = computeCachedMisses(converters, missConverter);
 
         LOG.info(
-                "TypeConverterStatistics utilization[noop={}, attempts={}, hits={}, misses={}, failures={}] mappings[total={}, misses={}]",
-                getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter(), converters.size(),
-                misses);
+                "TypeConverterStatistics utilization[noop={}, attempts={}, hits={}, misses={}, failures={}] cache[hits={}, misses={}] mappings[total={}, misses={}]",
+                getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter(),
+                getCacheHitCounter(), getCacheMissCounter(), converters.size(), misses);
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.console;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Route;
+import org.apache.camel.api.management.ManagedCamelContext;
+import org.apache.camel.api.management.mbean.ManagedConcurrencyLimitMBean;
+import org.apache.camel.api.management.mbean.ManagedProcessorMBean;
+import org.apache.camel.api.management.mbean.ManagedRouteMBean;
+import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.support.console.AbstractDevConsole;
+import org.apache.camel.util.json.JsonObject;
+
+@DevConsole(name = "concurrency-limit", description = "Display adaptive concurrency limit information")
+public class ConcurrencyLimitDevConsole extends AbstractDevConsole {
+
+    public ConcurrencyLimitDevConsole() {
+        super("camel", "concurrency-limit", "Concurrency Limit", "Display adaptive concurrency limit information");
+    }
+
+    @Override
+    protected String doCallText(Map<String, Object> options) {
+        StringBuilder sb = new StringBuilder();
+
+        for (ManagedConcurrencyLimitMBean cl : findConcurrencyLimits()) {
+            sb.append(String.format(
+                    "    %s/%s: %s (limit: %d min: %d max: %d inflight: %d queue: %d/%d queued: %d rejected: %d last-rtt: %dms)\n",
+                    cl.getRouteId(), cl.getProcessorId(), cl.getAlgorithm(), cl.getLimit(), cl.getMinLimit(),
+                    cl.getMaxLimit(), cl.getInflight(), cl.getQueueSize(), cl.getMaxQueueSize(), cl.getQueuedCount(),
+                    cl.getRejectedCount(), cl.getLastRtt()));
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    protected Map<String, Object> doCallJson(Map<String, Object> options) {
+        JsonObject root = new JsonObject();
+
+        final List<JsonObject> list = new ArrayList<>();
+        for (ManagedConcurrencyLimitMBean cl : findConcurrencyLimits()) {
+            JsonObject jo = new JsonObject();
+            jo.put("routeId", cl.getRouteId());
+            jo.put("processorId", cl.getProcessorId());
+            jo.put("algorithm", cl.getAlgorithm());
+            jo.put("limit", cl.getLimit());
+            jo.put("minLimit", cl.getMinLimit());
+            jo.put("maxLimit", cl.getMaxLimit());
+            jo.put("inflight", cl.getInflight());
+            jo.put("queueSize", cl.getQueueSize());
+            jo.put("maxQueueSize", cl.getMaxQueueSize());
+            jo.put("queuedCount", cl.getQueuedCount());
+            jo.put("rejectedCount", cl.getRejectedCount());
+            jo.put("lastRtt", cl.getLastRtt());
+            list.add(jo);
+        }
+        root.put("concurrencyLimits", list);
+
+        return root;
+    }
+
+    private List<ManagedConcurrencyLimitMBean> findConcurrencyLimits() {
+        List<ManagedConcurrencyLimitMBean> answer = new ArrayList<>();
+
+        // the limiters are only accessible when JMX is enabled
+        ManagedCamelContext mcc = getCamelContext().getCamelContextExtension().getContextPlugin(ManagedCamelContext.class);
+        if (mcc == null) {
+            return answer;
+        }
+
+        for (Route route : getCamelContext().getRoutes()) {
+            ManagedRouteMBean mrb = mcc.getManagedRoute(route.getRouteId());
+            if (mrb == null) {
+                continue;
+            }
+            Collection<String> ids;
+            try {
+                ids = mrb.processorIds();
+            } catch (Exception e) {
+                continue;
+            }
+            for (String id : ids) {
+                ManagedProcessorMBean mp = mcc.getManagedProcessor(id);
+                if (mp != null && "concurrencyLimit".equals(mp.getProcessorName())) {
+                    answer.add(mcc.getManagedProcessor(id, ManagedConcurrencyLimitMBean.class));
+                }
+            }
+        }
+
+        return answer;
+    }
+}
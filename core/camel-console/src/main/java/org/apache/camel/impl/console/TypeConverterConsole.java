@@ -45,6 +45,9 @@ public class TypeConverterConsole extends AbstractDevConsole {
         statistics.computeIfEnabled(statistics::getMissCounter, v -> sb.append(String.format("\n    Miss: %s", v)));
         statistics.computeIfEnabled(statistics::getFailedCounter, v -> sb.append(String.format("\n    Failed: %s", v)));
         statistics.computeIfEnabled(statistics::getNoopCounter, v -> sb.append(String.format("\n    Noop: %s", v)));
+        statistics.computeIfEnabled(statistics::getCacheHitCounter, v -> sb.append(String.format("\n    Cache Hit: %s", v)));
+        statistics.computeIfEnabled(statistics::getCacheMissCounter,
+                v -> sb.append(String.format("\n    Cache Miss: %s", v)));
 
         return sb.toString();
     }
@@ -66,6 +69,8 @@ public class TypeConverterConsole extends AbstractDevConsole {
         statistics.computeIfEnabled(statistics::getMissCounter, v -> props.put("missCounter", v));
         statistics.computeIfEnabled(statistics::getFailedCounter, v -> props.put("failedCounter", v));
         statistics.computeIfEnabled(statistics::getFailedCounter, v -> props.put("noopCounter", v));
+        statistics.computeIfEnabled(statistics::getCacheHitCounter, v -> props.put("cacheHitCounter", v));
+        statistics.computeIfEnabled(statistics::getCacheMissCounter, v -> props.put("cacheMissCounter", v));
 
         if (!props.isEmpty()) {
             root.put("statistics", props);
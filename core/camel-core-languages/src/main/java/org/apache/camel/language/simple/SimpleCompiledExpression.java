@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Message;
+import org.apache.camel.Predicate;
+import org.apache.camel.language.csimple.CSimpleSupport;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A simple expression or predicate which has been compiled to bytecode.
+ * <p/>
+ * Runtime exceptions are thrown as-is (as the interpreted simple language does), instead of being wrapped as csimple
+ * does.
+ */
+final class SimpleCompiledExpression implements Expression, Predicate {
+
+    private final String text;
+    private final CSimpleSupport script;
+
+    SimpleCompiledExpression(String text, CSimpleSupport script) {
+        this.text = text;
+        this.script = script;
+    }
+
+    @Override
+    public void init(CamelContext context) {
+        script.init(context);
+    }
+
+    @Override
+    public <T> T evaluate(Exchange exchange, Class<T> type) {
+        Object out = doEvaluate(exchange);
+        return exchange.getContext().getTypeConverter().convertTo(type, exchange, out);
+    }
+
+    @Override
+    public boolean matches(Exchange exchange) {
+        return ObjectHelper.evaluateValuePredicate(doEvaluate(exchange));
+    }
+
+    private Object doEvaluate(Exchange exchange) {
+        final Message message = exchange.getIn();
+        try {
+            return script.evaluate(exchange.getContext(), exchange, message, message.getBody());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.language.csimple.CSimpleCodeGenerator;
+import org.apache.camel.language.csimple.CSimpleGeneratedCode;
+import org.apache.camel.language.csimple.CSimpleHelper;
+import org.apache.camel.language.csimple.CSimpleSupport;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles simple expressions and predicates to bytecode at runtime.
+ * <p/>
+ * The source code is generated by the csimple code generator, compiled with the JDK compiler (when available), and
+ * loaded as a hidden class, which can be unloaded when the expression is no longer in use. Only the functions where
+ * csimple behaves the same as simple are compiled, and expressions must be a single function (csimple would otherwise
+ * concatenate <tt>null</tt> values as text). Any expression which cannot be compiled results in <tt>null</tt> so the
+ * caller can fall back to the interpreted expression.
+ */
+final class SimpleCompiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SimpleCompiler.class);
+    private static final Pattern FUNCTION = Pattern.compile("\\$\\{([^${}]*)}");
+    private static final Pattern SUPPORTED_FUNCTION = Pattern.compile(
+            "(in\\.)?body|(in\\.)?headers?\\.[\\w-]+|exchangeProperty\\.[\\w-]+|variable\\.[\\w-]+|exchangeId|routeId|camelId|null");
+
+    private final CamelContext camelContext;
+    private final JavaCompiler compiler;
+    private final List<String> options;
+    private final LongAdder compiled = new LongAdder();
+    private final LongAdder interpreted = new LongAdder();
+    private final LongAdder taken = new LongAdder();
+
+    SimpleCompiler(CamelContext camelContext) {
+        this.camelContext = camelContext;
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        this.options = List.of("-classpath", classpath(), "-proc:none", "-nowarn");
+        if (compiler == null) {
+            LOG.warn("Simple language is configured to compile expressions, but the JDK compiler is not available."
+                     + " The expressions are interpreted instead.");
+        }
+    }
+
+    /**
+     * Compiles the expression or predicate
+     *
+     * @param  text      the simple expression
+     * @param  predicate whether its a predicate or expression
+     * @return           the compiled expression, or <tt>null</tt> if the expression could not be compiled
+     */
+    SimpleCompiledExpression compile(String text, boolean predicate) {
+        if (compiler == null || !isCompilable(text, predicate)) {
+            interpreted.increment();
+            return null;
+        }
+
+        StopWatch watch = new StopWatch();
+        // the hidden class must be in the same package as the lookup
+        String fqn = SimpleCompiler.class.getPackageName() + ".SimpleScript";
+        CSimpleGeneratedCode code = null;
+        try {
+            CSimpleCodeGenerator generator = new CSimpleCodeGenerator();
+            generator.setCamelContext(camelContext);
+            code = predicate ? generator.generatePredicate(fqn, text) : generator.generateExpression(fqn, text);
+            byte[] bytes = compileSource(code.getFqn(), code.getCode());
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            CSimpleSupport script = (CSimpleSupport) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+            SimpleCompiledExpression answer = new SimpleCompiledExpression(text, script);
+            LOG.debug("Compiled simple {}: {} in {} millis", predicate ? "predicate" : "expression", text, watch.taken());
+            compiled.increment();
+            taken.add(watch.taken());
+            return answer;
+        } catch (Throwable e) {
+            if (e instanceof VirtualMachineError vme) {
+                throw vme;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cannot compile simple {}: {} due to: {}. The {} is interpreted instead.{}",
+                        predicate ? "predicate" : "expression", text, e.getMessage(),
+                        predicate ? "predicate" : "expression", code != null ? "\n\n" + code.getCode() : "");
+            }
+            interpreted.increment();
+            return null;
+        }
+    }
+
+    /**
+     * Number of expressions and predicates compiled
+     */
+    long getCompiledCounter() {
+        return compiled.longValue();
+    }
+
+    /**
+     * Number of expressions and predicates which could not be compiled, and are interpreted
+     */
+    long getInterpretedCounter() {
+        return interpreted.longValue();
+    }
+
+    /**
+     * Total time taken to compile (millis)
+     */
+    long getTaken() {
+        return taken.longValue();
+    }
+
+    static boolean isCompilable(String text, boolean predicate) {
+        if (text.contains("$simple{")) {
+            return false;
+        }
+        Matcher matcher = FUNCTION.matcher(text);
+        int count = 0;
+        while (matcher.find()) {
+            if (!SUPPORTED_FUNCTION.matcher(matcher.group(1).trim()).matches()) {
+                return false;
+            }
+            count++;
+        }
+        if (count == 0 || matcher.replaceAll("").contains("${")) {
+            // no functions, or nested functions
+            return false;
+        }
+        // an expression must be a single function
+        return predicate || count == 1 && FUNCTION.matcher(text.trim()).matches();
+    }
+
+    private byte[] compileSource(String name, String source) throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        // closing the file manager also closes the standard file manager, which releases its open files
+        try (MemoryFileManager fileManager = new MemoryFileManager(standard)) {
+            JavaFileObject unit = new SimpleJavaFileObject(
+                    URI.create("string:///" + name.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+
+            boolean ok = compiler.getTask(null, fileManager, diagnostics, options, null, List.of(unit)).call();
+            if (!ok) {
+                StringBuilder sb = new StringBuilder();
+                for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+                    if (d.getKind() == Diagnostic.Kind.ERROR) {
+                        sb.append(d.getMessage(null)).append(' ');
+                    }
+                }
+                throw new IllegalStateException("Compilation failed: " + sb.toString().trim());
+            }
+            if (fileManager.classes.size() != 1) {
+                // nested classes cannot be defined as part of a hidden class
+                throw new IllegalStateException("Compilation resulted in " + fileManager.classes.size() + " classes");
+            }
+            return fileManager.classes.values().iterator().next().toByteArray();
+        }
+    }
+
+    private static String classpath() {
+        Set<String> paths = new LinkedHashSet<>();
+        // camel itself may not be on the system classpath (such as when running in an application server)
+        for (Class<?> clazz : List.of(CamelContext.class, ObjectHelper.class, ExchangeHelper.class, CSimpleHelper.class)) {
+            CodeSource cs = clazz.getProtectionDomain().getCodeSource();
+            if (cs != null && cs.getLocation() != null && "file".equals(cs.getLocation().getProtocol())) {
+                paths.add(new File(URI.create(cs.getLocation().toString())).getPath());
+            }
+        }
+        String cp = System.getProperty("java.class.path");
+        if (cp != null && !cp.isEmpty()) {
+            paths.add(cp);
+        }
+        return String.join(File.pathSeparator, paths);
+    }
+
+    /**
+     * File manager that keeps the compiled classes in memory
+     */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        private final Map<String, ByteArrayOutputStream> classes = new LinkedHashMap<>();
+
+        MemoryFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(
+                Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            classes.put(className, bos);
+            return new SimpleJavaFileObject(
+                    URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return bos;
+                }
+            };
+        }
+    }
+}
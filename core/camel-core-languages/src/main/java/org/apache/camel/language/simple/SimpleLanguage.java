@@ -48,7 +48,14 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     // a special prefix to avoid cache clash
     private static final String CACHE_KEY_PREFIX = "@SIMPLE@";
 
+    /**
+     * Global option to turn on compiling the simple expressions and predicates to bytecode.
+     */
+    public static final String COMPILED = "CamelSimpleCompiled";
+
     boolean allowEscape = true;
+    private boolean compiled;
+    private volatile SimpleCompiler compiler;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
@@ -60,6 +67,35 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     public SimpleLanguage() {
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile the expressions and predicates to bytecode (requires the JDK compiler at runtime) which is
+     * faster than interpreting, when the expressions are evaluated many times. Expressions that cannot be compiled,
+     * such as using functions that are not supported by csimple, are interpreted.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
+    /**
+     * Number of expressions and predicates that have been compiled
+     */
+    public long getCompiledCounter() {
+        SimpleCompiler c = compiler;
+        return c != null ? c.getCompiledCounter() : 0;
+    }
+
+    /**
+     * Number of expressions and predicates that could not be compiled, and are interpreted
+     */
+    public long getInterpretedCounter() {
+        SimpleCompiler c = compiler;
+        return c != null ? c.getInterpretedCounter() : 0;
+    }
+
     @Override
     public void init() {
         // setup cache which requires CamelContext to be set first
@@ -73,6 +109,9 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
                 LOG.debug("Simple language disabled predicate/expression cache");
             }
         }
+        if (!compiled && getCamelContext() != null) {
+            compiled = "true".equalsIgnoreCase(getCamelContext().getGlobalOption(COMPILED));
+        }
     }
 
     @Override
@@ -98,6 +137,11 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             }
             cacheExpression.clear();
         }
+        SimpleCompiler c = compiler;
+        if (c != null && c.getCompiledCounter() > 0) {
+            LOG.info("Simple language compiled {} predicates/expressions in {} millis ({} interpreted)",
+                    c.getCompiledCounter(), c.getTaken(), c.getInterpretedCounter());
+        }
     }
 
     @Override
@@ -125,6 +169,12 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             SimplePredicateParser parser
                     = new SimplePredicateParser(getCamelContext(), expression, allowEscape, cacheExpression);
             answer = parser.parsePredicate();
+            if (compiled && allowEscape) {
+                Predicate compiledPredicate = compile(expression, true);
+                if (compiledPredicate != null) {
+                    answer = compiledPredicate;
+                }
+            }
 
             if (cachePredicate != null && answer != null) {
                 cachePredicate.put(key, answer);
@@ -184,6 +234,12 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             SimpleExpressionParser parser
                     = new SimpleExpressionParser(getCamelContext(), expression, allowEscape, cacheExpression);
             answer = parser.parseExpression();
+            if (compiled && allowEscape) {
+                Expression compiledExpression = compile(expression, false);
+                if (compiledExpression != null) {
+                    answer = compiledExpression;
+                }
+            }
 
             if (cacheExpression != null && answer != null) {
                 cacheExpression.put(key, answer);
@@ -207,6 +263,24 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         }
     }
 
+    private SimpleCompiledExpression compile(String expression, boolean predicate) {
+        if (getCamelContext() == null) {
+            return null;
+        }
+        SimpleCompiler c = compiler;
+        if (c == null) {
+            synchronized (this) {
+                c = compiler;
+                if (c == null) {
+                    c = new SimpleCompiler(getCamelContext());
+                    compiler = c;
+                }
+            }
+        }
+        // the expression has already been parsed (and validated) by the interpreter
+        return c.compile(expression, predicate);
+    }
+
     private class SimplePredicate implements Predicate {
         private final String text;
 
@@ -23,6 +23,7 @@ import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlTransient;
 
 import org.apache.camel.AggregationStrategy;
+import org.apache.camel.spi.ClaimCheckRepository;
 import org.apache.camel.spi.Metadata;
 
 /**
@@ -36,6 +37,8 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
 
     @XmlTransient
     private AggregationStrategy aggregationStrategyBean;
+    @XmlTransient
+    private ClaimCheckRepository repositoryBean;
 
     @XmlAttribute(required = true)
     @Metadata(enums = "Get,GetAndRemove,Set,Push,Pop", javaType = "org.apache.camel.model.ClaimCheckOperation")
@@ -50,6 +53,9 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
     @XmlAttribute
     @Metadata(label = "advanced")
     private String aggregationStrategyMethodName;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "org.apache.camel.spi.ClaimCheckRepository")
+    private String repository;
 
     public ClaimCheckDefinition() {
     }
@@ -62,6 +68,8 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
         this.filter = source.filter;
         this.aggregationStrategy = source.aggregationStrategy;
         this.aggregationStrategyMethodName = source.aggregationStrategyMethodName;
+        this.repositoryBean = source.repositoryBean;
+        this.repository = source.repository;
     }
 
     @Override
@@ -188,6 +196,26 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
         return this;
     }
 
+    /**
+     * To use a shared {@link ClaimCheckRepository} instead of the default repository, which is private per exchange.
+     * For example the {@link org.apache.camel.processor.FileClaimCheckRepository} which stores the message bodies on
+     * disk.
+     */
+    public ClaimCheckDefinition repository(ClaimCheckRepository repository) {
+        this.repositoryBean = repository;
+        return this;
+    }
+
+    /**
+     * To use a shared {@link ClaimCheckRepository} instead of the default repository, which is private per exchange.
+     * For example the {@link org.apache.camel.processor.FileClaimCheckRepository} which stores the message bodies on
+     * disk.
+     */
+    public ClaimCheckDefinition repository(String repository) {
+        setRepository(repository);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -235,4 +263,15 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
         this.aggregationStrategyMethodName = aggregationStrategyMethodName;
     }
 
+    public ClaimCheckRepository getRepositoryBean() {
+        return repositoryBean;
+    }
+
+    public String getRepository() {
+        return repository;
+    }
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model;
+
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElementRef;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.spi.Metadata;
+
+/**
+ * Limits the number of messages processed concurrently by its outputs, where the limit adapts to the latency of the
+ * outputs
+ */
+@Metadata(label = "eip,routing")
+@XmlRootElement(name = "concurrencyLimit")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ConcurrencyLimitDefinition extends OutputDefinition<ConcurrencyLimitDefinition> {
+
+    @XmlAttribute
+    @Metadata(defaultValue = "Vegas", enums = "Vegas,Gradient")
+    private String algorithm;
+    @XmlAttribute
+    @Metadata(defaultValue = "20", javaType = "java.lang.Integer")
+    private String initialLimit;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "1", javaType = "java.lang.Integer")
+    private String minLimit;
+    @XmlAttribute
+    @Metadata(defaultValue = "200", javaType = "java.lang.Integer")
+    private String maxLimit;
+    @XmlAttribute
+    @Metadata(defaultValue = "100", javaType = "java.lang.Integer")
+    private String maxQueueSize;
+
+    public ConcurrencyLimitDefinition() {
+    }
+
+    protected ConcurrencyLimitDefinition(ConcurrencyLimitDefinition source) {
+        super(source);
+        this.algorithm = source.algorithm;
+        this.initialLimit = source.initialLimit;
+        this.minLimit = source.minLimit;
+        this.maxLimit = source.maxLimit;
+        this.maxQueueSize = source.maxQueueSize;
+    }
+
+    @Override
+    public ConcurrencyLimitDefinition copyDefinition() {
+        return new ConcurrencyLimitDefinition(this);
+    }
+
+    @Override
+    public List<ProcessorDefinition<?>> getOutputs() {
+        return outputs;
+    }
+
+    @XmlElementRef
+    @Override
+    public void setOutputs(List<ProcessorDefinition<?>> outputs) {
+        super.setOutputs(outputs);
+    }
+
+    @Override
+    public String getShortName() {
+        return "concurrencyLimit";
+    }
+
+    @Override
+    public String getLabel() {
+        return "concurrencyLimit[" + (algorithm != null ? algorithm : "Vegas") + "]";
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimit[" + getOutputs() + "]";
+    }
+
+    // Fluent API
+    // -------------------------------------------------------------------------
+
+    /**
+     * The algorithm used to adapt the concurrency limit.
+     * <p/>
+     * Vegas estimates the number of queued requests from the latency without load and the current latency, and keeps
+     * that queue small. Gradient compares the long term average latency with the current latency, which reacts faster
+     * to a sudden increase in latency.
+     *
+     * @param  algorithm the algorithm, either Vegas or Gradient
+     * @return           the builder
+     */
+    public ConcurrencyLimitDefinition algorithm(String algorithm) {
+        setAlgorithm(algorithm);
+        return this;
+    }
+
+    /**
+     * Uses the Vegas algorithm to adapt the concurrency limit.
+     *
+     * @return the builder
+     */
+    public ConcurrencyLimitDefinition vegas() {
+        return algorithm("Vegas");
+    }
+
+    /**
+     * Uses the Gradient algorithm to adapt the concurrency limit.
+     *
+     * @return the builder
+     */
+    public ConcurrencyLimitDefinition gradient() {
+        return algorithm("Gradient");
+    }
+
+    /**
+     * The concurrency limit to start with, before it has been adapted.
+     *
+     * @param  initialLimit the initial limit
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition initialLimit(int initialLimit) {
+        return initialLimit(Integer.toString(initialLimit));
+    }
+
+    /**
+     * The concurrency limit to start with, before it has been adapted.
+     *
+     * @param  initialLimit the initial limit
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition initialLimit(String initialLimit) {
+        setInitialLimit(initialLimit);
+        return this;
+    }
+
+    /**
+     * The lowest concurrency limit.
+     *
+     * @param  minLimit the minimum limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition minLimit(int minLimit) {
+        return minLimit(Integer.toString(minLimit));
+    }
+
+    /**
+     * The lowest concurrency limit.
+     *
+     * @param  minLimit the minimum limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition minLimit(String minLimit) {
+        setMinLimit(minLimit);
+        return this;
+    }
+
+    /**
+     * The highest concurrency limit.
+     *
+     * @param  maxLimit the maximum limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition maxLimit(int maxLimit) {
+        return maxLimit(Integer.toString(maxLimit));
+    }
+
+    /**
+     * The highest concurrency limit.
+     *
+     * @param  maxLimit the maximum limit
+     * @return          the builder
+     */
+    public ConcurrencyLimitDefinition maxLimit(String maxLimit) {
+        setMaxLimit(maxLimit);
+        return this;
+    }
+
+    /**
+     * The maximum number of messages to queue when the concurrency limit is reached. When the queue is full, then
+     * messages are rejected with a ConcurrencyLimitRejectedExecutionException. Use 0 to reject right away.
+     *
+     * @param  maxQueueSize the maximum queue size
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition maxQueueSize(int maxQueueSize) {
+        return maxQueueSize(Integer.toString(maxQueueSize));
+    }
+
+    /**
+     * The maximum number of messages to queue when the concurrency limit is reached. When the queue is full, then
+     * messages are rejected with a ConcurrencyLimitRejectedExecutionException. Use 0 to reject right away.
+     *
+     * @param  maxQueueSize the maximum queue size
+     * @return              the builder
+     */
+    public ConcurrencyLimitDefinition maxQueueSize(String maxQueueSize) {
+        setMaxQueueSize(maxQueueSize);
+        return this;
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * The algorithm used to adapt the concurrency limit, either Vegas or Gradient.
+     */
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * The concurrency limit to start with, before it has been adapted.
+     */
+    public void setInitialLimit(String initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public String getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * The lowest concurrency limit.
+     */
+    public void setMinLimit(String minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public String getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * The highest concurrency limit.
+     */
+    public void setMaxLimit(String maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public String getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * The maximum number of messages to queue when the concurrency limit is reached. When the queue is full, then
+     * messages are rejected. Use 0 to reject right away.
+     */
+    public void setMaxQueueSize(String maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+}
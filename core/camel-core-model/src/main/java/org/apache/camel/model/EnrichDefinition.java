@@ -71,6 +71,12 @@ public class EnrichDefinition extends ExpressionNode
     @XmlAttribute
     @Metadata(label = "advanced", defaultValue = "true", javaType = "java.lang.Boolean")
     private String autoStartComponents;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String batchSize;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "100", javaType = "java.time.Duration")
+    private String batchTimeout;
 
     public EnrichDefinition() {
         this((AggregationStrategy) null);
@@ -94,6 +100,8 @@ public class EnrichDefinition extends ExpressionNode
         this.ignoreInvalidEndpoint = source.ignoreInvalidEndpoint;
         this.allowOptimisedComponents = source.allowOptimisedComponents;
         this.autoStartComponents = source.autoStartComponents;
+        this.batchSize = source.batchSize;
+        this.batchTimeout = source.batchTimeout;
     }
 
     @Override
@@ -285,6 +293,58 @@ public class EnrichDefinition extends ExpressionNode
         return this;
     }
 
+    /**
+     * Enables batched lookups, where up to this number of messages are enriched with a single call to the resource
+     * endpoint. The resource is called with a List of the message bodies as the keys to lookup, and must reply with a
+     * Map of the results by key, or a List of the results in the same order as the keys. Each message is then
+     * aggregated with its own result using the AggregationStrategy.
+     *
+     * @param  batchSize the maximum number of messages in a batch
+     * @return           the builder
+     */
+    public EnrichDefinition batchSize(int batchSize) {
+        return batchSize(Integer.toString(batchSize));
+    }
+
+    /**
+     * Enables batched lookups, where up to this number of messages are enriched with a single call to the resource
+     * endpoint. The resource is called with a List of the message bodies as the keys to lookup, and must reply with a
+     * Map of the results by key, or a List of the results in the same order as the keys. Each message is then
+     * aggregated with its own result using the AggregationStrategy.
+     *
+     * @param  batchSize the maximum number of messages in a batch
+     * @return           the builder
+     */
+    public EnrichDefinition batchSize(String batchSize) {
+        setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * The maximum time in millis to wait for more messages to fill up a batch, when using batched lookups. The batch is
+     * sent to the resource endpoint when the time has elapsed since the first message was added, even if it is not
+     * full. The timeout must be positive.
+     *
+     * @param  batchTimeout the timeout in millis
+     * @return              the builder
+     */
+    public EnrichDefinition batchTimeout(long batchTimeout) {
+        return batchTimeout(Long.toString(batchTimeout));
+    }
+
+    /**
+     * The maximum time to wait for more messages to fill up a batch, when using batched lookups. The batch is sent to
+     * the resource endpoint when the time has elapsed since the first message was added, even if it is not full. The
+     * timeout must be positive.
+     *
+     * @param  batchTimeout the timeout
+     * @return              the builder
+     */
+    public EnrichDefinition batchTimeout(String batchTimeout) {
+        setBatchTimeout(batchTimeout);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -398,6 +458,22 @@ public class EnrichDefinition extends ExpressionNode
         this.autoStartComponents = autoStartComponents;
     }
 
+    public String getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(String batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public void setBatchTimeout(String batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
     @Override
     public EnrichDefinition copyDefinition() {
         return new EnrichDefinition(this);
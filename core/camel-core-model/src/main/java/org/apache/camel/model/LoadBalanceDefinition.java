@@ -30,6 +30,8 @@ import jakarta.xml.bind.annotation.XmlRootElement;
 import org.apache.camel.Expression;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInFlightLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -48,6 +50,8 @@ public class LoadBalanceDefinition extends OutputDefinition<LoadBalanceDefinitio
     @XmlElements({
             @XmlElement(name = "customLoadBalancer", type = CustomLoadBalancerDefinition.class),
             @XmlElement(name = "failoverLoadBalancer", type = FailoverLoadBalancerDefinition.class),
+            @XmlElement(name = "leastInFlightLoadBalancer", type = LeastInFlightLoadBalancerDefinition.class),
+            @XmlElement(name = "peakEwmaLoadBalancer", type = PeakEwmaLoadBalancerDefinition.class),
             @XmlElement(name = "randomLoadBalancer", type = RandomLoadBalancerDefinition.class),
             @XmlElement(name = "roundRobinLoadBalancer", type = RoundRobinLoadBalancerDefinition.class),
             @XmlElement(name = "stickyLoadBalancer", type = StickyLoadBalancerDefinition.class),
@@ -225,6 +229,42 @@ public class LoadBalanceDefinition extends OutputDefinition<LoadBalanceDefinitio
         return this;
     }
 
+    /**
+     * Uses least in-flight load balancer, which picks two random processors and chooses the one with the fewest
+     * exchanges in-flight
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastInFlight() {
+        setLoadBalancerType(new LeastInFlightLoadBalancerDefinition());
+        return this;
+    }
+
+    /**
+     * Uses peak EWMA load balancer, which picks two random processors and chooses the one with the lowest latency
+     * multiplied by the exchanges in-flight
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition peakEwma() {
+        setLoadBalancerType(new PeakEwmaLoadBalancerDefinition());
+        return this;
+    }
+
+    /**
+     * Uses peak EWMA load balancer, which picks two random processors and chooses the one with the lowest latency
+     * multiplied by the exchanges in-flight
+     *
+     * @param  decayTime the time in millis for the moving average of the latency to decay
+     * @return           the builder
+     */
+    public LoadBalanceDefinition peakEwma(long decayTime) {
+        PeakEwmaLoadBalancerDefinition def = new PeakEwmaLoadBalancerDefinition();
+        def.setDecayTime(Long.toString(decayTime));
+        setLoadBalancerType(def);
+        return this;
+    }
+
     /**
      * Uses the custom load balancer
      *
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model;
+
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElementRef;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.spi.Metadata;
+
+/**
+ * Groups messages into batches with a List body, which are completed by size, time or the accumulated size of the
+ * message bodies
+ */
+@Metadata(label = "eip,routing")
+@XmlRootElement(name = "microBatch")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class MicroBatchDefinition extends OutputDefinition<MicroBatchDefinition> {
+
+    @XmlAttribute
+    @Metadata(defaultValue = "100", javaType = "java.lang.Integer")
+    private String size;
+    @XmlAttribute
+    @Metadata(defaultValue = "1000", javaType = "java.time.Duration")
+    private String timeout;
+    @XmlAttribute
+    @Metadata(javaType = "java.lang.Long")
+    private String maxBytes;
+
+    public MicroBatchDefinition() {
+    }
+
+    protected MicroBatchDefinition(MicroBatchDefinition source) {
+        super(source);
+        this.size = source.size;
+        this.timeout = source.timeout;
+        this.maxBytes = source.maxBytes;
+    }
+
+    @Override
+    public MicroBatchDefinition copyDefinition() {
+        return new MicroBatchDefinition(this);
+    }
+
+    @Override
+    public List<ProcessorDefinition<?>> getOutputs() {
+        return outputs;
+    }
+
+    @XmlElementRef
+    @Override
+    public void setOutputs(List<ProcessorDefinition<?>> outputs) {
+        super.setOutputs(outputs);
+    }
+
+    @Override
+    public String getShortName() {
+        return "microBatch";
+    }
+
+    @Override
+    public String getLabel() {
+        return "microBatch[" + (size != null ? size : "100") + "]";
+    }
+
+    @Override
+    public String toString() {
+        return "MicroBatch[" + getOutputs() + "]";
+    }
+
+    // Fluent API
+    // -------------------------------------------------------------------------
+
+    /**
+     * The number of messages in a batch. The batch is completed when this number of messages has been added.
+     *
+     * @param  size the batch size
+     * @return      the builder
+     */
+    public MicroBatchDefinition size(int size) {
+        return size(Integer.toString(size));
+    }
+
+    /**
+     * The number of messages in a batch. The batch is completed when this number of messages has been added.
+     *
+     * @param  size the batch size
+     * @return      the builder
+     */
+    public MicroBatchDefinition size(String size) {
+        setSize(size);
+        return this;
+    }
+
+    /**
+     * The maximum time in millis a batch is kept open, counted from when its first message was added. The batch is
+     * completed when the time has elapsed, even if it has not reached its size. Use 0 to only complete by size or
+     * bytes.
+     *
+     * @param  timeout the timeout in millis
+     * @return         the builder
+     */
+    public MicroBatchDefinition timeout(long timeout) {
+        return timeout(Long.toString(timeout));
+    }
+
+    /**
+     * The maximum time a batch is kept open, counted from when its first message was added. The batch is completed when
+     * the time has elapsed, even if it has not reached its size. Use 0 to only complete by size or bytes.
+     *
+     * @param  timeout the timeout
+     * @return         the builder
+     */
+    public MicroBatchDefinition timeout(String timeout) {
+        setTimeout(timeout);
+        return this;
+    }
+
+    /**
+     * The accumulated size in bytes of the message bodies in a batch. The batch is completed when the bodies added
+     * reach this size.
+     *
+     * @param  maxBytes the maximum number of bytes
+     * @return          the builder
+     */
+    public MicroBatchDefinition maxBytes(long maxBytes) {
+        return maxBytes(Long.toString(maxBytes));
+    }
+
+    /**
+     * The accumulated size in bytes of the message bodies in a batch. The batch is completed when the bodies added
+     * reach this size.
+     *
+     * @param  maxBytes the maximum number of bytes
+     * @return          the builder
+     */
+    public MicroBatchDefinition maxBytes(String maxBytes) {
+        setMaxBytes(maxBytes);
+        return this;
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public String getSize() {
+        return size;
+    }
+
+    /**
+     * The number of messages in a batch. The batch is completed when this number of messages has been added.
+     */
+    public void setSize(String size) {
+        this.size = size;
+    }
+
+    public String getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * The maximum time a batch is kept open, counted from when its first message was added. The batch is completed when
+     * the time has elapsed, even if it has not reached its size. Use 0 to only complete by size or bytes.
+     */
+    public void setTimeout(String timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * The accumulated size in bytes of the message bodies in a batch. The batch is completed when the bodies added
+     * reach this size. The size is known for bodies which are byte arrays, strings, byte buffers, files or stream
+     * caches, otherwise the Content-Length header is used if present.
+     */
+    public void setMaxBytes(String maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+}
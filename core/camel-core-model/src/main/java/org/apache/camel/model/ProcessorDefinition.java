@@ -1384,6 +1384,18 @@ public abstract class ProcessorDefinition<Type extends ProcessorDefinition<Type>
         return answer;
     }
 
+    /**
+     * Creates a Concurrency Limit EIP, which limits the number of messages processed concurrently by its outputs. The
+     * limit adapts to the latency of the outputs, so it does not need to be tuned by hand.
+     *
+     * @return the builder
+     */
+    public ConcurrencyLimitDefinition concurrencyLimit() {
+        ConcurrencyLimitDefinition answer = new ConcurrencyLimitDefinition();
+        addOutput(answer);
+        return answer;
+    }
+
     /**
      * Creates a Kamelet EIP.
      * <p/>
@@ -1926,6 +1938,22 @@ public abstract class ProcessorDefinition<Type extends ProcessorDefinition<Type>
         return answer;
     }
 
+    /**
+     * Creates a Micro Batch EIP, which groups messages into batches with a List body. A batch is completed by size,
+     * timeout or the accumulated size of the message bodies, and the grouped messages are completed when their batch
+     * has been processed by the outputs.
+     * <p/>
+     * Unlike the aggregator, there is no correlation or aggregation repository, which makes this a lightweight
+     * alternative for batching writes to a database or message broker.
+     *
+     * @return the builder
+     */
+    public MicroBatchDefinition microBatch() {
+        MicroBatchDefinition answer = new MicroBatchDefinition();
+        addOutput(answer);
+        return answer;
+    }
+
     /**
      * <a href="http://camel.apache.org/delayer.html">Delayer EIP:</a> Creates a delayer allowing you to delay the
      * delivery of messages to some destination.
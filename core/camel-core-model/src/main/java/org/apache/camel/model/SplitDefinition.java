@@ -71,6 +71,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @Metadata(javaType = "java.lang.Boolean")
     private String streaming;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String maxInFlight;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String stopOnException;
     @XmlAttribute
@@ -102,6 +105,7 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.parallelProcessing = source.parallelProcessing;
         this.synchronous = source.synchronous;
         this.streaming = source.streaming;
+        this.maxInFlight = source.maxInFlight;
         this.stopOnException = source.stopOnException;
         this.timeout = source.timeout;
         this.executorService = source.executorService;
@@ -410,6 +414,37 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of split messages that can be in-flight at the same time, when using parallel processing
+     * in streaming mode. The splitter only splits the next message when a previous split message has completed and been
+     * aggregated. The replies are aggregated in the same order as the messages was split, by holding back replies that
+     * complete before the previous messages. This allows splitting big messages in parallel with bounded memory.
+     * <p/>
+     * By default there is no limit.
+     *
+     * @param  maxInFlight the maximum number of in-flight split messages
+     * @return             the builder
+     */
+    public SplitDefinition maxInFlight(int maxInFlight) {
+        return maxInFlight(Integer.toString(maxInFlight));
+    }
+
+    /**
+     * Sets the maximum number of split messages that can be in-flight at the same time, when using parallel processing
+     * in streaming mode. The splitter only splits the next message when a previous split message has completed and been
+     * aggregated. The replies are aggregated in the same order as the messages was split, by holding back replies that
+     * complete before the previous messages. This allows splitting big messages in parallel with bounded memory.
+     * <p/>
+     * By default there is no limit.
+     *
+     * @param  maxInFlight the maximum number of in-flight split messages
+     * @return             the builder
+     */
+    public SplitDefinition maxInFlight(String maxInFlight) {
+        setMaxInFlight(maxInFlight);
+        return this;
+    }
+
     /**
      * Will now stop further processing if an exception or failure occurred during processing of an
      * {@link org.apache.camel.Exchange} and the caused exception will be thrown.
@@ -630,6 +665,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.streaming = streaming;
     }
 
+    public String getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(String maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     @Deprecated(since = "4.7.0")
     public String getParallelAggregate() {
         return parallelAggregate;
@@ -45,7 +45,7 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
 
     @XmlAttribute
     @Metadata(javaType = "org.apache.camel.model.ThrottlingMode", defaultValue = "TotalRequests",
-              enums = "TotalRequests,ConcurrentRequests")
+              enums = "TotalRequests,ConcurrentRequests,TokenBucket")
     private String mode;
     @XmlElement(name = "correlationExpression")
     private ExpressionSubElementDefinition correlationExpression;
@@ -117,13 +117,18 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    public ThrottleDefinition tokenBucketMode() {
+        this.mode = ThrottlingMode.TokenBucket.name();
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Throttle[" + description() + "]";
     }
 
     protected String description() {
-        if (mode.equals(ThrottlingMode.TotalRequests.name())) {
+        if (ThrottlingMode.toMode(mode) != ThrottlingMode.ConcurrentRequests) {
             return getExpression() + " request per " + getTimePeriodMillis() + " millis";
         } else {
             return getExpression() + " maximum concurrent requests";
@@ -358,8 +363,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     /**
      * Sets the throttling mode to one of the available modes enumerated in ThrottlingMode
      *
-     * @param  mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests' or
-     *              `ConcurrentRequests`
+     * @param  mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests',
+     *              `ConcurrentRequests` or `TokenBucket`
      * @see         ThrottlingMode
      * @return      the builder
      */
@@ -392,18 +397,20 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     }
 
     public String getTimePeriodMillis() {
-        if (ThrottlingMode.toMode(mode) == ThrottlingMode.TotalRequests) {
+        if (ThrottlingMode.toMode(mode) != ThrottlingMode.ConcurrentRequests) {
             return timePeriodMillis;
         }
 
-        throw new IllegalArgumentException("Time period in millis can only be obtained when using total requests mode");
+        throw new IllegalArgumentException(
+                "Time period in millis can only be obtained when using total requests or token bucket mode");
     }
 
     public void setTimePeriodMillis(String timePeriodMillis) {
-        if (ThrottlingMode.toMode(mode) == ThrottlingMode.TotalRequests) {
+        if (ThrottlingMode.toMode(mode) != ThrottlingMode.ConcurrentRequests) {
             this.timePeriodMillis = timePeriodMillis;
         } else {
-            throw new IllegalArgumentException("Time period in millis can only be set when using total requests mode");
+            throw new IllegalArgumentException(
+                    "Time period in millis can only be set when using total requests or token bucket mode");
         }
     }
 
@@ -458,8 +465,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     /**
      * Sets the throttling mode to one of the available modes enumerated in ThrottlingMode
      *
-     * @param mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests' or
-     *             `ConcurrentRequests`
+     * @param mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests',
+     *             `ConcurrentRequests` or `TokenBucket`
      * @see        ThrottlingMode
      */
     public void setMode(String mode) {
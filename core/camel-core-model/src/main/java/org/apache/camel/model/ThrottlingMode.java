@@ -32,12 +32,21 @@ public enum ThrottlingMode {
      * Uses a throttling mode that uses a leaky-bucket algorithm to limit the outflow based on a maximum number of
      * concurrent requests
      */
-    ConcurrentRequests;
+    ConcurrentRequests,
+
+    /**
+     * Uses a throttling mode that uses a token-bucket algorithm to limit the number of requests over defined period of
+     * time, which is suited for throttling with a large number of correlation keys
+     */
+    TokenBucket;
 
     public static ThrottlingMode toMode(String mode) {
         if (mode.equals(ThrottlingMode.TotalRequests.name())) {
             return ThrottlingMode.TotalRequests;
         }
+        if (mode.equals(ThrottlingMode.TokenBucket.name())) {
+            return ThrottlingMode.TokenBucket;
+        }
 
         return ThrottlingMode.ConcurrentRequests;
     }
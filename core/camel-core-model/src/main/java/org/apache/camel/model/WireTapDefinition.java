@@ -56,6 +56,15 @@ public class WireTapDefinition<Type extends ProcessorDefinition<Type>> extends T
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.util.concurrent.ExecutorService")
     private String executorService;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String queueSize;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "DropOldest", enums = "DropOldest,DropNewest,Block")
+    private String queueOverflow;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "1", javaType = "java.lang.Integer")
+    private String drainBatchSize;
 
     public WireTapDefinition() {
     }
@@ -68,6 +77,9 @@ public class WireTapDefinition<Type extends ProcessorDefinition<Type>> extends T
         this.dynamicUri = source.dynamicUri;
         this.onPrepare = source.onPrepare;
         this.executorService = source.executorService;
+        this.queueSize = source.queueSize;
+        this.queueOverflow = source.queueOverflow;
+        this.drainBatchSize = source.drainBatchSize;
     }
 
     @Override
@@ -296,6 +308,67 @@ public class WireTapDefinition<Type extends ProcessorDefinition<Type>> extends T
         return this;
     }
 
+    /**
+     * Sends the tapped exchanges via a bounded queue with this capacity, which is drained by a single thread from the
+     * thread pool. This decouples the route from the speed of the tap destination, as the original exchange is never
+     * waiting for the thread pool; when the queue is full then the queue overflow policy is applied.
+     *
+     * @param  queueSize the capacity of the queue
+     * @return           the builder
+     */
+    public WireTapDefinition<Type> queueSize(int queueSize) {
+        return queueSize(Integer.toString(queueSize));
+    }
+
+    /**
+     * Sends the tapped exchanges via a bounded queue with this capacity, which is drained by a single thread from the
+     * thread pool. This decouples the route from the speed of the tap destination, as the original exchange is never
+     * waiting for the thread pool; when the queue is full then the queue overflow policy is applied.
+     *
+     * @param  queueSize the capacity of the queue
+     * @return           the builder
+     */
+    public WireTapDefinition<Type> queueSize(String queueSize) {
+        setQueueSize(queueSize);
+        return this;
+    }
+
+    /**
+     * What to do when the queue is full (only in use when queue size is configured). DropOldest drops the oldest tapped
+     * exchange in the queue to make room, DropNewest drops the new tapped exchange, and Block waits for room in the
+     * queue, which slows down the route to the speed of the tap destination.
+     *
+     * @param  queueOverflow the overflow policy
+     * @return               the builder
+     */
+    public WireTapDefinition<Type> queueOverflow(String queueOverflow) {
+        setQueueOverflow(queueOverflow);
+        return this;
+    }
+
+    /**
+     * Drains up to this number of tapped exchanges from the queue at once, and sends them to the tap destination as a
+     * single message with a {@link java.util.List} of the message bodies (only in use when queue size is configured).
+     *
+     * @param  drainBatchSize the maximum number of tapped exchanges to send at once
+     * @return                the builder
+     */
+    public WireTapDefinition<Type> drainBatchSize(int drainBatchSize) {
+        return drainBatchSize(Integer.toString(drainBatchSize));
+    }
+
+    /**
+     * Drains up to this number of tapped exchanges from the queue at once, and sends them to the tap destination as a
+     * single message with a {@link java.util.List} of the message bodies (only in use when queue size is configured).
+     *
+     * @param  drainBatchSize the maximum number of tapped exchanges to send at once
+     * @return                the builder
+     */
+    public WireTapDefinition<Type> drainBatchSize(String drainBatchSize) {
+        setDrainBatchSize(drainBatchSize);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -358,6 +431,30 @@ public class WireTapDefinition<Type extends ProcessorDefinition<Type>> extends T
         this.executorService = executorService;
     }
 
+    public String getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(String queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public String getQueueOverflow() {
+        return queueOverflow;
+    }
+
+    public void setQueueOverflow(String queueOverflow) {
+        this.queueOverflow = queueOverflow;
+    }
+
+    public String getDrainBatchSize() {
+        return drainBatchSize;
+    }
+
+    public void setDrainBatchSize(String drainBatchSize) {
+        this.drainBatchSize = drainBatchSize;
+    }
+
     @Override
     public WireTapDefinition copyDefinition() {
         return new WireTapDefinition(this);
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model.loadbalancer;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.spi.Metadata;
+
+/**
+ * The destination endpoints are selected by picking two at random, and choosing the one with the fewest in-flight
+ * exchanges.
+ */
+@Metadata(label = "eip,routing")
+@XmlRootElement(name = "leastInFlightLoadBalancer")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class LeastInFlightLoadBalancerDefinition extends LoadBalancerDefinition {
+
+    public LeastInFlightLoadBalancerDefinition() {
+    }
+
+    protected LeastInFlightLoadBalancerDefinition(LeastInFlightLoadBalancerDefinition source) {
+        super(source);
+    }
+
+    @Override
+    public LeastInFlightLoadBalancerDefinition copyDefinition() {
+        return new LeastInFlightLoadBalancerDefinition(this);
+    }
+
+    @Override
+    public String toString() {
+        return "LeastInFlightLoadBalancer";
+    }
+}
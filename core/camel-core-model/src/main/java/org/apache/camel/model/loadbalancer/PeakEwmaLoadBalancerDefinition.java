@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model.loadbalancer;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.spi.Metadata;
+
+/**
+ * The destination endpoints are selected by picking two at random, and choosing the one with the lowest peak
+ * exponentially weighted moving average of the latency, multiplied by the in-flight exchanges.
+ */
+@Metadata(label = "eip,routing", title = "Peak EWMA Load Balancer")
+@XmlRootElement(name = "peakEwmaLoadBalancer")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PeakEwmaLoadBalancerDefinition extends LoadBalancerDefinition {
+
+    @XmlAttribute
+    @Metadata(javaType = "java.time.Duration", defaultValue = "10000")
+    private String decayTime;
+
+    public PeakEwmaLoadBalancerDefinition() {
+    }
+
+    protected PeakEwmaLoadBalancerDefinition(PeakEwmaLoadBalancerDefinition source) {
+        super(source);
+        this.decayTime = source.decayTime;
+    }
+
+    @Override
+    public PeakEwmaLoadBalancerDefinition copyDefinition() {
+        return new PeakEwmaLoadBalancerDefinition(this);
+    }
+
+    public String getDecayTime() {
+        return decayTime;
+    }
+
+    /**
+     * The time for the moving average of the latency to decay. A shorter time reacts faster to a destination which has
+     * become faster again, but is more sensitive to noise.
+     * <p/>
+     * The default value is 10 seconds.
+     */
+    public void setDecayTime(String decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    @Override
+    public String toString() {
+        return "PeakEwmaLoadBalancer[" + decayTime + "]";
+    }
+}
@@ -41,6 +41,11 @@ import org.slf4j.LoggerFactory;
  * repository is not shared among {@link Exchange}s, but a private instance is created per {@link Exchange}. This guards
  * against concurrent and thread-safe issues. For off-memory persistent storage of data, then use any of the many Camel
  * components that support persistent storage, and do not use this Claim Check EIP implementation.
+ * <p/>
+ * A shared {@link ClaimCheckRepository} can be configured, such as {@link FileClaimCheckRepository} which stores the
+ * message bodies on disk, which is then used for the operations with keys. The push and pop operations always use the
+ * private repository per {@link Exchange}, as the stack is scoped per {@link Exchange}. The shared repository is added as
+ * a service to {@link CamelContext}, which stops it when shutting down.
  */
 public class ClaimCheckProcessor extends AsyncProcessorSupport implements IdAware, RouteIdAware, CamelContextAware {
 
@@ -54,6 +59,7 @@ public class ClaimCheckProcessor extends AsyncProcessorSupport implements IdAwar
     private String key;
     private Expression keyExpression;
     private String filter;
+    private ClaimCheckRepository repository;
 
     @Override
     public CamelContext getCamelContext() {
@@ -117,10 +123,23 @@ public class ClaimCheckProcessor extends AsyncProcessorSupport implements IdAwar
         this.filter = filter;
     }
 
+    public ClaimCheckRepository getRepository() {
+        return repository;
+    }
+
+    public void setRepository(ClaimCheckRepository repository) {
+        this.repository = repository;
+    }
+
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
-        // the repository is scoped per exchange
-        ClaimCheckRepository repo = getClaimCheckRepository(exchange);
+        // the repository is scoped per exchange, unless a shared repository is used for the operations with keys
+        ClaimCheckRepository repo;
+        if (repository != null && !"Push".equals(operation) && !"Pop".equals(operation)) {
+            repo = repository;
+        } else {
+            repo = getClaimCheckRepository(exchange);
+        }
 
         try {
             String claimKey = keyExpression.evaluate(exchange, String.class);
@@ -211,6 +230,7 @@ public class ClaimCheckProcessor extends AsyncProcessorSupport implements IdAwar
             aggregationStrategy = createAggregationStrategy();
         }
         CamelContextAware.trySetCamelContext(aggregationStrategy, camelContext);
+        CamelContextAware.trySetCamelContext(repository, camelContext);
 
         if (LanguageSupport.hasSimpleFunction(key)) {
             keyExpression = camelContext.resolveLanguage("simple").createExpression(key);
@@ -222,6 +242,10 @@ public class ClaimCheckProcessor extends AsyncProcessorSupport implements IdAwar
     @Override
     protected void doStart() throws Exception {
         ObjectHelper.notNull(operation, "operation", this);
+        // the shared repository may be used by other routes, so let CamelContext manage its lifecycle
+        if (repository != null && !camelContext.hasService(repository)) {
+            camelContext.addService(repository, true, true);
+        }
         ServiceHelper.startService(aggregationStrategy);
     }
 
@@ -14,18 +14,16 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.apache.camel.processor.resequencer;
+package org.apache.camel.processor;
 
-/**
- * Implemented by classes that handle timeout notifications.
- */
-public interface TimeoutHandler {
+import java.io.Serial;
+import java.util.concurrent.RejectedExecutionException;
+
+public class ConcurrencyLimitRejectedExecutionException extends RejectedExecutionException {
+    private static final @Serial long serialVersionUID = 1L;
 
-    /**
-     * Handles a timeout notification.
-     *
-     * @param timeout the timer task that caused this timeout notification.
-     */
-    void timeout(Timeout timeout);
+    public ConcurrencyLimitRejectedExecutionException(String message) {
+        super(message);
+    }
 
 }
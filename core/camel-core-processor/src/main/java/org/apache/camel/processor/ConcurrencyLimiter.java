@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.Traceable;
+import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.spi.ShutdownAware;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the number of exchanges which are processed concurrently by its outputs, where the limit is adapted at runtime
+ * based on the round trip time (RTT) of the outputs.
+ * <p/>
+ * When the RTT increases as the concurrency increases, then the outputs (or a system they call) are queueing requests
+ * internally, and the limit is lowered. When the RTT is stable the limit is raised, to find the concurrency where the
+ * outputs have the best throughput without queueing. Exchanges exceeding the limit are queued (without blocking any
+ * thread) up to the maximum queue size, and are rejected when the queue is full.
+ * <p/>
+ * Two algorithms are supported:
+ * <ul>
+ * <li>Vegas - estimates the queue size of the outputs from the ratio of the RTT without load and the current RTT, and
+ * raises or lowers the limit to keep the queue small (like TCP Vegas congestion control)</li>
+ * <li>Gradient - compares a long term average RTT with the current RTT, and multiplies the limit with the gradient of
+ * the two, which reacts faster to a sudden increase in RTT</li>
+ * </ul>
+ */
+public class ConcurrencyLimiter extends DelegateAsyncProcessor implements Traceable, IdAware, RouteIdAware, ShutdownAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private final ReactiveExecutor reactiveExecutor;
+    private final Algorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final Lock lock = new ReentrantLock();
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final LongAdder queuedCounter = new LongAdder();
+    private final LongAdder rejectedCounter = new LongAdder();
+    private volatile int limit;
+    private volatile long lastRtt;
+    private String id;
+    private String routeId;
+
+    public ConcurrencyLimiter(CamelContext camelContext, Processor processor, String algorithm, int initialLimit,
+                              int minLimit, int maxLimit, int maxQueueSize) {
+        super(processor);
+        if (minLimit <= 0) {
+            throw new IllegalArgumentException("MinLimit must be a positive number, was: " + minLimit);
+        }
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("MaxLimit must be greater than or equal to minLimit, was: " + maxLimit);
+        }
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("MaxQueueSize must be zero or a positive number, was: " + maxQueueSize);
+        }
+        this.reactiveExecutor = camelContext.getCamelContextExtension().getReactiveExecutor();
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueSize = maxQueueSize;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        if (algorithm == null || "Vegas".equalsIgnoreCase(algorithm)) {
+            this.algorithm = new VegasAlgorithm(limit);
+        } else if ("Gradient".equalsIgnoreCase(algorithm)) {
+            this.algorithm = new GradientAlgorithm(limit);
+        } else {
+            throw new IllegalArgumentException("Unknown algorithm: " + algorithm + ", must be either Vegas or Gradient");
+        }
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (!isRunAllowed()) {
+            exchange.setException(new RejectedExecutionException("Run is not allowed"));
+            callback.done(true);
+            return true;
+        }
+
+        if (tryAcquire()) {
+            return doProcess(exchange, callback);
+        }
+
+        if (queueSize.incrementAndGet() <= maxQueueSize) {
+            queuedCounter.increment();
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Concurrency limit of {} exceeded, queueing exchangeId: {}", limit, exchange.getExchangeId());
+            }
+            queue.add(new Pending(exchange, callback));
+            // a permit may have been released while queueing
+            drain();
+            return false;
+        }
+        queueSize.decrementAndGet();
+
+        rejectedCounter.increment();
+        exchange.setException(new ConcurrencyLimitRejectedExecutionException(
+                "Exceeded the concurrency limit of " + limit + " and the queue is full (" + maxQueueSize + ")"));
+        callback.done(true);
+        return true;
+    }
+
+    private boolean doProcess(Exchange exchange, AsyncCallback callback) {
+        final long start = System.nanoTime();
+        return processor.process(exchange, doneSync -> {
+            long rtt = System.nanoTime() - start;
+            int current = inflight.getAndDecrement();
+            onSample(rtt, current);
+            callback.done(doneSync);
+            drain();
+        });
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Routes the queued exchanges while there are permits available
+     */
+    private void drain() {
+        while (!queue.isEmpty() && tryAcquire()) {
+            Pending pending = queue.poll();
+            if (pending == null) {
+                inflight.decrementAndGet();
+                // the queue may have been added to after releasing the permit
+                if (queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            queueSize.decrementAndGet();
+            // the exchange continues asynchronously as it has been queued
+            reactiveExecutor.schedule(() -> doProcess(pending.exchange, doneSync -> pending.callback.done(false)));
+        }
+    }
+
+    private void onSample(long rtt, int inflight) {
+        lastRtt = rtt;
+        lock.lock();
+        try {
+            int answer = algorithm.update(rtt, inflight, minLimit, maxLimit);
+            if (answer != limit) {
+                LOG.debug("Concurrency limit changed from {} to {}", limit, answer);
+                limit = answer;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        // reject the exchanges which are still queued
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            pending.exchange.setException(new RejectedExecutionException("ConcurrencyLimiter is stopped"));
+            pending.callback.done(false);
+        }
+    }
+
+    @Override
+    public boolean deferShutdown(ShutdownRunningTask shutdownRunningTask) {
+        // the queued exchanges should be completed
+        return true;
+    }
+
+    @Override
+    public int getPendingExchangesSize() {
+        return queueSize.get();
+    }
+
+    @Override
+    public void prepareShutdown(boolean suspendOnly, boolean forced) {
+        // noop
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "concurrencyLimit[" + getAlgorithm() + "]";
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getRouteId() {
+        return routeId;
+    }
+
+    @Override
+    public void setRouteId(String routeId) {
+        this.routeId = routeId;
+    }
+
+    public String getAlgorithm() {
+        return algorithm.getName();
+    }
+
+    /**
+     * The current concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Number of exchanges currently being processed by the outputs
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Number of exchanges currently queued
+     */
+    public int getQueueSize() {
+        return Math.max(0, queueSize.get());
+    }
+
+    /**
+     * Number of exchanges which have been queued
+     */
+    public long getQueuedCount() {
+        return queuedCounter.sum();
+    }
+
+    /**
+     * Number of exchanges which have been rejected as the queue was full
+     */
+    public long getRejectedCount() {
+        return rejectedCounter.sum();
+    }
+
+    /**
+     * The round trip time in millis of the last completed exchange
+     */
+    public long getLastRtt() {
+        return TimeUnit.NANOSECONDS.toMillis(lastRtt);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    private record Pending(Exchange exchange, AsyncCallback callback) {
+    }
+
+    /**
+     * Calculates the new limit from a sample. The algorithms are not thread-safe, and are called while holding a lock.
+     */
+    interface Algorithm {
+
+        String getName();
+
+        int update(long rtt, int inflight, int minLimit, int maxLimit);
+    }
+
+    /**
+     * Estimates the number of queued requests in the outputs as <tt>limit * (1 - rttNoLoad / rtt)</tt>, and increases
+     * the limit when the queue is small, and decreases it when the queue is large. The thresholds scale with the
+     * logarithm of the limit.
+     */
+    static final class VegasAlgorithm implements Algorithm {
+
+        private double estimatedLimit;
+        private long rttNoLoad;
+        private int probeCount;
+
+        VegasAlgorithm(int initialLimit) {
+            this.estimatedLimit = initialLimit;
+        }
+
+        @Override
+        public String getName() {
+            return "Vegas";
+        }
+
+        @Override
+        public int update(long rtt, int inflight, int minLimit, int maxLimit) {
+            if (rtt <= 0) {
+                return (int) estimatedLimit;
+            }
+            // probe for a new rtt without load now and then, as the outputs may have become slower permanently
+            if (++probeCount > 30 * estimatedLimit) {
+                probeCount = 0;
+                rttNoLoad = rtt;
+                return (int) estimatedLimit;
+            }
+            if (rttNoLoad == 0 || rtt < rttNoLoad) {
+                rttNoLoad = rtt;
+                return (int) estimatedLimit;
+            }
+            // do not increase the limit when it is not being used
+            boolean limited = inflight * 2 >= estimatedLimit;
+
+            double queue = Math.ceil(estimatedLimit * (1 - (double) rttNoLoad / rtt));
+            double log = Math.max(1, Math.log10(estimatedLimit));
+            double next;
+            if (queue <= log) {
+                next = limited ? estimatedLimit + 6 * log : estimatedLimit;
+            } else if (queue < 3 * log) {
+                next = limited ? estimatedLimit + log : estimatedLimit;
+            } else if (queue > 6 * log) {
+                next = estimatedLimit - log;
+            } else {
+                next = estimatedLimit;
+            }
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+            return (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * Multiplies the limit with the gradient of a long term moving average of the rtt and the current rtt, so the limit
+     * is lowered when the rtt increases, and then adds a small queue allowance so the limit can grow when the rtt is
+     * stable.
+     */
+    static final class GradientAlgorithm implements Algorithm {
+
+        private static final double LONG_WINDOW = 600;
+        private static final double TOLERANCE = 1.5;
+        private static final double SMOOTHING = 0.2;
+
+        private double estimatedLimit;
+        private double longRtt;
+
+        GradientAlgorithm(int initialLimit) {
+            this.estimatedLimit = initialLimit;
+        }
+
+        @Override
+        public String getName() {
+            return "Gradient";
+        }
+
+        @Override
+        public int update(long rtt, int inflight, int minLimit, int maxLimit) {
+            if (rtt <= 0) {
+                return (int) estimatedLimit;
+            }
+            if (longRtt == 0) {
+                longRtt = rtt;
+            } else {
+                longRtt += (rtt - longRtt) * 2 / (LONG_WINDOW + 1);
+            }
+            // recover faster when the rtt has dropped a lot, such as after a period of overload
+            if (longRtt / rtt > 2) {
+                longRtt *= 0.95;
+            }
+            // do not change the limit when it is not being used
+            if (inflight < estimatedLimit / 2) {
+                return (int) estimatedLimit;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rtt));
+            double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            next = estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+            return (int) estimatedLimit;
+        }
+    }
+}
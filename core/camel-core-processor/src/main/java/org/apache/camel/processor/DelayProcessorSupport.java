@@ -25,15 +25,21 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.spi.TimerWheel;
+import org.apache.camel.support.PluginHelper;
 import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.Rejectable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A useful base class for any processor which provides some kind of throttling or delayed processing.
  * <p/>
- * This implementation will block while waiting.
+ * This implementation will block while waiting, unless async delayed is enabled. The delayed exchanges are then
+ * scheduled on the given {@link ScheduledExecutorService}, or if none is given, on the shared {@link TimerWheel} from
+ * the {@link CamelContext}.
  */
 public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
 
@@ -42,6 +48,7 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
     private final CamelContext camelContext;
     private final ScheduledExecutorService executorService;
     private final boolean shutdownExecutorService;
+    private TimerWheel timerWheel;
     private boolean asyncDelayed = true;
     private boolean callerRunsWhenRejected = true;
     private final AtomicInteger delayedCount = new AtomicInteger();
@@ -83,6 +90,35 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
         }
     }
 
+    /**
+     * A delayed task on the shared timer wheel, which is rejected if the timer cannot run the task, such as when the
+     * timer is stopped.
+     */
+    private final class TimerProcessCall implements Runnable, Rejectable {
+        private final ProcessCall call;
+
+        TimerProcessCall(ProcessCall call) {
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            call.run();
+        }
+
+        @Override
+        public void reject() {
+            if (isCallerRunsWhenRejected() && isRunAllowed()) {
+                LOG.debug("Delayed task rejected, so letting caller run for exchangeId: {}", call.exchange.getExchangeId());
+                call.run();
+            } else {
+                delayedCount.decrementAndGet();
+                call.exchange.setException(new RejectedExecutionException("Delayed task rejected"));
+                call.callback.done(false);
+            }
+        }
+    }
+
     public DelayProcessorSupport(CamelContext camelContext, Processor processor) {
         this(camelContext, processor, null, false);
     }
@@ -124,7 +160,11 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
                     LOG.trace("Scheduling delayed task to run in {} millis for exchangeId: {}",
                             delay, exchange.getExchangeId());
                 }
-                executorService.schedule(call, delay, TimeUnit.MILLISECONDS);
+                if (executorService != null) {
+                    executorService.schedule(call, delay, TimeUnit.MILLISECONDS);
+                } else {
+                    timerWheel.schedule(new TimerProcessCall(call), delay);
+                }
                 // tell Camel routing engine we continue routing asynchronous
                 return false;
             } catch (RejectedExecutionException e) {
@@ -265,7 +305,12 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
     @Override
     protected void doStart() throws Exception {
         if (isAsyncDelayed()) {
-            ObjectHelper.notNull(executorService, "executorService", this);
+            if (executorService == null) {
+                // use the shared timer wheel
+                timerWheel = PluginHelper.getTimerWheel(camelContext);
+                ObjectHelper.notNull(timerWheel, "timerWheel", this);
+                ServiceHelper.startService(timerWheel);
+            }
         } else if (executorService != null) {
             asyncDelayed = true;
         }
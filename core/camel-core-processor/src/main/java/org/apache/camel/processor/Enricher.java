@@ -16,7 +16,17 @@
  */
 package org.apache.camel.processor;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AggregationStrategy;
 import org.apache.camel.AsyncCallback;
@@ -32,10 +42,13 @@ import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.ProcessorExchangeFactory;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.MessageHelper;
+import org.apache.camel.support.UnitOfWorkHelper;
+import org.apache.camel.support.builder.ExpressionBuilder;
 import org.apache.camel.support.service.ServiceHelper;
 
 import static org.apache.camel.support.ExchangeHelper.copyResultsPreservePattern;
@@ -47,11 +60,20 @@ import static org.apache.camel.support.ExchangeHelper.copyResultsPreservePattern
  * <p/>
  * Uses a {@link org.apache.camel.Producer} to obtain the additional data as opposed to {@link PollEnricher} that uses a
  * {@link org.apache.camel.PollingConsumer}.
+ * <p/>
+ * When a batch size is configured, then the lookups are batched: up to batch size exchanges (or the exchanges arriving
+ * within the batch timeout) are enriched with a single call to the resource, which is sent a {@link List} of the
+ * message bodies as keys. The resource must reply with a {@link Map} of the results by key, or a {@link List} of the
+ * results in the same order as the keys, and each exchange is then aggregated with its own result. The keys are sent in
+ * a new exchange without the headers and properties of the batched exchanges.
  *
  * @see PollEnricher
  */
 public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdAware, CamelContextAware {
 
+    // the resource endpoint of a batch
+    private static final String BATCH_RECIPIENT = "CamelEnrichBatchRecipient";
+
     private CamelContext camelContext;
     private String id;
     private String routeId;
@@ -69,6 +91,12 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdA
     private HeadersMapFactory headersMapFactory;
     private ProcessorExchangeFactory processorExchangeFactory;
     private SendDynamicProcessor sendDynamicProcessor;
+    private int batchSize;
+    private long batchTimeout = 100;
+    private final Lock batchLock = new ReentrantLock();
+    private final Map<String, Batch> batches = new HashMap<>();
+    private ScheduledExecutorService batchTimeoutExecutorService;
+    private ExecutorService batchExecutorService;
 
     public Enricher(Expression expression, String uri) {
         this.expression = expression;
@@ -185,8 +213,35 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdA
         this.autoStartupComponents = autoStartupComponents;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Enables batched lookups with up to this number of exchanges in a batch. Use 0 (default) to not batch.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * The maximum time in millis to wait for a batch to fill up, counted from when its first exchange was added. Must be
+     * positive when batching, so a batch which does not fill up is always sent.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
     @Override
     public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        if (batchSize > 0) {
+            return processBatched(exchange, callback);
+        }
+
         final Exchange resourceExchange = createResourceExchange(exchange, ExchangePattern.InOut);
 
         // if we should store the received message body in a variable,
@@ -210,37 +265,7 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdA
         return sendDynamicProcessor.process(resourceExchange, new AsyncCallback() {
             @Override
             public void done(boolean doneSync) {
-                if (!isAggregateOnException() && resourceExchange.isFailed()) {
-                    // copy resource exchange onto original exchange (preserving pattern)
-                    copyResultsWithoutCorrelationId(exchange, resourceExchange);
-                } else {
-                    prepareResult(exchange);
-                    try {
-                        // prepare the exchanges for aggregation
-                        ExchangeHelper.prepareAggregation(exchange, resourceExchange);
-                        MessageHelper.resetStreamCache(exchange.getIn());
-
-                        Exchange aggregatedExchange = aggregationStrategy.aggregate(exchange, resourceExchange);
-                        if (aggregatedExchange != null) {
-                            if (ExchangeHelper.shouldSetVariableResult(aggregatedExchange, variableReceive)) {
-                                // result should be stored in variable instead of message body
-                                ExchangeHelper.setVariableFromMessageBodyAndHeaders(aggregatedExchange, variableReceive,
-                                        aggregatedExchange.getMessage());
-                                aggregatedExchange.getMessage().setBody(originalBody);
-                                aggregatedExchange.getMessage().setHeaders(originalHeaders);
-                            }
-                            // copy aggregation result onto original exchange (preserving pattern)
-                            copyResultsWithoutCorrelationId(exchange, aggregatedExchange);
-                            // handover any synchronization (if unit of work is not shared)
-                            if (resourceExchange != null && !isShareUnitOfWork()) {
-                                resourceExchange.getExchangeExtension().handoverCompletions(exchange);
-                            }
-                        }
-                    } catch (Exception e) {
-                        // if the aggregationStrategy threw an exception, set it on the original exchange
-                        exchange.setException(new CamelExchangeException("Error occurred during aggregation", exchange, e));
-                    }
-                }
+                aggregate(exchange, resourceExchange, originalBody, originalHeaders);
 
                 // and release resource exchange back in pool
                 processorExchangeFactory.release(resourceExchange);
@@ -250,6 +275,181 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdA
         });
     }
 
+    private void aggregate(
+            Exchange exchange, Exchange resourceExchange, Object originalBody, Map<String, Object> originalHeaders) {
+        if (!isAggregateOnException() && resourceExchange.isFailed()) {
+            // copy resource exchange onto original exchange (preserving pattern)
+            copyResultsWithoutCorrelationId(exchange, resourceExchange);
+        } else {
+            prepareResult(exchange);
+            try {
+                // prepare the exchanges for aggregation
+                ExchangeHelper.prepareAggregation(exchange, resourceExchange);
+                MessageHelper.resetStreamCache(exchange.getIn());
+
+                Exchange aggregatedExchange = aggregationStrategy.aggregate(exchange, resourceExchange);
+                if (aggregatedExchange != null) {
+                    if (ExchangeHelper.shouldSetVariableResult(aggregatedExchange, variableReceive)) {
+                        // result should be stored in variable instead of message body
+                        ExchangeHelper.setVariableFromMessageBodyAndHeaders(aggregatedExchange, variableReceive,
+                                aggregatedExchange.getMessage());
+                        aggregatedExchange.getMessage().setBody(originalBody);
+                        aggregatedExchange.getMessage().setHeaders(originalHeaders);
+                    }
+                    // copy aggregation result onto original exchange (preserving pattern)
+                    copyResultsWithoutCorrelationId(exchange, aggregatedExchange);
+                    // handover any synchronization (if unit of work is not shared)
+                    if (!isShareUnitOfWork()) {
+                        resourceExchange.getExchangeExtension().handoverCompletions(exchange);
+                    }
+                }
+            } catch (Exception e) {
+                // if the aggregationStrategy threw an exception, set it on the original exchange
+                exchange.setException(new CamelExchangeException("Error occurred during aggregation", exchange, e));
+            }
+        }
+    }
+
+    private boolean processBatched(final Exchange exchange, final AsyncCallback callback) {
+        Object key;
+        Object recipient;
+        String batchKey;
+        Object originalBody = null;
+        Map<String, Object> originalHeaders = null;
+        try {
+            // the exchanges are batched per resource endpoint
+            recipient = expression.evaluate(exchange, Object.class);
+            batchKey = String.valueOf(recipient);
+            key = variableSend != null
+                    ? ExchangeHelper.getVariable(exchange, variableSend) : exchange.getMessage().getBody();
+            if (variableReceive != null) {
+                originalBody = exchange.getMessage().getBody();
+                // do a defensive copy of the headers
+                originalHeaders = headersMapFactory.newMap(exchange.getMessage().getHeaders());
+            }
+        } catch (Exception throwable) {
+            exchange.setException(throwable);
+            callback.done(true);
+            return true;
+        }
+
+        Batch completed = null;
+        batchLock.lock();
+        try {
+            Batch batch = batches.get(batchKey);
+            if (batch == null) {
+                batch = new Batch(batchKey, recipient);
+                batches.put(batchKey, batch);
+                if (batchTimeoutExecutorService != null) {
+                    final Batch current = batch;
+                    batch.timeoutTask = batchTimeoutExecutorService.schedule(() -> onBatchTimeout(current), batchTimeout,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+            batch.pending.add(new PendingLookup(exchange, callback, key, originalBody, originalHeaders));
+            if (batch.pending.size() >= batchSize) {
+                batches.remove(batchKey);
+                completed = batch;
+            }
+        } finally {
+            batchLock.unlock();
+        }
+
+        if (completed != null) {
+            sendBatch(completed);
+        }
+        // the exchange is completed when its batch has been looked up
+        return false;
+    }
+
+    private void onBatchTimeout(Batch batch) {
+        batchLock.lock();
+        try {
+            // the batch may have been completed by size in the meantime
+            if (!batches.remove(batch.batchKey, batch)) {
+                return;
+            }
+        } finally {
+            batchLock.unlock();
+        }
+        // do not send from the timeout checker thread, as the resource may block and hold up the other batches
+        ExecutorService executor = batchExecutorService;
+        if (executor != null && !executor.isShutdown()) {
+            try {
+                executor.execute(() -> sendBatch(batch));
+                return;
+            } catch (RejectedExecutionException e) {
+                // send the batch from this thread instead
+            }
+        }
+        sendBatch(batch);
+    }
+
+    private void sendBatch(Batch batch) {
+        if (batch.timeoutTask != null) {
+            batch.timeoutTask.cancel(false);
+        }
+        List<PendingLookup> pending = batch.pending;
+        List<Object> keys = new ArrayList<>(pending.size());
+        for (PendingLookup lookup : pending) {
+            keys.add(lookup.key);
+        }
+
+        // the lookup is on behalf of the whole batch, so use a new exchange with only the keys (no headers or properties)
+        final Exchange resourceExchange = new DefaultExchange(camelContext, ExchangePattern.InOut);
+        resourceExchange.setProperty(BATCH_RECIPIENT, batch.recipient);
+        resourceExchange.getMessage().setBody(keys);
+        sendDynamicProcessor.process(resourceExchange, doneSync -> {
+            try {
+                scatter(pending, resourceExchange);
+            } finally {
+                // the completions of the lookup cannot be handed over to the exchanges, so they are done now
+                List<Synchronization> completions = resourceExchange.getExchangeExtension().handoverCompletions();
+                UnitOfWorkHelper.doneSynchronizations(resourceExchange, completions);
+            }
+        });
+    }
+
+    /**
+     * Aggregates each exchange in the batch with its own result from the reply of the resource
+     */
+    private void scatter(List<PendingLookup> pending, Exchange resourceExchange) {
+        Map<?, ?> map = null;
+        List<?> list = null;
+        if (!resourceExchange.isFailed()) {
+            Object reply = resourceExchange.getMessage().getBody();
+            if (reply instanceof Map<?, ?> m) {
+                map = m;
+            } else {
+                list = resourceExchange.getContext().getTypeConverter().tryConvertTo(List.class, resourceExchange, reply);
+            }
+        }
+        boolean invalid = !resourceExchange.isFailed() && map == null && (list == null || list.size() != pending.size());
+
+        for (int i = 0; i < pending.size(); i++) {
+            PendingLookup lookup = pending.get(i);
+            Exchange exchange = lookup.exchange;
+            if (invalid) {
+                exchange.setException(new CamelExchangeException(
+                        "The resource must reply with a Map of the results by key, or a List with " + pending.size()
+                                                                 + " results",
+                        exchange));
+            } else if (resourceExchange.isFailed() && !isAggregateOnException()) {
+                exchange.setException(resourceExchange.getException());
+            } else {
+                Exchange result = createResourceExchange(exchange, ExchangePattern.InOut);
+                if (resourceExchange.isFailed()) {
+                    result.setException(resourceExchange.getException());
+                } else {
+                    result.getMessage().setBody(map != null ? map.get(lookup.key) : list.get(i));
+                }
+                aggregate(exchange, result, lookup.originalBody, lookup.originalHeaders);
+                processorExchangeFactory.release(result);
+            }
+            lookup.callback.done(false);
+        }
+    }
+
     /**
      * Creates a new {@link DefaultExchange} instance from the given <code>exchange</code>. The resulting exchange's
      * pattern is defined by <code>pattern</code>.
@@ -289,14 +489,18 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdA
 
     @Override
     protected void doBuild() throws Exception {
-        // use send dynamic to send to endpoint
-        this.sendDynamicProcessor = new SendDynamicProcessor(uri, expression);
+        // use send dynamic to send to endpoint (when batching the endpoint is the one of the batch)
+        this.sendDynamicProcessor = new SendDynamicProcessor(
+                uri, batchSize > 0 ? ExpressionBuilder.exchangePropertyExpression(BATCH_RECIPIENT) : expression);
         this.sendDynamicProcessor.setCamelContext(camelContext);
         this.sendDynamicProcessor.setCacheSize(cacheSize);
         this.sendDynamicProcessor.setIgnoreInvalidEndpoint(ignoreInvalidEndpoint);
         this.sendDynamicProcessor.setAllowOptimisedComponents(allowOptimisedComponents);
         this.sendDynamicProcessor.setAutoStartupComponents(autoStartupComponents);
-        this.sendDynamicProcessor.setVariableSend(variableSend);
+        if (batchSize <= 0) {
+            // when batching then the keys are sent as a list
+            this.sendDynamicProcessor.setVariableSend(variableSend);
+        }
 
         // create a per processor exchange factory
         this.processorExchangeFactory = getCamelContext().getCamelContextExtension()
@@ -318,11 +522,46 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdA
 
     @Override
     protected void doStart() throws Exception {
+        if (batchSize > 0 && batchTimeout <= 0) {
+            // otherwise a batch which does not fill up is never sent
+            throw new IllegalArgumentException("BatchTimeout must be positive when using batchSize, was: " + batchTimeout);
+        }
+        if (batchSize > 0 && batchTimeoutExecutorService == null) {
+            batchTimeoutExecutorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "EnrichBatchTimeoutChecker");
+        }
+        if (batchSize > 0 && batchExecutorService == null) {
+            batchExecutorService = camelContext.getExecutorServiceManager().newDefaultThreadPool(this, "EnrichBatch");
+        }
         ServiceHelper.startService(processorExchangeFactory, aggregationStrategy, sendDynamicProcessor);
     }
 
     @Override
     protected void doStop() throws Exception {
+        if (batchTimeoutExecutorService != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(batchTimeoutExecutorService);
+            batchTimeoutExecutorService = null;
+        }
+        if (batchExecutorService != null) {
+            // let the batches already timed out be sent
+            camelContext.getExecutorServiceManager().shutdown(batchExecutorService);
+            batchExecutorService = null;
+        }
+        // reject the exchanges which are still waiting for their batch
+        List<Batch> pending;
+        batchLock.lock();
+        try {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        } finally {
+            batchLock.unlock();
+        }
+        for (Batch batch : pending) {
+            for (PendingLookup lookup : batch.pending) {
+                lookup.exchange.setException(new RejectedExecutionException("Enricher is stopped"));
+                lookup.callback.done(false);
+            }
+        }
         ServiceHelper.stopService(aggregationStrategy, processorExchangeFactory, sendDynamicProcessor);
     }
 
@@ -334,6 +573,23 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, RouteIdA
         }
     }
 
+    private record PendingLookup(
+            Exchange exchange, AsyncCallback callback, Object key, Object originalBody,
+            Map<String, Object> originalHeaders) {
+    }
+
+    private static final class Batch {
+        private final String batchKey;
+        private final Object recipient;
+        private final List<PendingLookup> pending = new ArrayList<>();
+        private ScheduledFuture<?> timeoutTask;
+
+        Batch(String batchKey, Object recipient) {
+            this.batchKey = batchKey;
+            this.recipient = recipient;
+        }
+    }
+
     private static class CopyAggregationStrategy implements AggregationStrategy {
 
         @Override
@@ -0,0 +1,680 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.spi.ClaimCheckRepository;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ClaimCheckRepository} which stores the message bodies on disk, to keep big payloads off the heap.
+ * <p/>
+ * Only the message bodies are stored on disk, the headers and properties of the checked-in exchanges are kept in
+ * memory. The bodies are appended to segment files in a directory (by default a sub directory of the stream caching
+ * spool directory), and when an exchange is checked-out, then its body is returned as a {@link StreamCache} which is
+ * lazily read from the segment file using a memory-mapped buffer. Bodies which cannot be converted to a stream are kept
+ * in memory.
+ * <p/>
+ * The repository is bounded by the maximum number of entries and the maximum number of bytes on disk, where the least
+ * recently used entries are evicted when a bound is exceeded, and entries can also expire after a time to live. The
+ * space of removed entries is reclaimed by compaction, where a segment with more removed bytes than the compaction
+ * threshold is compacted by copying its remaining entries to the current segment, and then deleting the segment.
+ * <p/>
+ * This repository is shared by all the exchanges that use it, unlike the default repository which is private per
+ * exchange, so the keys should be unique (such as using the exchange id as part of the key). The repository is not
+ * persistent, and the files are deleted when the repository is stopped.
+ */
+public class FileClaimCheckRepository extends ServiceSupport implements ClaimCheckRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileClaimCheckRepository.class);
+
+    private static final String PUSH_KEY_PREFIX = "ClaimCheckPush-";
+    // bodies smaller than this are read into memory instead of being memory-mapped
+    private static final int MAP_THRESHOLD = 16 * 1024;
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<String> stack = new ArrayDeque<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private CamelContext camelContext;
+    private ScheduledExecutorService housekeepingExecutorService;
+    private File directory;
+    private long segmentSize = 64 * 1024 * 1024L;
+    private int maxEntries = 10000;
+    private long maxBytes;
+    private long timeToLive;
+    private double compactionThreshold = 0.5d;
+    private long housekeepingInterval = 1000;
+    private File currentDirectory;
+    private Segment current;
+    private long segmentCounter;
+    private long pushCounter;
+    private long liveBytes;
+    private long evictedCount;
+    private long expiredCount;
+    private long compactionCount;
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The directory to store the segment files in. By default a sub directory of the stream caching spool directory is
+     * used.
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * The size in bytes a segment file grows to before a new segment file is started. Default is 64 MB.
+     */
+    public void setSegmentSize(long segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * The maximum number of entries, before the least recently used entries are evicted. Default is 10000. Use 0 for
+     * unbounded.
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * The maximum number of bytes of the bodies stored on disk, before the least recently used entries are evicted.
+     * Default is 0 (unbounded).
+     */
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Time in millis an entry is kept after it was added, before it expires. Default is 0 (never expires).
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * The ratio (0 to 1) of removed bytes in a segment file, before the segment file is compacted. Default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public long getHousekeepingInterval() {
+        return housekeepingInterval;
+    }
+
+    /**
+     * Interval in millis of the background task which expires entries and compacts segment files. Default is 1000.
+     */
+    public void setHousekeepingInterval(long housekeepingInterval) {
+        this.housekeepingInterval = housekeepingInterval;
+    }
+
+    /**
+     * Number of entries in the repository
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of bytes of the bodies stored on disk, which has not been removed
+     */
+    public long getLiveBytes() {
+        lock.lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of segment files
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public long getCompactionCount() {
+        return compactionCount;
+    }
+
+    @Override
+    public boolean add(String key, Exchange exchange) {
+        lock.lock();
+        try {
+            Entry old = entries.remove(key);
+            if (old != null) {
+                release(old);
+            }
+            entries.put(key, store(exchange));
+            evict();
+            return old == null || isExpired(old, System.currentTimeMillis());
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error storing claim check: " + key, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            return entry != null && !isExpired(entry, System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Exchange get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry, System.currentTimeMillis())) {
+                remove(key, entry);
+                expiredCount++;
+                return null;
+            }
+            // the stored exchange is shared, so return a copy with its own body
+            Exchange answer = entry.exchange.copy();
+            answer.getMessage().setBody(loadBody(entry));
+            return answer;
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error loading claim check: " + key, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Exchange getAndRemove(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry, System.currentTimeMillis())) {
+                release(entry);
+                expiredCount++;
+                return null;
+            }
+            // the body can still be read after the entry has been removed (the memory-mapping stays valid)
+            Object body = loadBody(entry);
+            release(entry);
+            entry.exchange.getMessage().setBody(body);
+            return entry.exchange;
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error loading claim check: " + key, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void push(Exchange exchange) {
+        lock.lock();
+        try {
+            String key = PUSH_KEY_PREFIX + ++pushCounter;
+            add(key, exchange);
+            stack.push(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Exchange pop() {
+        lock.lock();
+        try {
+            String key;
+            while ((key = stack.poll()) != null) {
+                Exchange answer = getAndRemove(key);
+                // skip the entries which have been evicted or expired
+                if (answer != null) {
+                    return answer;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            stack.clear();
+            liveBytes = 0;
+            for (Segment segment : segments) {
+                segment.delete();
+            }
+            segments.clear();
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Expires the entries which have exceeded their time to live, and compacts the segment files with more removed
+     * bytes than the compaction threshold. This is done periodically by a background task, when the repository has been
+     * configured with a {@link CamelContext}.
+     */
+    public void purge() {
+        lock.lock();
+        try {
+            if (timeToLive > 0) {
+                long now = System.currentTimeMillis();
+                Iterator<Entry> it = entries.values().iterator();
+                while (it.hasNext()) {
+                    Entry entry = it.next();
+                    if (isExpired(entry, now)) {
+                        it.remove();
+                        release(entry);
+                        expiredCount++;
+                    }
+                }
+            }
+            for (Segment segment : new ArrayList<>(segments)) {
+                if (segment != current && segment.size > 0
+                        && segment.size - segment.liveBytes >= segment.size * compactionThreshold) {
+                    compact(segment);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Error compacting claim check repository due to: {}. This exception is ignored.", e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return timeToLive > 0 && entry.created + timeToLive <= now;
+    }
+
+    private Entry store(Exchange exchange) throws IOException {
+        Entry entry = new Entry(exchange, System.currentTimeMillis());
+        Object body = exchange.getMessage().getBody();
+        if (body == null) {
+            return entry;
+        }
+
+        InputStream is = null;
+        if (!(body instanceof StreamCache)) {
+            is = exchange.getContext().getTypeConverter().tryConvertTo(InputStream.class, exchange, body);
+            if (is == null) {
+                // cannot be stored on disk so keep the body in memory
+                return entry;
+            }
+        }
+
+        Segment segment = currentSegment();
+        long offset = segment.size;
+        FileChannel channel = segment.channel;
+        channel.position(offset);
+        OutputStream os = Channels.newOutputStream(channel);
+        if (body instanceof StreamCache cache) {
+            cache.reset();
+            cache.writeTo(os);
+            cache.reset();
+        } else {
+            try {
+                IOHelper.copy(is, os);
+            } finally {
+                IOHelper.close(is);
+            }
+        }
+        long length = channel.position() - offset;
+
+        entry.segment = segment;
+        entry.offset = offset;
+        entry.length = length;
+        segment.size += length;
+        segment.liveBytes += length;
+        liveBytes += length;
+        // the body is stored on disk, so only keep the headers and properties in memory
+        exchange.getMessage().setBody(null);
+        return entry;
+    }
+
+    private Object loadBody(Entry entry) throws IOException {
+        if (entry.segment == null) {
+            return entry.exchange.getMessage().getBody();
+        }
+        ByteBuffer buffer;
+        if (entry.length < MAP_THRESHOLD) {
+            buffer = ByteBuffer.allocate((int) entry.length);
+            while (buffer.hasRemaining()) {
+                if (entry.segment.channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment file: " + entry.segment.file);
+                }
+            }
+            buffer.flip();
+        } else {
+            buffer = entry.segment.channel.map(FileChannel.MapMode.READ_ONLY, entry.offset, entry.length);
+        }
+        return new ByteBufferInputStreamCache(buffer);
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        release(entry);
+    }
+
+    private void release(Entry entry) {
+        Segment segment = entry.segment;
+        if (segment == null) {
+            return;
+        }
+        entry.segment = null;
+        segment.liveBytes -= entry.length;
+        liveBytes -= entry.length;
+        if (segment != current && segment.liveBytes == 0) {
+            // nothing left in the segment so it can be deleted right away
+            segments.remove(segment);
+            segment.delete();
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext() && (maxEntries > 0 && entries.size() > maxEntries || maxBytes > 0 && liveBytes > maxBytes)) {
+            // the first entry is the least recently used
+            Entry entry = it.next();
+            it.remove();
+            release(entry);
+            evictedCount++;
+        }
+    }
+
+    private void compact(Segment segment) throws IOException {
+        LOG.debug("Compacting claim check segment file: {} with {} of {} bytes in use", segment.file, segment.liveBytes,
+                segment.size);
+        for (Entry entry : entries.values()) {
+            if (entry.segment == segment) {
+                Segment target = currentSegment();
+                long offset = target.size;
+                long copied = 0;
+                while (copied < entry.length) {
+                    copied += segment.channel.transferTo(entry.offset + copied, entry.length - copied,
+                            target.channel.position(offset + copied));
+                }
+                entry.segment = target;
+                entry.offset = offset;
+                target.size += entry.length;
+                target.liveBytes += entry.length;
+            }
+        }
+        segments.remove(segment);
+        segment.delete();
+        compactionCount++;
+    }
+
+    private Segment currentSegment() throws IOException {
+        if (current == null || current.size >= segmentSize) {
+            Segment previous = current;
+            File file = new File(currentDirectory, "segment-" + ++segmentCounter + ".dat");
+            current = new Segment(file);
+            segments.add(current);
+            if (previous != null && previous.liveBytes == 0) {
+                segments.remove(previous);
+                previous.delete();
+            }
+        }
+        return current;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        File dir = directory;
+        if (dir == null) {
+            StreamCachingStrategy strategy = camelContext != null ? camelContext.getStreamCachingStrategy() : null;
+            File spool = strategy != null ? strategy.getSpoolDirectory() : null;
+            if (spool == null) {
+                spool = new File(System.getProperty("java.io.tmpdir"), "camel");
+            }
+            // use a private directory as the files are deleted when stopping
+            dir = new File(spool, "claimcheck-" + Long.toHexString(System.nanoTime()));
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create claim check directory: " + dir);
+        }
+        currentDirectory = dir;
+        LOG.debug("Using claim check directory: {}", currentDirectory);
+
+        if (camelContext != null && housekeepingInterval > 0) {
+            housekeepingExecutorService = camelContext.getExecutorServiceManager()
+                    .newSingleThreadScheduledExecutor(this, "ClaimCheckRepositoryHousekeeping");
+            housekeepingExecutorService.scheduleWithFixedDelay(this::purge, housekeepingInterval, housekeepingInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (housekeepingExecutorService != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(housekeepingExecutorService);
+            housekeepingExecutorService = null;
+        }
+        clear();
+        if (currentDirectory != null && directory == null) {
+            FileUtil.removeDir(currentDirectory);
+        }
+    }
+
+    private static final class Entry {
+        private final Exchange exchange;
+        private final long created;
+        private Segment segment;
+        private long offset;
+        private long length;
+
+        Entry(Exchange exchange, long created) {
+            this.exchange = exchange;
+            this.created = created;
+        }
+    }
+
+    private static final class Segment {
+        private final File file;
+        private final FileChannel channel;
+        private long size;
+        private long liveBytes;
+
+        Segment(File file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void delete() {
+            IOHelper.close(channel);
+            FileUtil.deleteFile(file);
+        }
+    }
+
+    /**
+     * A {@link StreamCache} for a body loaded from a segment file.
+     */
+    private static final class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+
+        private final ByteBuffer source;
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStreamCache(ByteBuffer source) {
+            this.source = source;
+            this.buffer = source.duplicate();
+        }
+
+        @Override
+        public void reset() {
+            buffer.rewind();
+        }
+
+        @Override
+        public void writeTo(OutputStream os) throws IOException {
+            ByteBuffer data = source.duplicate();
+            byte[] chunk = new byte[(int) Math.min(IOHelper.DEFAULT_BUFFER_SIZE, data.remaining())];
+            while (data.hasRemaining()) {
+                int n = Math.min(chunk.length, data.remaining());
+                data.get(chunk, 0, n);
+                os.write(chunk, 0, n);
+            }
+        }
+
+        @Override
+        public StreamCache copy(Exchange exchange) {
+            return new ByteBufferInputStreamCache(source);
+        }
+
+        @Override
+        public boolean inMemory() {
+            return !source.isDirect();
+        }
+
+        @Override
+        public long length() {
+            return source.limit();
+        }
+
+        @Override
+        public long position() {
+            return buffer.position();
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int step = (int) Math.min(Math.max(n, 0), buffer.remaining());
+            buffer.position(buffer.position() + step);
+            return step;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.StreamCache;
+import org.apache.camel.Traceable;
+import org.apache.camel.WrappedFile;
+import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.spi.ShutdownAware;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groups exchanges into batches, where the batch is routed as a single exchange with a {@link List} of the message
+ * bodies as its body.
+ * <p/>
+ * A batch is completed when it has reached its size, when its timeout has elapsed since the first exchange was added,
+ * or when the accumulated size of the message bodies reaches max bytes. Unlike the aggregator there is no correlation,
+ * aggregation strategy or repository, so adding an exchange to a batch is cheap.
+ * <p/>
+ * The grouped exchanges are not completed when they are added, but when their batch has been routed. This means the
+ * consumers only acknowledge the messages after the batch has been processed, and if the batch failed, then the
+ * exception is set on all the grouped exchanges.
+ */
+public class MicroBatchProcessor extends AsyncProcessorSupport
+        implements Navigate<Processor>, Traceable, IdAware, RouteIdAware, ShutdownAware {
+
+    public static final String COMPLETED_BY_SIZE = "size";
+    public static final String COMPLETED_BY_TIMEOUT = "timeout";
+    public static final String COMPLETED_BY_BYTES = "bytes";
+    public static final String COMPLETED_BY_FORCE = "force";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MicroBatchProcessor.class);
+
+    private final CamelContext camelContext;
+    private final AsyncProcessor processor;
+    private final int size;
+    private final long timeout;
+    private final long maxBytes;
+    private final Lock lock = new ReentrantLock();
+    private final LongAdder completedBySize = new LongAdder();
+    private final LongAdder completedByTimeout = new LongAdder();
+    private final LongAdder completedByBytes = new LongAdder();
+    private final LongAdder completedByForce = new LongAdder();
+    private ScheduledExecutorService timeoutCheckerExecutorService;
+    private Batch batch;
+    private String id;
+    private String routeId;
+
+    public MicroBatchProcessor(CamelContext camelContext, AsyncProcessor processor, int size, long timeout,
+                               long maxBytes) {
+        ObjectHelper.notNull(camelContext, "camelContext");
+        ObjectHelper.notNull(processor, "processor");
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be a positive number, was: " + size);
+        }
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must be zero or a positive number, was: " + timeout);
+        }
+        this.camelContext = camelContext;
+        this.processor = processor;
+        this.size = size;
+        this.timeout = timeout;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (!isRunAllowed()) {
+            exchange.setException(new RejectedExecutionException("Run is not allowed"));
+            callback.done(true);
+            return true;
+        }
+
+        long bytes = maxBytes > 0 ? bodySize(exchange) : 0;
+
+        Batch completed = null;
+        String completedBy = null;
+        lock.lock();
+        try {
+            if (batch == null) {
+                batch = new Batch();
+                if (timeout > 0) {
+                    final Batch current = batch;
+                    batch.timeoutTask = timeoutCheckerExecutorService.schedule(() -> onTimeout(current), timeout,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+            batch.add(exchange, callback, bytes);
+            if (batch.exchanges.size() >= size) {
+                completedBy = COMPLETED_BY_SIZE;
+            } else if (maxBytes > 0 && batch.bytes >= maxBytes) {
+                completedBy = COMPLETED_BY_BYTES;
+            }
+            if (completedBy != null) {
+                completed = batch;
+                batch = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (completed != null) {
+            completeBatch(completed, completedBy);
+        }
+        // the exchange is completed when its batch has been processed
+        return false;
+    }
+
+    private void onTimeout(Batch timedOut) {
+        lock.lock();
+        try {
+            // the batch may have been completed by size in the meantime
+            if (batch != timedOut) {
+                return;
+            }
+            batch = null;
+        } finally {
+            lock.unlock();
+        }
+        completeBatch(timedOut, COMPLETED_BY_TIMEOUT);
+    }
+
+    /**
+     * Completes the current batch (if any), regardless of its size and timeout.
+     */
+    public void forceCompletion() {
+        Batch completed;
+        lock.lock();
+        try {
+            completed = batch;
+            batch = null;
+        } finally {
+            lock.unlock();
+        }
+        if (completed != null) {
+            completeBatch(completed, COMPLETED_BY_FORCE);
+        }
+    }
+
+    private void completeBatch(Batch completed, String completedBy) {
+        if (completed.timeoutTask != null) {
+            completed.timeoutTask.cancel(false);
+        }
+        switch (completedBy) {
+            case COMPLETED_BY_SIZE -> completedBySize.increment();
+            case COMPLETED_BY_TIMEOUT -> completedByTimeout.increment();
+            case COMPLETED_BY_BYTES -> completedByBytes.increment();
+            default -> completedByForce.increment();
+        }
+
+        List<Exchange> exchanges = completed.exchanges;
+        List<Object> bodies = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            bodies.add(exchange.getMessage().getBody());
+        }
+        Exchange answer = ExchangeHelper.createCorrelatedCopy(exchanges.get(0), false);
+        answer.getMessage().setBody(bodies);
+        answer.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, exchanges.size());
+        answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, completedBy);
+
+        LOG.debug("Completed batch of {} exchanges by {}", exchanges.size(), completedBy);
+
+        processor.process(answer, doneSync -> {
+            Exception cause = answer.getException();
+            for (int i = 0; i < exchanges.size(); i++) {
+                if (cause != null) {
+                    exchanges.get(i).setException(cause);
+                }
+                completed.callbacks.get(i).done(false);
+            }
+        });
+    }
+
+    /**
+     * The size of the message body in bytes, or 0 if not known without reading the body.
+     */
+    private static long bodySize(Exchange exchange) {
+        Object body = exchange.getMessage().getBody();
+        if (body instanceof byte[] data) {
+            return data.length;
+        } else if (body instanceof String text) {
+            return text.length();
+        } else if (body instanceof ByteBuffer buffer) {
+            return buffer.remaining();
+        } else if (body instanceof StreamCache cache) {
+            return cache.length();
+        } else if (body instanceof WrappedFile<?> wf && wf.getFile() instanceof File file) {
+            return file.length();
+        } else if (body instanceof File file) {
+            return file.length();
+        }
+        Long length = exchange.getMessage().getHeader(Exchange.CONTENT_LENGTH, Long.class);
+        return length != null ? length : 0;
+    }
+
+    @Override
+    protected void doBuild() throws Exception {
+        ServiceHelper.buildService(processor);
+    }
+
+    @Override
+    protected void doInit() throws Exception {
+        ServiceHelper.initService(processor);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (timeout > 0 && timeoutCheckerExecutorService == null) {
+            timeoutCheckerExecutorService
+                    = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                            "MicroBatchTimeoutChecker");
+        }
+        ServiceHelper.startService(processor);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // reject the exchanges which have not been completed during shutdown
+        Batch pending;
+        lock.lock();
+        try {
+            pending = batch;
+            batch = null;
+        } finally {
+            lock.unlock();
+        }
+        if (pending != null) {
+            if (pending.timeoutTask != null) {
+                pending.timeoutTask.cancel(false);
+            }
+            for (int i = 0; i < pending.exchanges.size(); i++) {
+                pending.exchanges.get(i).setException(new RejectedExecutionException("MicroBatch is stopped"));
+                pending.callbacks.get(i).done(false);
+            }
+        }
+        ServiceHelper.stopService(processor);
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        if (timeoutCheckerExecutorService != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(timeoutCheckerExecutorService);
+            timeoutCheckerExecutorService = null;
+        }
+        ServiceHelper.stopAndShutdownServices(processor);
+    }
+
+    @Override
+    public boolean deferShutdown(ShutdownRunningTask shutdownRunningTask) {
+        // the pending batch should be completed
+        return true;
+    }
+
+    @Override
+    public int getPendingExchangesSize() {
+        return getBatchSize();
+    }
+
+    @Override
+    public void prepareShutdown(boolean suspendOnly, boolean forced) {
+        if (!suspendOnly) {
+            // route the pending batch so its exchanges can complete
+            forceCompletion();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return processor != null;
+    }
+
+    @Override
+    public List<Processor> next() {
+        if (!hasNext()) {
+            return null;
+        }
+        List<Processor> answer = new ArrayList<>(1);
+        answer.add(processor);
+        return answer;
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "microBatch[" + size + "]";
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getRouteId() {
+        return routeId;
+    }
+
+    @Override
+    public void setRouteId(String routeId) {
+        this.routeId = routeId;
+    }
+
+    public Processor getProcessor() {
+        return processor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Number of exchanges in the current batch
+     */
+    public int getBatchSize() {
+        lock.lock();
+        try {
+            return batch != null ? batch.exchanges.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCompletedBySize() {
+        return completedBySize.sum();
+    }
+
+    public long getCompletedByTimeout() {
+        return completedByTimeout.sum();
+    }
+
+    public long getCompletedByBytes() {
+        return completedByBytes.sum();
+    }
+
+    public long getCompletedByForce() {
+        return completedByForce.sum();
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    private static final class Batch {
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private final List<AsyncCallback> callbacks = new ArrayList<>();
+        private long bytes;
+        private ScheduledFuture<?> timeoutTask;
+
+        void add(Exchange exchange, AsyncCallback callback, long size) {
+            exchanges.add(exchange);
+            callbacks.add(callback);
+            bytes += size;
+        }
+    }
+}
@@ -173,6 +173,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
     private final AggregationStrategy aggregationStrategy;
     private final boolean parallelProcessing;
     private boolean synchronous;
+    private int maxInFlight;
     private final boolean streaming;
     private final boolean parallelAggregate;
     private final boolean stopOnException;
@@ -285,6 +286,19 @@ public class MulticastProcessor extends AsyncProcessorSupport
         this.synchronous = synchronous;
     }
 
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of sub exchanges in-flight at the same time when using parallel processing. The next sub
+     * exchange is only created when a previous sub exchange has completed and been aggregated, and the sub exchanges
+     * are aggregated in order.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     @Override
     protected void doBuild() throws Exception {
         if (processorExchangeFactory != null) {
@@ -411,6 +425,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean paused = new AtomicBoolean();
         final Map<String, String> mdc;
         final ScheduledFuture<?> timeoutTask;
 
@@ -433,11 +448,14 @@ public class MulticastProcessor extends AsyncProcessorSupport
             } else {
                 this.mdc = null;
             }
+            // when the number of in-flight sub exchanges is bounded, then the replies are always aggregated in order
+            // as the completion service then only holds back the replies within the in-flight window
+            boolean ordered = !isStreaming() || maxInFlight > 0;
             if (capacity > 0) {
                 this.completion
-                        = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, !isStreaming(), lock, capacity);
+                        = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, ordered, lock, capacity);
             } else {
-                this.completion = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, !isStreaming(), lock);
+                this.completion = new AsyncCompletionService<>(sync ? syncScheduler : scheduler, ordered, lock);
             }
         }
 
@@ -474,6 +492,31 @@ public class MulticastProcessor extends AsyncProcessorSupport
             }
         }
 
+        /**
+         * Pauses sending the next sub exchange if the maximum number of sub exchanges are in-flight.
+         *
+         * @return <tt>true</tt> if paused, and the task is scheduled again by {@link #resume()} when a sub exchange has
+         *         been aggregated
+         */
+        protected boolean pause() {
+            if (maxInFlight > 0 && nbExchangeSent.get() - nbAggregated.get() >= maxInFlight) {
+                paused.set(true);
+                // a sub exchange may have been aggregated before we paused, so check again
+                return nbExchangeSent.get() - nbAggregated.get() >= maxInFlight || !paused.compareAndSet(true, false);
+            }
+            return false;
+        }
+
+        /**
+         * Schedules the task again if it was paused, and there is room for sending the next sub exchange.
+         */
+        protected void resume() {
+            if (paused.get() && !done.get() && nbExchangeSent.get() - nbAggregated.get() < maxInFlight
+                    && paused.compareAndSet(true, false)) {
+                schedule(this);
+            }
+        }
+
         protected void timeout() {
             Lock lock = this.lock;
             if (lock.tryLock()) {
@@ -607,6 +650,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
                         // next step
                         if (hasNext && !isParallelProcessing()) {
                             schedule(this);
+                        } else if (maxInFlight > 0) {
+                            resume();
                         }
                     };
 
@@ -625,7 +670,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
                     }
                 });
                 // after submitting this pair then move on to the next pair (if in parallel mode)
-                if (hasNext && isParallelProcessing()) {
+                // unless we must wait for room as the maximum number of sub exchanges are in-flight
+                if (hasNext && isParallelProcessing() && !pause()) {
                     schedule(this);
                 }
             } catch (Exception e) {
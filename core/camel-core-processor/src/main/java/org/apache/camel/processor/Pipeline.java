@@ -23,16 +23,21 @@ import java.util.List;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Channel;
 import org.apache.camel.Exchange;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.spi.CamelInternalProcessorAdvice;
 import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.InternalProcessor;
 import org.apache.camel.spi.ReactiveExecutor;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.support.AsyncProcessorConverterHelper;
 import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.processor.ConvertBodyProcessor;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +47,14 @@ import static org.apache.camel.processor.PipelineHelper.continueProcessing;
 /**
  * Creates a Pipeline pattern where the output of the previous step is sent as input to the next step, reusing the same
  * message exchanges
+ * <p/>
+ * When fused is enabled, then steps that are purely synchronous (such as set header, set body, filter, transform and
+ * convert body) and that are not advised (no tracing, debugging, message history, interceptors or JMX management), are
+ * executed back to back by the calling thread, instead of going through their channel and the reactive executor. If a
+ * fused step fails, then the failed exchange is handed over to the error handler of the step, which deals with the
+ * failure (and any redeliveries) as if the step had been processed via its channel. Transacted exchanges, exchanges
+ * where the unit of work must be called before and after each step, and steps where an advice has been added to the
+ * channel after the pipeline was started, always use the normal routing.
  */
 public class Pipeline extends AsyncProcessorSupport implements Navigate<Processor>, Traceable, IdAware, RouteIdAware {
 
@@ -52,15 +65,60 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
     private final List<AsyncProcessor> processors;
     private final int size;
     private PooledExchangeTaskFactory taskFactory;
+    private boolean fused;
+    private FusedStep[] fusedSteps;
+    private int fusedAdvices;
 
     private String id;
     private String routeId;
 
+    /**
+     * A step that can be processed directly (without its channel).
+     */
+    private static final class FusedStep {
+
+        private final Channel channel;
+        private final AsyncProcessor errorHandler;
+        private final AsyncProcessor processor;
+        // the cheap advices (such as keeping track of the current node) from the channel
+        private final CamelInternalProcessorAdvice<Object>[] advices;
+
+        @SuppressWarnings("unchecked")
+        FusedStep(Channel channel) {
+            this.channel = channel;
+            this.errorHandler = channel.getErrorHandler() != null
+                    ? AsyncProcessorConverterHelper.convert(channel.getErrorHandler()) : null;
+            this.processor = AsyncProcessorConverterHelper.convert(channel.getNextProcessor());
+            if (channel instanceof InternalProcessor ip) {
+                this.advices = ip.getAdvices().toArray(new CamelInternalProcessorAdvice[0]);
+            } else {
+                this.advices = new CamelInternalProcessorAdvice[0];
+            }
+        }
+
+        void before(Exchange exchange, Object[] states) throws Exception {
+            for (int i = 0; i < advices.length; i++) {
+                states[i] = advices[i].before(exchange);
+            }
+        }
+
+        void after(Exchange exchange, Object[] states) throws Exception {
+            // run in reverse order
+            for (int i = advices.length - 1; i >= 0; i--) {
+                advices[i].after(exchange, states[i]);
+                states[i] = null;
+            }
+        }
+    }
+
     private final class PipelineTask implements PooledExchangeTask, AsyncCallback {
 
+        private final AsyncCallback fusedCallback = this::fusedDone;
+        private Object[] fusedStates;
         private Exchange exchange;
         private AsyncCallback callback;
         private int index;
+        private FusedStep step;
 
         PipelineTask() {
         }
@@ -77,6 +135,7 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
             this.exchange = null;
             this.callback = null;
             this.index = 0;
+            this.step = null;
         }
 
         @Override
@@ -86,35 +145,97 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
 
         @Override
         public void run() {
-            boolean stop = exchange.isRouteStop();
-            int num = index;
-            boolean more = num < size;
-            boolean first = num == 0;
-
-            if (!stop && more && (first || continueProcessing(exchange, "so breaking out of pipeline", LOG))) {
-
-                // prepare for next run
-                ExchangeHelper.prepareOutToIn(exchange);
+            for (;;) {
+                boolean stop = exchange.isRouteStop();
+                int num = index;
+                boolean more = num < size;
+                boolean first = num == 0;
+
+                if (!stop && more && (first || continueProcessing(exchange, "so breaking out of pipeline", LOG))) {
+
+                    // prepare for next run
+                    ExchangeHelper.prepareOutToIn(exchange);
+
+                    // get the next processor
+                    int current = index++;
+
+                    FusedStep fusedStep = fusedSteps != null ? fusedSteps[current] : null;
+                    if (fusedStep != null && isFusible(exchange) && fusedStep.channel.isFusible()) {
+                        if (processFused(fusedStep)) {
+                            // completed synchronously so continue with the next step
+                            continue;
+                        }
+                        return;
+                    }
+
+                    AsyncProcessor processor = processors.get(current);
+
+                    processor.process(exchange, this);
+                } else {
+                    // copyResults is needed in case MEP is OUT and the message is not an OUT message
+                    ExchangeHelper.copyResults(exchange, exchange);
+
+                    // logging nextExchange as it contains the exchange that might have altered the payload and since
+                    // we are logging the completion it will be confusing if we log the original instead
+                    // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                    }
+
+                    AsyncCallback cb = callback;
+                    taskFactory.release(this);
+                    reactiveExecutor.schedule(cb);
+                }
+                return;
+            }
+        }
 
-                // get the next processor
-                AsyncProcessor processor = processors.get(index++);
+        /**
+         * Processes the step directly
+         *
+         * @return true if the step completed synchronously and routing can continue, false if the routing is continued
+         *         by a callback
+         */
+        private boolean processFused(FusedStep fusedStep) {
+            step = fusedStep;
+            if (fusedStates == null) {
+                fusedStates = new Object[fusedAdvices];
+            }
+            try {
+                fusedStep.before(exchange, fusedStates);
+            } catch (Exception e) {
+                exchange.setException(e);
+                return true;
+            }
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Processing fused step for exchangeId: {} -> {}", exchange.getExchangeId(), fusedStep.processor);
+            }
+            boolean sync = fusedStep.processor.process(exchange, fusedCallback);
+            return sync && afterFused(fusedStep);
+        }
 
-                processor.process(exchange, this);
-            } else {
-                // copyResults is needed in case MEP is OUT and the message is not an OUT message
-                ExchangeHelper.copyResults(exchange, exchange);
-
-                // logging nextExchange as it contains the exchange that might have altered the payload and since
-                // we are logging the completion it will be confusing if we log the original instead
-                // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
-                }
+        private void fusedDone(boolean doneSync) {
+            // when done synchronously then its handled in processFused
+            if (!doneSync && afterFused(step)) {
+                reactiveExecutor.schedule(this);
+            }
+        }
 
-                AsyncCallback cb = callback;
-                taskFactory.release(this);
-                reactiveExecutor.schedule(cb);
+        private boolean afterFused(FusedStep fusedStep) {
+            try {
+                fusedStep.after(exchange, fusedStates);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+            if (fusedStep.errorHandler != null && isFailed(exchange)) {
+                // the step failed, so let its error handler deal with the failure (without processing the step again),
+                // which counts the failed attempt as the first delivery attempt
+                LOG.debug("Fused step failed for exchangeId: {}, handing over the failure to the error handler",
+                        exchange.getExchangeId());
+                fusedStep.errorHandler.process(exchange, this);
+                return false;
             }
+            return true;
         }
     }
 
@@ -203,6 +324,49 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
     @Override
     protected void doStart() throws Exception {
         ServiceHelper.startService(taskFactory, processors);
+
+        fusedSteps = fused ? createFusedSteps() : null;
+    }
+
+    private FusedStep[] createFusedSteps() {
+        FusedStep[] answer = new FusedStep[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (processors.get(i) instanceof Channel channel && isFusible(channel)) {
+                answer[i] = new FusedStep(channel);
+                fusedAdvices = Math.max(fusedAdvices, answer[i].advices.length);
+                count++;
+            }
+        }
+        LOG.debug("Fused {} out of {} steps in pipeline: {}", count, size, id);
+        return count > 0 ? answer : null;
+    }
+
+    private static boolean isFusible(Channel channel) {
+        if (!channel.isFusible()) {
+            return false;
+        }
+        Processor next = channel.getNextProcessor();
+        return next instanceof SetHeaderProcessor || next instanceof SetPropertyProcessor
+                || next instanceof SetBodyProcessor || next instanceof TransformProcessor
+                || next instanceof ConvertBodyProcessor || next instanceof FilterProcessor
+                || next instanceof RemoveHeaderProcessor || next instanceof RemovePropertyProcessor;
+    }
+
+    private static boolean isFusible(Exchange exchange) {
+        if (exchange.isTransacted()) {
+            return false;
+        }
+        UnitOfWork uow = exchange.getUnitOfWork();
+        return uow == null || !uow.isBeforeAfterProcess();
+    }
+
+    private static boolean isFailed(Exchange exchange) {
+        // same as the error handler, a failure that is already handled or exhausted (such as by the error handler
+        // of a child of a filter) is done
+        return exchange.getException() != null
+                && !ExchangeHelper.isFailureHandled(exchange)
+                && !exchange.getExchangeExtension().isRedeliveryExhausted();
     }
 
     @Override
@@ -215,6 +379,33 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
         ServiceHelper.stopAndShutdownServices(taskFactory, processors);
     }
 
+    public boolean isFused() {
+        return fused;
+    }
+
+    /**
+     * Whether to execute synchronous steps, that are not advised, back to back without going through their channel and
+     * the reactive executor.
+     */
+    public void setFused(boolean fused) {
+        this.fused = fused;
+    }
+
+    /**
+     * Number of steps that are fused, which is only known after the pipeline has been started.
+     */
+    public int getFusedSize() {
+        int answer = 0;
+        if (fusedSteps != null) {
+            for (FusedStep step : fusedSteps) {
+                if (step != null) {
+                    answer++;
+                }
+            }
+        }
+        return answer;
+    }
+
     @Override
     public String toString() {
         return id;
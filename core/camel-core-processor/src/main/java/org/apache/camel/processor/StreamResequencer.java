@@ -73,7 +73,7 @@ public class StreamResequencer extends AsyncProcessorSupport
     private final ResequencerEngine<Exchange> engine;
     private final Processor processor;
     private final Expression expression;
-    private Delivery delivery;
+    private volatile Delivery delivery;
     private int capacity;
     private boolean ignoreInvalidExchanges;
     private long deliveryAttemptInterval = 1000L;
@@ -90,6 +90,7 @@ public class StreamResequencer extends AsyncProcessorSupport
         this.camelContext = camelContext;
         this.engine = new ResequencerEngine<>(comparator);
         this.engine.setSequenceSender(this);
+        this.engine.setDeliveryRequest(this::requestDelivery);
         this.processor = processor;
         this.expression = expression;
         this.exceptionHandler = new LoggingExceptionHandler(camelContext, getClass());
@@ -149,6 +150,56 @@ public class StreamResequencer extends AsyncProcessorSupport
         this.deliveryAttemptInterval = deliveryAttemptInterval;
     }
 
+    /**
+     * Returns the number of gaps in the sequence, which is the number of exchanges that have been delivered when their
+     * immediate predecessor was not the last delivered exchange.
+     */
+    public long getGapCount() {
+        return engine.getGapCount();
+    }
+
+    /**
+     * Returns the number of exchanges which have been delivered because they timed out waiting for their predecessor.
+     */
+    public long getTimeoutCount() {
+        return engine.getTimeoutCount();
+    }
+
+    /**
+     * Returns the number of batches of in-sequence exchanges which have been delivered.
+     */
+    public long getDeliveryBatchCount() {
+        return engine.getBatchCount();
+    }
+
+    /**
+     * Returns the largest number of in-sequence exchanges which have been delivered as a batch.
+     */
+    public int getMaxDeliveryBatchSize() {
+        return engine.getMaxBatchSize();
+    }
+
+    /**
+     * Returns the mean time in millis the delivered exchanges have waited in this resequencer.
+     */
+    public long getMeanWaitTime() {
+        return engine.getMeanWaitTime();
+    }
+
+    /**
+     * Returns the longest time in millis an exchange has waited in this resequencer.
+     */
+    public long getMaxWaitTime() {
+        return engine.getMaxWaitTime();
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public void resetStatistics() {
+        engine.resetStatistics();
+    }
+
     public boolean isIgnoreInvalidExchanges() {
         return ignoreInvalidExchanges;
     }
@@ -267,6 +318,13 @@ public class StreamResequencer extends AsyncProcessorSupport
         return true;
     }
 
+    private void requestDelivery() {
+        Delivery current = delivery;
+        if (current != null) {
+            current.request();
+        }
+    }
+
     @Override
     public boolean hasNext() {
         return processor != null;
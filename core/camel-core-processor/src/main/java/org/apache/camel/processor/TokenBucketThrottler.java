@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> will set a limit on the maximum number of message
+ * exchanges which can be sent to a processor within a specific time period.
+ * <p/>
+ * This throttle implementation uses a token bucket per correlation key, which holds up to the maximum number of
+ * requests, and is refilled at the rate of the maximum number of requests per time period. The bucket is a single
+ * atomic counter with the time when the bucket is full again (known as the generic cell rate algorithm), which is
+ * updated using compare-and-set without any locking. This makes the throttler suited for throttling with a large number
+ * of correlation keys, such as throttling per tenant.
+ * <p/>
+ * When the bucket is empty, the exchange reserves the next request of the bucket, and is delayed until then. When
+ * asyncDelayed is enabled, then the delayed exchanges of all the keys are parked on a single hashed timer wheel,
+ * instead of scheduling a task per exchange. Buckets which have been idle long enough to be full again are evicted
+ * periodically, as they are the same as a new bucket.
+ */
+public class TokenBucketThrottler extends AbstractThrottler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenBucketThrottler.class);
+
+    // marks a bucket as evicted, so it is no longer updated
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Set<Exchange> parked = ConcurrentHashMap.newKeySet();
+    private final LongAdder throttledCounter = new LongAdder();
+    private final LongAdder evictedCounter = new LongAdder();
+    private volatile long timePeriodMillis;
+    private HashedWheelTimeoutMap<Exchange, AsyncCallback> wheel;
+    private ScheduledFuture<?> evictionTask;
+
+    public TokenBucketThrottler(final CamelContext camelContext, final Expression maxRequestsExpression,
+                                final long timePeriodMillis,
+                                final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor,
+                                final boolean rejectExecution, Expression correlation) {
+        super(asyncExecutor, shutdownAsyncExecutor, camelContext, rejectExecution, correlation, maxRequestsExpression);
+
+        if (timePeriodMillis <= 0) {
+            throw new IllegalArgumentException("TimePeriodMillis should be a positive number, was: " + timePeriodMillis);
+        }
+        this.timePeriodMillis = timePeriodMillis;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+            Integer rate = getMaximumRequestsExpression().evaluate(exchange, Integer.class);
+            if (rate == null) {
+                throw new RuntimeExchangeException(
+                        "The maxRequestsPerPeriodExpression was evaluated as null: " + getMaximumRequestsExpression(),
+                        exchange);
+            }
+            if (rate <= 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + rate);
+            }
+
+            long delay = acquire(key, rate, !isRejectExecution());
+            if (delay < 0) {
+                throw new ThrottlerRejectedExecutionException(
+                        "Exceeded the max throttle rate of " + rate + " within " + timePeriodMillis + "ms");
+            }
+            if (delay == 0) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+                }
+                callback.done(true);
+                return true;
+            }
+
+            throttledCounter.increment();
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(delay));
+            if (isAsyncDelayed() && !exchange.isTransacted()) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Throttled for {}ms using the timer wheel, exchangeId: {}", millis, exchange.getExchangeId());
+                }
+                parked.add(exchange);
+                wheel.put(exchange, callback, millis);
+                return false;
+            }
+
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Throttled for {}ms, exchangeId: {}", millis, exchange.getExchangeId());
+            }
+            TimeUnit.NANOSECONDS.sleep(delay);
+            callback.done(true);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return handleInterrupt(exchange, callback, e, true);
+        } catch (Exception e) {
+            return handleException(exchange, callback, e, true);
+        }
+    }
+
+    /**
+     * Takes a request from the bucket of the given key.
+     *
+     * @param  reserve whether to reserve the next request if the bucket is empty
+     * @return         the delay in nanos until the request can be processed, or <tt>-1</tt> if the bucket is empty and
+     *                 no request was reserved
+     */
+    private long acquire(String key, int rate, boolean reserve) {
+        long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+        long interval = period / rate;
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(rate));
+            bucket.rate = rate;
+            long now = System.nanoTime();
+            long current = bucket.full.get();
+            if (current == EVICTED) {
+                // the bucket was evicted concurrently so use a new bucket
+                buckets.remove(key, bucket);
+                continue;
+            }
+            // the bucket is full when it is past the time it was full, and each request adds an interval to that time
+            long next = Math.max(current, now) + interval;
+            long delay = next - now - period;
+            if (delay > 0 && !reserve) {
+                return -1;
+            }
+            if (bucket.full.compareAndSet(current, next)) {
+                return Math.max(0, delay);
+            }
+        }
+    }
+
+    private void onWheelEvent(TimeoutMap.Listener.Type type, Exchange exchange, AsyncCallback callback) {
+        if (type == TimeoutMap.Listener.Type.Evict && parked.remove(exchange)) {
+            try {
+                // continue routing using the thread pool so the timer wheel is not blocked
+                asyncExecutor.execute(() -> callback.done(false));
+            } catch (RejectedExecutionException e) {
+                if (isCallerRunsWhenRejected()) {
+                    LOG.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}",
+                            exchange.getExchangeId());
+                } else {
+                    exchange.setException(e);
+                }
+                callback.done(false);
+            }
+        }
+    }
+
+    /**
+     * Removes the buckets which have been idle long enough to be full again.
+     */
+    protected void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            long current = bucket.full.get();
+            if (current != EVICTED && current - now < 0 && bucket.full.compareAndSet(current, EVICTED)) {
+                buckets.remove(entry.getKey(), bucket);
+                evictedCounter.increment();
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(asyncExecutor, "executorService", this);
+        if (isAsyncDelayed()) {
+            long tick = Math.max(1, Math.min(10, timePeriodMillis / 100));
+            wheel = new HashedWheelTimeoutMap<>(asyncExecutor, tick);
+            wheel.addListener(this::onWheelEvent);
+            ServiceHelper.startService(wheel);
+        }
+        long cleanPeriod = Math.max(1000, timePeriodMillis * 10);
+        evictionTask = asyncExecutor.scheduleWithFixedDelay(this::evictIdleBuckets, cleanPeriod, cleanPeriod,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+            evictionTask = null;
+        }
+        if (wheel != null) {
+            // fail the exchanges that are still parked
+            for (Exchange exchange : parked) {
+                AsyncCallback callback = wheel.remove(exchange);
+                if (parked.remove(exchange) && callback != null) {
+                    exchange.setException(new RejectedExecutionException("Throttler is stopped"));
+                    callback.done(false);
+                }
+            }
+            ServiceHelper.stopService(wheel);
+            parked.clear();
+            wheel = null;
+        }
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        if (shutdownAsyncExecutor && asyncExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
+        }
+        buckets.clear();
+        super.doShutdown();
+    }
+
+    @Override
+    public String getMode() {
+        return "TokenBucket";
+    }
+
+    /**
+     * Gets the current maximum request per period value. If it is grouped throttling applied with correlationExpression
+     * than the max per period within the group will return
+     */
+    @Override
+    public int getCurrentMaximumRequests() {
+        return buckets.values().stream().mapToInt(b -> b.rate).max().orElse(0);
+    }
+
+    /**
+     * Sets the time period during which the maximum number of requests apply
+     */
+    public void setTimePeriodMillis(final long timePeriodMillis) {
+        this.timePeriodMillis = timePeriodMillis;
+    }
+
+    public long getTimePeriodMillis() {
+        return timePeriodMillis;
+    }
+
+    /**
+     * Number of buckets, which is the number of correlation keys which have been throttled recently
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Number of idle buckets which have been evicted
+     */
+    public long getEvictedBucketCount() {
+        return evictedCounter.sum();
+    }
+
+    /**
+     * Number of exchanges which have been delayed
+     */
+    public long getThrottledCount() {
+        return throttledCounter.sum();
+    }
+
+    /**
+     * Number of exchanges which are currently parked on the timer wheel
+     */
+    public int getParkedCount() {
+        return parked.size();
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "throttle[" + this.getMaximumRequestsExpression() + " per: " + timePeriodMillis + "]";
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    private static final class Bucket {
+        // the time in nanos when the bucket is full again
+        private final AtomicLong full = new AtomicLong(System.nanoTime());
+        private volatile int rate;
+
+        private Bucket(int rate) {
+            this.rate = rate;
+        }
+    }
+}
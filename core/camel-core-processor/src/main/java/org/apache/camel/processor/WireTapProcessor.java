@@ -17,7 +17,14 @@
 package org.apache.camel.processor;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.camel.AsyncCallback;
@@ -47,11 +54,26 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Processor for wire tapping exchanges to an endpoint destination.
+ * <p/>
+ * By default each tapped exchange is submitted as a task to the thread pool. When a queue size is configured, then the
+ * tapped exchanges are instead added to a bounded lock-free queue, which is drained by a single task at a time from the
+ * thread pool. The route is then never waiting for (or rejected by) the thread pool, and when the queue is full the
+ * {@link QueueOverflow} policy decides whether to drop the oldest or newest tapped exchange, or to block.
  */
 public class WireTapProcessor extends AsyncProcessorSupport
         implements Traceable, ShutdownAware, IdAware, RouteIdAware, CamelContextAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(WireTapProcessor.class);
+    private static final long BLOCK_DRAIN_INTERVAL = 100;
+
+    /**
+     * What to do with a tapped exchange when the queue is full.
+     */
+    public enum QueueOverflow {
+        DropOldest,
+        DropNewest,
+        Block
+    }
 
     private String id;
     private String routeId;
@@ -69,6 +91,13 @@ public class WireTapProcessor extends AsyncProcessorSupport
     private ProcessorExchangeFactory processorExchangeFactory;
     private PooledExchangeTaskFactory taskFactory;
     private Processor onPrepare;
+    private int queueSize;
+    private QueueOverflow queueOverflow = QueueOverflow.DropOldest;
+    private int drainBatchSize = 1;
+    private Queue<Exchange> queue;
+    private Semaphore queuePermits;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder droppedCount = new LongAdder();
 
     public WireTapProcessor(SendDynamicProcessor dynamicSendProcessor, Processor processor, String uri,
                             ExchangePattern exchangePattern, boolean copy,
@@ -166,7 +195,7 @@ public class WireTapProcessor extends AsyncProcessorSupport
 
     @Override
     public int getPendingExchangesSize() {
-        return taskCount.intValue();
+        return taskCount.intValue() + getQueuedCount();
     }
 
     @Override
@@ -198,6 +227,13 @@ public class WireTapProcessor extends AsyncProcessorSupport
             return true;
         }
 
+        if (queue != null) {
+            // send the exchange to the destination via the queue
+            enqueue(exchange, target);
+            callback.done(true);
+            return true;
+        }
+
         // send the exchange to the destination using an executor service
         try {
             // create task which has state used during routing
@@ -215,6 +251,111 @@ public class WireTapProcessor extends AsyncProcessorSupport
         return true;
     }
 
+    private void enqueue(Exchange exchange, Exchange target) {
+        if (!queuePermits.tryAcquire()) {
+            if (queueOverflow == QueueOverflow.DropNewest) {
+                drop(target);
+                return;
+            } else if (queueOverflow == QueueOverflow.Block) {
+                try {
+                    // the last drain task may have been rejected by the thread pool, so keep scheduling a drain
+                    // while waiting, as otherwise nothing frees up room in the queue
+                    do {
+                        scheduleDrain();
+                    } while (!queuePermits.tryAcquire(BLOCK_DRAIN_INTERVAL, TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(target);
+                    exchange.setException(e);
+                    return;
+                }
+            } else {
+                // make room by dropping the oldest, and take over its permit
+                while (!queuePermits.tryAcquire()) {
+                    Exchange oldest = queue.poll();
+                    if (oldest != null) {
+                        drop(oldest);
+                        break;
+                    }
+                    // the queue was drained in the meantime, and its permits are about to be released
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        queue.offer(target);
+        scheduleDrain();
+    }
+
+    private void drop(Exchange target) {
+        droppedCount.increment();
+        LOG.debug("Dropping wire tapped exchange: {}", target);
+        if (processorExchangeFactory != null) {
+            processorExchangeFactory.release(target);
+        }
+    }
+
+    private void scheduleDrain() {
+        // only one task at a time drains the queue, so the tapped exchanges are sent in order
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executorService.submit(this::drain);
+            } catch (Exception e) {
+                // the queued exchanges are drained by the next tapped exchange
+                draining.set(false);
+                LOG.warn("Error submitting wire tap drain task due to: {}. This exception is ignored.", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            Exchange next;
+            while ((next = pollQueue()) != null) {
+                taskCount.increment();
+                try {
+                    LOG.debug(">>>> (wiretap) {} {}", uri, next);
+                    processor.process(next);
+                } catch (Exception e) {
+                    LOG.warn("Error processing wire tapped exchange: {} due to: {}. This exception is ignored.", next,
+                            e.getMessage(), e);
+                } finally {
+                    taskCount.decrement();
+                    if (processorExchangeFactory != null) {
+                        processorExchangeFactory.release(next);
+                    }
+                }
+            }
+            draining.set(false);
+            // an exchange may have been queued after the queue was empty, but before draining was cleared
+        } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private Exchange pollQueue() {
+        Exchange first = queue.poll();
+        if (first == null) {
+            return null;
+        }
+        queuePermits.release();
+        if (drainBatchSize <= 1) {
+            return first;
+        }
+
+        List<Object> bodies = new ArrayList<>(drainBatchSize);
+        bodies.add(first.getMessage().getBody());
+        Exchange next;
+        while (bodies.size() < drainBatchSize && (next = queue.poll()) != null) {
+            queuePermits.release();
+            bodies.add(next.getMessage().getBody());
+            if (processorExchangeFactory != null) {
+                processorExchangeFactory.release(next);
+            }
+        }
+        // the first exchange carries the batch
+        first.getMessage().setBody(bodies);
+        first.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, bodies.size());
+        return first;
+    }
+
     protected Exchange configureExchange(Exchange exchange, ExchangePattern pattern) throws IOException {
         Exchange answer;
         if (copy) {
@@ -292,6 +433,56 @@ public class WireTapProcessor extends AsyncProcessorSupport
         return uri;
     }
 
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sends the tapped exchanges via a bounded queue with this capacity. Use 0 (default) to submit each tapped exchange
+     * to the thread pool.
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public QueueOverflow getQueueOverflow() {
+        return queueOverflow;
+    }
+
+    public void setQueueOverflow(QueueOverflow queueOverflow) {
+        this.queueOverflow = queueOverflow;
+    }
+
+    public int getDrainBatchSize() {
+        return drainBatchSize;
+    }
+
+    /**
+     * Drains up to this number of queued exchanges at once, which are sent as a single exchange with a list of the
+     * message bodies.
+     */
+    public void setDrainBatchSize(int drainBatchSize) {
+        this.drainBatchSize = drainBatchSize;
+    }
+
+    /**
+     * Number of tapped exchanges currently waiting in the queue
+     */
+    public int getQueuedCount() {
+        return queuePermits != null ? queueSize - queuePermits.availablePermits() : 0;
+    }
+
+    /**
+     * Number of tapped exchanges dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public void resetDroppedCount() {
+        droppedCount.reset();
+    }
+
     public int getCacheSize() {
         if (dynamicSendProcessor != null) {
             return dynamicSendProcessor.getCacheSize();
@@ -340,6 +531,11 @@ public class WireTapProcessor extends AsyncProcessorSupport
         }
         LOG.trace("Using TaskFactory: {}", taskFactory);
 
+        if (queueSize > 0) {
+            queue = new ConcurrentLinkedQueue<>();
+            queuePermits = new Semaphore(queueSize);
+        }
+
         ServiceHelper.buildService(processorExchangeFactory, taskFactory, processor);
     }
 
@@ -360,6 +556,14 @@ public class WireTapProcessor extends AsyncProcessorSupport
 
     @Override
     protected void doShutdown() throws Exception {
+        if (queue != null) {
+            // discard the tapped exchanges which were not sent
+            Exchange next;
+            while ((next = queue.poll()) != null) {
+                queuePermits.release();
+                drop(next);
+            }
+        }
         ServiceHelper.stopAndShutdownServices(processorExchangeFactory, taskFactory, processor);
         if (shutdownExecutorService) {
             getCamelContext().getExecutorServiceManager().shutdownNow(executorService);
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.apache.camel.AggregationStrategy;
 import org.apache.camel.AsyncCallback;
@@ -61,8 +62,8 @@ import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.AsyncProcessorSupport;
-import org.apache.camel.support.DefaultTimeoutMap;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
@@ -100,6 +101,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
     private volatile Lock lock;
+    private volatile Lock[] stripedLocks;
+    private final AtomicBoolean forceCompletionOfAllGroupsRequested = new AtomicBoolean();
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
@@ -231,6 +234,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -404,13 +408,14 @@ public class AggregateProcessor extends AsyncProcessorSupport
         removeFlagCompleteAllGroupsInclusive(copy);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             aggregated = doAggregation(key, copy);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -419,6 +424,11 @@ public class AggregateProcessor extends AsyncProcessorSupport
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        // the aggregation strategy requested completion of all groups while we held the lock of a single stripe
+        if (forceCompletionOfAllGroupsRequested.compareAndSet(true, false)) {
+            forceCompletionOfAllGroups();
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (isCompleteAllGroupsInclusive(exchange)) {
             removeFlagCompleteAllGroupsInclusive(exchange);
@@ -576,7 +586,12 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // check for the special exchange property to force completion of all groups
         if (isCompleteAllGroups(answer)) {
             removeFlagCompleteAllGroups(answer);
-            forceCompletionOfAllGroups();
+            if (stripedLocks != null) {
+                // cannot lock the other stripes while holding this one, so force completion after the aggregation
+                forceCompletionOfAllGroupsRequested.set(true);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -1105,6 +1120,22 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Number of locks the correlation keys are striped over, which allows exchanges with different correlation keys to
+     * be aggregated in parallel. Exchanges with the same correlation key are still aggregated one at a time. The
+     * default value of 0 uses a single lock shared by all correlation keys.
+     * <p/>
+     * Notice that the {@link AggregationStrategy} is then called concurrently for different correlation keys, so it must
+     * be thread-safe if it keeps any state.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1262,18 +1293,22 @@ public class AggregateProcessor extends AsyncProcessorSupport
     /**
      * Background task that looks for aggregated exchanges which is triggered by completion timeouts.
      */
-    private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
+    private final class AggregationTimeoutMap extends HashedWheelTimeoutMap<String, String> {
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
+            // (unless the locks are striped, as then there is no shared lock to purge with)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || lockStripes > 0);
             addListener(this::onEviction);
         }
 
         @Override
         protected void purge() {
-            // wait for lock to be created
-            if (lock != null) {
+            if (lockStripes > 0) {
+                // the evicted keys are locked one at a time when completed
+                super.purge();
+            } else if (lock != null) {
+                // wait for lock to be created
                 // must acquire the shared aggregation lock to be able to purge
                 lock.lock();
                 try {
@@ -1288,6 +1323,24 @@ public class AggregateProcessor extends AsyncProcessorSupport
             if (type != Listener.Type.Evict) {
                 return;
             }
+            if (lockStripes > 0) {
+                Lock keyLock = getLock(key);
+                keyLock.lock();
+                try {
+                    // the group may have been updated, and its timeout tracked again, before we got the lock
+                    // (must not use get as it would refresh the timeout of the group)
+                    if (!containsKey(key)) {
+                        doEviction(key, exchangeId);
+                    }
+                } finally {
+                    keyLock.unlock();
+                }
+            } else {
+                doEviction(key, exchangeId);
+            }
+        }
+
+        private void doEviction(String key, String exchangeId) {
             log.debug("Completion timeout triggered for correlation key: {}", key);
 
             boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
@@ -1342,36 +1395,31 @@ public class AggregateProcessor extends AsyncProcessorSupport
             Set<String> keys = aggregationRepository.getKeys();
 
             if (keys != null && !keys.isEmpty()) {
-                // must acquire the shared aggregation lock to be able to trigger interval completion
-                lock.lock();
-                try {
-                    for (String key : keys) {
-                        boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                                stolenInterval = true;
+                // must acquire the aggregation lock to be able to trigger interval completion
+                doInLock(keys, key -> {
+                    boolean stolenInterval = false;
+                    Exchange exchange = aggregationRepository.get(camelContext, key);
+                    if (exchange == null) {
+                        stolenInterval = true;
+                    } else {
+                        LOG.trace("Completion interval triggered for correlation key: {}", key);
+                        // indicate it was completed by interval
+                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                        try {
+                            Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
                             }
-                        }
-                        if (optimisticLocking && stolenInterval) {
-                            LOG.debug(
-                                    "Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}",
-                                    key);
+                        } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                            stolenInterval = true;
                         }
                     }
-                } finally {
-                    lock.unlock();
-                }
+                    if (optimisticLocking && stolenInterval) {
+                        LOG.debug(
+                                "Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}",
+                                key);
+                    }
+                });
             }
 
             LOG.trace("Completion interval task complete");
@@ -1541,6 +1589,31 @@ public class AggregateProcessor extends AsyncProcessorSupport
             }
         }
 
+        if (lockStripes > 0) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Only one of lockStripes or optimisticLocking can be used, not both.");
+            }
+            if (isCompletionFromBatchConsumer() || isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException(
+                        "Option lockStripes cannot be used together with completionFromBatchConsumer or completionOnNewCorrelationGroup"
+                                                   + " as these completions span across the correlation groups.");
+            }
+        }
+        stripedLocks = null;
+        if (lockStripes > 0) {
+            // round up to a power of two so the stripe can be selected by masking the hash
+            int size = Integer.highestOneBit(lockStripes);
+            if (size < lockStripes) {
+                size <<= 1;
+            }
+            Lock[] locks = new Lock[size];
+            for (int i = 0; i < size; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            stripedLocks = locks;
+            LOG.info("Using {} lock stripes to aggregate correlation keys in parallel", size);
+        }
+
         if (aggregationRepository == null) {
             aggregationRepository = new MemoryAggregationRepository(optimisticLocking);
             LOG.info("Defaulting to MemoryAggregationRepository");
@@ -1746,11 +1819,49 @@ public class AggregateProcessor extends AsyncProcessorSupport
         super.doShutdown();
     }
 
+    /**
+     * Gets the lock to hold while aggregating or completing the group with the given correlation key
+     */
+    private Lock getLock(String key) {
+        Lock[] locks = stripedLocks;
+        if (locks != null) {
+            int hash = key.hashCode();
+            return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+        }
+        return lock;
+    }
+
+    /**
+     * Runs the task for each of the correlation keys while holding the aggregation lock. When the locks are striped,
+     * then each key is locked one at a time, so the aggregation of other keys is not blocked by the task.
+     */
+    private void doInLock(Set<String> keys, Consumer<String> task) {
+        if (stripedLocks != null) {
+            for (String key : keys) {
+                Lock keyLock = getLock(key);
+                keyLock.lock();
+                try {
+                    task.accept(key);
+                } finally {
+                    keyLock.unlock();
+                }
+            }
+        } else {
+            lock.lock();
+            try {
+                keys.forEach(task);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     public int forceCompletionOfGroup(String key) {
-        // must acquire the shared aggregation lock to be able to trigger force completion
+        // must acquire the aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1764,7 +1875,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 }
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force completion of group {}", key);
 
@@ -1791,25 +1902,20 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
-            // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            // must acquire the aggregation lock to be able to trigger force completion
             total = keys.size();
-            try {
-                for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
-                        }
+            doInLock(keys, key -> {
+                Exchange exchange = aggregationRepository.get(camelContext, key);
+                if (exchange != null) {
+                    LOG.trace("Force completion triggered for correlation key: {}", key);
+                    // indicate it was completed by a force completion request
+                    exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                    Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                    if (answer != null) {
+                        onSubmitCompletion(key, answer);
                     }
                 }
-            } finally {
-                lock.unlock();
-            }
+            });
         }
         LOG.trace("Completed force completion of all groups task");
 
@@ -1820,10 +1926,11 @@ public class AggregateProcessor extends AsyncProcessorSupport
     }
 
     public int forceDiscardingOfGroup(String key) {
-        // must acquire the shared aggregation lock to be able to trigger force completion
+        // must acquire the aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1833,7 +1940,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force discarded of group {}", key);
 
@@ -1860,21 +1967,16 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
-            // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            // must acquire the aggregation lock to be able to trigger force completion
             total = keys.size();
-            try {
-                for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force discarded triggered for correlation key: {}", key);
-                        // force discarding by setting aggregate failed as true
-                        onCompletion(key, exchange, exchange, false, true);
-                    }
+            doInLock(keys, key -> {
+                Exchange exchange = aggregationRepository.get(camelContext, key);
+                if (exchange != null) {
+                    LOG.trace("Force discarded triggered for correlation key: {}", key);
+                    // force discarding by setting aggregate failed as true
+                    onCompletion(key, exchange, exchange, false, true);
                 }
-            } finally {
-                lock.unlock();
-            }
+            });
         }
         LOG.trace("Completed force discarding of all groups task");
 
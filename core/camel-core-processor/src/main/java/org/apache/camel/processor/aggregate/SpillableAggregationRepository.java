@@ -0,0 +1,699 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.RecoverableAggregationRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ClassLoadingAwareObjectInputStream;
+import org.apache.camel.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A memory based {@link org.apache.camel.spi.AggregationRepository} which spills groups to disk when the groups kept in
+ * memory exceed a heap budget.
+ * <p/>
+ * The groups which have been updated most recently are kept in memory, while the least recently updated (cold) groups
+ * are serialized into memory mapped segment files when the estimated size of the groups in memory exceeds the heap
+ * budget. A spilled group is loaded from disk when it is aggregated again, and is then kept in memory until it becomes
+ * cold again. Groups which are larger than the heap budget are therefore always kept on disk between updates.
+ * <p/>
+ * The completed groups are also kept in the segment files until they have been confirmed, which allows to recover them
+ * when the processing of the completed group failed. The segment files are local to this repository, and are deleted
+ * when the repository is stopped, so this repository does not keep the groups across restarts.
+ * <p/>
+ * A group is only spilled when its message body, headers, exchange properties and variables can all be serialized,
+ * otherwise the group is kept in memory. Only headers and exchange properties of standard types can be serialized, unless
+ * allowSerializedHeaders is enabled. For example the list of grouped exchanges or bodies, which is stored as an exchange
+ * property by {@link AbstractListAggregationStrategy}, is only spilled when allowSerializedHeaders is enabled.
+ */
+@Metadata(label = "bean",
+          description = "A memory based AggregationRepository which spills cold or large groups to memory mapped files on disk"
+                        + " when the groups in memory exceed a heap budget.",
+          annotations = { "interfaceName=org.apache.camel.spi.AggregationRepository" })
+@Configurer(metadataOnly = true)
+public class SpillableAggregationRepository extends ServiceSupport implements RecoverableAggregationRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpillableAggregationRepository.class);
+
+    private static final String FROM_ENDPOINT = "CamelAggregatedFromEndpoint";
+    private static final long EXCHANGE_OVERHEAD = 256;
+    private static final long ENTRY_OVERHEAD = 64;
+
+    private final Lock lock = new ReentrantLock();
+    // the groups in memory in least recently used order
+    private final LinkedHashMap<String, HeapEntry> heap = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Location> spilled = new HashMap<>();
+    private final Map<String, Location> completed = new LinkedHashMap<>();
+    private final Map<String, Exchange> completedInMemory = new LinkedHashMap<>();
+    private final AtomicBoolean notSerializableWarned = new AtomicBoolean();
+    private File directory;
+    private Segment segment;
+    private int segmentCounter;
+    private long heapSize;
+    private long spillCounter;
+    private long loadCounter;
+
+    @Metadata(description = "The directory to store the segment files in. Is by default a new directory in the temporary directory of the JVM.")
+    private String spoolDirectory;
+    @Metadata(description = "The estimated size in bytes of the groups to keep in memory, before the least recently updated groups are spilled to disk.",
+              defaultValue = "67108864")
+    private long heapBudget = 64 * 1024 * 1024;
+    @Metadata(label = "advanced", description = "The size in bytes of each memory mapped segment file.",
+              defaultValue = "16777216")
+    private int segmentSize = 16 * 1024 * 1024;
+    @Metadata(description = "Whether or not recovery is enabled", defaultValue = "true")
+    private boolean useRecovery = true;
+    @Metadata(description = "Sets the interval between recovery scans", defaultValue = "5000")
+    private long recoveryInterval = 5000;
+    @Metadata(description = "Sets an optional limit of the number of redelivery attempt of recovered Exchange should be attempted, before its exhausted."
+                            + " When this limit is hit, then the Exchange is moved to the dead letter channel.")
+    private int maximumRedeliveries;
+    @Metadata(description = "Sets an optional dead letter channel which exhausted recovered Exchange should be send to.")
+    private String deadLetterUri;
+    @Metadata(label = "advanced",
+              description = "Whether headers on the Exchange that are Java objects and Serializable should be included and saved to the repository")
+    private boolean allowSerializedHeaders;
+    @Metadata(label = "advanced",
+              description = "Sets a deserialization filter while reading Object from Aggregation Repository."
+                            + " By default the filter will only allow classes from java and org.apache.camel packages",
+              defaultValue = "java.**;org.apache.camel.**;!*")
+    private String deserializationFilter = "java.**;org.apache.camel.**;!*";
+
+    public SpillableAggregationRepository() {
+    }
+
+    public SpillableAggregationRepository(long heapBudget) {
+        this.heapBudget = heapBudget;
+    }
+
+    @Override
+    public Exchange add(CamelContext camelContext, String key, Exchange exchange) {
+        lock.lock();
+        try {
+            // any spilled version of the group is replaced by this exchange
+            Location location = spilled.remove(key);
+            if (location != null) {
+                release(location);
+            }
+            HeapEntry entry = new HeapEntry(exchange, estimateSize(exchange));
+            HeapEntry old = heap.put(key, entry);
+            heapSize += entry.size;
+            if (old != null) {
+                heapSize -= old.size;
+            }
+            if (heapSize > heapBudget) {
+                spill(camelContext);
+            }
+            return old != null ? old.exchange : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Exchange get(CamelContext camelContext, String key) {
+        lock.lock();
+        try {
+            HeapEntry entry = heap.get(key);
+            if (entry != null) {
+                return entry.exchange;
+            }
+            Location location = spilled.get(key);
+            if (location != null) {
+                loadCounter++;
+                Exchange answer = unmarshal(camelContext, location.read());
+                long size = estimateSize(answer);
+                // keep the loaded group in memory when it fits, otherwise it stays on disk until its updated
+                if (heapSize + size <= heapBudget) {
+                    spilled.remove(key);
+                    release(location);
+                    heap.put(key, new HeapEntry(answer, size));
+                    heapSize += size;
+                }
+                return answer;
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(CamelContext camelContext, String key, Exchange exchange) {
+        lock.lock();
+        try {
+            HeapEntry entry = heap.remove(key);
+            if (entry != null) {
+                heapSize -= entry.size;
+            }
+            Location location = spilled.remove(key);
+            if (location != null) {
+                release(location);
+            }
+            if (useRecovery) {
+                // keep the completed exchange until its confirmed, so it can be recovered
+                String exchangeId = exchange.getExchangeId();
+                byte[] data = marshal(exchange);
+                if (data != null) {
+                    completed.put(exchangeId, append(data));
+                } else {
+                    completedInMemory.put(exchangeId, exchange.copy());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void confirm(CamelContext camelContext, String exchangeId) {
+        lock.lock();
+        try {
+            Location location = completed.remove(exchangeId);
+            if (location != null) {
+                release(location);
+            }
+            completedInMemory.remove(exchangeId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> getKeys() {
+        lock.lock();
+        try {
+            Set<String> keys = new LinkedHashSet<>(heap.keySet());
+            keys.addAll(spilled.keySet());
+            // do not allow edits to the set
+            return Collections.unmodifiableSet(keys);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> scan(CamelContext camelContext) {
+        lock.lock();
+        try {
+            Set<String> answer = new LinkedHashSet<>(completed.keySet());
+            answer.addAll(completedInMemory.keySet());
+            if (answer.isEmpty()) {
+                LOG.trace("Scanned and found no exchange to recover.");
+            } else {
+                LOG.debug("Scanned and found {} exchange(s) to recover (note some of them may already be in progress).",
+                        answer.size());
+            }
+            return answer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Exchange recover(CamelContext camelContext, String exchangeId) {
+        lock.lock();
+        try {
+            Location location = completed.get(exchangeId);
+            if (location != null) {
+                return unmarshal(camelContext, location.read());
+            }
+            Exchange answer = completedInMemory.get(exchangeId);
+            return answer != null ? answer.copy() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Spills the least recently updated groups to disk until the groups in memory are within the heap budget
+     */
+    private void spill(CamelContext camelContext) {
+        Iterator<Map.Entry<String, HeapEntry>> it = heap.entrySet().iterator();
+        while (heapSize > heapBudget && it.hasNext()) {
+            Map.Entry<String, HeapEntry> entry = it.next();
+            if (entry.getValue().pinned) {
+                continue;
+            }
+            byte[] data = marshal(entry.getValue().exchange);
+            if (data == null) {
+                // cannot be spilled so keep it in memory until its updated
+                entry.getValue().pinned = true;
+            } else {
+                spilled.put(entry.getKey(), append(data));
+                heapSize -= entry.getValue().size;
+                it.remove();
+                spillCounter++;
+                LOG.trace("Spilled correlation key {} with {} bytes to disk", entry.getKey(), data.length);
+            }
+        }
+    }
+
+    private Location append(byte[] data) {
+        if (segment == null || !segment.hasRoom(data.length)) {
+            if (segment != null && segment.live == 0) {
+                segment.delete();
+            }
+            // use a larger segment for records which do not fit in a segment
+            segment = new Segment(
+                    new File(directory, "segment-" + (++segmentCounter) + ".dat"),
+                    Math.max(segmentSize, data.length));
+        }
+        return segment.append(data);
+    }
+
+    private void release(Location location) {
+        Segment owner = location.segment;
+        owner.live -= location.length;
+        // the current segment is still appended to
+        if (owner.live == 0 && owner != segment) {
+            owner.delete();
+        }
+    }
+
+    /**
+     * Marshals the exchange, or returns <tt>null</tt> if the exchange cannot be serialized without losing any of its
+     * values
+     */
+    private byte[] marshal(Exchange exchange) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
+            // the holder excludes the values it cannot serialize, instead of failing
+            if (!isRetained(exchange, holder)) {
+                if (notSerializableWarned.compareAndSet(false, true)) {
+                    LOG.warn("Cannot serialize all values of exchange: {}. The aggregated group is kept in memory.", exchange);
+                }
+                return null;
+            }
+            if (exchange.getFromEndpoint() != null) {
+                DefaultExchangeHolder.addProperty(holder, FROM_ENDPOINT, exchange.getFromEndpoint().getEndpointUri());
+            }
+            oos.writeObject(holder);
+        } catch (IOException | RuntimeException e) {
+            if (notSerializableWarned.compareAndSet(false, true)) {
+                LOG.warn("Cannot serialize exchange: {} due to: {}. The aggregated group is kept in memory.",
+                        exchange, e.getMessage());
+            }
+            return null;
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Whether the holder has retained the body and all the headers, exchange properties and variables of the exchange
+     */
+    private static boolean isRetained(Exchange exchange, DefaultExchangeHolder holder) {
+        Exchange copy = new DefaultExchange(exchange.getContext());
+        DefaultExchangeHolder.unmarshal(copy, holder);
+        Message message = exchange.getMessage();
+        Message copyMessage = copy.getMessage();
+        if (message.getBody() != null && copyMessage.getBody() == null) {
+            return false;
+        }
+        return countValues(message.hasHeaders() ? message.getHeaders() : null)
+                == countValues(copyMessage.hasHeaders() ? copyMessage.getHeaders() : null)
+                && countValues(exchange.getAllProperties()) == countValues(copy.getAllProperties())
+                && countValues(exchange.getVariables()) == countValues(copy.getVariables());
+    }
+
+    private static int countValues(Map<String, Object> map) {
+        if (map == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Object value : map.values()) {
+            // null values are never retained
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Exchange unmarshal(CamelContext camelContext, byte[] data) {
+        DefaultExchangeHolder holder;
+        try (ObjectInputStream ois = new ClassLoadingAwareObjectInputStream(
+                camelContext.getApplicationContextClassLoader(), new ByteArrayInputStream(data))) {
+            ois.setObjectInputFilter(ObjectInputFilter.Config.createFilter(deserializationFilter));
+            holder = (DefaultExchangeHolder) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeCamelException("Error reading spilled exchange from " + directory, e);
+        }
+        Exchange answer = new DefaultExchange(camelContext);
+        DefaultExchangeHolder.unmarshal(answer, holder);
+        // restore the from endpoint
+        String fromEndpointUri = (String) answer.removeProperty(FROM_ENDPOINT);
+        if (fromEndpointUri != null) {
+            Endpoint fromEndpoint = camelContext.hasEndpoint(fromEndpointUri);
+            if (fromEndpoint != null) {
+                answer.getExchangeExtension().setFromEndpoint(fromEndpoint);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Estimates the heap size of the exchange. The estimate is cheap rather than exact, as its computed every time a
+     * group is updated.
+     */
+    protected long estimateSize(Exchange exchange) {
+        long size = EXCHANGE_OVERHEAD + estimateValueSize(exchange.getMessage().getBody());
+        if (exchange.getMessage().hasHeaders()) {
+            size += exchange.getMessage().getHeaders().size() * ENTRY_OVERHEAD;
+        }
+        return size;
+    }
+
+    private static long estimateValueSize(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof byte[] bytes) {
+            return bytes.length;
+        } else if (value instanceof CharSequence text) {
+            return text.length() * 2L;
+        } else if (value instanceof StreamCache cache) {
+            long length = cache.length();
+            return length > 0 ? length : ENTRY_OVERHEAD;
+        } else if (value instanceof Exchange exchange) {
+            return EXCHANGE_OVERHEAD + estimateValueSize(exchange.getMessage().getBody());
+        } else if (value instanceof Collection<?> collection) {
+            // sample the first element as aggregated lists usually hold elements of the same kind
+            Iterator<?> it = collection.iterator();
+            if (!it.hasNext()) {
+                return ENTRY_OVERHEAD;
+            }
+            return ENTRY_OVERHEAD + collection.size() * (ENTRY_OVERHEAD + estimateValueSize(it.next()));
+        } else if (value instanceof Map<?, ?> map) {
+            return ENTRY_OVERHEAD + map.size() * 2 * ENTRY_OVERHEAD;
+        }
+        return ENTRY_OVERHEAD;
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolDirectory(String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public long getHeapBudget() {
+        return heapBudget;
+    }
+
+    public void setHeapBudget(long heapBudget) {
+        this.heapBudget = heapBudget;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public void setRecoveryInterval(long interval, TimeUnit timeUnit) {
+        this.recoveryInterval = timeUnit.toMillis(interval);
+    }
+
+    @Override
+    public void setRecoveryInterval(long interval) {
+        this.recoveryInterval = interval;
+    }
+
+    @Override
+    public long getRecoveryInterval() {
+        return recoveryInterval;
+    }
+
+    @Override
+    public boolean isUseRecovery() {
+        return useRecovery;
+    }
+
+    @Override
+    public void setUseRecovery(boolean useRecovery) {
+        this.useRecovery = useRecovery;
+    }
+
+    @Override
+    public int getMaximumRedeliveries() {
+        return maximumRedeliveries;
+    }
+
+    @Override
+    public void setMaximumRedeliveries(int maximumRedeliveries) {
+        this.maximumRedeliveries = maximumRedeliveries;
+    }
+
+    @Override
+    public String getDeadLetterUri() {
+        return deadLetterUri;
+    }
+
+    @Override
+    public void setDeadLetterUri(String deadLetterUri) {
+        this.deadLetterUri = deadLetterUri;
+    }
+
+    public boolean isAllowSerializedHeaders() {
+        return allowSerializedHeaders;
+    }
+
+    public void setAllowSerializedHeaders(boolean allowSerializedHeaders) {
+        this.allowSerializedHeaders = allowSerializedHeaders;
+    }
+
+    public String getDeserializationFilter() {
+        return deserializationFilter;
+    }
+
+    public void setDeserializationFilter(String deserializationFilter) {
+        this.deserializationFilter = deserializationFilter;
+    }
+
+    /**
+     * The estimated size in bytes of the groups kept in memory
+     */
+    public long getHeapSize() {
+        lock.lock();
+        try {
+            return heapSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of groups currently kept in memory
+     */
+    public int getHeapGroups() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of groups currently spilled to disk
+     */
+    public int getSpilledGroups() {
+        lock.lock();
+        try {
+            return spilled.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of times a group has been spilled to disk
+     */
+    public long getSpillCounter() {
+        lock.lock();
+        try {
+            return spillCounter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of times a spilled group has been loaded from disk
+     */
+    public long getLoadCounter() {
+        lock.lock();
+        try {
+            return loadCounter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (heapBudget < 0) {
+            throw new IllegalArgumentException("HeapBudget must be zero or positive, was: " + heapBudget);
+        }
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("SegmentSize must be positive, was: " + segmentSize);
+        }
+        if (spoolDirectory != null) {
+            directory = new File(spoolDirectory);
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Cannot create spool directory: " + directory);
+            }
+        } else {
+            directory = Files.createTempDirectory("camel-aggregation-").toFile();
+        }
+        LOG.debug("Using spool directory: {} with heap budget: {} bytes", directory, heapBudget);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        lock.lock();
+        try {
+            heap.clear();
+            heapSize = 0;
+            for (Location location : spilled.values()) {
+                location.segment.delete();
+            }
+            for (Location location : completed.values()) {
+                location.segment.delete();
+            }
+            spilled.clear();
+            completed.clear();
+            completedInMemory.clear();
+            if (segment != null) {
+                segment.delete();
+                segment = null;
+            }
+            if (spoolDirectory == null && directory != null) {
+                FileUtil.removeDir(directory);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class HeapEntry {
+        private final Exchange exchange;
+        private final long size;
+        private boolean pinned;
+
+        private HeapEntry(Exchange exchange, long size) {
+            this.exchange = exchange;
+            this.size = size;
+        }
+    }
+
+    private record Location(Segment segment, int offset, int length) {
+
+        private byte[] read() {
+            byte[] data = new byte[length];
+            segment.buffer.get(offset, data);
+            return data;
+        }
+    }
+
+    /**
+     * A memory mapped file which the serialized exchanges are appended to.
+     */
+    private static final class Segment {
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private int position;
+        // number of bytes of the records which are still in use
+        private long live;
+        private boolean deleted;
+
+        private Segment(File file, int size) {
+            this.file = file;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                // the mapping stays valid after the channel is closed
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                throw new RuntimeCamelException("Cannot create segment file: " + file, e);
+            }
+        }
+
+        private boolean hasRoom(int length) {
+            return position + length <= buffer.capacity();
+        }
+
+        private Location append(byte[] data) {
+            int offset = position;
+            buffer.put(offset, data);
+            position += data.length;
+            live += data.length;
+            return new Location(this, offset, data.length);
+        }
+
+        private void delete() {
+            if (!deleted) {
+                deleted = true;
+                // the mapped memory is released when the buffer is garbage collected
+                FileUtil.deleteFile(file);
+            }
+        }
+    }
+
+}
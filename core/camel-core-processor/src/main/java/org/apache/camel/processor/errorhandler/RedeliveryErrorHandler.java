@@ -48,6 +48,7 @@ import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.ReactiveExecutor;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.ShutdownStrategy;
+import org.apache.camel.spi.TimerWheel;
 import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
 import org.apache.camel.support.AsyncProcessorConverterHelper;
 import org.apache.camel.support.CamelContextHelper;
@@ -59,6 +60,7 @@ import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
 import org.apache.camel.util.URISupport;
+import org.apache.camel.util.concurrent.Rejectable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +83,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
     // state
     protected final AtomicInteger redeliverySleepCounter = new AtomicInteger();
     protected ScheduledExecutorService executorService;
+    protected TimerWheel timerWheel;
     protected volatile boolean preparingShutdown;
 
     // output
@@ -798,8 +801,38 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
                 LOG.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", redeliveryDelay,
                         exchange.getExchangeId());
             }
-            executorService.schedule(() -> reactiveExecutor.schedule(this::redeliver), redeliveryDelay,
-                    TimeUnit.MILLISECONDS);
+            if (timerWheel != null) {
+                timerWheel.schedule(new TimerRedelivery(), redeliveryDelay);
+            } else {
+                executorService.schedule(() -> reactiveExecutor.schedule(this::redeliver), redeliveryDelay,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * The redelivery task scheduled on the timer wheel. If the timer cannot run the task, then the task is run by the
+         * caller while the error handler is running, and otherwise the exchange is failed (such as when stopping).
+         */
+        private final class TimerRedelivery implements Runnable, Rejectable {
+
+            @Override
+            public void run() {
+                reactiveExecutor.schedule(RedeliveryTask.this::redeliver);
+            }
+
+            @Override
+            public void reject() {
+                if (isRunAllowed()) {
+                    // only schedules the redelivery so its cheap to run by the caller
+                    run();
+                    return;
+                }
+                exchange.setException(new RejectedExecutionException("Redelivery not allowed while stopping"));
+                // mark the exchange as redelivery exhausted so the failure processor / dead letter channel can process the exchange
+                exchange.getExchangeExtension().setRedeliveryExhausted(true);
+                // jump to start of loop which then detects that we are failed and exhausted
+                reactiveExecutor.schedule(RedeliveryTask.this);
+            }
         }
 
         private void runSynchronousRedelivery() {
@@ -1644,11 +1677,14 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
         // we only need thread pool if redelivery is enabled
         if (redeliveryEnabled) {
             if (executorService == null) {
-                // use default shared executor service
+                // use default shared executor service, and the shared timer wheel to schedule the asynchronous redeliveries
                 executorService = PluginHelper.getErrorHandlerExecutorService(camelContext);
+                timerWheel = PluginHelper.getTimerWheel(camelContext);
+                ServiceHelper.startService(timerWheel);
             }
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Using ExecutorService: {} for redeliveries on error handler: {}", executorService, this);
+                LOG.debug("Using {} for redeliveries on error handler: {}",
+                        timerWheel != null ? timerWheel : executorService, this);
             }
         }
 
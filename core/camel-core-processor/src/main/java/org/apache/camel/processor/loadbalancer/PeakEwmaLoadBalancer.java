@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements the peak EWMA load balancing policy, which picks two random processors and chooses the processor with the
+ * lowest cost. The cost is the exponentially weighted moving average of the latency, multiplied by the number of
+ * exchanges currently being processed (plus one).
+ * <p/>
+ * The moving average reacts immediately to a peak in latency, and decays with the configured decay time, so a slow
+ * processor gets less traffic right away, and is gradually tried again after it has recovered.
+ * <p/>
+ * A failed exchange is counted as a latency of the decay time (unless it took longer), as otherwise a processor which
+ * fails fast would look like the fastest processor and attract more traffic.
+ */
+public class PeakEwmaLoadBalancer extends PowerOfTwoChoicesLoadBalancer {
+
+    // the cost of a processor which has exchanges in-flight, but no latency recorded yet
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    private long decayTime = 10000;
+    private long decayNanos = TimeUnit.MILLISECONDS.toNanos(decayTime);
+
+    @Override
+    protected double cost(Statistics statistics, long now) {
+        double latency = statistics.getLatency(now, decayNanos);
+        int inflight = statistics.getInflight();
+        if (latency == 0 && inflight > 0) {
+            return PENALTY + inflight;
+        }
+        return latency * (inflight + 1);
+    }
+
+    @Override
+    protected void onCompleted(Statistics statistics, long latencyNanos, boolean failed) {
+        // penalize failures as a peak which is then decayed, so the processor is gradually tried again
+        statistics.updateLatency(failed ? Math.max(latencyNanos, decayNanos) : latencyNanos, decayNanos);
+    }
+
+    public long getDecayTime() {
+        return decayTime;
+    }
+
+    /**
+     * The time in millis for the moving average of the latency to decay (the time constant).
+     */
+    public void setDecayTime(long decayTime) {
+        if (decayTime <= 0) {
+            throw new IllegalArgumentException("DecayTime must be a positive number, was: " + decayTime);
+        }
+        this.decayTime = decayTime;
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(decayTime);
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+
+/**
+ * A base class for {@link LoadBalancer} implementations which pick two random processors and then choose the processor
+ * with the lowest cost (known as power of two choices). The number of in-flight exchanges, and the latency of each
+ * processor is tracked, which the implementations use to calculate the cost.
+ * <p/>
+ * Comparing only two random processors avoids scanning all the processors, and avoids that all exchanges are routed to
+ * the same processor when the costs are stale.
+ */
+public abstract class PowerOfTwoChoicesLoadBalancer extends QueueLoadBalancer {
+
+    private final Map<AsyncProcessor, Statistics> statistics = new ConcurrentHashMap<>();
+    private transient int index;
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        AsyncProcessor[] list = doGetProcessors();
+        if (list.length > 0) {
+            AsyncProcessor processor = chooseProcessor(list, exchange);
+            if (processor == null) {
+                Exception e = new IllegalStateException("No processors could be chosen to process " + exchange);
+                exchange.setException(e);
+            } else {
+                final Statistics stats = getStatistics(processor);
+                final long start = System.nanoTime();
+                stats.inflight.incrementAndGet();
+                processor.process(exchange, doneSync -> {
+                    stats.inflight.decrementAndGet();
+                    stats.completed.increment();
+                    boolean failed = exchange.isFailed();
+                    if (failed) {
+                        stats.failed.increment();
+                    }
+                    onCompleted(stats, System.nanoTime() - start, failed);
+                    callback.done(doneSync);
+                });
+                return false;
+            }
+        }
+        // no processors but indicate we are done
+        callback.done(false);
+        return false;
+    }
+
+    @Override
+    protected AsyncProcessor chooseProcessor(AsyncProcessor[] processors, Exchange exchange) {
+        int size = processors.length;
+        if (size == 0) {
+            return null;
+        } else if (size == 1) {
+            // there is only 1
+            index = 0;
+            return processors[0];
+        }
+
+        // pick two different random processors, and choose the cheapest
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        long now = System.nanoTime();
+        double cost1 = cost(getStatistics(processors[first]), now);
+        double cost2 = cost(getStatistics(processors[second]), now);
+        index = cost2 < cost1 ? second : first;
+        return processors[index];
+    }
+
+    /**
+     * Calculates the cost of routing to the processor with the given statistics, where the processor with the lowest
+     * cost is chosen.
+     *
+     * @param  statistics the statistics of the processor
+     * @param  now        the current time in nanos
+     * @return            the cost
+     */
+    protected abstract double cost(Statistics statistics, long now);
+
+    /**
+     * Callback when an exchange has been completed by a processor.
+     *
+     * @param statistics   the statistics of the processor
+     * @param latencyNanos the time it took the processor to complete the exchange
+     * @param failed       whether the exchange failed
+     */
+    protected void onCompleted(Statistics statistics, long latencyNanos, boolean failed) {
+        // noop
+    }
+
+    @Override
+    public void removeProcessor(AsyncProcessor processor) {
+        statistics.remove(processor);
+        super.removeProcessor(processor);
+    }
+
+    /**
+     * Gets the statistics of the given processor
+     */
+    public Statistics getStatistics(AsyncProcessor processor) {
+        return statistics.computeIfAbsent(processor, p -> new Statistics());
+    }
+
+    public int getLastChosenProcessorIndex() {
+        return index;
+    }
+
+    /**
+     * The statistics which are tracked per processor.
+     */
+    public static final class Statistics {
+
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        // the moving average of the latency in nanos as double bits, and when it was last updated
+        private final AtomicLong latency = new AtomicLong(Double.doubleToLongBits(0));
+        private final AtomicLong lastUpdate = new AtomicLong(System.nanoTime());
+
+        Statistics() {
+        }
+
+        /**
+         * Number of exchanges currently being processed
+         */
+        public int getInflight() {
+            return inflight.get();
+        }
+
+        /**
+         * Number of exchanges which have been completed
+         */
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        /**
+         * Number of exchanges which have been completed, and failed
+         */
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        /**
+         * The moving average of the latency in nanos as of the last update
+         */
+        public double getLatency() {
+            return Double.longBitsToDouble(latency.get());
+        }
+
+        /**
+         * The moving average of the latency in nanos, decayed towards zero since the last update. This allows a
+         * processor which was slow, and therefore is no longer chosen, to be chosen again after a while.
+         */
+        double getLatency(long now, long decayNanos) {
+            double value = getLatency();
+            long elapsed = now - lastUpdate.get();
+            if (elapsed > 0 && value > 0) {
+                value *= Math.exp((double) -elapsed / decayNanos);
+            }
+            return value;
+        }
+
+        /**
+         * Updates the moving average with the given latency. A latency which is higher than the average is taken as is
+         * (peak sensitive), so a processor that becomes slow is avoided right away, while a processor which becomes
+         * faster is only trusted gradually.
+         */
+        void updateLatency(long latencyNanos, long decayNanos) {
+            long now = System.nanoTime();
+            long elapsed = Math.max(0, now - lastUpdate.getAndSet(now));
+            double weight = Math.exp((double) -elapsed / decayNanos);
+            while (true) {
+                long bits = latency.get();
+                double current = Double.longBitsToDouble(bits);
+                double next = latencyNanos > current ? latencyNanos : current * weight + latencyNanos * (1 - weight);
+                if (latency.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    return;
+                }
+            }
+        }
+    }
+}
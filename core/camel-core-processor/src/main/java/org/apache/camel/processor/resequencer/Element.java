@@ -16,25 +16,31 @@
  */
 package org.apache.camel.processor.resequencer;
 
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-
 /**
  * A container for objects to be resequenced. This container can be scheduled for timing out. Non-scheduled objects or
  * already timed-out objects are ready for being released by the {@link ResequencerEngine}.
  */
-class Element<E> implements TimeoutHandler {
+class Element<E> {
 
-    private final Lock lock = new ReentrantLock();
     /**
      * The contained object.
      */
     private final E object;
 
     /**
-     * Not <code>null</code> if this element is currently beeing scheduled for timing out.
+     * The time this element was created, in nanos.
+     */
+    private final long insertTime = System.nanoTime();
+
+    /**
+     * <code>true</code> if this element is currently being scheduled for timing out.
+     */
+    private volatile boolean scheduled;
+
+    /**
+     * <code>true</code> if this element has timed out.
      */
-    private Timeout timeout;
+    private volatile boolean timedOut;
 
     /**
      * Creates a new container instance.
@@ -54,35 +60,34 @@ class Element<E> implements TimeoutHandler {
         return object;
     }
 
+    /**
+     * Returns the time this element was created, in nanos.
+     */
+    long getInsertTime() {
+        return insertTime;
+    }
+
     /**
      * Returns <code>true</code> if this element is currently scheduled for timing out.
      *
      * @return <code>true</code> if scheduled or <code>false</code> if not scheduled or already timed-out.
      */
     public boolean scheduled() {
-        lock.lock();
-        try {
-            return timeout != null;
-        } finally {
-            lock.unlock();
-        }
+        return scheduled;
     }
 
     /**
-     * Schedules the given timeout task. Before this methods calls the {@link Timeout#schedule()} method it sets this
-     * element as timeout listener.
-     *
-     * @param t a timeout task.
+     * Returns <code>true</code> if this element was ready for delivery because it timed out.
      */
-    public void schedule(Timeout t) {
-        lock.lock();
-        try {
-            this.timeout = t;
-            this.timeout.setTimeoutHandler(this);
-            this.timeout.schedule();
-        } finally {
-            lock.unlock();
-        }
+    public boolean timedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Marks this element as scheduled for timing out. The timeout itself is kept by the {@link ResequencerEngine}.
+     */
+    public void schedule() {
+        scheduled = true;
     }
 
     /**
@@ -90,29 +95,16 @@ class Element<E> implements TimeoutHandler {
      * method has no effect.
      */
     public void cancel() {
-        lock.lock();
-        try {
-            if (timeout != null) {
-                timeout.cancel();
-            }
-            timeout(null);
-        } finally {
-            lock.unlock();
-        }
+        scheduled = false;
     }
 
     /**
-     * Marks this element as timed-out.
-     *
-     * @param t timeout task that caused the notification.
+     * Marks this element as timed-out, if it is still scheduled for timing out.
      */
-    @Override
-    public void timeout(Timeout t) {
-        lock.lock();
-        try {
-            this.timeout = null;
-        } finally {
-            lock.unlock();
+    public void timeout() {
+        if (scheduled) {
+            timedOut = true;
+            scheduled = false;
         }
     }
 
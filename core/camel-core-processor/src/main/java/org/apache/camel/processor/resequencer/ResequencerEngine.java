@@ -16,14 +16,21 @@
  */
 package org.apache.camel.processor.resequencer;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Timer;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.concurrent.ThreadHelper;
 
 /**
@@ -50,6 +57,11 @@ import org.apache.camel.util.concurrent.ThreadHelper;
  * adjusted accordingly. If the last-delivered element is <code>null</code> i.e. the resequencer was newly created the
  * first arriving element needs <code>timeout</code> milliseconds in any case for becoming <i>ready-for-delivery</i>.
  * <p>
+ * Elements which are <i>ready-for-delivery</i> are removed from the sequence as a batch, and sent outside the lock of
+ * this resequencer, so new elements can be inserted while a batch is sent. The timeouts are kept in a hashed timer
+ * wheel, and an optional {@link #setDeliveryRequest(Runnable) delivery request} callback is notified when an element
+ * times out, so the application can deliver the element without polling.
+ * <p>
  */
 public class ResequencerEngine<E> {
 
@@ -69,9 +81,15 @@ public class ResequencerEngine<E> {
     private final Sequence<Element<E>> sequence;
 
     /**
-     * A timer for scheduling timeout notifications.
+     * A timer wheel for scheduling timeout notifications.
+     */
+    private ScheduledExecutorService timerExecutor;
+    private HashedWheelTimeoutMap<Element<E>, Element<E>> timeouts;
+
+    /**
+     * Notified when an element times out and is ready for delivery.
      */
-    private Timer timer;
+    private Runnable deliveryRequest;
 
     /**
      * A strategy for sending sequence elements.
@@ -92,6 +110,20 @@ public class ResequencerEngine<E> {
 
     private final Lock lock = new ReentrantLock();
 
+    /**
+     * Ensures that batches are sent in order when several threads deliver. Must be locked before the lock.
+     */
+    private final Lock deliveryLock = new ReentrantLock();
+
+    // statistics, which are guarded by the lock
+    private long deliveredCount;
+    private long batchCount;
+    private int maxBatchSize;
+    private long gapCount;
+    private long timeoutCount;
+    private long totalWaitTime;
+    private long maxWaitTime;
+
     /**
      * Creates a new resequencer instance with a default timeout of 2000 milliseconds.
      *
@@ -104,15 +136,38 @@ public class ResequencerEngine<E> {
     }
 
     public void start() {
-        timer = new Timer(
-                ThreadHelper.resolveThreadName("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer"), true);
+        timerExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(
+                    r, ThreadHelper.resolveThreadName("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer"));
+            thread.setDaemon(true);
+            return thread;
+        });
+        // use a tick of a tenth of the timeout, so the elements time out at most a tick late
+        long tick = Math.max(1, Math.min(100, timeout / 10));
+        timeouts = new HashedWheelTimeoutMap<>(timerExecutor, tick);
+        timeouts.addListener(this::onTimeout);
+        ServiceHelper.startService(timeouts);
     }
 
     /**
-     * Stops this resequencer (i.e. this resequencer's {@link Timer} instance).
+     * Stops this resequencer (i.e. this resequencer's timer).
      */
     public void stop() {
-        timer.cancel();
+        ServiceHelper.stopService(timeouts);
+        if (timerExecutor != null) {
+            timerExecutor.shutdownNow();
+            timerExecutor = null;
+        }
+    }
+
+    private void onTimeout(TimeoutMap.Listener.Type type, Element<E> element, Element<E> value) {
+        if (type == TimeoutMap.Listener.Type.Evict) {
+            element.timeout();
+            Runnable request = deliveryRequest;
+            if (request != null) {
+                request.run();
+            }
+        }
     }
 
     /**
@@ -192,6 +247,13 @@ public class ResequencerEngine<E> {
         this.rejectOld = rejectOld;
     }
 
+    /**
+     * Sets a callback which is notified when an element times out and is ready for delivery.
+     */
+    public void setDeliveryRequest(Runnable deliveryRequest) {
+        this.deliveryRequest = deliveryRequest;
+    }
+
     /**
      * Returns the sequence sender.
      *
@@ -264,13 +326,15 @@ public class ResequencerEngine<E> {
 
             // check if there is an immediate successor and cancel
             // timer task (no need to wait any more for timeout)
-            if (successor != null) {
+            if (successor != null && successor.scheduled()) {
                 successor.cancel();
+                timeouts.remove(successor);
             }
 
             // start delivery if current element is successor of last delivered element
             if (!successorOfLastDelivered(element) && sequence.predecessor(element) == null) {
-                element.schedule(defineTimeout());
+                element.schedule();
+                timeouts.put(element, element, this.timeout);
             }
 
             // evaluate wait conditions
@@ -281,21 +345,23 @@ public class ResequencerEngine<E> {
     }
 
     /**
-     * Delivers all elements which are currently ready to deliver.
+     * Delivers all elements which are currently ready to deliver. The ready elements are removed from the sequence in
+     * batches, which are sent without holding the lock of this resequencer.
      *
      * @throws Exception thrown by {@link SequenceSender#sendElement(Object)}.
      *
      * @see              ResequencerEngine#deliverNext()
      */
-    @SuppressWarnings("StatementWithEmptyBody")
     public void deliver() throws Exception {
-        lock.lock();
+        deliveryLock.lock();
         try {
-            while (deliverNext()) {
-                // do nothing here
+            List<Element<E>> batch = nextBatch(Integer.MAX_VALUE);
+            while (!batch.isEmpty()) {
+                send(batch);
+                batch = nextBatch(Integer.MAX_VALUE);
             }
         } finally {
-            lock.unlock();
+            deliveryLock.unlock();
         }
     }
 
@@ -310,33 +376,187 @@ public class ResequencerEngine<E> {
      *
      */
     public boolean deliverNext() throws Exception {
-        lock.lock();
+        deliveryLock.lock();
         try {
-            if (sequence.isEmpty()) {
+            List<Element<E>> batch = nextBatch(1);
+            if (batch.isEmpty()) {
                 return false;
             }
-            // inspect element with the lowest sequence value
-            Element<E> element = sequence.first();
+            send(batch);
+            return true;
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
 
-            // if element is scheduled do not deliver and return
-            if (element.scheduled()) {
-                return false;
+    /**
+     * Removes the run of elements from the head of the sequence, which are ready for delivery
+     */
+    private List<Element<E>> nextBatch(int max) {
+        lock.lock();
+        try {
+            List<Element<E>> batch = new ArrayList<>();
+            long now = System.nanoTime();
+            while (batch.size() < max && !sequence.isEmpty()) {
+                // inspect element with the lowest sequence value
+                Element<E> element = sequence.first();
+
+                // if element is scheduled do not deliver
+                if (element.scheduled()) {
+                    break;
+                }
+
+                // remove deliverable element from sequence
+                sequence.pollFirst();
+
+                // gather statistics
+                if (element.timedOut()) {
+                    timeoutCount++;
+                }
+                if (lastDelivered != null && !successorOfLastDelivered(element)) {
+                    gapCount++;
+                }
+                long wait = now - element.getInsertTime();
+                totalWaitTime += wait;
+                maxWaitTime = Math.max(maxWaitTime, wait);
+
+                // set the delivered element to last delivered element
+                lastDelivered = element;
+                batch.add(element);
             }
+            if (!batch.isEmpty()) {
+                deliveredCount += batch.size();
+                batchCount++;
+                maxBatchSize = Math.max(maxBatchSize, batch.size());
 
-            // remove deliverable element from sequence
-            sequence.remove(element);
+                // evaluate wait conditions
+                evaluateConditions();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            // set the delivered element to last delivered element
-            lastDelivered = element;
+    private void send(List<Element<E>> batch) throws Exception {
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                sequenceSender.sendElement(batch.get(i).getObject());
+            } catch (Exception e) {
+                // the failed element counts as delivered, but the rest of the batch is put back for the next delivery
+                if (i + 1 < batch.size()) {
+                    lock.lock();
+                    try {
+                        lastDelivered = batch.get(i);
+                        deliveredCount -= batch.size() - i - 1;
+                        sequence.addAll(batch.subList(i + 1, batch.size()));
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                throw e;
+            }
+        }
+    }
 
-            // deliver the sequence element
-            sequenceSender.sendElement(element.getObject());
+    /**
+     * Returns the number of elements which have been delivered.
+     */
+    public long getDeliveredCount() {
+        lock.lock();
+        try {
+            return deliveredCount;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            // evaluate wait conditions
-            evaluateConditions();
+    /**
+     * Returns the number of batches of ready elements which have been delivered.
+     */
+    public long getBatchCount() {
+        lock.lock();
+        try {
+            return batchCount;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            // element has been delivered
-            return true;
+    /**
+     * Returns the largest number of ready elements which have been delivered as a batch.
+     */
+    public int getMaxBatchSize() {
+        lock.lock();
+        try {
+            return maxBatchSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of gaps in the sequence, which is the number of elements that have been delivered when their
+     * immediate predecessor was not the last delivered element.
+     */
+    public long getGapCount() {
+        lock.lock();
+        try {
+            return gapCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements which have been ready for delivery because they timed out.
+     */
+    public long getTimeoutCount() {
+        lock.lock();
+        try {
+            return timeoutCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the mean time in millis the delivered elements have waited in this resequencer.
+     */
+    public long getMeanWaitTime() {
+        lock.lock();
+        try {
+            return deliveredCount > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitTime / deliveredCount) : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the longest time in millis an element has waited in this resequencer.
+     */
+    public long getMaxWaitTime() {
+        lock.lock();
+        try {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitTime);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public void resetStatistics() {
+        lock.lock();
+        try {
+            deliveredCount = 0;
+            batchCount = 0;
+            maxBatchSize = 0;
+            gapCount = 0;
+            timeoutCount = 0;
+            totalWaitTime = 0;
+            maxWaitTime = 0;
         } finally {
             lock.unlock();
         }
@@ -374,15 +594,6 @@ public class ResequencerEngine<E> {
         return false;
     }
 
-    /**
-     * Creates a timeout task based on the timeout setting of this resequencer.
-     *
-     * @return a new timeout task.
-     */
-    private Timeout defineTimeout() {
-        return new Timeout(timer, timeout);
-    }
-
     private static <E> Sequence<Element<E>> createSequence(SequenceElementComparator<E> comparator) {
         return new Sequence<>(new ElementComparator<>(comparator));
     }
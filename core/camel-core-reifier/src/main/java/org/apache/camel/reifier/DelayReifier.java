@@ -37,8 +37,13 @@ public class DelayReifier extends ExpressionReifier<DelayDefinition> {
         Expression delay = createAbsoluteTimeDelayExpression();
 
         boolean async = parseBoolean(definition.getAsyncDelayed(), true);
-        boolean shutdownThreadPool = willCreateNewThreadPool(definition, async);
-        ScheduledExecutorService threadPool = getConfiguredScheduledExecutorService("Delay", definition, async);
+        boolean shutdownThreadPool = false;
+        ScheduledExecutorService threadPool = null;
+        // a thread pool is only needed if explicit configured, otherwise the shared timer wheel is used
+        if (definition.getExecutorServiceBean() != null || definition.getExecutorServiceRef() != null) {
+            shutdownThreadPool = willCreateNewThreadPool(definition, true);
+            threadPool = getConfiguredScheduledExecutorService("Delay", definition, true);
+        }
 
         Delayer answer = new Delayer(camelContext, childProcessor, delay, threadPool, shutdownThreadPool);
         answer.setAsyncDelayed(async);
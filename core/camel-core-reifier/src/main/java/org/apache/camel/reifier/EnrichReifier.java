@@ -78,6 +78,11 @@ public class EnrichReifier extends ExpressionReifier<EnrichDefinition> {
         if (definition.getAutoStartComponents() != null) {
             enricher.setAutoStartupComponents(parseBoolean(definition.getAutoStartComponents(), true));
         }
+        Integer batchSize = parseInt(definition.getBatchSize());
+        if (batchSize != null) {
+            enricher.setBatchSize(batchSize);
+        }
+        enricher.setBatchTimeout(parseDuration(definition.getBatchTimeout(), 100L));
 
         return enricher;
     }
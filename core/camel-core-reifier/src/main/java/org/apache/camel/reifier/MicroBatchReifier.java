@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.reifier;
+
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.model.MicroBatchDefinition;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.MicroBatchProcessor;
+import org.apache.camel.support.PluginHelper;
+
+public class MicroBatchReifier extends ProcessorReifier<MicroBatchDefinition> {
+
+    public MicroBatchReifier(Route route, ProcessorDefinition<?> definition) {
+        super(route, (MicroBatchDefinition) definition);
+    }
+
+    @Override
+    public Processor createProcessor() throws Exception {
+        Processor child = this.createChildProcessor(true);
+
+        // wrap the batch route in a unit of work processor
+        AsyncProcessor target = PluginHelper.getInternalProcessorFactory(camelContext)
+                .addUnitOfWorkProcessorAdvice(camelContext, child, route);
+
+        int size = parseInt(definition.getSize(), 100);
+        long timeout = parseDuration(definition.getTimeout(), 1000L);
+        long maxBytes = parseLong(definition.getMaxBytes(), 0L);
+
+        return new MicroBatchProcessor(camelContext, target, size, timeout, maxBytes);
+    }
+
+}
@@ -41,6 +41,7 @@ import org.apache.camel.model.CatchDefinition;
 import org.apache.camel.model.ChoiceDefinition;
 import org.apache.camel.model.CircuitBreakerDefinition;
 import org.apache.camel.model.ClaimCheckDefinition;
+import org.apache.camel.model.ConcurrencyLimitDefinition;
 import org.apache.camel.model.ConvertBodyDefinition;
 import org.apache.camel.model.ConvertHeaderDefinition;
 import org.apache.camel.model.ConvertVariableDefinition;
@@ -60,6 +61,7 @@ import org.apache.camel.model.LoadBalanceDefinition;
 import org.apache.camel.model.LogDefinition;
 import org.apache.camel.model.LoopDefinition;
 import org.apache.camel.model.MarshalDefinition;
+import org.apache.camel.model.MicroBatchDefinition;
 import org.apache.camel.model.ModelCamelContext;
 import org.apache.camel.model.MulticastDefinition;
 import org.apache.camel.model.OnCompletionDefinition;
@@ -220,6 +222,8 @@ public abstract class ProcessorReifier<T extends ProcessorDefinition<?>> extends
             return new CircuitBreakerReifier(route, definition);
         } else if (definition instanceof ClaimCheckDefinition) {
             return new ClaimCheckReifier(route, definition);
+        } else if (definition instanceof ConcurrencyLimitDefinition) {
+            return new ConcurrencyLimitReifier(route, definition);
         } else if (definition instanceof ConvertBodyDefinition) {
             return new ConvertBodyReifier(route, definition);
         } else if (definition instanceof ConvertHeaderDefinition) {
@@ -254,6 +258,8 @@ public abstract class ProcessorReifier<T extends ProcessorDefinition<?>> extends
             return new LoopReifier(route, definition);
         } else if (definition instanceof MarshalDefinition) {
             return new MarshalReifier(route, definition);
+        } else if (definition instanceof MicroBatchDefinition) {
+            return new MicroBatchReifier(route, definition);
         } else if (definition instanceof MulticastDefinition) {
             return new MulticastReifier(route, definition);
         } else if (definition instanceof OnCompletionDefinition) {
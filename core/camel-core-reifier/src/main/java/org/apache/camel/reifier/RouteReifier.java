@@ -249,6 +249,14 @@ public class RouteReifier extends ProcessorReifier<RouteDefinition> {
         // handles preparing the response from the exchange in regard to IN vs OUT messages etc
         RoutePipeline target = new RoutePipeline(camelContext, eventDrivenProcessors);
         target.setRouteId(id);
+        // fuse synchronous steps when enabled as route property
+        Object fused = routeProperties.get(Route.FUSED_PROPERTY);
+        if (fused != null) {
+            target.setFused("true".equalsIgnoreCase(fused.toString()));
+            if (target.isFused()) {
+                LOG.debug("Fused pipeline is enabled on route: {}", definition.getId());
+            }
+        }
 
         // and wrap it in a unit of work so the UoW is on the top, so the entire route will be in the same UoW
         InternalProcessor internal = PluginHelper.getInternalProcessorFactory(camelContext)
@@ -109,6 +109,11 @@ public class WireTapReifier extends ToDynamicReifier<WireTapDefinition<?>> {
             prepare = mandatoryLookup(definition.getOnPrepare(), Processor.class);
         }
         answer.setOnPrepare(prepare);
+        answer.setQueueSize(parseInt(definition.getQueueSize(), 0));
+        if (definition.getQueueOverflow() != null) {
+            answer.setQueueOverflow(parse(WireTapProcessor.QueueOverflow.class, definition.getQueueOverflow()));
+        }
+        answer.setDrainBatchSize(parseInt(definition.getDrainBatchSize(), 1));
 
         return answer;
     }
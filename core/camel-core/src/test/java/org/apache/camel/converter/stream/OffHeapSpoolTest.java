@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OffHeapSpoolTest extends ContextTestSupport {
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory().toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setSpoolOffHeapBudget(256);
+        context.getStreamCachingStrategy().setSpoolOffHeapSegmentSize(64);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        context.start();
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.getExchangeExtension().setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testSpoolOffHeap() throws Exception {
+        String data = "Hello World ".repeat(10);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data.getBytes(StandardCharsets.UTF_8));
+
+        // no temp file as its off-heap
+        assertEquals(0, spoolFiles());
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+        assertFalse(cache.inMemory());
+        assertEquals(data.length(), cache.length());
+        assertEquals(data, read((InputStream) cache));
+
+        // can be read again after reset
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(data, bos.toString(StandardCharsets.UTF_8));
+
+        StreamCache copy = cache.copy(exchange);
+        assertEquals(data, read((InputStream) copy));
+
+        OffHeapArena arena = context.getCamelContextExtension().getContextPlugin(OffHeapArena.class);
+        assertNotNull(arena);
+        assertEquals(128, arena.getUsed());
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the segments are released when the exchange is done
+        assertEquals(0, arena.getUsed());
+        assertThrows(IOException.class, ((InputStream) cache)::read);
+    }
+
+    @Test
+    public void testSpoolOverflowToFile() throws Exception {
+        String data = "Bye World ".repeat(20);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        // write in chunks so the stream is first spooled off-heap, and then overflows to file
+        for (int i = 0; i < bytes.length; i += 50) {
+            cos.write(bytes, i, Math.min(50, bytes.length - i));
+        }
+        cos.write(bytes);
+
+        assertEquals(1, spoolFiles());
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(FileInputStreamCache.class, cache);
+        assertEquals(data + data, read((InputStream) cache));
+
+        OffHeapArena arena = context.getCamelContextExtension().getContextPlugin(OffHeapArena.class);
+        assertEquals(0, arena.getUsed());
+        assertEquals(1, arena.getOverflowCounter());
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, spoolFiles());
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        String data = "Hello Camel ".repeat(10);
+        InputStream is = new BufferedInputStream(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+        exchange.getIn().setBody(is);
+
+        StreamCache cache = context.getStreamCachingStrategy().cache(exchange);
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+        assertEquals(1, statistics.getCacheSpoolCounter());
+        assertEquals(1, statistics.getCacheOffHeapCounter());
+        assertEquals(data.length(), statistics.getCacheOffHeapSize());
+        assertEquals(data.length(), statistics.getCacheOffHeapAverageSize());
+        assertEquals(128, statistics.getOffHeapUsed());
+        assertEquals(0, statistics.getOffHeapOverflowCounter());
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics.getOffHeapUsed());
+    }
+
+    private int spoolFiles() {
+        File dir = context.getStreamCachingStrategy().getSpoolDirectory();
+        String[] files = dir.list();
+        return files != null ? files.length : 0;
+    }
+
+    private static String read(InputStream is) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] buf = new byte[7];
+        int n;
+        while ((n = is.read(buf)) != -1) {
+            bos.write(buf, 0, n);
+        }
+        return bos.toString(StandardCharsets.UTF_8);
+    }
+}
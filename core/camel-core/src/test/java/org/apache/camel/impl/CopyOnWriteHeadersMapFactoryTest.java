@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.CopyOnWriteHeadersMapFactory;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.CopyOnWriteMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CopyOnWriteHeadersMapFactoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getCamelContextExtension().setHeadersMapFactory(new CopyOnWriteHeadersMapFactory());
+        return context;
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        CopyOnWriteHeadersMapFactory factory = new CopyOnWriteHeadersMapFactory();
+        Map<String, Object> map = factory.newMap();
+        map.put("foo", 123);
+        map.put("bar", "yes");
+
+        Map<String, Object> copy = factory.newMap(map);
+        assertTrue(factory.isInstanceOf(copy));
+        assertTrue(((CopyOnWriteMap<String, Object>) copy).isShared());
+        assertEquals(123, copy.get("FOO"));
+        assertEquals(map, copy);
+
+        copy.put("foo", 456);
+        assertEquals(123, map.get("foo"));
+        assertEquals(456, copy.get("foo"));
+        assertFalse(((CopyOnWriteMap<String, Object>) copy).isShared());
+
+        map.remove("bar");
+        assertNull(map.get("bar"));
+        assertEquals("yes", copy.get("bar"));
+
+        Map<String, Object> other = factory.newMap(copy);
+        other.clear();
+        assertTrue(other.isEmpty());
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    public void testCopyOnWriteIterator() {
+        CopyOnWriteHeadersMapFactory factory = new CopyOnWriteHeadersMapFactory();
+        Map<String, Object> map = factory.newMap();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        Map<String, Object> copy = factory.newMap(map);
+        Iterator<Map.Entry<String, Object>> it = copy.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if ("a".equals(entry.getKey())) {
+                it.remove();
+            } else {
+                entry.setValue((Integer) entry.getValue() * 10);
+            }
+        }
+
+        assertEquals(Map.of("b", 20, "c", 30), copy);
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), map);
+    }
+
+    @Test
+    public void testExchangeCopy() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setHeader("foo", 123);
+        exchange.setProperty("myProp", "a");
+
+        Exchange copy = exchange.copy();
+        assertInstanceOf(CopyOnWriteMap.class, copy.getMessage().getHeaders());
+        assertTrue(((CopyOnWriteMap<?, ?>) copy.getMessage().getHeaders()).isShared());
+        assertEquals(123, copy.getMessage().getHeader("foo"));
+        assertEquals("a", copy.getProperty("myProp"));
+
+        copy.getMessage().setHeader("foo", 456);
+        copy.setProperty("myProp", "b");
+        exchange.getMessage().removeHeader("foo");
+        exchange.setProperty("other", "c");
+
+        assertNull(exchange.getMessage().getHeader("foo"));
+        assertEquals(456, copy.getMessage().getHeader("foo"));
+        assertEquals("a", exchange.getProperty("myProp"));
+        assertEquals("b", copy.getProperty("myProp"));
+        assertNull(copy.getProperty("other"));
+    }
+
+    @Test
+    public void testExposedPropertiesNotShared() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.setProperty("myProp", "a");
+        Map<String, Object> properties = exchange.getProperties();
+
+        Exchange copy = exchange.copy();
+        properties.put("myProp", "b");
+
+        assertEquals("b", exchange.getProperty("myProp"));
+        assertEquals("a", copy.getProperty("myProp"));
+    }
+
+    @Test
+    public void testMulticast() throws Exception {
+        getMockEndpoint("mock:a").expectedHeaderReceived("foo", "a");
+        getMockEndpoint("mock:a").expectedPropertyReceived("myProp", "a");
+        getMockEndpoint("mock:b").expectedHeaderReceived("foo", "b");
+        getMockEndpoint("mock:b").expectedPropertyReceived("myProp", "b");
+        getMockEndpoint("mock:c").expectedHeaderReceived("foo", 123);
+        getMockEndpoint("mock:c").expectedPropertyReceived("myProp", "original");
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", 123);
+        getMockEndpoint("mock:result").expectedPropertyReceived("myProp", "original");
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "foo", 123);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .setProperty("myProp", constant("original"))
+                        .multicast().parallelProcessing()
+                            .to("direct:a", "direct:b", "mock:c")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:a").setHeader("foo", constant("a")).setProperty("myProp", constant("a")).to("mock:a");
+                from("direct:b").setHeader("foo", constant("b")).setProperty("myProp", constant("b")).to("mock:b");
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.engine.InternedHeadersMapFactory;
+import org.apache.camel.util.InternedCaseInsensitiveMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InternedHeadersMapFactoryTest {
+
+    private final InternedHeadersMapFactory factory = new InternedHeadersMapFactory();
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = factory.newMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+
+        // preserve the original case
+        map.put("FOO", "cake");
+        assertEquals(1, map.size());
+        assertEquals("foo", map.keySet().iterator().next());
+        assertEquals("cake", map.get("foo"));
+    }
+
+    @Test
+    public void testInternedHeaders() {
+        assertTrue(InternedCaseInsensitiveMap.isInterned(Exchange.FILE_NAME));
+        assertFalse(InternedCaseInsensitiveMap.isInterned("myOwnHeader"));
+
+        Map<String, Object> map = factory.newMap();
+        map.put(Exchange.FILE_NAME, "hello.txt");
+        map.put("camelfilename", "bye.txt");
+
+        assertEquals(1, map.size());
+        assertEquals("bye.txt", map.get(Exchange.FILE_NAME));
+        assertEquals("bye.txt", map.get("CAMELFILENAME"));
+
+        factory.internHeaders("myOwnHeader");
+        assertTrue(InternedCaseInsensitiveMap.isInterned("myOwnHeader"));
+        map.put("MYOWNHEADER", 123);
+        assertEquals(123, map.get("myOwnHeader"));
+    }
+
+    @Test
+    public void testManyHeaders() {
+        Map<String, Object> map = factory.newMap();
+        for (int i = 0; i < 100; i++) {
+            map.put("Header" + i, i);
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, map.remove("HEADER" + i));
+        }
+        assertEquals(50, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get("header" + i));
+        }
+        // reuse removed slots
+        for (int i = 0; i < 1000; i++) {
+            map.put("Other", i);
+            map.remove("other");
+        }
+        assertEquals(50, map.size());
+
+        Iterator<String> it = map.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().endsWith("1")) {
+                it.remove();
+            }
+        }
+        assertEquals(40, map.size());
+        assertNull(map.get("header1"));
+        assertEquals(3, map.get("header3"));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("header3"));
+    }
+
+    @Test
+    public void testConstructFromOther() {
+        Map<String, Object> other = factory.newMap();
+        other.put("Foo", "cheese");
+        other.put("bar", 123);
+
+        Map<String, Object> map = factory.newMap(other);
+        other.put("bar", 456);
+
+        assertEquals("cheese", map.get("FOO"));
+        assertEquals("cheese", map.get("foo"));
+        assertEquals(123, map.get("BAR"));
+        assertEquals(123, map.get("BaR"));
+        assertEquals(456, other.get("bar"));
+
+        Map<String, Object> hash = new HashMap<>();
+        hash.put("Foo", "cheese");
+        hash.put("bar", 456);
+        map = factory.newMap(hash);
+        assertEquals(other, map);
+        assertEquals(hash, map);
+    }
+
+    @Test
+    public void testIsInstance() {
+        Map<String, Object> map = factory.newMap();
+        Map<String, Object> other = factory.newMap(map);
+
+        assertTrue(factory.isInstanceOf(map));
+        assertTrue(factory.isInstanceOf(other));
+        assertFalse(factory.isInstanceOf(new HashMap<>()));
+        assertTrue(factory.isCaseInsensitive());
+    }
+
+}
@@ -99,6 +99,24 @@ public class MessageSupportTest extends ContextTestSupport {
         assertEquals(123, out.getHeader("foo"));
     }
 
+    @Test
+    public void testCopyFromKeepsHeadersInstance() {
+        Exchange exchange = new DefaultExchange(context);
+        Message in = exchange.getIn();
+        in.setHeader("foo", 123);
+
+        Message out = new DefaultMessage(context);
+        out.setHeader("bar", 456);
+        Map<String, Object> headers = out.getHeaders();
+
+        // the default headers map factory copies the headers into the existing map
+        out.copyFrom(in);
+
+        assertSame(headers, out.getHeaders());
+        assertEquals(123, headers.get("foo"));
+        assertNull(headers.get("bar"));
+    }
+
     @Test
     public void testCopyOverExchange() {
         Exchange exchange = new DefaultExchange(context);
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.Locale;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.TypeConverterSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TypeConverterResolvedCacheTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = new DefaultCamelContext(false);
+        context.setLoadTypeConverters(isLoadTypeConverters());
+        context.setTypeConverterStatisticsEnabled(true);
+        context.build();
+
+        return context;
+    }
+
+    @Test
+    public void testResolvedCache() {
+        TypeConverterRegistry reg = context.getTypeConverterRegistry();
+        reg.addTypeConverter(Country.class, String.class, new TypeConverterSupport() {
+            @Override
+            public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+                Country country = new Country();
+                country.setIso(value.toString());
+                return type.cast(country);
+            }
+        });
+        reg.getStatistics().reset();
+
+        assertEquals("en", context.getTypeConverter().convertTo(Country.class, "en").getIso());
+        assertEquals(0, reg.getStatistics().getCacheHitCounter());
+        assertEquals(1, reg.getStatistics().getCacheMissCounter());
+
+        assertEquals("da", context.getTypeConverter().convertTo(Country.class, "da").getIso());
+        assertEquals("de", context.getTypeConverter().convertTo(Country.class, "de").getIso());
+        assertEquals(2, reg.getStatistics().getCacheHitCounter());
+        assertEquals(1, reg.getStatistics().getCacheMissCounter());
+        assertEquals(3, reg.getStatistics().getHitCounter());
+    }
+
+    @Test
+    public void testResolvedMiss() {
+        TypeConverterRegistry reg = context.getTypeConverterRegistry();
+        reg.getStatistics().reset();
+
+        Country country = new Country();
+        country.setIso("en");
+
+        // the miss is cached as well
+        assertNull(context.getTypeConverter().convertTo(Locale.class, country));
+        assertNull(context.getTypeConverter().convertTo(Locale.class, country));
+        assertEquals(1, reg.getStatistics().getCacheHitCounter());
+        assertEquals(1, reg.getStatistics().getCacheMissCounter());
+        assertEquals(2, reg.getStatistics().getMissCounter());
+
+        // adding a converter must discard the cached miss
+        reg.addTypeConverter(Locale.class, Country.class, new TypeConverterSupport() {
+            @Override
+            public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+                return type.cast(Locale.forLanguageTag(((Country) value).getIso()));
+            }
+        });
+        assertEquals(Locale.ENGLISH, context.getTypeConverter().convertTo(Locale.class, country));
+        assertEquals(1, reg.getStatistics().getCacheHitCounter());
+        assertEquals(2, reg.getStatistics().getCacheMissCounter());
+
+        // and removing it as well
+        reg.removeTypeConverter(Locale.class, Country.class);
+        assertNull(context.getTypeConverter().convertTo(Locale.class, country));
+        assertEquals(3, reg.getStatistics().getCacheMissCounter());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkStealingReactiveExecutorTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        executor.setParallelism(4);
+        executor.setStealThreshold(1);
+        executor.setStatisticsEnabled(true);
+        context.getCamelContextExtension().setReactiveExecutor(executor);
+        return context;
+    }
+
+    @Test
+    public void testStealBacklog() {
+        ReactiveExecutor executor = context.getCamelContextExtension().getReactiveExecutor();
+        WorkStealingReactiveExecutor ws = assertInstanceOf(WorkStealingReactiveExecutor.class, executor);
+
+        AtomicInteger counter = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // build up a backlog on this thread
+        executor.scheduleMain(() -> {
+            for (int i = 0; i < 200; i++) {
+                executor.schedule(() -> {
+                    threads.add(Thread.currentThread().getName());
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    counter.incrementAndGet();
+                });
+            }
+        });
+
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> counter.get() == 200);
+
+        assertTrue(ws.getStolenTasks() > 0, "Should have stolen tasks");
+        assertTrue(ws.getStealAttempts() >= ws.getStolenTasks());
+        assertTrue(ws.getMaxQueueDepth() > 1);
+        assertTrue(threads.size() > 1, "Should run on several threads");
+        assertEquals(0, ws.getPendingTasks());
+    }
+
+    @Test
+    public void testExecuteFromQueue() {
+        ReactiveExecutor executor = context.getCamelContextExtension().getReactiveExecutor();
+
+        String name = Thread.currentThread().getName();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10; i++) {
+            executor.scheduleQueue(() -> threads.add(Thread.currentThread().getName()));
+        }
+        while (executor.executeFromQueue()) {
+            // noop
+        }
+
+        assertEquals(Set.of(name), threads);
+    }
+
+    @Test
+    public void testNoStealingFromLocalQueue() {
+        ReactiveExecutor executor = context.getCamelContextExtension().getReactiveExecutor();
+        WorkStealingReactiveExecutor ws = assertInstanceOf(WorkStealingReactiveExecutor.class, executor);
+
+        String name = Thread.currentThread().getName();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger counter = new AtomicInteger();
+        AtomicLong attempts = new AtomicLong();
+
+        executor.scheduleMain(() -> {
+            // tasks which cannot be stolen
+            for (int i = 0; i < 20; i++) {
+                executor.scheduleQueue(() -> threads.add(Thread.currentThread().getName()));
+            }
+            // tasks which can be stolen, where one of them is stolen
+            for (int i = 0; i < 2; i++) {
+                executor.schedule(counter::incrementAndGet);
+            }
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> counter.get() == 1);
+
+            // the backlog cannot be stolen so the stealers should not keep trying
+            long before = ws.getStealAttempts();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            attempts.set(ws.getStealAttempts() - before);
+        });
+
+        assertEquals(2, counter.get());
+        assertEquals(Set.of(name), threads);
+        assertTrue(attempts.get() <= 1, "Should not keep trying to steal, was: " + attempts.get());
+        assertEquals(0, ws.getPendingTasks());
+    }
+
+    @Test
+    public void testRouting() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(50 * 10);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:start", "A,B,C,D,E,F,G,H,I,J");
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .split(body().tokenize(","))
+                            .setHeader("letter", body())
+                            .to("direct:letter")
+                        .end();
+
+                from("direct:letter")
+                        .transform(simple("Hello ${body}"))
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimpleCompiledTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(SimpleLanguage.COMPILED, "true");
+        return context;
+    }
+
+    @Test
+    public void testCompiledPredicate() {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.isCompiled());
+
+        Predicate predicate = simple.createPredicate("${header.level} > 3 && ${body} contains 'Camel'");
+        assertInstanceOf(SimpleCompiledExpression.class, predicate);
+        assertEquals("${header.level} > 3 && ${body} contains 'Camel'", predicate.toString());
+        predicate.init(context);
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setBody("Hello Camel");
+        exchange.getMessage().setHeader("level", "5");
+        assertTrue(predicate.matches(exchange));
+        exchange.getMessage().setHeader("level", 2);
+        assertFalse(predicate.matches(exchange));
+    }
+
+    @Test
+    public void testCompiledExpression() {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+
+        Expression expression = simple.createExpression("${header.foo}");
+        assertInstanceOf(SimpleCompiledExpression.class, expression);
+        expression.init(context);
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setHeader("foo", 123);
+        assertEquals("123", expression.evaluate(exchange, String.class));
+    }
+
+    @Test
+    public void testInterpreted() {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        long interpreted = simple.getInterpretedCounter();
+
+        // functions without a compiled equivalent, and text templates are interpreted
+        Predicate predicate = simple.createPredicate("${date:now:yyyy} > 2000");
+        assertFalse(predicate instanceof SimpleCompiledExpression);
+        Expression expression = simple.createExpression("Hello ${header.foo}");
+        assertFalse(expression instanceof SimpleCompiledExpression);
+        assertEquals(interpreted + 2, simple.getInterpretedCounter());
+
+        Exchange exchange = new DefaultExchange(context);
+        assertTrue(predicate.matches(exchange));
+        assertEquals("Hello ", expression.evaluate(exchange, String.class));
+    }
+
+    @Test
+    public void testRoute() throws Exception {
+        getMockEndpoint("mock:high").expectedBodiesReceived("A", "C");
+        getMockEndpoint("mock:low").expectedBodiesReceived("B");
+        getMockEndpoint("mock:other").expectedBodiesReceived("D");
+
+        template.sendBodyAndHeader("direct:start", "A", "level", 5);
+        template.sendBodyAndHeader("direct:start", "B", "level", 1);
+        template.sendBodyAndHeader("direct:start", "C", "level", "7");
+        template.sendBody("direct:start", "D");
+
+        assertMockEndpointsSatisfied();
+
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.getCompiledCounter() >= 2);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .choice()
+                        .when(simple("${header.level} > 3")).to("mock:high")
+                        .when(simple("${header.level} != null")).to("mock:low")
+                        .otherwise().to("mock:other");
+            }
+        };
+    }
+}
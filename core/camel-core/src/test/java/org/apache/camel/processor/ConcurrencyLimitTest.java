@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimitTest extends ContextTestSupport {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Test
+    public void testQueueAndReject() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+
+        ConcurrencyLimiter limiter = assertInstanceOf(ConcurrencyLimiter.class, context.getProcessor("limit"));
+        assertEquals(2, limiter.getLimit());
+
+        Future<Object> f1 = template.asyncRequestBody("direct:start", "A");
+        Future<Object> f2 = template.asyncRequestBody("direct:start", "B");
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getInflight() == 2);
+
+        Future<Object> f3 = template.asyncRequestBody("direct:start", "C");
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getQueueSize() == 1);
+
+        CamelExecutionException e
+                = assertThrows(CamelExecutionException.class, () -> template.requestBody("direct:start", "D"));
+        assertInstanceOf(ConcurrencyLimitRejectedExecutionException.class, e.getCause());
+
+        latch.countDown();
+        f1.get(5, TimeUnit.SECONDS);
+        f2.get(5, TimeUnit.SECONDS);
+        f3.get(5, TimeUnit.SECONDS);
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, limiter.getInflight());
+        assertEquals(0, limiter.getQueueSize());
+        assertEquals(1, limiter.getQueuedCount());
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testVegasAdapts() {
+        ConcurrencyLimiter.Algorithm vegas = new ConcurrencyLimiter.VegasAlgorithm(10);
+
+        // stable rtt while the limit is used raises the limit
+        int limit = 10;
+        for (int i = 0; i < 50; i++) {
+            limit = vegas.update(1000000, limit, 1, 100);
+        }
+        assertEquals(100, limit);
+
+        // the rtt increases a lot, so the outputs are queueing and the limit is lowered
+        for (int i = 0; i < 50; i++) {
+            limit = vegas.update(10000000, limit, 1, 100);
+        }
+        assertTrue(limit < 100, "Limit should be lowered, was: " + limit);
+        assertTrue(limit >= 1);
+    }
+
+    @Test
+    public void testGradientAdapts() {
+        ConcurrencyLimiter.Algorithm gradient = new ConcurrencyLimiter.GradientAlgorithm(10);
+
+        int limit = 10;
+        for (int i = 0; i < 100; i++) {
+            limit = gradient.update(1000000, limit, 1, 50);
+        }
+        assertEquals(50, limit);
+
+        for (int i = 0; i < 100; i++) {
+            limit = gradient.update(20000000, limit, 1, 50);
+        }
+        assertTrue(limit < 50, "Limit should be lowered, was: " + limit);
+        assertTrue(limit >= 1);
+    }
+
+    @Test
+    public void testLimitNotRaisedWhenUnused() {
+        ConcurrencyLimiter.Algorithm vegas = new ConcurrencyLimiter.VegasAlgorithm(10);
+
+        int limit = 10;
+        for (int i = 0; i < 50; i++) {
+            limit = vegas.update(1000000, 1, 1, 100);
+        }
+        assertEquals(10, limit);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .concurrencyLimit().id("limit").initialLimit(2).maxLimit(2).maxQueueSize(1)
+                            .process(e -> latch.await(5, TimeUnit.SECONDS))
+                            .to("mock:result")
+                        .end();
+            }
+        };
+    }
+}
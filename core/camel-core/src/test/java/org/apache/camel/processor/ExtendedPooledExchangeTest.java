@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.engine.PooledExchangeFactory;
+import org.apache.camel.spi.ExchangeFactoryManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExtendedPooledExchangeTest extends ContextTestSupport {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final Set<Integer> maps = ConcurrentHashMap.newKeySet();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+        ExtendedCamelContext ecc = camelContext.getCamelContextExtension();
+
+        PooledExchangeFactory pef = new PooledExchangeFactory();
+        pef.setExtendedPooling(true);
+        pef.setStatisticsEnabled(true);
+        ecc.setExchangeFactory(pef);
+
+        return camelContext;
+    }
+
+    @Test
+    void testRecycleHeaders() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+        mock.expectedHeaderValuesReceivedInAnyOrder("counter", 1, 2, 3);
+        mock.message(0).header("first").isEqualTo(true);
+        mock.message(1).header("first").isNull();
+        mock.message(2).header("first").isNull();
+
+        context.getRouteController().startAllRoutes();
+
+        assertMockEndpointsSatisfied();
+
+        // the same headers map is recycled
+        assertEquals(1, maps.size());
+
+        ExchangeFactoryManager efm = context.getCamelContextExtension().getExchangeFactoryManager();
+        assertTrue(efm.isExtendedPooling());
+        assertEquals(1, efm.getStatistics().getCreatedCounter());
+        assertEquals(2, efm.getStatistics().getAcquiredCounter());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("timer:foo?period=1&delay=1&repeatCount=3").autoStartup(false)
+                        .process(e -> {
+                            int num = counter.incrementAndGet();
+                            if (num == 1) {
+                                e.getMessage().setHeaders(Map.of("counter", num, "first", true));
+                            } else {
+                                e.getMessage().setHeaders(Map.of("counter", num));
+                            }
+                            maps.add(System.identityHashCode(e.getMessage().getHeaders()));
+                        })
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.io.InputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.ClaimCheckOperation;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileClaimCheckRepositoryTest extends ContextTestSupport {
+
+    private FileClaimCheckRepository repo;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        repo = new FileClaimCheckRepository();
+        repo.setDirectory(testDirectory("claimcheck").toFile());
+        // purge manually in the tests
+        repo.setHousekeepingInterval(0);
+        super.setUp();
+    }
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        repo.stop();
+    }
+
+    @Test
+    public void testGetAndRemoveSet() throws Exception {
+        getMockEndpoint("mock:a").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:b").expectedBodiesReceived("Bye World");
+        getMockEndpoint("mock:c").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:c").expectedHeaderReceived("foo", "123");
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "foo", 123);
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.getLiveBytes());
+    }
+
+    @Test
+    public void testSharedRepositoryNotStoppedWithRoute() throws Exception {
+        context.getRouteController().stopRoute("other");
+        context.removeRoute("other");
+        assertTrue(repo.isStarted());
+
+        getMockEndpoint("mock:c").expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, repo.size());
+    }
+
+    @Test
+    public void testStreamCacheBody() throws Exception {
+        repo.start();
+
+        repo.add("foo", createExchange("Hello World"));
+        assertTrue(repo.contains("foo"));
+        assertEquals(11, repo.getLiveBytes());
+        assertEquals(1, repo.getSegmentCount());
+
+        // can get the body many times
+        for (int i = 0; i < 2; i++) {
+            Exchange out = repo.get("foo");
+            StreamCache cache = assertInstanceOf(StreamCache.class, out.getMessage().getBody());
+            assertEquals(11, cache.length());
+            assertEquals("Hello World", out.getMessage().getBody(String.class));
+            assertEquals("bar", out.getMessage().getHeader("foo"));
+        }
+
+        Exchange out = repo.getAndRemove("foo");
+        assertEquals("Hello World",
+                context.getTypeConverter().convertTo(String.class, out.getMessage().getBody(InputStream.class)));
+        assertFalse(repo.contains("foo"));
+        assertEquals(0, repo.getLiveBytes());
+    }
+
+    @Test
+    public void testPushPop() throws Exception {
+        repo.start();
+
+        repo.push(createExchange("A"));
+        repo.push(createExchange("B"));
+
+        assertEquals("B", repo.pop().getMessage().getBody(String.class));
+        assertEquals("A", repo.pop().getMessage().getBody(String.class));
+        assertNull(repo.pop());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        repo.setMaxEntries(2);
+        repo.start();
+
+        repo.add("a", createExchange("A"));
+        repo.add("b", createExchange("B"));
+        // access a so b is the least recently used
+        repo.get("a");
+        repo.add("c", createExchange("C"));
+
+        assertTrue(repo.contains("a"));
+        assertFalse(repo.contains("b"));
+        assertTrue(repo.contains("c"));
+        assertEquals(1, repo.getEvictedCount());
+        assertEquals(2, repo.getLiveBytes());
+    }
+
+    @Test
+    public void testEvictMaxBytes() throws Exception {
+        repo.setMaxBytes(10);
+        repo.start();
+
+        repo.add("a", createExchange("12345"));
+        repo.add("b", createExchange("67890"));
+        repo.add("c", createExchange("abc"));
+
+        assertFalse(repo.contains("a"));
+        assertTrue(repo.contains("b"));
+        assertTrue(repo.contains("c"));
+        assertEquals(8, repo.getLiveBytes());
+    }
+
+    @Test
+    public void testTimeToLive() throws Exception {
+        repo.setTimeToLive(50);
+        repo.start();
+
+        repo.add("a", createExchange("A"));
+        assertTrue(repo.contains("a"));
+
+        Thread.sleep(100);
+        repo.purge();
+
+        assertEquals(0, repo.size());
+        assertEquals(1, repo.getExpiredCount());
+        assertNull(repo.get("a"));
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        repo.setSegmentSize(10);
+        repo.start();
+
+        // the first segment is full after the two bodies
+        repo.add("a", createExchange("12345"));
+        repo.add("b", createExchange("67890"));
+        repo.add("c", createExchange("abc"));
+        assertEquals(2, repo.getSegmentCount());
+
+        repo.getAndRemove("a");
+        repo.purge();
+
+        assertEquals(1, repo.getCompactionCount());
+        assertEquals(1, repo.getSegmentCount());
+        assertEquals(8, repo.getLiveBytes());
+        assertEquals("67890", repo.get("b").getMessage().getBody(String.class));
+        assertEquals("abc", repo.get("c").getMessage().getBody(String.class));
+
+        // removing the remaining entries deletes the segment files
+        repo.stop();
+        File[] files = repo.getDirectory().listFiles();
+        assertEquals(0, files != null ? files.length : 0);
+    }
+
+    private Exchange createExchange(String body) {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setBody(body);
+        exchange.getMessage().setHeader("foo", "bar");
+        return exchange;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").to("mock:a")
+                        .claimCheck().operation(ClaimCheckOperation.Set).key("foo").repository(repo)
+                        .transform().constant("Bye World").removeHeader("foo").to("mock:b")
+                        .claimCheck().operation(ClaimCheckOperation.GetAndRemove).key("foo").repository(repo)
+                        .to("mock:c");
+
+                from("direct:other").routeId("other")
+                        .claimCheck().operation(ClaimCheckOperation.Get).key("bar").repository(repo);
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.processor.idempotent.FingerprintIdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FingerprintIdempotentConsumerTest extends ContextTestSupport {
+
+    private final FingerprintIdempotentRepository repo
+            = (FingerprintIdempotentRepository) FingerprintIdempotentRepository.fingerprintIdempotentRepository(200);
+
+    @Test
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(3, repo.getSize());
+    }
+
+    @Test
+    public void testAddRemove() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertFalse(repo.add("key" + i));
+            assertTrue(repo.contains("key" + i));
+        }
+        // remove every other key, the remaining keys must still be found
+        for (int i = 0; i < 100; i += 2) {
+            assertTrue(repo.remove("key" + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 1, repo.contains("key" + i));
+        }
+        assertEquals(50, repo.getSize());
+
+        repo.clear();
+        assertEquals(0, repo.getSize());
+        assertFalse(repo.contains("key1"));
+    }
+
+    @Test
+    public void testEvictOldestSegment() {
+        FingerprintIdempotentRepository small = new FingerprintIdempotentRepository(100);
+        small.setSegments(4);
+        ServiceHelper.startService(small);
+
+        for (int i = 0; i < 1000; i++) {
+            small.add("key" + i);
+        }
+        // the most recent keys are kept, between 75 and 100 keys
+        assertTrue(small.getSize() >= 75 && small.getSize() <= 100, "Size: " + small.getSize());
+        assertTrue(small.contains("key999"));
+        assertTrue(small.contains("key925"));
+        assertFalse(small.contains("key0"));
+        assertFalse(small.contains("key899"));
+
+        ServiceHelper.stopService(small);
+    }
+
+    @Test
+    public void testSegmentTooLarge() {
+        FingerprintIdempotentRepository large = new FingerprintIdempotentRepository(Integer.MAX_VALUE);
+        large.setSegments(1);
+        assertThrows(IllegalArgumentException.class, () -> ServiceHelper.startService(large));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .idempotentConsumer(header("messageId"), repo)
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Route;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FusedPipelineTest extends ContextTestSupport {
+
+    private static final AtomicInteger FAILURES = new AtomicInteger();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Test
+    public void testFused() throws Exception {
+        Pipeline pipeline = routePipeline("fused");
+        assertTrue(pipeline.isFused());
+        // the process and to are not fused
+        assertEquals(6, pipeline.getFusedSize());
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World from Camel", "Hello Camel");
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", "bar");
+
+        template.sendBodyAndHeader("direct:fused", "World", "level", 5);
+        template.sendBodyAndHeader("direct:fused", "Camel", "level", 1);
+
+        assertMockEndpointsSatisfied();
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testFusedFailure() throws Exception {
+        FAILURES.set(0);
+        getMockEndpoint("mock:error").expectedBodiesReceived("Hello Camel");
+        getMockEndpoint("mock:result").expectedMessageCount(0);
+
+        template.sendBody("direct:failure", "Camel");
+
+        assertMockEndpointsSatisfied();
+        // the fused step fails, and the error handler then performs 2 redeliveries
+        assertEquals(3, FAILURES.get());
+    }
+
+    @Test
+    public void testNotFusedFailure() throws Exception {
+        FAILURES.set(0);
+        getMockEndpoint("mock:error").expectedBodiesReceived("Hello Camel");
+        getMockEndpoint("mock:result").expectedMessageCount(0);
+
+        template.sendBody("direct:failureNotFused", "Camel");
+
+        assertMockEndpointsSatisfied();
+        // same number of attempts as when fused
+        assertEquals(3, FAILURES.get());
+    }
+
+    @Test
+    public void testNotFused() throws Exception {
+        Pipeline pipeline = routePipeline("notFused");
+        assertFalse(pipeline.isFused());
+        assertEquals(0, pipeline.getFusedSize());
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World from Camel");
+
+        template.sendBodyAndHeader("direct:notFused", "World", "level", 5);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private Pipeline routePipeline(String routeId) {
+        Route route = context.getRoute(routeId);
+        DelegateAsyncProcessor internal = assertInstanceOf(DelegateAsyncProcessor.class, route.getProcessor());
+        return assertInstanceOf(Pipeline.class, internal.getProcessor());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                onException(IllegalArgumentException.class).maximumRedeliveries(2).redeliveryDelay(0)
+                        .handled(true).to("mock:error");
+
+                from("direct:fused").routeId("fused").routeProperty(Route.FUSED_PROPERTY, "true")
+                        .setHeader("foo", constant("bar"))
+                        .setBody(simple("Hello ${body}"))
+                        .filter(header("level").isGreaterThan(3))
+                            .transform(body().append(" from Camel"))
+                        .end()
+                        .setProperty("myProp", constant(123))
+                        .removeHeader("level")
+                        .process(e -> counter.incrementAndGet())
+                        .convertBodyTo(String.class)
+                        .to("mock:result");
+
+                from("direct:failure").routeId("failure").routeProperty(Route.FUSED_PROPERTY, "true")
+                        .setBody(simple("Hello ${body}"))
+                        .setHeader("foo", method(FusedPipelineTest.class, "fail"))
+                        .to("mock:result");
+
+                from("direct:failureNotFused").routeId("failureNotFused")
+                        .setBody(simple("Hello ${body}"))
+                        .setHeader("foo", method(FusedPipelineTest.class, "fail"))
+                        .to("mock:result");
+
+                from("direct:notFused").routeId("notFused")
+                        .setBody(simple("Hello ${body}"))
+                        .filter(header("level").isGreaterThan(3))
+                            .transform(body().append(" from Camel"))
+                        .end()
+                        .to("mock:result");
+            }
+        };
+    }
+
+    public static String fail(String body) {
+        FAILURES.incrementAndGet();
+        throw new IllegalArgumentException("Forced " + body);
+    }
+}
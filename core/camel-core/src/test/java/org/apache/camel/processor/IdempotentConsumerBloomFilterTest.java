@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository;
+import org.apache.camel.support.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdempotentConsumerBloomFilterTest extends ContextTestSupport {
+
+    private final MemoryIdempotentRepository memory
+            = (MemoryIdempotentRepository) MemoryIdempotentRepository.memoryIdempotentRepository(1000);
+    private final BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(memory, 1000, 0.01);
+
+    @Test
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(6, repo.getLookups());
+        // the first time each key is seen is answered by the filter
+        assertEquals(3, repo.getFilterMisses());
+        assertEquals(3, memory.getCacheSize());
+    }
+
+    @Test
+    public void testFilterAnswersUnknownKeys() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            repo.add("key" + i);
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue(repo.contains("key" + i));
+        }
+        for (int i = 500; i < 1500; i++) {
+            assertFalse(repo.contains("key" + i));
+        }
+
+        assertEquals(1500, repo.getLookups());
+        assertEquals(1000, repo.getFilterMisses() + repo.getFalsePositives());
+        // sized for 1% so there should only be a few false positives
+        assertTrue(repo.getFalsePositives() < 50, "Too many false positives: " + repo.getFalsePositives());
+        assertTrue(repo.getEstimatedFalsePositiveProbability() < 0.01);
+
+        repo.remove("key1");
+        assertFalse(repo.contains("key1"));
+
+        repo.clear();
+        assertFalse(repo.contains("key2"));
+        assertEquals(0, memory.getCacheSize());
+    }
+
+    @Test
+    public void testFillFilterOnStart() throws Exception {
+        MemoryIdempotentRepository existing
+                = (MemoryIdempotentRepository) MemoryIdempotentRepository.memoryIdempotentRepository(100);
+        existing.add("a");
+        existing.add("b");
+
+        BloomFilterIdempotentRepository filter = new BloomFilterIdempotentRepository(existing, 100, 0.01);
+        ServiceHelper.startService(filter);
+        assertTrue(filter.contains("a"));
+        assertTrue(filter.contains("b"));
+        assertFalse(filter.contains("c"));
+        ServiceHelper.stopService(filter);
+    }
+
+    @Test
+    public void testKeysLoader() throws Exception {
+        IdempotentRepository custom = new MyRepository();
+        custom.add("a");
+
+        BloomFilterIdempotentRepository filter = new BloomFilterIdempotentRepository(custom, 100, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> ServiceHelper.startService(filter));
+
+        BloomFilterIdempotentRepository loaded = new BloomFilterIdempotentRepository(custom, 100, 0.01);
+        loaded.setKeysLoader(() -> List.of("a"));
+        ServiceHelper.startService(loaded);
+        assertTrue(loaded.contains("a"));
+        assertFalse(loaded.contains("b"));
+        ServiceHelper.stopService(loaded);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .idempotentConsumer(header("messageId"), repo).eager(false)
+                        .to("mock:result");
+            }
+        };
+    }
+
+    private static final class MyRepository extends ServiceSupport implements IdempotentRepository {
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean add(String key) {
+            return keys.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            return keys.contains(key);
+        }
+
+        @Override
+        public boolean remove(String key) {
+            return keys.remove(key);
+        }
+
+        @Override
+        public boolean confirm(String key) {
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            keys.clear();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.loadbalancer.LeastInFlightLoadBalancer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeastInFlightLoadBalanceTest extends ContextTestSupport {
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance().leastInFlight().to("direct:slow", "mock:fast");
+
+                from("direct:slow").delay(300).to("mock:slow");
+            }
+        };
+    }
+
+    @Test
+    public void testLeastInFlight() throws Exception {
+        MockEndpoint slow = getMockEndpoint("mock:slow");
+        MockEndpoint fast = getMockEndpoint("mock:fast");
+        fast.expectedMinimumMessageCount(15);
+
+        Future<?>[] futures = new Future<?>[20];
+        for (int i = 0; i < 20; i++) {
+            futures[i] = template.asyncSendBody("direct:start", "Hello " + i);
+            Thread.sleep(5);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(20, slow.getReceivedCounter() + fast.getReceivedCounter());
+
+        // the slow destination is busy most of the time, so the fast destination is chosen
+        LeastInFlightLoadBalancer lb = findLoadBalancer(context.getRoutes().get(0).navigate());
+        List<AsyncProcessor> processors = lb.getProcessors();
+        long completed = 0;
+        for (AsyncProcessor processor : processors) {
+            assertEquals(0, lb.getStatistics(processor).getInflight());
+            completed += lb.getStatistics(processor).getCompleted();
+        }
+        assertEquals(20, completed);
+        assertTrue(slow.getReceivedCounter() <= 5, "Slow should only get a few messages, was: " + slow.getReceivedCounter());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LeastInFlightLoadBalancer findLoadBalancer(Navigate<Processor> nav) {
+        for (Processor processor : nav.next()) {
+            if (processor instanceof LeastInFlightLoadBalancer lb) {
+                return lb;
+            }
+            if (processor instanceof Navigate) {
+                LeastInFlightLoadBalancer answer = findLoadBalancer((Navigate<Processor>) processor);
+                if (answer != null) {
+                    return answer;
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.processor.idempotent.LogFileIdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogFileIdempotentConsumerTest extends ContextTestSupport {
+
+    private LogFileIdempotentRepository repo;
+
+    @Test
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(3, repo.getSize());
+    }
+
+    @Test
+    public void testRestart() throws Exception {
+        LogFileIdempotentRepository store = newRepository("restart");
+        ServiceHelper.startService(store);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(store.add("key" + i));
+        }
+        assertTrue(store.remove("key1"));
+        ServiceHelper.stopService(store);
+
+        // the index has all the keys so the log is not read
+        store = newRepository("restart");
+        ServiceHelper.startService(store);
+        assertEquals(999, store.getSize());
+        assertTrue(store.contains("key0"));
+        assertFalse(store.contains("key1"));
+        assertTrue(store.contains("key999"));
+        assertFalse(store.add("key2"));
+        ServiceHelper.stopService(store);
+
+        // the index is rebuilt from the log
+        Files.delete(testDirectory().resolve("restart/index.idx"));
+        store = newRepository("restart");
+        ServiceHelper.startService(store);
+        assertEquals(999, store.getSize());
+        assertTrue(store.contains("key0"));
+        assertFalse(store.contains("key1"));
+        assertTrue(store.contains("key999"));
+        ServiceHelper.stopService(store);
+    }
+
+    @Test
+    public void testTornRecord() throws Exception {
+        LogFileIdempotentRepository store = newRepository("torn");
+        ServiceHelper.startService(store);
+        store.add("a");
+        store.add("b");
+        ServiceHelper.stopService(store);
+
+        // simulate a record which was not fully written before a crash
+        File segment = testDirectory().resolve("torn/0000000001.log").toFile();
+        long length = segment.length();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(length);
+            file.writeInt(1);
+            file.writeByte(1);
+        }
+        Files.delete(testDirectory().resolve("torn/index.idx"));
+
+        store = newRepository("torn");
+        ServiceHelper.startService(store);
+        assertEquals(2, store.getSize());
+        assertEquals(length, segment.length());
+        assertTrue(store.add("c"));
+        ServiceHelper.stopService(store);
+
+        store = newRepository("torn");
+        ServiceHelper.startService(store);
+        assertTrue(store.contains("a"));
+        assertTrue(store.contains("c"));
+        ServiceHelper.stopService(store);
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        LogFileIdempotentRepository store = newRepository("compact");
+        store.setSegmentSize(1024);
+        store.setInitialIndexCapacity(16);
+        ServiceHelper.startService(store);
+        for (int i = 0; i < 500; i++) {
+            store.add("key" + i);
+        }
+        assertTrue(store.getSegmentCount() > 5);
+        assertTrue(store.getIndexCapacity() > 500);
+        for (int i = 0; i < 500; i++) {
+            if (i % 10 != 0) {
+                store.remove("key" + i);
+            }
+        }
+        long before = store.getStoreSize();
+        store.compact();
+        assertTrue(store.getCompactionCounter() > 0);
+        assertTrue(store.getStoreSize() < before);
+        assertEquals(50, store.getSize());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 10 == 0, store.contains("key" + i));
+        }
+        ServiceHelper.stopService(store);
+
+        // removed keys must not come back when the index is rebuilt from the log
+        Files.delete(testDirectory().resolve("compact/index.idx"));
+        store = newRepository("compact");
+        store.setSegmentSize(1024);
+        ServiceHelper.startService(store);
+        assertEquals(50, store.getSize());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 10 == 0, store.contains("key" + i));
+        }
+        ServiceHelper.stopService(store);
+
+        // a key which is removed and added again must not be removed by compacting the segment with the removal
+        store = newRepository("readd");
+        store.setSegmentSize(1024);
+        ServiceHelper.startService(store);
+        // segment 1 is filled with the key and 63 records of 16 bytes
+        store.add("readd");
+        for (int i = 0; i < 63; i++) {
+            store.add(String.format("fill%03d", i));
+        }
+        // segment 2 has the removal and keys which are removed in segment 3, so segment 2 is compacted
+        store.remove("readd");
+        for (int i = 100; i < 163; i++) {
+            store.add(String.format("fill%03d", i));
+        }
+        for (int i = 100; i < 163; i++) {
+            store.remove(String.format("fill%03d", i));
+        }
+        assertTrue(store.add("readd"));
+        assertEquals(3, store.getSegmentCount());
+        store.compact();
+        assertTrue(store.getCompactionCounter() > 0);
+        assertTrue(store.contains("readd"));
+        ServiceHelper.stopService(store);
+
+        Files.delete(testDirectory().resolve("readd/index.idx"));
+        store = newRepository("readd");
+        store.setSegmentSize(1024);
+        ServiceHelper.startService(store);
+        assertTrue(store.contains("readd"));
+        assertEquals(64, store.getSize());
+        ServiceHelper.stopService(store);
+    }
+
+    @Test
+    public void testSizeAfterUncleanStop() throws Exception {
+        LogFileIdempotentRepository store = newRepository("unclean");
+        // the index header is only written when starting
+        store.setSyncInterval(60000);
+        ServiceHelper.startService(store);
+        for (int i = 0; i < 100; i++) {
+            store.add("key" + i);
+        }
+
+        // open the files which the first store has not synced, as if it was killed
+        LogFileIdempotentRepository other = newRepository("unclean");
+        ServiceHelper.startService(other);
+        assertEquals(100, other.getSize());
+        assertTrue(other.contains("key99"));
+        ServiceHelper.stopService(other, store);
+    }
+
+    @Test
+    public void testMaxStoreSize() throws Exception {
+        LogFileIdempotentRepository store = newRepository("max");
+        store.setSegmentSize(1024);
+        store.setMaxStoreSize(4096);
+        ServiceHelper.startService(store);
+        for (int i = 0; i < 1000; i++) {
+            store.add("key" + i);
+        }
+        store.compact();
+        assertTrue(store.getStoreSize() <= 4096);
+        assertTrue(store.getDroppedSegmentCounter() > 0);
+        assertFalse(store.contains("key0"));
+        assertTrue(store.contains("key999"));
+        assertTrue(store.getSize() < 1000);
+        ServiceHelper.stopService(store);
+    }
+
+    private LogFileIdempotentRepository newRepository(String dir) {
+        Path path = testDirectory().resolve(dir);
+        LogFileIdempotentRepository answer = new LogFileIdempotentRepository(path.toFile());
+        // only compact when the test asks for it
+        answer.setCompactionInterval(0);
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        repo = new LogFileIdempotentRepository(testDirectory().resolve("route").toFile());
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .idempotentConsumer(header("messageId"), repo)
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MicroBatchTest extends ContextTestSupport {
+
+    @Test
+    public void testCompletedBySize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:size");
+        mock.expectedMessageCount(2);
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "size");
+
+        for (String body : List.of("A", "B", "C", "D", "E", "F", "G")) {
+            template.sendBody("seda:size", body);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of("A", "B", "C"), mock.getReceivedExchanges().get(0).getMessage().getBody(List.class));
+        assertEquals(List.of("D", "E", "F"), mock.getReceivedExchanges().get(1).getMessage().getBody(List.class));
+
+        MicroBatchProcessor batch = assertInstanceOf(MicroBatchProcessor.class, context.getProcessor("size"));
+        assertEquals(2, batch.getCompletedBySize());
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> batch.getBatchSize() == 1);
+
+        // the last message is routed when forcing completion
+        mock.reset();
+        mock.expectedMessageCount(1);
+        batch.forceCompletion();
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of("G"), mock.getReceivedExchanges().get(0).getMessage().getBody(List.class));
+        assertEquals(1, batch.getCompletedByForce());
+    }
+
+    @Test
+    public void testCompletedByTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        mock.expectedMessageCount(1);
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "timeout");
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_SIZE, 2);
+
+        template.sendBody("seda:timeout", "A");
+        template.sendBody("seda:timeout", "B");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of("A", "B"), mock.getReceivedExchanges().get(0).getMessage().getBody(List.class));
+    }
+
+    @Test
+    public void testCompletedByBytes() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:bytes");
+        mock.expectedMessageCount(2);
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "bytes");
+
+        template.sendBody("seda:bytes", "Hello");
+        template.sendBody("seda:bytes", "World");
+        template.sendBody("seda:bytes", "Bye World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of("Hello", "World"), mock.getReceivedExchanges().get(0).getMessage().getBody(List.class));
+        assertEquals(List.of("Bye World"), mock.getReceivedExchanges().get(1).getMessage().getBody(List.class));
+    }
+
+    @Test
+    public void testCompletedWithBatch() throws Exception {
+        getMockEndpoint("mock:sync").expectedMessageCount(1);
+
+        Future<Object> a = template.asyncRequestBody("direct:sync", "A");
+        // the exchange is completed when its batch has been processed
+        Thread.sleep(100);
+        assertFalse(a.isDone());
+
+        template.requestBody("direct:sync", "B");
+        a.get(5, TimeUnit.SECONDS);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchFailed() throws Exception {
+        Future<Object> a = template.asyncRequestBody("direct:fail", "A");
+        CamelExecutionException e
+                = assertThrows(CamelExecutionException.class, () -> template.requestBody("direct:fail", "B"));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+
+        // the exception is set on all the exchanges in the batch
+        Exception cause = assertThrows(Exception.class, () -> a.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, cause.getCause().getCause());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("seda:size")
+                        .microBatch().id("size").size(3).timeout(0)
+                            .to("mock:size")
+                        .end();
+
+                from("seda:timeout")
+                        .microBatch().size(100).timeout(200)
+                            .to("mock:timeout")
+                        .end();
+
+                from("seda:bytes")
+                        .microBatch().size(100).timeout(0).maxBytes(9)
+                            .to("mock:bytes")
+                        .end();
+
+                from("direct:sync")
+                        .microBatch().size(2).timeout(0)
+                            .to("mock:sync")
+                        .end();
+
+                from("direct:fail")
+                        .microBatch().size(2).timeout(0)
+                            .throwException(new IllegalArgumentException("Forced"))
+                        .end();
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.loadbalancer.PeakEwmaLoadBalancer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PeakEwmaLoadBalanceTest extends ContextTestSupport {
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance().peakEwma(5000).to("direct:slow", "mock:fast");
+
+                from("direct:slow").delay(50).syncDelayed().to("mock:slow");
+
+                from("direct:failover").routeId("failover").errorHandler(noErrorHandler())
+                        .loadBalance().peakEwma(5000).to("direct:fail", "direct:ok");
+
+                from("direct:fail").to("mock:fail").throwException(new IllegalStateException("Forced"));
+                from("direct:ok").delay(5).syncDelayed().to("mock:ok");
+            }
+        };
+    }
+
+    @Test
+    public void testPeakEwma() throws Exception {
+        MockEndpoint slow = getMockEndpoint("mock:slow");
+        MockEndpoint fast = getMockEndpoint("mock:fast");
+        fast.expectedMinimumMessageCount(45);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(50, slow.getReceivedCounter() + fast.getReceivedCounter());
+        // the slow destination is only tried until its latency is known
+        assertTrue(slow.getReceivedCounter() <= 2, "Slow should only get a few messages, was: " + slow.getReceivedCounter());
+
+        PeakEwmaLoadBalancer lb = findLoadBalancer(context.getRoutes().get(0).navigate());
+        assertEquals(5000, lb.getDecayTime());
+        double slowLatency = lb.getStatistics(lb.getProcessors().get(0)).getLatency();
+        double fastLatency = lb.getStatistics(lb.getProcessors().get(1)).getLatency();
+        assertTrue(slowLatency > fastLatency, "Slow latency " + slowLatency + " should be higher than " + fastLatency);
+    }
+
+    @Test
+    public void testFailingDestinationIsPenalized() throws Exception {
+        MockEndpoint fail = getMockEndpoint("mock:fail");
+        MockEndpoint ok = getMockEndpoint("mock:ok");
+        ok.expectedMinimumMessageCount(45);
+
+        for (int i = 0; i < 50; i++) {
+            try {
+                template.sendBody("direct:failover", "Hello " + i);
+            } catch (Exception e) {
+                // expected for the failing destination
+            }
+        }
+
+        assertMockEndpointsSatisfied();
+        // the failing destination fails fast, but is not chosen as the fastest
+        assertTrue(fail.getReceivedCounter() <= 2, "Fail should only get a few messages, was: " + fail.getReceivedCounter());
+
+        PeakEwmaLoadBalancer lb = findLoadBalancer(context.getRoute("failover").navigate());
+        assertEquals(fail.getReceivedCounter(), lb.getStatistics(lb.getProcessors().get(0)).getFailed());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PeakEwmaLoadBalancer findLoadBalancer(Navigate<Processor> nav) {
+        for (Processor processor : nav.next()) {
+            if (processor instanceof PeakEwmaLoadBalancer lb) {
+                return lb;
+            }
+            if (processor instanceof Navigate) {
+                PeakEwmaLoadBalancer answer = findLoadBalancer((Navigate<Processor>) processor);
+                if (answer != null) {
+                    return answer;
+                }
+            }
+        }
+        return null;
+    }
+
+}
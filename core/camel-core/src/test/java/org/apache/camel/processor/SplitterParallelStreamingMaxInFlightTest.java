@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.StringAggregationStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplitterParallelStreamingMaxInFlightTest extends ContextTestSupport {
+
+    private static final int SIZE = 50;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger maxAhead = new AtomicInteger();
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        inFlight.set(0);
+        maxInFlight.set(0);
+        pulled.set(0);
+        completed.set(0);
+        maxAhead.set(0);
+    }
+
+    @Test
+    public void testMaxInFlight() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                expected.append(",");
+            }
+            expected.append(i);
+        }
+
+        getMockEndpoint("mock:split").expectedMessageCount(SIZE);
+        getMockEndpoint("mock:result").expectedBodiesReceived(expected.toString());
+
+        template.sendBody("direct:start", new Numbers());
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue(maxInFlight.get() <= 3, "Should not process more than 3 at the same time, was: " + maxInFlight.get());
+        // the iterator must not run ahead of the window
+        assertTrue(maxAhead.get() <= 3, "Should not pull more than 3 ahead, was: " + maxAhead.get());
+    }
+
+    @Test
+    public void testMaxInFlightRequiresStreaming() {
+        RouteBuilder builder = new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:invalid")
+                        .split(body()).parallelProcessing().maxInFlight(3)
+                        .to("mock:invalid");
+            }
+        };
+        assertThrows(Exception.class, () -> context.addRoutes(builder));
+    }
+
+    private class Numbers implements Iterable<Integer> {
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < SIZE;
+                }
+
+                @Override
+                public Integer next() {
+                    int ahead = pulled.incrementAndGet() - completed.get();
+                    maxAhead.accumulateAndGet(ahead, Math::max);
+                    return next++;
+                }
+            };
+        }
+    }
+
+    private class CountingAggregationStrategy extends StringAggregationStrategy {
+
+        CountingAggregationStrategy() {
+            delimiter(",");
+        }
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            completed.incrementAndGet();
+            return super.aggregate(oldExchange, newExchange);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .split(body(), new CountingAggregationStrategy())
+                        .streaming().parallelProcessing().maxInFlight(3)
+                        .process(e -> {
+                            int n = inFlight.incrementAndGet();
+                            maxInFlight.accumulateAndGet(n, Math::max);
+                            Thread.sleep(ThreadLocalRandom.current().nextInt(1, 10));
+                            inFlight.decrementAndGet();
+                        })
+                        .to("mock:split")
+                        .end()
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WireTapQueueTest extends ContextTestSupport {
+
+    private final CountDownLatch tapEntered = new CountDownLatch(1);
+    private final CountDownLatch tapRelease = new CountDownLatch(1);
+    private final List<Object> tapped = new ArrayList<>();
+    private final AtomicBoolean rejectDrain = new AtomicBoolean();
+    private final ExecutorService rejectingPool = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+        @Override
+        public void execute(Runnable command) {
+            if (rejectDrain.get()) {
+                throw new RejectedExecutionException("Forced rejection");
+            }
+            super.execute(command);
+        }
+    };
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        rejectingPool.shutdownNow();
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        WireTapProcessor tap = sendWhileTapIsBlocked("direct:dropNewest", "dropNewest");
+
+        assertEquals(2, tap.getDroppedCount());
+        assertEquals(2, tap.getQueuedCount());
+
+        tapRelease.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(3, tapped.size()));
+        assertEquals(List.of("A", "B", "C"), tapped);
+        assertEquals(0, tap.getQueuedCount());
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        WireTapProcessor tap = sendWhileTapIsBlocked("direct:dropOldest", "dropOldest");
+
+        assertEquals(2, tap.getDroppedCount());
+        assertEquals(2, tap.getQueuedCount());
+
+        tapRelease.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(3, tapped.size()));
+        assertEquals(List.of("A", "D", "E"), tapped);
+    }
+
+    @Test
+    public void testDrainBatch() throws Exception {
+        WireTapProcessor tap = sendWhileTapIsBlocked("direct:batch", "batch");
+        assertEquals(0, tap.getDroppedCount());
+
+        tapRelease.countDown();
+        // the first is sent alone as the tap was idle, and the others are sent as batches
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(3, tapped.size()));
+        assertEquals(List.of(List.of("A"), List.of("B", "C", "D"), List.of("E")), tapped);
+    }
+
+    @Test
+    public void testBlockAfterRejectedDrain() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("A", "B");
+
+        // the drain task is rejected so the queue is full without anyone draining it
+        rejectDrain.set(true);
+        template.sendBody("direct:block", "A");
+        WireTapProcessor tap = context.getProcessor("block", WireTapProcessor.class);
+        assertEquals(1, tap.getQueuedCount());
+
+        // the route blocks as the queue is full, until a drain task is accepted
+        Future<?> future = template.asyncSendBody("direct:block", "B");
+        Thread.sleep(200);
+        assertFalse(future.isDone());
+        rejectDrain.set(false);
+
+        future.get(5, TimeUnit.SECONDS);
+        tapRelease.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(2, tapped.size()));
+        assertEquals(List.of("A", "B"), tapped);
+        assertMockEndpointsSatisfied();
+    }
+
+    private WireTapProcessor sendWhileTapIsBlocked(String uri, String id) throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("A", "B", "C", "D", "E");
+
+        template.sendBody(uri, "A");
+        // wait for the tap to be busy with the first message
+        assertTrue(tapEntered.await(5, TimeUnit.SECONDS));
+        for (String body : new String[] { "B", "C", "D", "E" }) {
+            template.sendBody(uri, body);
+        }
+
+        // the route is not waiting for the tap
+        assertMockEndpointsSatisfied();
+        return context.getProcessor(id, WireTapProcessor.class);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:dropNewest")
+                        .wireTap("direct:tap").queueSize(2).queueOverflow("DropNewest").id("dropNewest")
+                        .to("mock:result");
+
+                from("direct:dropOldest")
+                        .wireTap("direct:tap").queueSize(2).id("dropOldest")
+                        .to("mock:result");
+
+                from("direct:batch")
+                        .wireTap("direct:tap").queueSize(10).drainBatchSize(3).id("batch")
+                        .to("mock:result");
+
+                from("direct:block")
+                        .wireTap("direct:tap").queueSize(1).queueOverflow("Block").executorService(rejectingPool)
+                        .id("block")
+                        .to("mock:result");
+
+                from("direct:tap")
+                        .process(e -> {
+                            tapEntered.countDown();
+                            tapRelease.await(5, TimeUnit.SECONDS);
+                            synchronized (tapped) {
+                                tapped.add(e.getMessage().getBody());
+                            }
+                        });
+            }
+        };
+    }
+}
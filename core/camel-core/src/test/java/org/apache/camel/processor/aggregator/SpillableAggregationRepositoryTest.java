@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.GroupedBodyAggregationStrategy;
+import org.apache.camel.processor.aggregate.GroupedExchangeAggregationStrategy;
+import org.apache.camel.processor.aggregate.SpillableAggregationRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpillableAggregationRepositoryTest extends ContextTestSupport {
+
+    private final SpillableAggregationRepository repo = new SpillableAggregationRepository(1024);
+    private final SpillableAggregationRepository groupedRepo = new SpillableAggregationRepository(1024);
+    private final SpillableAggregationRepository bodiesRepo = new SpillableAggregationRepository(1024);
+
+    @Test
+    public void testSpillAndLoad() throws Exception {
+        repo.setSegmentSize(4096);
+        repo.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getMessage().setBody("Group " + i + " " + "X".repeat(200));
+                exchange.getMessage().setHeader("group", i);
+                repo.add(context, "key" + i, exchange);
+            }
+            // the cold groups are spilled to disk
+            assertTrue(repo.getSpilledGroups() > 0);
+            assertTrue(repo.getHeapSize() <= 1024);
+            assertEquals(20, repo.getHeapGroups() + repo.getSpilledGroups());
+            assertEquals(20, repo.getKeys().size());
+
+            // and can be loaded again
+            Exchange first = repo.get(context, "key0");
+            assertNotNull(first);
+            assertEquals("Group 0 " + "X".repeat(200), first.getMessage().getBody());
+            assertEquals(0, first.getMessage().getHeader("group"));
+            assertEquals(1, repo.getLoadCounter());
+
+            // the group is in memory after being updated
+            repo.add(context, "key0", first);
+            assertNotNull(repo.get(context, "key0"));
+            assertEquals(20, repo.getKeys().size());
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testNotSerializableBodyIsKeptInMemory() throws Exception {
+        repo.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getMessage().setBody(new Order(i, "X".repeat(200)));
+                repo.add(context, "key" + i, exchange);
+            }
+            // the groups cannot be serialized so they are not spilled
+            assertEquals(0, repo.getSpilledGroups());
+            assertEquals(0, repo.getSpillCounter());
+            assertEquals(20, repo.getHeapGroups());
+
+            Exchange first = repo.get(context, "key0");
+            assertEquals(0, first.getMessage().getBody(Order.class).id);
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testLoadedGroupIsKeptInMemory() throws Exception {
+        repo.setUseRecovery(false);
+        repo.start();
+        try {
+            for (String key : new String[] { "foo", "bar" }) {
+                Exchange exchange = new DefaultExchange(context);
+                exchange.getMessage().setBody(key + " " + "X".repeat(200));
+                repo.add(context, key, exchange);
+            }
+            // both groups do not fit in the budget so foo is spilled
+            assertEquals(1, repo.getSpilledGroups());
+            repo.remove(context, "bar", new DefaultExchange(context));
+
+            // foo fits in the budget now, so its kept in memory after being loaded
+            assertEquals("foo " + "X".repeat(200), repo.get(context, "foo").getMessage().getBody());
+            assertEquals("foo " + "X".repeat(200), repo.get(context, "foo").getMessage().getBody());
+            assertEquals(1, repo.getLoadCounter());
+            assertEquals(0, repo.getSpilledGroups());
+            assertEquals(1, repo.getHeapGroups());
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testRecoverCompleted() throws Exception {
+        repo.start();
+        try {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getMessage().setBody("Hello World");
+            repo.add(context, "foo", exchange);
+            repo.remove(context, "foo", exchange);
+            assertNull(repo.get(context, "foo"));
+
+            // the completed exchange can be recovered until confirmed
+            Set<String> ids = repo.scan(context);
+            assertEquals(Set.of(exchange.getExchangeId()), ids);
+            Exchange recovered = repo.recover(context, exchange.getExchangeId());
+            assertEquals(exchange.getExchangeId(), recovered.getExchangeId());
+            assertEquals("Hello World", recovered.getMessage().getBody());
+
+            repo.confirm(context, exchange.getExchangeId());
+            assertTrue(repo.scan(context).isEmpty());
+            assertNull(repo.recover(context, exchange.getExchangeId()));
+        } finally {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testAggregate() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBodyAndHeader("direct:start", "M" + i, "id", i % 10);
+        }
+
+        assertMockEndpointsSatisfied();
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            int id = exchange.getMessage().getHeader("id", int.class);
+            assertEquals("M" + id + "+M" + (id + 10) + "+M" + (id + 20) + "+M" + (id + 30) + "+M" + (id + 40),
+                    exchange.getMessage().getBody());
+        }
+        assertTrue(repo.getSpillCounter() > 0);
+        assertTrue(repo.getLoadCounter() > 0);
+    }
+
+    @Test
+    public void testAggregateGroupedExchanges() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:grouped");
+        mock.expectedMessageCount(10);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBodyAndHeader("direct:grouped", new Order(i, "X".repeat(200)), "id", i % 10);
+        }
+
+        assertMockEndpointsSatisfied();
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            // no grouped exchanges are lost as the groups cannot be spilled
+            List<?> grouped = exchange.getMessage().getBody(List.class);
+            assertEquals(5, grouped.size());
+        }
+        assertEquals(0, groupedRepo.getSpillCounter());
+    }
+
+    @Test
+    public void testAggregateGroupedBodies() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:bodies");
+        mock.expectedMessageCount(10);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBodyAndHeader("direct:bodies", "M" + i + " " + "X".repeat(200), "id", i % 10);
+        }
+
+        assertMockEndpointsSatisfied();
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            int id = exchange.getMessage().getHeader("id", int.class);
+            List<?> bodies = exchange.getMessage().getBody(List.class);
+            assertEquals(5, bodies.size());
+            for (int i = 0; i < 5; i++) {
+                assertEquals("M" + (id + i * 10) + " " + "X".repeat(200), bodies.get(i));
+            }
+        }
+        // the list of bodies is serializable so the groups are spilled
+        assertTrue(bodiesRepo.getSpillCounter() > 0);
+        assertTrue(bodiesRepo.getLoadCounter() > 0);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        bodiesRepo.setAllowSerializedHeaders(true);
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy())
+                        .aggregationRepository(repo).completionSize(5)
+                        .to("mock:result");
+
+                from("direct:grouped").aggregate(header("id"), new GroupedExchangeAggregationStrategy())
+                        .aggregationRepository(groupedRepo).completionSize(5)
+                        .to("mock:grouped");
+
+                from("direct:bodies").aggregate(header("id"), new GroupedBodyAggregationStrategy())
+                        .aggregationRepository(bodiesRepo).completionSize(5)
+                        .to("mock:bodies");
+            }
+        };
+    }
+
+    private static final class Order {
+        private final int id;
+        private final String text;
+
+        private Order(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return "Order[" + id + "]";
+        }
+    }
+}
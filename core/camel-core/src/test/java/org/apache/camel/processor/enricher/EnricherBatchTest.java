@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.enricher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.util.ObjectHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EnricherBatchTest extends ContextTestSupport {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final List<Object> lookupHeaders = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testBatchedByMap() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        for (String body : List.of("1", "2", "3")) {
+            template.sendBodyAndHeader("seda:map", body, "foo", body);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, lookups.get());
+        // the headers of the batched exchanges are not sent to the resource
+        assertEquals(1, lookupHeaders.size());
+        assertNull(lookupHeaders.get(0));
+
+        List<String> bodies = new ArrayList<>();
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            bodies.add(exchange.getMessage().getBody(String.class));
+        }
+        assertEquals(List.of("1:Camel-1", "2:Camel-2", "3:Camel-3"), bodies);
+    }
+
+    @Test
+    public void testBatchedByListAndTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("A:a", "B:b");
+
+        template.sendBody("seda:list", "A");
+        template.sendBody("seda:list", "B");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testBatchedInvalidReply() throws Exception {
+        Future<Object> a = template.asyncRequestBody("direct:invalid", "A");
+        CamelExecutionException e
+                = assertThrows(CamelExecutionException.class, () -> template.requestBody("direct:invalid", "B"));
+        // the reply does not match the keys
+        assertInstanceOf(CamelExchangeException.class, e.getCause());
+        assertThrows(Exception.class, () -> a.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBatchTimeoutMustBePositive() {
+        Exception e = assertThrows(Exception.class, () -> context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:noTimeout")
+                        .enrich().constant("direct:lookupMap").batchSize(2).batchTimeout(0);
+            }
+        }));
+        assertNotNull(ObjectHelper.getException(IllegalArgumentException.class, e));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("seda:map")
+                        .enrich().constant("direct:lookupMap").aggregationStrategy(EnricherBatchTest::join)
+                        .batchSize(3).batchTimeout(10000)
+                        .to("mock:result");
+
+                from("seda:list")
+                        .enrich().constant("direct:lookupList").aggregationStrategy(EnricherBatchTest::join)
+                        .batchSize(100).batchTimeout(200)
+                        .to("mock:result");
+
+                from("direct:invalid")
+                        .enrich().constant("direct:lookupInvalid").batchSize(2).batchTimeout(10000);
+
+                from("direct:lookupMap")
+                        .process(e -> {
+                            lookups.incrementAndGet();
+                            lookupHeaders.add(e.getMessage().getHeader("foo"));
+                            Map<Object, Object> answer = new HashMap<>();
+                            for (Object key : e.getMessage().getBody(List.class)) {
+                                answer.put(key, "Camel-" + key);
+                            }
+                            e.getMessage().setBody(answer);
+                        });
+
+                from("direct:lookupList")
+                        .process(e -> {
+                            lookups.incrementAndGet();
+                            List<Object> answer = new ArrayList<>();
+                            for (Object key : e.getMessage().getBody(List.class)) {
+                                answer.add(key.toString().toLowerCase());
+                            }
+                            e.getMessage().setBody(answer);
+                        });
+
+                from("direct:lookupInvalid")
+                        .setBody(constant(List.of("only one")));
+            }
+        };
+    }
+
+    private static Exchange join(Exchange original, Exchange resource) {
+        original.getMessage().setBody(original.getMessage().getBody(String.class) + ":"
+                                      + resource.getMessage().getBody(String.class));
+        return original;
+    }
+}
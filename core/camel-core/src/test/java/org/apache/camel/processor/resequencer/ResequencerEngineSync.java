@@ -34,6 +34,10 @@ public class ResequencerEngineSync<E> {
         this.resequencer = resequencer;
     }
 
+    public ResequencerEngine<E> getEngine() {
+        return resequencer;
+    }
+
     public void stop() {
         lock.lock();
         try {
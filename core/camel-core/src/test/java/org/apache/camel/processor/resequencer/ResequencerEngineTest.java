@@ -30,6 +30,7 @@ import org.junit.jupiter.api.condition.DisabledIf;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ResequencerEngineTest extends TestSupport {
 
@@ -89,6 +90,31 @@ class ResequencerEngineTest extends TestSupport {
         assertEquals(4, resequencer.getLastDelivered());
     }
 
+    @Test
+    void testBatchAndGapStatistics() throws Exception {
+        initResequencer(500);
+        resequencer.setLastDelivered(0);
+        // 1 is missing so 2, 3, 4 wait until 2 times out, and are then delivered as a batch
+        resequencer.insert(3);
+        resequencer.insert(4);
+        resequencer.insert(2);
+        assertEquals(2, buffer.poll(5_000));
+        assertEquals(3, buffer.poll(5_000));
+        assertEquals(4, buffer.poll(5_000));
+
+        ResequencerEngine<Integer> engine = resequencer.getEngine();
+        assertEquals(3, engine.getDeliveredCount());
+        assertEquals(1, engine.getGapCount());
+        assertEquals(1, engine.getTimeoutCount());
+        assertEquals(3, engine.getMaxBatchSize());
+        assertTrue(engine.getMaxWaitTime() >= 400, "Max wait time: " + engine.getMaxWaitTime());
+
+        // 5 is in sequence and delivered without waiting for a timeout
+        resequencer.insert(5);
+        assertEquals(5, buffer.poll(5_000));
+        assertEquals(1, engine.getGapCount());
+    }
+
     @DisabledIf(value = "isIgnoreLoadTests",
                 disabledReason = "Enabled only when the System property 'ignore.load.tests' is not set to 'true'")
     @Test
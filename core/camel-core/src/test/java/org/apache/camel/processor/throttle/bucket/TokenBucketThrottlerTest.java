@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.bucket;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.ThrottlerRejectedExecutionException;
+import org.apache.camel.processor.TokenBucketThrottler;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Isolated
+public class TokenBucketThrottlerTest extends ContextTestSupport {
+
+    @Test
+    public void testBurstThenThrottle() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(6);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertMockEndpointsSatisfied();
+        // the first 3 are a burst, and the next 3 are spaced by 1/3 of the period
+        assertTrue(elapsed >= 400, "Should take at least 400ms, was: " + elapsed);
+
+        TokenBucketThrottler throttler = context.getProcessor("throttler", TokenBucketThrottler.class);
+        assertEquals("TokenBucket", throttler.getMode());
+        assertEquals(3, throttler.getThrottledCount());
+        assertEquals(1, throttler.getBucketCount());
+        assertEquals(3, throttler.getCurrentMaximumRequests());
+    }
+
+    @Test
+    public void testGroupingReject() throws Exception {
+        getMockEndpoint("mock:grouped").expectedBodiesReceived("A1", "A2", "B1");
+
+        template.sendBodyAndHeader("direct:grouped", "A1", "tenant", "A");
+        template.sendBodyAndHeader("direct:grouped", "A2", "tenant", "A");
+        CamelExecutionException e = assertThrows(CamelExecutionException.class,
+                () -> template.sendBodyAndHeader("direct:grouped", "A3", "tenant", "A"));
+        assertInstanceOf(ThrottlerRejectedExecutionException.class, e.getCause());
+        template.sendBodyAndHeader("direct:grouped", "B1", "tenant", "B");
+
+        assertMockEndpointsSatisfied();
+
+        TokenBucketThrottler throttler = context.getProcessor("grouped", TokenBucketThrottler.class);
+        assertEquals(2, throttler.getBucketCount());
+    }
+
+    @Test
+    public void testAsyncDelayed() throws Exception {
+        getMockEndpoint("mock:async").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.asyncSendBody("direct:async", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        TokenBucketThrottler throttler = context.getProcessor("async", TokenBucketThrottler.class);
+        assertTrue(throttler.getThrottledCount() > 0);
+        assertEquals(0, throttler.getParkedCount());
+    }
+
+    @Test
+    public void testEvictIdleBuckets() throws Exception {
+        getMockEndpoint("mock:evict").expectedMessageCount(3);
+
+        template.sendBodyAndHeader("direct:evict", "A", "tenant", "A");
+        template.sendBodyAndHeader("direct:evict", "B", "tenant", "B");
+        template.sendBodyAndHeader("direct:evict", "C", "tenant", "C");
+
+        assertMockEndpointsSatisfied();
+
+        TokenBucketThrottler throttler = context.getProcessor("evict", TokenBucketThrottler.class);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> throttler.getBucketCount() == 0);
+        assertEquals(3, throttler.getEvictedBucketCount());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .throttle(3).timePeriodMillis(500).tokenBucketMode().id("throttler")
+                        .to("mock:result");
+
+                from("direct:grouped")
+                        .throttle(2).correlationExpression(header("tenant")).timePeriodMillis(10000).tokenBucketMode()
+                        .rejectExecution(true)
+                        .id("grouped")
+                        .to("mock:grouped");
+
+                from("direct:async")
+                        .throttle(5).timePeriodMillis(200).tokenBucketMode().asyncDelayed().id("async")
+                        .to("mock:async");
+
+                from("direct:evict")
+                        .throttle(10).correlationExpression(header("tenant")).timePeriodMillis(50).tokenBucketMode().id("evict")
+                        .to("mock:evict");
+            }
+        };
+    }
+}
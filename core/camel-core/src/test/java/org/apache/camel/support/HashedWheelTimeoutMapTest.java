@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Isolated("Depends on precise timing that may be hard to achieve if the system is under pressure")
+@DisabledIfSystemProperty(named = "ci.env.name", matches = "github.com", disabledReason = "Flaky on Github CI")
+public class HashedWheelTimeoutMapTest {
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPurge() {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 50);
+        map.start();
+        assertEquals(0, map.size());
+        assertEquals(HashedWheelTimeoutMap.DEFAULT_WHEEL_SIZE, map.getWheelSize());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testForcePurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        // map.start(); // Do not start background purge
+
+        map.put("A", 123, 10);
+        map.put("B", 456, 60000);
+        assertEquals(2, map.size());
+
+        Thread.sleep(50);
+
+        // will purge and remove old entries
+        map.purge();
+
+        assertEquals(1, map.size());
+        assertEquals(456, map.get("B"));
+    }
+
+    @Test
+    public void testGetRemove() {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+        assertEquals(123, (int) map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertNull(map.get("A"));
+        assertNull(map.remove("A"));
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testPutReplaceAndPutIfAbsent() {
+        List<TimeoutMap.Listener.Type> events = new ArrayList<>();
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.addListener((type, key, value) -> events.add(type));
+
+        assertNull(map.put("A", 1, 60000));
+        assertEquals(1, map.put("A", 2, 60000));
+        assertEquals(2, map.putIfAbsent("A", 3, 60000));
+        assertNull(map.putIfAbsent("B", 4, 60000));
+        assertEquals(2, map.size());
+        assertEquals(2, map.get("A"));
+
+        // the put if absent on an existing key does not change the map
+        assertEquals(List.of(TimeoutMap.Listener.Type.Put, TimeoutMap.Listener.Type.Put, TimeoutMap.Listener.Type.Put),
+                events);
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() {
+        final List<String> keys = new ArrayList<>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+            }
+        });
+        map.start();
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 45);
+        // is not expired
+        map.put("F", 6, 5000);
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertEquals(5, keys.size()));
+
+        assertEquals(List.of("D", "B", "C", "E", "A"), keys);
+        assertEquals(1, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testTimeoutLongerThanWheel() throws Exception {
+        // the wheel only covers 4 x 10 millis so the entry must survive several rounds of the wheel
+        HashedWheelTimeoutMap<String, Integer> map
+                = new HashedWheelTimeoutMap<>(executor, 10, 4, NoLock.INSTANCE);
+        map.start();
+
+        map.put("A", 1, 300);
+        Thread.sleep(100);
+        assertEquals(1, map.size());
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testManyEntries() {
+        HashedWheelTimeoutMap<Integer, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        map.start();
+
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i, 1000 + i % 100);
+        }
+        // removed entries must not be evicted
+        for (int i = 0; i < 100000; i += 2) {
+            map.remove(i);
+        }
+        assertEquals(50000, map.size());
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testStopStart() {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.start();
+        map.put("A", 1, 500);
+
+        assertEquals(1, map.size());
+        map.stop();
+
+        assertEquals(0, map.size());
+        map.put("A", 1, 50);
+
+        // should not timeout as the scheduler doesn't run
+        await().atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertEquals(1, map.size()));
+
+        // start and wait for scheduler to purge
+        map.start();
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.spi.TimerWheel;
+import org.apache.camel.util.concurrent.Rejectable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Isolated("Depends on precise timing that may be hard to achieve if the system is under pressure")
+@DisabledIfSystemProperty(named = "ci.env.name", matches = "github.com", disabledReason = "Flaky on Github CI")
+public class HashedWheelTimerTest {
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(2);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSchedule() {
+        HashedWheelTimer timer = new HashedWheelTimer(executor);
+        timer.start();
+        assertEquals(HashedWheelTimer.DEFAULT_WHEEL_SIZE, timer.getWheelSize());
+
+        List<String> runs = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        AtomicInteger elapsed = new AtomicInteger();
+        timer.schedule(() -> {
+            elapsed.set((int) Duration.ofNanos(System.nanoTime() - start).toMillis());
+            runs.add("B");
+        }, 200);
+        timer.schedule(() -> runs.add("A"), 50);
+        assertEquals(2, timer.size());
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertEquals(List.of("A", "B"), runs));
+        // a task is never run before its delay
+        assertTrue(elapsed.get() >= 200, "Should not run before the delay, was: " + elapsed.get());
+        assertEquals(0, timer.size());
+
+        timer.stop();
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(executor);
+        timer.start();
+
+        AtomicInteger counter = new AtomicInteger();
+        TimerWheel.Timeout timeout = timer.schedule(counter::incrementAndGet, 100);
+        timer.schedule(counter::incrementAndGet, 100);
+        assertEquals(2, timer.size());
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+        assertEquals(1, timer.size());
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertEquals(1, counter.get()));
+        Thread.sleep(200);
+        assertEquals(1, counter.get());
+        assertFalse(timeout.isExpired());
+
+        timer.stop();
+    }
+
+    @Test
+    public void testDelayLongerThanWheel() {
+        HashedWheelTimer timer = new HashedWheelTimer(executor, 10, 4);
+        timer.start();
+        assertEquals(4, timer.getWheelSize());
+
+        long start = System.nanoTime();
+        AtomicInteger elapsed = new AtomicInteger(-1);
+        TimerWheel.Timeout timeout
+                = timer.schedule(() -> elapsed.set((int) Duration.ofNanos(System.nanoTime() - start).toMillis()), 300);
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertTrue(elapsed.get() >= 0));
+        assertTrue(elapsed.get() >= 300, "Should not run before the delay, was: " + elapsed.get());
+        assertTrue(timeout.isExpired());
+
+        timer.stop();
+    }
+
+    @Test
+    public void testManyTasks() {
+        HashedWheelTimer timer = new HashedWheelTimer(executor, 5, 64);
+        timer.start();
+
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 100000; i++) {
+            timer.schedule(counter::incrementAndGet, ThreadLocalRandom.current().nextInt(500));
+        }
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertEquals(100000, counter.get()));
+        assertEquals(0, timer.size());
+
+        timer.stop();
+    }
+
+    @Test
+    public void testStopRunsWaitingTasks() {
+        HashedWheelTimer timer = new HashedWheelTimer(executor);
+        assertThrows(RejectedExecutionException.class, () -> timer.schedule(() -> {
+        }, 10));
+
+        timer.start();
+        AtomicInteger counter = new AtomicInteger();
+        TimerWheel.Timeout timeout = timer.schedule(counter::incrementAndGet, 60000);
+        assertEquals(1, timer.size());
+
+        // the task cannot be rejected so its run when the timer is stopped
+        timer.stop();
+        assertEquals(0, timer.size());
+        assertTrue(timeout.isCancelled());
+        assertEquals(1, counter.get());
+        assertThrows(RejectedExecutionException.class, () -> timer.schedule(() -> {
+        }, 10));
+    }
+
+    @Test
+    public void testBlockingTasksDoNotStallTimer() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        context.start();
+        HashedWheelTimer timer = new HashedWheelTimer(context);
+        timer.start();
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            // blocking tasks occupying threads of the task pool
+            for (int i = 0; i < 5; i++) {
+                timer.schedule(() -> {
+                    try {
+                        blocked.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, 10);
+            }
+            AtomicInteger counter = new AtomicInteger();
+            timer.schedule(counter::incrementAndGet, 100);
+
+            await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertEquals(1, counter.get()));
+        } finally {
+            blocked.countDown();
+            timer.stop();
+            context.stop();
+        }
+    }
+
+    @Test
+    public void testRejectedTask() {
+        ExecutorService taskExecutor = Executors.newSingleThreadExecutor();
+        taskExecutor.shutdown();
+        HashedWheelTimer timer = new HashedWheelTimer(executor, taskExecutor, 10, 64);
+        timer.start();
+
+        // a task which can be rejected is rejected, and other tasks are run by the timer
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger counter = new AtomicInteger();
+        timer.schedule(new RejectableTask(counter, rejected), 10);
+        timer.schedule(counter::incrementAndGet, 10);
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertEquals(1, rejected.get());
+            assertEquals(1, counter.get());
+        });
+
+        // waiting tasks which can be rejected are rejected when the timer is stopped, and the other tasks are run
+        timer.schedule(new RejectableTask(counter, rejected), 60000);
+        timer.schedule(counter::incrementAndGet, 60000);
+        timer.stop();
+        assertEquals(2, rejected.get());
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testBoundedTaskPool() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        ThreadPoolProfile profile = context.getExecutorServiceManager().getDefaultThreadPoolProfile();
+        profile.setPoolSize(1);
+        profile.setMaxPoolSize(1);
+        profile.setMaxQueueSize(1);
+        context.start();
+        HashedWheelTimer timer = new HashedWheelTimer(context);
+        timer.start();
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            // one task blocks the only thread, and one task fills the queue
+            AtomicInteger counter = new AtomicInteger();
+            timer.schedule(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 10);
+            timer.schedule(counter::incrementAndGet, 10);
+            await().atMost(Duration.ofSeconds(2)).until(() -> timer.size() == 0);
+
+            // the pool is full, so the task is rejected instead of starting a new thread
+            AtomicInteger rejected = new AtomicInteger();
+            timer.schedule(new RejectableTask(counter, rejected), 10);
+            await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertEquals(1, rejected.get()));
+            assertEquals(0, counter.get());
+
+            blocked.countDown();
+            await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertEquals(1, counter.get()));
+        } finally {
+            blocked.countDown();
+            timer.stop();
+            context.stop();
+        }
+    }
+
+    private static final class RejectableTask implements Runnable, Rejectable {
+        private final AtomicInteger counter;
+        private final AtomicInteger rejected;
+
+        private RejectableTask(AtomicInteger counter, AtomicInteger rejected) {
+            this.counter = counter;
+            this.rejected = rejected;
+        }
+
+        @Override
+        public void run() {
+            counter.incrementAndGet();
+        }
+
+        @Override
+        public void reject() {
+            rejected.incrementAndGet();
+        }
+    }
+}
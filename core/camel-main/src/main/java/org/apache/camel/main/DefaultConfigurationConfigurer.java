@@ -213,6 +213,9 @@ public final class DefaultConfigurationConfigurer {
         if (config.getStreamCachingSpoolThreshold() != 0) {
             camelContext.getStreamCachingStrategy().setSpoolThreshold(config.getStreamCachingSpoolThreshold());
         }
+        if (config.getStreamCachingSpoolOffHeapBudget() > 0) {
+            camelContext.getStreamCachingStrategy().setSpoolOffHeapBudget(config.getStreamCachingSpoolOffHeapBudget());
+        }
         if (config.getStreamCachingSpoolUsedHeapMemoryLimit() != null) {
             StreamCachingStrategy.SpoolUsedHeapMemoryLimit limit;
             if ("Committed".equalsIgnoreCase(config.getStreamCachingSpoolUsedHeapMemoryLimit())) {
@@ -65,6 +65,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private String streamCachingSpoolDirectory;
     private String streamCachingSpoolCipher;
     private long streamCachingSpoolThreshold;
+    private long streamCachingSpoolOffHeapBudget;
     private int streamCachingSpoolUsedHeapMemoryThreshold;
     private String streamCachingSpoolUsedHeapMemoryLimit;
     private boolean streamCachingAnySpoolRules;
@@ -541,6 +542,18 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingSpoolThreshold = streamCachingSpoolThreshold;
     }
 
+    public long getStreamCachingSpoolOffHeapBudget() {
+        return streamCachingSpoolOffHeapBudget;
+    }
+
+    /**
+     * Maximum number of bytes of off-heap memory to use for stream caching spooling, before spooling to disk. The
+     * default is 0 which means off-heap spooling is disabled.
+     */
+    public void setStreamCachingSpoolOffHeapBudget(long streamCachingSpoolOffHeapBudget) {
+        this.streamCachingSpoolOffHeapBudget = streamCachingSpoolOffHeapBudget;
+    }
+
     public int getStreamCachingSpoolUsedHeapMemoryThreshold() {
         return streamCachingSpoolUsedHeapMemoryThreshold;
     }
@@ -1911,6 +1924,15 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Maximum number of bytes of off-heap memory to use for stream caching spooling, before spooling to disk. The
+     * default is 0 which means off-heap spooling is disabled.
+     */
+    public T withStreamCachingSpoolOffHeapBudget(long streamCachingSpoolOffHeapBudget) {
+        this.streamCachingSpoolOffHeapBudget = streamCachingSpoolOffHeapBudget;
+        return (T) this;
+    }
+
     /**
      * Sets a percentage (1-99) of used heap memory threshold to activate stream caching spooling to disk.
      */
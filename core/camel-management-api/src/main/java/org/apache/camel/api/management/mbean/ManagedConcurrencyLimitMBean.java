@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+
+public interface ManagedConcurrencyLimitMBean extends ManagedProcessorMBean {
+
+    @ManagedAttribute(description = "The algorithm used to adapt the concurrency limit")
+    String getAlgorithm();
+
+    @ManagedAttribute(description = "The current concurrency limit")
+    Integer getLimit();
+
+    @ManagedAttribute(description = "The lowest concurrency limit")
+    Integer getMinLimit();
+
+    @ManagedAttribute(description = "The highest concurrency limit")
+    Integer getMaxLimit();
+
+    @ManagedAttribute(description = "Number of exchanges currently being processed by the outputs")
+    Integer getInflight();
+
+    @ManagedAttribute(description = "Number of exchanges currently queued")
+    Integer getQueueSize();
+
+    @ManagedAttribute(description = "The maximum number of exchanges to queue")
+    Integer getMaxQueueSize();
+
+    @ManagedAttribute(description = "Number of exchanges which have been queued")
+    Long getQueuedCount();
+
+    @ManagedAttribute(description = "Number of exchanges which have been rejected as the queue was full")
+    Long getRejectedCount();
+
+    @ManagedAttribute(description = "The round trip time in millis of the last completed exchange")
+    Long getLastRtt();
+
+}
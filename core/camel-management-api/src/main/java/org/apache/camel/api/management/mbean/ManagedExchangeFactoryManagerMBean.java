@@ -29,6 +29,9 @@ public interface ManagedExchangeFactoryManagerMBean extends ManagedServiceMBean
     @ManagedAttribute(description = "Max capacity per consumer for exchange pooling")
     Integer getCapacity();
 
+    @ManagedAttribute(description = "Whether extended pooling is in use, where pooled exchanges also recycle their message headers in place")
+    Boolean getExtendedPooling();
+
     @ManagedAttribute(description = "Whether statistics is enabled")
     Boolean getStatisticsEnabled();
 
@@ -56,6 +59,15 @@ public interface ManagedExchangeFactoryManagerMBean extends ManagedServiceMBean
     @ManagedAttribute(description = "Total number of exchanges discarded (such as when capacity is full)")
     Long getTotalDiscarded();
 
+    @ManagedAttribute(description = "Total number of pool hits, where an exchange was reused from the pool (if pooling is in use)")
+    Long getPoolHits();
+
+    @ManagedAttribute(description = "Total number of pool misses, where a new exchange was created as the pool was empty (if pooling is in use)")
+    Long getPoolMisses();
+
+    @ManagedAttribute(description = "Percentage of exchanges reused from the pool (if pooling is in use)")
+    Double getPoolHitRatio();
+
     @ManagedOperation(description = "Lists all the statistics in tabular form")
     TabularData listStatistics();
 
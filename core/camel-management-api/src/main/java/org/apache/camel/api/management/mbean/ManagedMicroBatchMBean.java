@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedMicroBatchMBean extends ManagedProcessorMBean {
+
+    @ManagedAttribute(description = "The number of messages in a batch")
+    Integer getSize();
+
+    @ManagedAttribute(description = "The maximum time in millis a batch is kept open")
+    Long getTimeout();
+
+    @ManagedAttribute(description = "The accumulated size in bytes of the message bodies in a batch")
+    Long getMaxBytes();
+
+    @ManagedAttribute(description = "Number of messages in the current batch")
+    Integer getBatchSize();
+
+    @ManagedAttribute(description = "Number of batches completed by size")
+    Long getCompletedBySize();
+
+    @ManagedAttribute(description = "Number of batches completed by timeout")
+    Long getCompletedByTimeout();
+
+    @ManagedAttribute(description = "Number of batches completed by bytes")
+    Long getCompletedByBytes();
+
+    @ManagedAttribute(description = "Number of batches completed by force")
+    Long getCompletedByForce();
+
+    @ManagedOperation(description = "To force completing the current batch")
+    void forceCompletion();
+
+}
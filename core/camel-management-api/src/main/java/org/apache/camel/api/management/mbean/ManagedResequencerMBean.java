@@ -17,6 +17,7 @@
 package org.apache.camel.api.management.mbean;
 
 import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
 
 public interface ManagedResequencerMBean extends ManagedProcessorMBean {
 
@@ -44,4 +45,25 @@ public interface ManagedResequencerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "If true, throws an exception when messages older than the last delivered message are processed")
     Boolean isRejectOld();
 
+    @ManagedAttribute(description = "Number of messages delivered when their immediate predecessor was not the last delivered message (stream resequencer only)")
+    Long getGapCount();
+
+    @ManagedAttribute(description = "Number of messages delivered because they timed out waiting for their predecessor (stream resequencer only)")
+    Long getTimeoutCount();
+
+    @ManagedAttribute(description = "Number of batches of in-sequence messages delivered (stream resequencer only)")
+    Long getDeliveryBatchCount();
+
+    @ManagedAttribute(description = "Largest number of in-sequence messages delivered as a batch (stream resequencer only)")
+    Integer getMaxDeliveryBatchSize();
+
+    @ManagedAttribute(description = "Mean time in millis messages waited in the resequencer (stream resequencer only)")
+    Long getMeanWaitTime();
+
+    @ManagedAttribute(description = "Longest time in millis a message waited in the resequencer (stream resequencer only)")
+    Long getMaxWaitTime();
+
+    @ManagedOperation(description = "Resets the resequencer statistics")
+    void resetStatistics();
+
 }
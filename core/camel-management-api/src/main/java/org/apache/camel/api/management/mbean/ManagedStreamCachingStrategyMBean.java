@@ -47,6 +47,12 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Cipher used if writing with encryption")
     String getSpoolCipher();
 
+    @ManagedAttribute(description = "Maximum number of bytes of off-heap memory to use for spooling before spooling to disk")
+    long getSpoolOffHeapBudget();
+
+    @ManagedAttribute(description = "Size in bytes of the pooled off-heap memory segments")
+    int getSpoolOffHeapSegmentSize();
+
     @ManagedAttribute(description = "Threshold in bytes when overflow and spooling to disk instead of keeping in memory")
     void setSpoolThreshold(long threshold);
 
@@ -101,6 +107,21 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of streams spooled to off-heap memory")
+    long getCacheOffHeapCounter();
+
+    @ManagedAttribute(description = "Total accumulated number of bytes which has been stream cached for off-heap stream caches")
+    long getCacheOffHeapSize();
+
+    @ManagedAttribute(description = "Average number of bytes per cached stream for off-heap stream caches")
+    long getCacheOffHeapAverageSize();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory currently in use")
+    long getOffHeapUsed();
+
+    @ManagedAttribute(description = "Number of times the off-heap budget was exhausted and the stream was spooled to disk instead")
+    long getOffHeapOverflowCounter();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
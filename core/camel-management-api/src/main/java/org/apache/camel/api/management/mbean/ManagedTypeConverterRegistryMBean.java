@@ -36,6 +36,15 @@ public interface ManagedTypeConverterRegistryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Number of type conversion failures (failed conversions)")
     long getFailedCounter();
 
+    @ManagedAttribute(description = "Number of type conversion attempts where the type converter was already resolved")
+    long getCacheHitCounter();
+
+    @ManagedAttribute(description = "Number of type conversion attempts where the type converter had to be resolved")
+    long getCacheMissCounter();
+
+    @ManagedAttribute(description = "Percentage of type conversion attempts where the type converter was already resolved")
+    double getCacheHitRatio();
+
     @ManagedOperation(description = "Resets the type conversion counters")
     void resetTypeConversionCounters();
 
@@ -42,6 +42,21 @@ public interface ManagedWireTapMBean extends ManagedProcessorMBean, ManagedExten
     @ManagedAttribute(description = "Current size of inflight wire tapped exchanges.")
     Integer getTaskSize();
 
+    @ManagedAttribute(description = "Capacity of the queue the tapped exchanges are sent via (0 if no queue is in use)")
+    Integer getQueueSize();
+
+    @ManagedAttribute(description = "What to do with a tapped exchange when the queue is full")
+    String getQueueOverflow();
+
+    @ManagedAttribute(description = "Maximum number of queued exchanges which are sent at once as a list")
+    Integer getDrainBatchSize();
+
+    @ManagedAttribute(description = "Current number of tapped exchanges waiting in the queue")
+    Integer getQueuedCount();
+
+    @ManagedAttribute(description = "Number of tapped exchanges dropped because the queue was full")
+    Long getDroppedCount();
+
     @Override
     @ManagedOperation(description = "Statistics of the endpoints which has been sent to")
     TabularData extendedInformation();
@@ -41,6 +41,7 @@ import org.apache.camel.management.mbean.ManagedChoice;
 import org.apache.camel.management.mbean.ManagedClaimCheck;
 import org.apache.camel.management.mbean.ManagedClusterService;
 import org.apache.camel.management.mbean.ManagedComponent;
+import org.apache.camel.management.mbean.ManagedConcurrencyLimit;
 import org.apache.camel.management.mbean.ManagedConsumer;
 import org.apache.camel.management.mbean.ManagedConvertBody;
 import org.apache.camel.management.mbean.ManagedConvertHeader;
@@ -62,6 +63,7 @@ import org.apache.camel.management.mbean.ManagedIdempotentConsumer;
 import org.apache.camel.management.mbean.ManagedLog;
 import org.apache.camel.management.mbean.ManagedLoop;
 import org.apache.camel.management.mbean.ManagedMarshal;
+import org.apache.camel.management.mbean.ManagedMicroBatch;
 import org.apache.camel.management.mbean.ManagedMulticast;
 import org.apache.camel.management.mbean.ManagedPoll;
 import org.apache.camel.management.mbean.ManagedPollEnricher;
@@ -121,6 +123,7 @@ import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.processor.CatchProcessor;
 import org.apache.camel.processor.ChoiceProcessor;
 import org.apache.camel.processor.ClaimCheckProcessor;
+import org.apache.camel.processor.ConcurrencyLimiter;
 import org.apache.camel.processor.Delayer;
 import org.apache.camel.processor.DisabledProcessor;
 import org.apache.camel.processor.DynamicRouter;
@@ -130,6 +133,7 @@ import org.apache.camel.processor.FilterProcessor;
 import org.apache.camel.processor.FinallyProcessor;
 import org.apache.camel.processor.LogProcessor;
 import org.apache.camel.processor.LoopProcessor;
+import org.apache.camel.processor.MicroBatchProcessor;
 import org.apache.camel.processor.MulticastProcessor;
 import org.apache.camel.processor.Pipeline;
 import org.apache.camel.processor.PollEnricher;
@@ -358,6 +362,10 @@ public class DefaultManagementObjectStrategy implements ManagementObjectStrategy
                 answer = new ManagedDoCatch(context, (CatchProcessor) target, cast(definition));
             } else if (target instanceof FinallyProcessor) {
                 answer = new ManagedDoFinally(context, (FinallyProcessor) target, cast(definition));
+            } else if (target instanceof ConcurrencyLimiter) {
+                answer = new ManagedConcurrencyLimit(context, (ConcurrencyLimiter) target, cast(definition));
+            } else if (target instanceof MicroBatchProcessor) {
+                answer = new ManagedMicroBatch(context, (MicroBatchProcessor) target, cast(definition));
             } else if (target instanceof Throttler) {
                 answer = new ManagedThrottler(context, (Throttler) target, definition);
             } else if (target instanceof DynamicRouter) {
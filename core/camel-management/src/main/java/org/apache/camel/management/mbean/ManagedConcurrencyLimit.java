@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedConcurrencyLimitMBean;
+import org.apache.camel.model.ConcurrencyLimitDefinition;
+import org.apache.camel.processor.ConcurrencyLimiter;
+
+@ManagedResource(description = "Managed Concurrency Limit")
+public class ManagedConcurrencyLimit extends ManagedProcessor implements ManagedConcurrencyLimitMBean {
+    private final ConcurrencyLimiter processor;
+
+    public ManagedConcurrencyLimit(CamelContext context, ConcurrencyLimiter processor,
+                                   ConcurrencyLimitDefinition definition) {
+        super(context, processor, definition);
+        this.processor = processor;
+    }
+
+    @Override
+    public ConcurrencyLimitDefinition getDefinition() {
+        return (ConcurrencyLimitDefinition) super.getDefinition();
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return processor.getAlgorithm();
+    }
+
+    @Override
+    public Integer getLimit() {
+        return processor.getLimit();
+    }
+
+    @Override
+    public Integer getMinLimit() {
+        return processor.getMinLimit();
+    }
+
+    @Override
+    public Integer getMaxLimit() {
+        return processor.getMaxLimit();
+    }
+
+    @Override
+    public Integer getInflight() {
+        return processor.getInflight();
+    }
+
+    @Override
+    public Integer getQueueSize() {
+        return processor.getQueueSize();
+    }
+
+    @Override
+    public Integer getMaxQueueSize() {
+        return processor.getMaxQueueSize();
+    }
+
+    @Override
+    public Long getQueuedCount() {
+        return processor.getQueuedCount();
+    }
+
+    @Override
+    public Long getRejectedCount() {
+        return processor.getRejectedCount();
+    }
+
+    @Override
+    public Long getLastRtt() {
+        return processor.getLastRtt();
+    }
+}
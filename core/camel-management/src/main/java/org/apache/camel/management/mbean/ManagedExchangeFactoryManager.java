@@ -66,6 +66,11 @@ public class ManagedExchangeFactoryManager extends ManagedService implements Man
         return exchangeFactoryManager.getCapacity();
     }
 
+    @Override
+    public Boolean getExtendedPooling() {
+        return exchangeFactoryManager.isExtendedPooling();
+    }
+
     @Override
     public Boolean getStatisticsEnabled() {
         return exchangeFactoryManager.isStatisticsEnabled();
@@ -106,6 +111,35 @@ public class ManagedExchangeFactoryManager extends ManagedService implements Man
         return exchangeFactoryManager.getStatistics().getDiscardedCounter();
     }
 
+    @Override
+    public Long getPoolHits() {
+        long answer = 0;
+        for (ExchangeFactory ef : exchangeFactoryManager.getExchangeFactories()) {
+            if (ef.isPooled() && ef.isStatisticsEnabled()) {
+                answer += ef.getStatistics().getAcquiredCounter();
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public Long getPoolMisses() {
+        long answer = 0;
+        for (ExchangeFactory ef : exchangeFactoryManager.getExchangeFactories()) {
+            if (ef.isPooled() && ef.isStatisticsEnabled()) {
+                answer += ef.getStatistics().getCreatedCounter();
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public Double getPoolHitRatio() {
+        long hits = getPoolHits();
+        long total = hits + getPoolMisses();
+        return total > 0 ? (100.0 * hits) / total : 0.0;
+    }
+
     @Override
     public TabularData listStatistics() {
         try {
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedMicroBatchMBean;
+import org.apache.camel.model.MicroBatchDefinition;
+import org.apache.camel.processor.MicroBatchProcessor;
+
+@ManagedResource(description = "Managed Micro Batch")
+public class ManagedMicroBatch extends ManagedProcessor implements ManagedMicroBatchMBean {
+    private final MicroBatchProcessor processor;
+
+    public ManagedMicroBatch(CamelContext context, MicroBatchProcessor processor, MicroBatchDefinition definition) {
+        super(context, processor, definition);
+        this.processor = processor;
+    }
+
+    @Override
+    public MicroBatchDefinition getDefinition() {
+        return (MicroBatchDefinition) super.getDefinition();
+    }
+
+    @Override
+    public Integer getSize() {
+        return processor.getSize();
+    }
+
+    @Override
+    public Long getTimeout() {
+        return processor.getTimeout();
+    }
+
+    @Override
+    public Long getMaxBytes() {
+        return processor.getMaxBytes();
+    }
+
+    @Override
+    public Integer getBatchSize() {
+        return processor.getBatchSize();
+    }
+
+    @Override
+    public Long getCompletedBySize() {
+        return processor.getCompletedBySize();
+    }
+
+    @Override
+    public Long getCompletedByTimeout() {
+        return processor.getCompletedByTimeout();
+    }
+
+    @Override
+    public Long getCompletedByBytes() {
+        return processor.getCompletedByBytes();
+    }
+
+    @Override
+    public Long getCompletedByForce() {
+        return processor.getCompletedByForce();
+    }
+
+    @Override
+    public void forceCompletion() {
+        processor.forceCompletion();
+    }
+}
@@ -110,4 +110,41 @@ public class ManagedResequencer extends ManagedProcessor implements ManagedReseq
             return streamProcessor.isRejectOld();
         }
     }
+
+    @Override
+    public Long getGapCount() {
+        return streamProcessor != null ? streamProcessor.getGapCount() : null;
+    }
+
+    @Override
+    public Long getTimeoutCount() {
+        return streamProcessor != null ? streamProcessor.getTimeoutCount() : null;
+    }
+
+    @Override
+    public Long getDeliveryBatchCount() {
+        return streamProcessor != null ? streamProcessor.getDeliveryBatchCount() : null;
+    }
+
+    @Override
+    public Integer getMaxDeliveryBatchSize() {
+        return streamProcessor != null ? streamProcessor.getMaxDeliveryBatchSize() : null;
+    }
+
+    @Override
+    public Long getMeanWaitTime() {
+        return streamProcessor != null ? streamProcessor.getMeanWaitTime() : null;
+    }
+
+    @Override
+    public Long getMaxWaitTime() {
+        return streamProcessor != null ? streamProcessor.getMaxWaitTime() : null;
+    }
+
+    @Override
+    public void resetStatistics() {
+        if (streamProcessor != null) {
+            streamProcessor.resetStatistics();
+        }
+    }
 }
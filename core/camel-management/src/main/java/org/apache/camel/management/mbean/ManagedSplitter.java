@@ -25,8 +25,11 @@ import org.apache.camel.processor.Splitter;
 @ManagedResource(description = "Managed Splitter")
 public class ManagedSplitter extends ManagedMulticast implements ManagedSplitterMBean {
 
+    private final Splitter processor;
+
     public ManagedSplitter(CamelContext context, Splitter processor, SplitDefinition definition) {
         super(context, processor, definition);
+        this.processor = processor;
     }
 
     @Override
@@ -43,4 +46,9 @@ public class ManagedSplitter extends ManagedMulticast implements ManagedSplitter
     public String getExpression() {
         return getDefinition().getExpression().getExpression();
     }
+
+    @Override
+    public Integer getMaxInFlight() {
+        return processor.getMaxInFlight();
+    }
 }
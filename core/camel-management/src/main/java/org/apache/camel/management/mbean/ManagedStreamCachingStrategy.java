@@ -91,6 +91,16 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getSpoolCipher();
     }
 
+    @Override
+    public long getSpoolOffHeapBudget() {
+        return streamCachingStrategy.getSpoolOffHeapBudget();
+    }
+
+    @Override
+    public int getSpoolOffHeapSegmentSize() {
+        return streamCachingStrategy.getSpoolOffHeapSegmentSize();
+    }
+
     @Override
     public void setSpoolThreshold(long threshold) {
         streamCachingStrategy.setSpoolThreshold(threshold);
@@ -198,6 +208,31 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    @Override
+    public long getCacheOffHeapCounter() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapCounter();
+    }
+
+    @Override
+    public long getCacheOffHeapSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapSize();
+    }
+
+    @Override
+    public long getCacheOffHeapAverageSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapAverageSize();
+    }
+
+    @Override
+    public long getOffHeapUsed() {
+        return streamCachingStrategy.getStatistics().getOffHeapUsed();
+    }
+
+    @Override
+    public long getOffHeapOverflowCounter() {
+        return streamCachingStrategy.getStatistics().getOffHeapOverflowCounter();
+    }
+
     @Override
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
@@ -64,6 +64,23 @@ public class ManagedTypeConverterRegistry extends ManagedService implements Mana
         return registry.getStatistics().getFailedCounter();
     }
 
+    @Override
+    public long getCacheHitCounter() {
+        return registry.getStatistics().getCacheHitCounter();
+    }
+
+    @Override
+    public long getCacheMissCounter() {
+        return registry.getStatistics().getCacheMissCounter();
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        long hits = getCacheHitCounter();
+        long total = hits + getCacheMissCounter();
+        return total > 0 ? (100.0 * hits) / total : 0.0;
+    }
+
     @Override
     public void resetTypeConversionCounters() {
         registry.getStatistics().reset();
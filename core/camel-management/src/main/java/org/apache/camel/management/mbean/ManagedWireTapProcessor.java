@@ -60,6 +60,7 @@ public class ManagedWireTapProcessor extends ManagedProcessor implements Managed
     @Override
     public void reset() {
         super.reset();
+        processor.resetDroppedCount();
         if (processor.getEndpointUtilizationStatistics() != null) {
             processor.getEndpointUtilizationStatistics().clear();
         }
@@ -105,6 +106,31 @@ public class ManagedWireTapProcessor extends ManagedProcessor implements Managed
         return processor.getPendingExchangesSize();
     }
 
+    @Override
+    public Integer getQueueSize() {
+        return processor.getQueueSize();
+    }
+
+    @Override
+    public String getQueueOverflow() {
+        return processor.getQueueOverflow().name();
+    }
+
+    @Override
+    public Integer getDrainBatchSize() {
+        return processor.getDrainBatchSize();
+    }
+
+    @Override
+    public Integer getQueuedCount() {
+        return processor.getQueuedCount();
+    }
+
+    @Override
+    public Long getDroppedCount() {
+        return processor.getDroppedCount();
+    }
+
     @Override
     public TabularData extendedInformation() {
         try {
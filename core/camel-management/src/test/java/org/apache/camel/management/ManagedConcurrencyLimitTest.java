@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_PROCESSOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisabledOnOs(OS.AIX)
+public class ManagedConcurrencyLimitTest extends ManagementTestSupport {
+
+    @Test
+    public void testManageConcurrencyLimit() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = getCamelObjectName(TYPE_PROCESSOR, "mylimit");
+
+        String routeId = (String) mbeanServer.getAttribute(on, "RouteId");
+        assertEquals("route1", routeId);
+
+        String algorithm = (String) mbeanServer.getAttribute(on, "Algorithm");
+        assertEquals("Gradient", algorithm);
+
+        Integer min = (Integer) mbeanServer.getAttribute(on, "MinLimit");
+        assertEquals(2, min.intValue());
+
+        Integer max = (Integer) mbeanServer.getAttribute(on, "MaxLimit");
+        assertEquals(50, max.intValue());
+
+        // only one message at a time so the limit is not changed
+        Integer limit = (Integer) mbeanServer.getAttribute(on, "Limit");
+        assertEquals(5, limit.intValue());
+
+        Integer inflight = (Integer) mbeanServer.getAttribute(on, "Inflight");
+        assertEquals(0, inflight.intValue());
+
+        Long rejected = (Long) mbeanServer.getAttribute(on, "RejectedCount");
+        assertEquals(0, rejected.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .concurrencyLimit().gradient().initialLimit(5).minLimit(2).maxLimit(50).id("mylimit")
+                            .to("mock:result")
+                        .end();
+            }
+        };
+    }
+
+}
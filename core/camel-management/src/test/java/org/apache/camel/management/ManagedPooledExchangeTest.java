@@ -86,6 +86,9 @@ public class ManagedPooledExchangeTest extends ManagementTestSupport {
         Integer cap = (Integer) mbeanServer.getAttribute(on, "Capacity");
         assertEquals(123, cap.intValue());
 
+        Boolean extended = (Boolean) mbeanServer.getAttribute(on, "ExtendedPooling");
+        assertEquals(Boolean.FALSE, extended);
+
         Awaitility.await().untilAsserted(() -> {
             Long num = (Long) mbeanServer.getAttribute(on, "TotalCreated");
             assertEquals(1, num.intValue());
@@ -101,6 +104,15 @@ public class ManagedPooledExchangeTest extends ManagementTestSupport {
 
             Integer num2 = (Integer) mbeanServer.getAttribute(on, "TotalPooled");
             assertEquals(1, num2.intValue());
+
+            num = (Long) mbeanServer.getAttribute(on, "PoolHits");
+            assertEquals(2, num.intValue());
+
+            num = (Long) mbeanServer.getAttribute(on, "PoolMisses");
+            assertEquals(1, num.intValue());
+
+            Double ratio = (Double) mbeanServer.getAttribute(on, "PoolHitRatio");
+            assertEquals(66.67, ratio, 0.01);
         });
 
     }
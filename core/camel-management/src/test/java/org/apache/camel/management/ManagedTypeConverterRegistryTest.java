@@ -98,6 +98,14 @@ public class ManagedTypeConverterRegistryTest extends ManagementTestSupport {
         miss = (Long) mbeanServer.getAttribute(name, "MissCounter");
         assertEquals(1, miss.intValue());  // stream caching misses
 
+        // the converters are resolved from the previous message
+        Long cacheHit = (Long) mbeanServer.getAttribute(name, "CacheHitCounter");
+        assertTrue(cacheHit > 0, "Should have cache hits, was: " + cacheHit);
+        Long cacheMiss = (Long) mbeanServer.getAttribute(name, "CacheMissCounter");
+        assertEquals(0, cacheMiss.intValue());
+        Double ratio = (Double) mbeanServer.getAttribute(name, "CacheHitRatio");
+        assertEquals(100.0, ratio, 0.01);
+
         // reset
         mbeanServer.invoke(name, "resetTypeConversionCounters", null, null);
 
@@ -16,6 +16,8 @@
  */
 package org.apache.camel.management;
 
+import java.util.concurrent.TimeUnit;
+
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.management.openmbean.TabularData;
@@ -30,6 +32,7 @@ import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 
 import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_PROCESSOR;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -83,6 +86,34 @@ public class ManagedWireTapTest extends ManagementTestSupport {
         TabularData data = (TabularData) mbeanServer.invoke(on, "extendedInformation", null, null);
         assertNotNull(data);
         assertEquals(2, data.size());
+
+        Integer queueSize = (Integer) mbeanServer.getAttribute(on, "QueueSize");
+        assertEquals(0, queueSize);
+    }
+
+    @Test
+    public void testManageWireTapQueue() throws Exception {
+        MockEndpoint foo = getMockEndpoint("mock:foo");
+        foo.expectedMessageCount(1);
+
+        template.sendBody("direct:queue", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = getCamelObjectName(TYPE_PROCESSOR, "myqueue");
+
+        Integer queueSize = (Integer) mbeanServer.getAttribute(on, "QueueSize");
+        assertEquals(100, queueSize);
+
+        String overflow = (String) mbeanServer.getAttribute(on, "QueueOverflow");
+        assertEquals("DropNewest", overflow);
+
+        Long dropped = (Long) mbeanServer.getAttribute(on, "DroppedCount");
+        assertEquals(0, dropped);
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertEquals(0, (Integer) mbeanServer.getAttribute(on, "QueuedCount")));
     }
 
     @Override
@@ -93,6 +124,9 @@ public class ManagedWireTapTest extends ManagementTestSupport {
                 from("direct:start")
                         .wireTap("direct:${header.whereto}").id("mysend");
 
+                from("direct:queue")
+                        .wireTap("direct:foo").queueSize(100).queueOverflow("DropNewest").id("myqueue");
+
                 from("direct:foo").to("mock:foo");
 
                 from("direct:bar").to("mock:bar");
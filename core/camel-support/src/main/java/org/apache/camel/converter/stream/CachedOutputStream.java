@@ -23,6 +23,7 @@ import java.io.OutputStream;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
@@ -33,6 +34,9 @@ import org.apache.camel.util.IOHelper;
  * This output stream will store the content into a File if the stream context size is exceed the THRESHOLD value. The
  * default THRESHOLD value is {@link StreamCache#DEFAULT_SPOOL_THRESHOLD} bytes .
  * <p/>
+ * If an off-heap budget is configured on the {@link StreamCachingStrategy}, then the content is spooled to off-heap
+ * memory first, and only stored into a File when the off-heap budget is exhausted.
+ * <p/>
  * The temp file will store in the temp directory, you can configure it by setting the TEMP_DIR property. If you don't
  * set the TEMP_DIR property, it will choose the directory which is set by the system property of "java.io.tmpdir".
  * <p/>
@@ -42,8 +46,11 @@ import org.apache.camel.util.IOHelper;
  */
 public class CachedOutputStream extends OutputStream {
 
+    private final CamelContext camelContext;
     private final StreamCachingStrategy strategy;
     private OutputStream currentStream;
+    private OffHeapArena arena;
+    private OffHeapOutputStream offHeapStream;
     private boolean inMemory = true;
     private int totalLength;
     private final TempFileManager tempFileManager;
@@ -57,7 +64,8 @@ public class CachedOutputStream extends OutputStream {
         this.closedOnCompletion = closedOnCompletion;
         this.tempFileManager = new TempFileManager(closedOnCompletion);
         this.tempFileManager.addExchange(exchange);
-        this.strategy = exchange.getContext().getStreamCachingStrategy();
+        this.camelContext = exchange.getContext();
+        this.strategy = camelContext.getStreamCachingStrategy();
         this.currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
     }
 
@@ -105,6 +113,9 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
+        if (offHeapStream != null && !offHeapStream.reserve(len)) {
+            pageOffHeapToFileStream();
+        }
         currentStream.write(b, off, len);
     }
 
@@ -114,6 +125,9 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
+        if (offHeapStream != null && !offHeapStream.reserve(b.length)) {
+            pageOffHeapToFileStream();
+        }
         currentStream.write(b);
     }
 
@@ -123,6 +137,9 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
+        if (offHeapStream != null && !offHeapStream.reserve(1)) {
+            pageOffHeapToFileStream();
+        }
         currentStream.write(b);
     }
 
@@ -149,6 +166,8 @@ public class CachedOutputStream extends OutputStream {
                         "CurrentStream should be an instance of CachedByteArrayOutputStream but is: "
                                                 + currentStream.getClass().getName());
             }
+        } else if (offHeapStream != null) {
+            return tempFileManager.newOffHeapStreamCache();
         } else {
             return tempFileManager.newStreamCache();
         }
@@ -158,15 +177,40 @@ public class CachedOutputStream extends OutputStream {
         flush();
         ByteArrayOutputStream bout = (ByteArrayOutputStream) currentStream;
         try {
+            if (strategy.getSpoolOffHeapBudget() > 0) {
+                arena = camelContext.getCamelContextExtension().getContextPlugin(OffHeapArena.class);
+            }
+            if (arena != null) {
+                OffHeapOutputStream out = tempFileManager.createOffHeapOutputStream(arena);
+                if (out.reserve(bout.size())) {
+                    bout.writeTo(out);
+                    offHeapStream = out;
+                    currentStream = out;
+                    return;
+                }
+                // the off-heap budget is exhausted so spool to file instead
+                tempFileManager.releaseOffHeap();
+                arena.onOverflow();
+            }
             // creates a tmp file and a file output stream
             currentStream = tempFileManager.createOutputStream(strategy);
             bout.writeTo(currentStream);
         } finally {
-            // ensure flag is flipped to file based
+            // ensure flag is flipped to spooled
             inMemory = false;
         }
     }
 
+    private void pageOffHeapToFileStream() throws IOException {
+        OffHeapOutputStream out = offHeapStream;
+        // creates a tmp file and a file output stream, and move the content from off-heap to the file
+        currentStream = tempFileManager.createOutputStream(strategy);
+        offHeapStream = null;
+        out.writeTo(currentStream, new byte[strategy.getBufferSize()]);
+        tempFileManager.releaseOffHeap();
+        arena.onOverflow();
+    }
+
     public int getStrategyBufferSize() {
         return strategy.getBufferSize();
     }
@@ -220,6 +220,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private final AtomicInteger exchangeCounter = new AtomicInteger();
         private File tempFile;
         private OutputStream outputStream; // file output stream
+        private OffHeapOutputStream offHeapStream;
         private CipherPair ciphers;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
@@ -354,6 +355,27 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return new FileInputStreamCache(this);
         }
 
+        OffHeapOutputStream createOffHeapOutputStream(OffHeapArena arena) {
+            // should only be called once
+            if (offHeapStream != null) {
+                throw new IllegalStateException("The method 'createOffHeapOutputStream' can only be called once!");
+            }
+            offHeapStream = new OffHeapOutputStream(arena);
+            return offHeapStream;
+        }
+
+        OffHeapInputStreamCache newOffHeapStreamCache() {
+            return new OffHeapInputStreamCache(this, offHeapStream);
+        }
+
+        void releaseOffHeap() {
+            // return the off-heap segments to the arena
+            if (offHeapStream != null) {
+                offHeapStream.release();
+                offHeapStream = null;
+            }
+        }
+
         void closeFileInputStreams() {
             if (fileInputStreamCaches != null) {
                 for (FileInputStreamCache fileInputStreamCache : fileInputStreamCaches) {
@@ -364,6 +386,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         }
 
         void cleanUpTempFile() {
+            releaseOffHeap();
             // cleanup temporary file
             try {
                 if (tempFile != null) {
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of off-heap (direct) memory segments with a fixed budget, which stream caching uses for spooling before
+ * spooling to disk.
+ * <p/>
+ * The segments are allocated on demand (up to the budget) and reused when released, so the direct memory is not
+ * allocated and freed per stream.
+ * <p/>
+ * <b>Important:</b> This class is NOT intended for end users, but is part of Camels
+ * <a href="https://camel.apache.org/manual/stream-caching.html">stream-caching</a> functionality.
+ */
+public final class OffHeapArena {
+
+    private final long budget;
+    private final int segmentSize;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final LongAdder overflow = new LongAdder();
+
+    public OffHeapArena(long budget, int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("SegmentSize must be positive, was: " + segmentSize);
+        }
+        if (budget < segmentSize) {
+            throw new IllegalArgumentException(
+                    "Budget must be at least the segment size: " + segmentSize + ", was: " + budget);
+        }
+        this.budget = budget;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * The maximum number of bytes of direct memory to use
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * The size of each segment in bytes
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Number of bytes in use by stream caches
+     */
+    public long getUsed() {
+        return used.get();
+    }
+
+    /**
+     * Number of bytes of direct memory allocated (in use or pooled)
+     */
+    public long getAllocated() {
+        return allocated.get();
+    }
+
+    /**
+     * Number of streams that were spooled to disk, as the budget was exhausted
+     */
+    public long getOverflowCounter() {
+        return overflow.longValue();
+    }
+
+    /**
+     * Acquires a segment
+     *
+     * @return the segment (cleared), or <tt>null</tt> if the budget is exhausted
+     */
+    ByteBuffer acquire() {
+        ByteBuffer answer = free.poll();
+        if (answer == null) {
+            long current;
+            do {
+                current = allocated.get();
+                if (current + segmentSize > budget) {
+                    return null;
+                }
+            } while (!allocated.compareAndSet(current, current + segmentSize));
+            answer = ByteBuffer.allocateDirect(segmentSize);
+        }
+        used.addAndGet(segmentSize);
+        return answer;
+    }
+
+    /**
+     * Releases the segment so it can be reused
+     */
+    void release(ByteBuffer segment) {
+        used.addAndGet(-segmentSize);
+        segment.clear();
+        free.offer(segment);
+    }
+
+    void onOverflow() {
+        overflow.increment();
+    }
+
+    /**
+     * Discards the pooled segments, to free the direct memory which is not in use.
+     */
+    public void clear() {
+        ByteBuffer segment;
+        while ((segment = free.poll()) != null) {
+            allocated.addAndGet(-segment.capacity());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapArena[budget=" + budget + ", segmentSize=" + segmentSize + ", used=" + used + ", allocated="
+               + allocated + "]";
+    }
+}
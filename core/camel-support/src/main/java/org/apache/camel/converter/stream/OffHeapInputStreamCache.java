@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * A {@link StreamCache} for streams spooled to off-heap memory.
+ * <p/>
+ * <b>Important:</b> All the classes from the Camel release that implements {@link StreamCache} is NOT intended for end
+ * users to create as instances, but they are part of Camels
+ * <a href="https://camel.apache.org/manual/stream-caching.html">stream-caching</a> functionality.
+ */
+public final class OffHeapInputStreamCache extends InputStream implements StreamCache {
+
+    private final TempFileManager tempFileManager;
+    private final OffHeapOutputStream source;
+    private ByteBuffer current;
+    private int index;
+    private long pos;
+
+    OffHeapInputStreamCache(TempFileManager tempFileManager, OffHeapOutputStream source) {
+        this.tempFileManager = tempFileManager;
+        this.source = source;
+    }
+
+    @Override
+    public void reset() {
+        current = null;
+        index = 0;
+        pos = 0;
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        checkReleased();
+        source.writeTo(os, new byte[IOHelper.DEFAULT_BUFFER_SIZE]);
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        tempFileManager.addExchange(exchange);
+        return new OffHeapInputStreamCache(tempFileManager, source);
+    }
+
+    @Override
+    public boolean inMemory() {
+        // its spooled off the heap, and must be released when the exchange is done (same as spooled to disk)
+        return false;
+    }
+
+    @Override
+    public long length() {
+        return source.length();
+    }
+
+    @Override
+    public long position() {
+        return pos;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkReleased();
+        return (int) Math.min(Integer.MAX_VALUE, source.length() - pos);
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer segment = nextSegment();
+        if (segment == null) {
+            return -1;
+        }
+        pos++;
+        return segment.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer segment = nextSegment();
+        if (segment == null) {
+            return -1;
+        }
+        int n = Math.min(len, segment.remaining());
+        segment.get(b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuffer segment = nextSegment();
+            if (segment == null) {
+                break;
+            }
+            int step = (int) Math.min(n - skipped, segment.remaining());
+            segment.position(segment.position() + step);
+            skipped += step;
+        }
+        pos += skipped;
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+        // the segments are released when the exchange is done
+    }
+
+    private ByteBuffer nextSegment() throws IOException {
+        checkReleased();
+        while (current == null || !current.hasRemaining()) {
+            if (index >= source.segmentCount()) {
+                return null;
+            }
+            current = source.segment(index++);
+        }
+        return current;
+    }
+
+    private void checkReleased() throws IOException {
+        if (source.isReleased()) {
+            throw new IOException("Stream cache has been released as the exchange is done");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output stream that writes to segments of off-heap memory from the {@link OffHeapArena}.
+ * <p/>
+ * The caller must {@link #reserve(int)} the capacity before writing, as the budget of the arena may be exhausted.
+ */
+final class OffHeapOutputStream extends OutputStream {
+
+    private final OffHeapArena arena;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private long length;
+    private long capacity;
+    private volatile boolean released;
+
+    OffHeapOutputStream(OffHeapArena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Ensures there is capacity to write the given number of bytes.
+     *
+     * @return <tt>true</tt> if there is capacity, or <tt>false</tt> if the budget of the arena is exhausted
+     */
+    boolean reserve(int len) {
+        while (capacity - length < len) {
+            ByteBuffer segment = arena.acquire();
+            if (segment == null) {
+                return false;
+            }
+            segments.add(segment);
+            capacity += segment.capacity();
+        }
+        return true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!reserve(1)) {
+            throw new IOException("Off-heap budget exhausted");
+        }
+        currentSegment().put((byte) b);
+        length++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (!reserve(len)) {
+            throw new IOException("Off-heap budget exhausted");
+        }
+        while (len > 0) {
+            ByteBuffer segment = currentSegment();
+            int n = Math.min(len, segment.remaining());
+            segment.put(b, off, n);
+            off += n;
+            len -= n;
+            length += n;
+        }
+    }
+
+    private ByteBuffer currentSegment() {
+        // the segments before the current are full
+        return segments.get((int) (length / arena.getSegmentSize()));
+    }
+
+    /**
+     * Writes the content to the given stream
+     */
+    void writeTo(OutputStream out, byte[] buffer) throws IOException {
+        for (int i = 0; i < segments.size(); i++) {
+            ByteBuffer segment = segment(i);
+            while (segment.hasRemaining()) {
+                int n = Math.min(buffer.length, segment.remaining());
+                segment.get(buffer, 0, n);
+                out.write(buffer, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Gets a read-only view of the written content of the segment, which has its own position.
+     */
+    ByteBuffer segment(int index) {
+        ByteBuffer answer = segments.get(index).asReadOnlyBuffer();
+        answer.flip();
+        return answer;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    long length() {
+        return length;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Releases the segments back to the arena.
+     */
+    void release() {
+        if (!released) {
+            released = true;
+            for (ByteBuffer segment : segments) {
+                arena.release(segment);
+            }
+            segments.clear();
+            capacity = 0;
+        }
+    }
+}
@@ -54,6 +54,10 @@ abstract class AbstractExchange implements Exchange {
 
     protected final CamelContext context;
     protected Map<String, Object> properties; // create properties on-demand as we use internal properties mostly
+    // the properties are shared with a copy of this exchange, and must be copied before updated (copy-on-write)
+    protected volatile boolean propertiesShared;
+    // the properties have been exposed via getProperties() and can therefore not be shared
+    protected boolean propertiesExposed;
     protected Message in;
     protected Message out;
     protected Exception exception;
@@ -134,7 +138,14 @@ abstract class AbstractExchange implements Exchange {
             this.variableRepository.copyFrom(parent.variableRepository);
         }
         if (parent.hasProperties()) {
-            this.properties = safeCopyProperties(parent.properties);
+            if (parent.propertiesExposed) {
+                this.properties = safeCopyProperties(parent.properties);
+            } else {
+                // share the properties until either exchange updates them
+                this.properties = parent.properties;
+                this.propertiesShared = true;
+                parent.propertiesShared = true;
+            }
         }
         if (parent.hasSafeCopyProperties()) {
             this.safeCopyProperties = parent.copySafeCopyProperties();
@@ -270,16 +281,17 @@ abstract class AbstractExchange implements Exchange {
             if (properties == null) {
                 this.properties = new ConcurrentHashMap<>(8);
             }
-            properties.put(name, value);
+            writableProperties().put(name, value);
         } else if (properties != null) {
             // if the value is null, we just remove the key from the map
-            properties.remove(name);
+            writableProperties().remove(name);
         }
     }
 
     void setProperties(Map<String, Object> properties) {
-        if (this.properties == null) {
+        if (this.properties == null || propertiesShared) {
             this.properties = new ConcurrentHashMap<>(8);
+            this.propertiesShared = false;
         } else {
             this.properties.clear();
         }
@@ -295,7 +307,7 @@ abstract class AbstractExchange implements Exchange {
         if (!hasProperties()) {
             return null;
         }
-        return properties.remove(name);
+        return writableProperties().remove(name);
     }
 
     @Override
@@ -308,7 +320,7 @@ abstract class AbstractExchange implements Exchange {
         // special optimized
         if (excludePatterns == null && "*".equals(pattern)) {
             if (properties != null) {
-                properties.clear();
+                writableProperties().clear();
             }
             internalProperties.clear();
             return true;
@@ -334,10 +346,11 @@ abstract class AbstractExchange implements Exchange {
                 matches = true;
                 if (toBeRemoved.size() == properties.size()) {
                     // special optimization when all should be removed
-                    properties.clear();
+                    writableProperties().clear();
                 } else {
+                    Map<String, Object> map = writableProperties();
                     for (String key : toBeRemoved) {
-                        properties.remove(key);
+                        map.remove(key);
                     }
                 }
             }
@@ -351,9 +364,28 @@ abstract class AbstractExchange implements Exchange {
         if (properties == null) {
             this.properties = new ConcurrentHashMap<>(8);
         }
+        // the caller may keep and update the map, so it cannot be shared with copies of this exchange
+        propertiesExposed = true;
+        return writableProperties();
+    }
+
+    /**
+     * Returns the properties for updating, which copies the properties if they are shared with a copy of this exchange.
+     */
+    protected Map<String, Object> writableProperties() {
+        if (propertiesShared) {
+            copySharedProperties();
+        }
         return properties;
     }
 
+    private synchronized void copySharedProperties() {
+        if (propertiesShared) {
+            this.properties = new ConcurrentHashMap<>(properties);
+            this.propertiesShared = false;
+        }
+    }
+
     private Map<String, SafeCopyProperty> copySafeCopyProperties() {
         Map<String, SafeCopyProperty> copy = new ConcurrentHashMap<>();
         for (Map.Entry<String, SafeCopyProperty> entry : this.safeCopyProperties.entrySet()) {
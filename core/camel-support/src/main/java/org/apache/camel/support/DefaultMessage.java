@@ -23,8 +23,10 @@ import java.util.function.Supplier;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.trait.message.MessageTrait;
+import org.apache.camel.util.CopyOnWriteMap;
 
 /**
  * The default implementation of {@link org.apache.camel.Message}
@@ -269,8 +271,25 @@ public class DefaultMessage extends MessageSupport {
         return headers;
     }
 
+    /**
+     * Set all the headers associated with this message.
+     * <p/>
+     * <b>Important:</b> When the message belongs to a pooled exchange in extended pooling mode, then the given headers
+     * are copied into the existing (recycled) headers map, and the given map is not used as the headers of this
+     * message. Changing the given map afterwards will then not change the headers of this message.
+     *
+     * @param headers headers to set
+     */
     @Override
     public void setHeaders(Map<String, Object> headers) {
+        if (isRecycleHeaders()) {
+            if (this.headers != headers) {
+                // recycle the existing map
+                this.headers.clear();
+                this.headers.putAll(headers);
+            }
+            return;
+        }
         HeadersMapFactory factory = camelContext.getCamelContextExtension().getHeadersMapFactory();
         if (factory != null) {
             if (factory.isInstanceOf(headers)) {
@@ -285,6 +304,18 @@ public class DefaultMessage extends MessageSupport {
         }
     }
 
+    @Override
+    protected void copyHeadersFrom(Message that) {
+        HeadersMapFactory factory = camelContext.getCamelContextExtension().getHeadersMapFactory();
+        Map<String, Object> source = that.getHeaders();
+        if (factory != null && source instanceof CopyOnWriteMap && factory.isInstanceOf(source) && !isRecycleHeaders()) {
+            // share the headers until either message updates them
+            this.headers = factory.newMap(source);
+        } else {
+            super.copyHeadersFrom(that);
+        }
+    }
+
     @Override
     public boolean hasHeaders() {
         if (headers == null) {
@@ -299,6 +330,14 @@ public class DefaultMessage extends MessageSupport {
         return new DefaultMessage(camelContext);
     }
 
+    /**
+     * Whether the existing headers should be recycled in place, which is done for pooled exchanges in extended pooling
+     * mode.
+     */
+    private boolean isRecycleHeaders() {
+        return headers != null && getExchange() instanceof DefaultPooledExchange pooled && pooled.isExtendedPooling();
+    }
+
     /**
      * A factory method to lazily create the headers to make it easy to create efficient Message implementations which
      * only construct and populate the Map on demand
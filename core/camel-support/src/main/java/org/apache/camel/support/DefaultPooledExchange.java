@@ -36,6 +36,7 @@ public final class DefaultPooledExchange extends AbstractExchange implements Poo
     private Message originalOut;
     private final ExchangePattern originalPattern;
     private boolean autoRelease;
+    private boolean extendedPooling;
 
     public DefaultPooledExchange(CamelContext context) {
         super(context);
@@ -80,6 +81,19 @@ public final class DefaultPooledExchange extends AbstractExchange implements Poo
         this.autoRelease = autoRelease;
     }
 
+    public boolean isExtendedPooling() {
+        return extendedPooling;
+    }
+
+    /**
+     * Whether the messages of this exchange should also recycle their headers in place, which means that
+     * {@link Message#setHeaders(java.util.Map)} copies the headers into the existing headers map, instead of replacing
+     * the map.
+     */
+    public void setExtendedPooling(boolean extendedPooling) {
+        this.extendedPooling = extendedPooling;
+    }
+
     @Override
     public void onDone(OnDoneTask task) {
         this.onDone = task;
@@ -90,7 +104,13 @@ public final class DefaultPooledExchange extends AbstractExchange implements Poo
             // by unsetting (setting to 0) we also flag that this exchange is done and needs to be reset to use again
             clock.unset();
 
-            this.properties.clear();
+            if (propertiesShared) {
+                this.properties = new ConcurrentHashMap<>(8);
+                this.propertiesShared = false;
+            } else {
+                this.properties.clear();
+            }
+            this.propertiesExposed = false;
             internalProperties.clear();
             if (this.safeCopyProperties != null) {
                 this.safeCopyProperties.clear();
@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Comparator.comparing;
+import static org.apache.camel.TimeoutMap.Listener.Type.Evict;
+import static org.apache.camel.TimeoutMap.Listener.Type.Put;
+import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
+
+/**
+ * A {@link TimeoutMap} which keeps track of the timeouts using a hashed timing wheel.
+ * <p/>
+ * The {@link DefaultTimeoutMap} scans every entry in the map to find the expired entries, which becomes costly when the
+ * map holds many entries. This implementation instead places each entry in a bucket of a wheel, which is selected by
+ * the tick the entry expires at. Every tick only the bucket of the current tick is visited, which makes adding and
+ * removing an entry O(1), and expiring an entry amortized O(1), regardless of the size of the map. The tick duration is
+ * the poll time of the background task, and the entries are expired with the precision of the tick duration (same as
+ * the purge poll time of {@link DefaultTimeoutMap}).
+ * <p/>
+ * This implementation supports thread safe and non thread safe, in the manner you can enable locking or not. By default
+ * locking is enabled and thus we are thread safe.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used to schedule
+ * a background task which advances the wheel. You must also invoke {@link #start()} to startup the timeout map, before
+ * its ready to be used. And you must invoke {@link #stop()} to stop the map when no longer in use.
+ */
+public class HashedWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V> {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long tickDuration;
+    private final WheelEntry<K, V>[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Lock lock;
+    // the next tick to be expired
+    private long tick;
+
+    private final List<Listener<K, V>> listeners = new ArrayList<>(2);
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long tickDurationMillis) {
+        this(executor, tickDurationMillis, true);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long tickDurationMillis, boolean useLock) {
+        this(executor, tickDurationMillis, DEFAULT_WHEEL_SIZE, useLock ? new ReentrantLock() : NoLock.INSTANCE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long tickDurationMillis, int wheelSize, Lock lock) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (tickDurationMillis <= 0) {
+            throw new IllegalArgumentException("TickDuration must be positive, was: " + tickDurationMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be positive, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.tickDuration = tickDurationMillis;
+        // round up to a power of two so the bucket can be selected by masking the tick
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new WheelEntry[size];
+        this.mask = size - 1;
+        this.lock = lock;
+        this.startTime = currentTime();
+    }
+
+    @Override
+    public V get(K key) {
+        WheelEntry<K, V> entry;
+        // if no contains, the lock is not necessary
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        lock.lock();
+        try {
+            entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            // the entry has been accessed so it times out after a new period of inactivity
+            unlink(entry);
+            schedule(entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Whether the map contains the key. Unlike {@link #get(Object)} this does not refresh the timeout of the entry.
+     */
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        lock.lock();
+        try {
+            schedule(entry);
+            WheelEntry<K, V> result = map.put(key, entry);
+            if (result != null) {
+                unlink(result);
+            }
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            emitEvent(Put, key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        WheelEntry<K, V> result = null;
+        lock.lock();
+        try {
+            //Just make sure we don't override the old entry
+            result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                schedule(entry);
+            }
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            if (result == null) {
+                emitEvent(Put, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        // if no contains, the lock is not necessary
+        if (!map.containsKey(key)) {
+            return null;
+        }
+
+        V value = null;
+        lock.lock();
+        try {
+            WheelEntry<K, V> entry = map.remove(key);
+            if (entry != null) {
+                unlink(entry);
+            }
+            value = unwrap(entry);
+            return value;
+        } finally {
+            lock.unlock();
+            if (value != null) {
+                emitEvent(Remove, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which advances the wheel
+     */
+    private void purgeTask() {
+        // only purge if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries have been timed out");
+        try {
+            purge();
+        } catch (Exception t) {
+            // must catch and log exception otherwise the executor will now schedule next purgeTask
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    /**
+     * Advances the wheel up to the current time, and evicts the entries which have timed out.
+     */
+    protected void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+
+        long now = currentTime();
+        long currentTick = (now - startTime) / tickDuration;
+
+        List<WheelEntry<K, V>> expired = null;
+        lock.lock();
+        try {
+            // an empty map only needs to catch up with the time
+            if (map.isEmpty()) {
+                tick = Math.max(tick, currentTick);
+                return;
+            }
+            // visit the bucket of each tick that has passed since the last purge (each bucket at most once)
+            long from = Math.max(tick, currentTick - wheel.length);
+            for (long t = from; t < currentTick; t++) {
+                WheelEntry<K, V> entry = wheel[(int) (t & mask)];
+                while (entry != null) {
+                    WheelEntry<K, V> next = entry.next;
+                    // the bucket also holds entries which expire in a later round of the wheel
+                    if (entry.deadline <= t) {
+                        unlink(entry);
+                        if (isValidForEviction(entry)) {
+                            log.debug("Evicting inactive entry ID: {}", entry);
+                            map.remove(entry.getKey());
+                            if (expired == null) {
+                                expired = new ArrayList<>();
+                            }
+                            expired.add(entry);
+                        } else {
+                            // check again on the next purge
+                            link(entry, currentTick);
+                        }
+                    }
+                    entry = next;
+                }
+            }
+            tick = Math.max(tick, currentTick);
+        } finally {
+            lock.unlock();
+            if (expired != null) {
+                // sort according to the expired time so we got the first expired first
+                expired.sort(comparing(WheelEntry::getExpireTime));
+                for (WheelEntry<K, V> entry : expired) {
+                    emitEvent(Evict, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    private static <K, V> V unwrap(WheelEntry<K, V> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Schedules the entry to expire when its timeout has elapsed from now. Must be called while holding the lock.
+     */
+    private void schedule(WheelEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(now + entry.getTimeout());
+        // the entry expires when the tick its expire time falls within has passed
+        long deadline = (entry.getExpireTime() - startTime) / tickDuration;
+        link(entry, Math.max(deadline, tick));
+    }
+
+    private void link(WheelEntry<K, V> entry, long deadline) {
+        entry.deadline = deadline;
+        int index = (int) (deadline & mask);
+        WheelEntry<K, V> head = wheel[index];
+        entry.bucket = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        wheel[index] = entry;
+    }
+
+    private void unlink(WheelEntry<K, V> entry) {
+        if (entry.bucket < 0) {
+            return;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (wheel[entry.bucket] == entry) {
+            wheel[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+    }
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void emitEvent(Listener.Type type, K key, V value) {
+        for (Listener<K, V> listener : listeners) {
+            try {
+                listener.timeoutMapEvent(type, key, value);
+            } catch (Exception t) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this::purgeTask, 0, tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        lock.lock();
+        try {
+            map.clear();
+            for (int i = 0; i < wheel.length; i++) {
+                WheelEntry<K, V> entry = wheel[i];
+                while (entry != null) {
+                    WheelEntry<K, V> next = entry.next;
+                    entry.prev = null;
+                    entry.next = null;
+                    entry.bucket = -1;
+                    entry = next;
+                }
+                wheel[i] = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An entry in a bucket of the wheel, which is linked with the other entries in the same bucket.
+     */
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+        private WheelEntry<K, V> prev;
+        private WheelEntry<K, V> next;
+        private int bucket = -1;
+        private long deadline;
+
+        private WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
+    }
+
+}
@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.spi.TimerWheel;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.Rejectable;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TimerWheel} which keeps track of the tasks using a hashed timing wheel.
+ * <p/>
+ * Each task is placed in a bucket of the wheel, which is selected by the tick the task expires at. Every tick only the
+ * bucket of the current tick is visited, which makes scheduling and cancelling a task O(1), and expiring a task
+ * amortized O(1), regardless of how many tasks are waiting.
+ * <p/>
+ * Scheduling and cancelling a task are lock-free: the task is added to a queue of new (or cancelled) tasks, which are
+ * moved into (or out of) the wheel by the background task advancing the wheel. As only this background task is
+ * accessing the wheel, then the wheel itself needs no locking. The background task is scheduled using the given
+ * {@link ScheduledExecutorService}, and the expired tasks are run using the given task {@link ExecutorService}, which
+ * should not be the same as the scheduled executor, as otherwise tasks that block can prevent the wheel from advancing.
+ * When created with a {@link CamelContext} instead, then the timer creates a dedicated thread to advance the wheel, and a
+ * thread pool to run the expired tasks, when started, and shuts them down when stopped. The thread pool is created from
+ * the default thread pool profile, but with a bounded task queue, and without running rejected tasks by the caller, so
+ * many tasks expiring at the same time cannot start an unbounded number of threads.
+ * <p/>
+ * If an expired task cannot be run because the task executor rejected it, then the task is rejected if it implements
+ * {@link Rejectable} (which can then decide to run the task itself), and otherwise the task is run by the thread
+ * advancing the wheel. The waiting tasks are handled the same way when the timer is stopped: the tasks which implements
+ * {@link Rejectable} are rejected, and the other tasks are run by the thread stopping the timer.
+ * <p/>
+ * You must invoke {@link #start()} to startup the timer, before its ready to be used. And you must invoke
+ * {@link #stop()} to stop the timer when no longer in use, which rejects or runs the waiting tasks.
+ */
+public class HashedWheelTimer extends ServiceSupport implements TimerWheel {
+
+    public static final long DEFAULT_TICK_DURATION = 10;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+    public static final int DEFAULT_TASK_QUEUE_SIZE = 1000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final CamelContext camelContext;
+    private ScheduledExecutorService executor;
+    private ExecutorService taskExecutor;
+    private final long tickDuration;
+    private final long tickDurationNanos;
+    private final WheelTimeout[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Queue<WheelTimeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile ScheduledFuture<?> future;
+    // the next tick to be expired (only accessed by the background task)
+    private long tick;
+
+    public HashedWheelTimer(ScheduledExecutorService executor) {
+        this(executor, DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    public HashedWheelTimer(ScheduledExecutorService executor, long tickDurationMillis, int wheelSize) {
+        this(executor, executor, tickDurationMillis, wheelSize);
+    }
+
+    public HashedWheelTimer(ScheduledExecutorService executor, ExecutorService taskExecutor, long tickDurationMillis,
+                            int wheelSize) {
+        this((CamelContext) null, executor, tickDurationMillis, wheelSize);
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        ObjectHelper.notNull(taskExecutor, "TaskExecutor");
+        this.taskExecutor = taskExecutor;
+    }
+
+    public HashedWheelTimer(CamelContext camelContext) {
+        this(camelContext, DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    public HashedWheelTimer(CamelContext camelContext, long tickDurationMillis, int wheelSize) {
+        this(camelContext, null, tickDurationMillis, wheelSize);
+        ObjectHelper.notNull(camelContext, "CamelContext");
+    }
+
+    private HashedWheelTimer(CamelContext camelContext, ScheduledExecutorService executor, long tickDurationMillis,
+                             int wheelSize) {
+        if (tickDurationMillis <= 0) {
+            throw new IllegalArgumentException("TickDuration must be positive, was: " + tickDurationMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be positive, was: " + wheelSize);
+        }
+        this.camelContext = camelContext;
+        this.executor = executor;
+        this.tickDuration = tickDurationMillis;
+        this.tickDurationNanos = TimeUnit.MILLISECONDS.toNanos(tickDurationMillis);
+        // round up to a power of two so the bucket can be selected by masking the tick
+        int wheelLength = Integer.highestOneBit(wheelSize);
+        if (wheelLength < wheelSize) {
+            wheelLength <<= 1;
+        }
+        this.wheel = new WheelTimeout[wheelLength];
+        this.mask = wheelLength - 1;
+        this.startTime = System.nanoTime();
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay) {
+        ObjectHelper.notNull(task, "task");
+        if (!isStarted() && !isStarting()) {
+            throw new RejectedExecutionException("TimerWheel is not started");
+        }
+        long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(delay, 0));
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        size.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public ExecutorService getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    /**
+     * The timer task which advances the wheel
+     */
+    private void tickTask() {
+        // only advance if allowed
+        if (!isRunAllowed()) {
+            return;
+        }
+        try {
+            advance();
+        } catch (Exception t) {
+            // must catch and log exception otherwise the executor will not schedule the next tick
+            LOG.warn("Exception occurred during tick of timer wheel. This exception will be ignored.", t);
+        }
+    }
+
+    /**
+     * Advances the wheel up to the current time, and runs the tasks which have expired.
+     */
+    protected void advance() {
+        long currentTick = (System.nanoTime() - startTime) / tickDurationNanos;
+
+        WheelTimeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            unlink(timeout);
+        }
+        while ((timeout = pending.poll()) != null) {
+            // the task may have been cancelled before it was added to the wheel
+            if (timeout.state == WheelTimeout.ST_INIT) {
+                link(timeout, Math.max(timeout.deadline / tickDurationNanos, tick));
+            }
+        }
+        if (size.get() == 0) {
+            // an empty wheel only needs to catch up with the time
+            tick = Math.max(tick, currentTick);
+            return;
+        }
+
+        // visit the bucket of each tick that has passed since the last advance (each bucket at most once)
+        long from = Math.max(tick, currentTick - wheel.length);
+        for (long t = from; t < currentTick; t++) {
+            timeout = wheel[(int) (t & mask)];
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                // the bucket also holds tasks which expire in a later round of the wheel
+                if (timeout.deadlineTick <= t) {
+                    unlink(timeout);
+                    if (timeout.expire()) {
+                        size.decrementAndGet();
+                        run(timeout.task);
+                    }
+                }
+                timeout = next;
+            }
+        }
+        tick = Math.max(tick, currentTick);
+    }
+
+    private void run(Runnable task) {
+        try {
+            taskExecutor.execute(() -> runTask(task));
+        } catch (RejectedExecutionException e) {
+            if (task instanceof Rejectable rejectable) {
+                LOG.debug("Task from timer wheel rejected by executor: {}. The task is rejected.", task);
+                rejectable.reject();
+            } else {
+                LOG.debug("Task from timer wheel rejected by executor: {}. The task is run by the timer.", task);
+                runTask(task);
+            }
+        }
+    }
+
+    private static void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            LOG.warn("Exception occurred running task from timer wheel. This exception will be ignored.", e);
+        }
+    }
+
+    private static void discard(WheelTimeout timeout) {
+        if (timeout.task instanceof Rejectable rejectable) {
+            try {
+                rejectable.reject();
+            } catch (Exception e) {
+                LOG.warn("Exception occurred rejecting task from timer wheel. This exception will be ignored.", e);
+            }
+        } else {
+            // the task cannot be rejected, so run it instead of dropping it silently
+            runTask(timeout.task);
+        }
+    }
+
+    private void link(WheelTimeout timeout, long deadlineTick) {
+        timeout.deadlineTick = deadlineTick;
+        int index = (int) (deadlineTick & mask);
+        WheelTimeout head = wheel[index];
+        timeout.bucket = index;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        wheel[index] = timeout;
+    }
+
+    private void unlink(WheelTimeout timeout) {
+        if (timeout.bucket < 0) {
+            return;
+        }
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else if (wheel[timeout.bucket] == timeout) {
+            wheel[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (camelContext != null) {
+            // advance the wheel on its own thread, so tasks which block cannot hold up the other tasks
+            executor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "TimerWheel");
+            taskExecutor = camelContext.getExecutorServiceManager().newThreadPool(this, "TimerWheelTask",
+                    createTaskProfile(camelContext.getExecutorServiceManager().getDefaultThreadPoolProfile()));
+        } else if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        future = executor.scheduleWithFixedDelay(this::tickTask, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadPoolProfile createTaskProfile(ThreadPoolProfile defaultProfile) {
+        ThreadPoolProfile profile = defaultProfile.clone();
+        profile.setId("TimerWheelTask");
+        profile.setDefaultProfile(false);
+        // the queue must be bounded so the pool rejects tasks instead of growing without limits
+        if (profile.getMaxQueueSize() == null || profile.getMaxQueueSize() <= 0) {
+            profile.setMaxQueueSize(DEFAULT_TASK_QUEUE_SIZE);
+        }
+        // let the timer handle rejected tasks, see the run method
+        profile.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+        return profile;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // reject or run the waiting tasks
+        int discarded = 0;
+        WheelTimeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.discard()) {
+                discarded++;
+                discard(timeout);
+            }
+        }
+        cancelled.clear();
+        for (int i = 0; i < wheel.length; i++) {
+            timeout = wheel[i];
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.discard()) {
+                    discarded++;
+                    discard(timeout);
+                }
+                timeout.prev = null;
+                timeout.next = null;
+                timeout.bucket = -1;
+                timeout = next;
+            }
+            wheel[i] = null;
+        }
+        if (discarded > 0) {
+            LOG.debug("Rejected or ran {} waiting tasks from timer wheel as it is stopping", discarded);
+        }
+        if (camelContext != null && executor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(executor);
+            executor = null;
+        }
+        if (camelContext != null && taskExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdown(taskExecutor);
+            taskExecutor = null;
+        }
+    }
+
+    private static final class WheelTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE
+                = AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        // the time in nanos (since the timer was created) the task expires at
+        private final long deadline;
+        private volatile int state;
+        // the following fields are only accessed by the background task
+        private long deadlineTick;
+        private int bucket = -1;
+        private WheelTimeout prev;
+        private WheelTimeout next;
+
+        WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        boolean expire() {
+            return STATE.compareAndSet(this, ST_INIT, ST_EXPIRED);
+        }
+
+        boolean discard() {
+            if (STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                timer.size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.size.decrementAndGet();
+            // let the background task remove it from the wheel
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        @Override
+        public String toString() {
+            return "WheelTimeout[" + task + "]";
+        }
+    }
+}
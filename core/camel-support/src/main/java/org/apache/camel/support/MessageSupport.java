@@ -226,7 +226,7 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
                 getHeaders().clear();
             }
             if (that.hasHeaders()) {
-                getHeaders().putAll(that.getHeaders());
+                copyHeadersFrom(that);
             }
         }
 
@@ -237,6 +237,13 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
         }
     }
 
+    /**
+     * Copies the headers from the given message, into the headers of this message which are empty.
+     */
+    protected void copyHeadersFrom(Message that) {
+        getHeaders().putAll(that.getHeaders());
+    }
+
     private boolean sameHeaders(Message that) {
         return hasHeaders() && that.hasHeaders() && getHeaders() == that.getHeaders();
     }
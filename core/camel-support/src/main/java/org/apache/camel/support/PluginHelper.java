@@ -52,6 +52,7 @@ import org.apache.camel.spi.ResourceLoader;
 import org.apache.camel.spi.RestBindingJaxbDataFormatFactory;
 import org.apache.camel.spi.RouteFactory;
 import org.apache.camel.spi.RoutesLoader;
+import org.apache.camel.spi.TimerWheel;
 import org.apache.camel.spi.UnitOfWorkFactory;
 import org.apache.camel.spi.UriFactoryResolver;
 
@@ -176,6 +177,20 @@ public final class PluginHelper {
         return extendedCamelContext.getContextPlugin(ScheduledExecutorService.class);
     }
 
+    /**
+     * Gets the shared timer wheel which leverages delayed tasks, such as asynchronous delays and redeliveries.
+     */
+    public static TimerWheel getTimerWheel(CamelContext camelContext) {
+        return getTimerWheel(camelContext.getCamelContextExtension());
+    }
+
+    /**
+     * Gets the shared timer wheel which leverages delayed tasks, such as asynchronous delays and redeliveries.
+     */
+    public static TimerWheel getTimerWheel(ExtendedCamelContext extendedCamelContext) {
+        return extendedCamelContext.getContextPlugin(TimerWheel.class);
+    }
+
     /**
      * Gets the bootstrap {@link ConfigurerResolver} to use. This bootstrap resolver is only intended to be used during
      * bootstrap (starting) CamelContext.
@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link IdempotentRepository} which uses a Bloom filter in front of another repository, to answer lookups of keys
+ * which have never been added without calling the other repository.
+ * <p/>
+ * A Bloom filter can tell for certain that a key has not been added, but can only tell that a key has probably been
+ * added. Therefore only the lookups where the filter tells the key is not present are answered by the filter, and all
+ * other operations are delegated to the other repository, which has the final say. This saves a round trip to remote
+ * repositories (such as JDBC, Cassandra or Infinispan) for keys that are seen for the first time, when using the
+ * idempotent consumer in non-eager mode, or when checking for duplicates with the <tt>contains</tt> operation.
+ * <p/>
+ * The filter must know all the keys in the other repository, and is therefore filled with the existing keys when this
+ * repository is started, by using the configured keys loader. This also means that this repository must be the only one
+ * adding keys to the other repository, otherwise keys added by others are not known by the filter.
+ * <p/>
+ * Keys that are removed from the other repository stay in the filter, which only causes the other repository to be
+ * called for these keys. The false positive rate grows when more keys than the expected insertions are added, which can
+ * be monitored with the statistics of this repository.
+ */
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BloomFilterIdempotentRepository.class);
+
+    private final IdempotentRepository delegate;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder filterMisses = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private CamelContext camelContext;
+    private Supplier<? extends Iterable<String>> keysLoader;
+    private volatile BloomFilter filter;
+
+    public BloomFilterIdempotentRepository(IdempotentRepository delegate) {
+        this(delegate, 1_000_000, 0.01);
+    }
+
+    /**
+     * Creates a new repository with a Bloom filter in front of the given repository
+     *
+     * @param delegate                 the repository which holds the keys
+     * @param expectedInsertions       the number of keys the filter is sized for
+     * @param falsePositiveProbability the probability the filter tells a key is present, when it has not been added,
+     *                                 when the expected number of keys has been added
+     */
+    public BloomFilterIdempotentRepository(IdempotentRepository delegate, long expectedInsertions,
+                                           double falsePositiveProbability) {
+        ObjectHelper.notNull(delegate, "delegate");
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("ExpectedInsertions must be positive, was: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        this.delegate = delegate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public IdempotentRepository getDelegate() {
+        return delegate;
+    }
+
+    public Supplier<? extends Iterable<String>> getKeysLoader() {
+        return keysLoader;
+    }
+
+    /**
+     * To load the keys which are already in the other repository, which are added to the filter when this repository is
+     * started. This is required unless the other repository is a {@link MemoryIdempotentRepository}, as the filter
+     * cannot otherwise know the existing keys.
+     */
+    public void setKeysLoader(Supplier<? extends Iterable<String>> keysLoader) {
+        this.keysLoader = keysLoader;
+    }
+
+    @Override
+    public boolean add(String key) {
+        // must be in the filter before it is stored, so a concurrent lookup cannot miss a stored key
+        filter.put(key);
+        return delegate.add(key);
+    }
+
+    @Override
+    public boolean add(Exchange exchange, String key) {
+        // must be in the filter before it is stored, so a concurrent lookup cannot miss a stored key
+        filter.put(key);
+        return delegate.add(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        lookups.increment();
+        if (!filter.mightContain(key)) {
+            filterMisses.increment();
+            return false;
+        }
+        return onFalsePositive(delegate.contains(key));
+    }
+
+    @Override
+    public boolean contains(Exchange exchange, String key) {
+        lookups.increment();
+        if (!filter.mightContain(key)) {
+            filterMisses.increment();
+            return false;
+        }
+        return onFalsePositive(delegate.contains(exchange, key));
+    }
+
+    private boolean onFalsePositive(boolean contains) {
+        if (!contains) {
+            falsePositives.increment();
+        }
+        return contains;
+    }
+
+    @Override
+    public boolean remove(String key) {
+        // the key cannot be removed from the filter, which only means the other repository is called for this key
+        return delegate.remove(key);
+    }
+
+    @Override
+    public boolean remove(Exchange exchange, String key) {
+        return delegate.remove(exchange, key);
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return delegate.confirm(key);
+    }
+
+    @Override
+    public boolean confirm(Exchange exchange, String key) {
+        return delegate.confirm(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        delegate.clear();
+        filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+    }
+
+    @ManagedAttribute(description = "The number of keys the filter is sized for")
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    @ManagedAttribute(description = "The false positive probability the filter is sized for")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "The number of bits in the filter")
+    public long getFilterBits() {
+        return filter != null ? filter.bits : 0;
+    }
+
+    @ManagedAttribute(description = "The estimated false positive probability of the filter with the keys added so far")
+    public double getEstimatedFalsePositiveProbability() {
+        return filter != null ? filter.estimatedFalsePositiveProbability() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of lookups")
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    @ManagedAttribute(description = "Number of lookups answered by the filter without calling the other repository")
+    public long getFilterMisses() {
+        return filterMisses.sum();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the filter told the key is present, but it was not")
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    @ManagedAttribute(description = "Percentage of lookups answered by the filter without calling the other repository")
+    public double getFilterHitRate() {
+        long total = lookups.sum();
+        return total > 0 ? 100.0 * filterMisses.sum() / total : 0;
+    }
+
+    @ManagedAttribute(description = "Percentage of lookups passing the filter where the key was not present")
+    public double getFalsePositiveRate() {
+        long passed = lookups.sum() - filterMisses.sum();
+        return passed > 0 ? 100.0 * falsePositives.sum() / passed : 0;
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        lookups.reset();
+        filterMisses.reset();
+        falsePositives.reset();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        CamelContextAware.trySetCamelContext(delegate, camelContext);
+        ServiceHelper.startService(delegate);
+
+        Supplier<? extends Iterable<String>> loader = keysLoader;
+        if (loader == null && delegate instanceof MemoryIdempotentRepository memory) {
+            loader = () -> memory.getCache().keySet();
+        }
+        if (loader == null) {
+            throw new IllegalArgumentException(
+                    "A keysLoader must be configured to fill the filter with the existing keys of the repository: "
+                                               + delegate);
+        }
+
+        BloomFilter answer = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        long count = 0;
+        for (String key : loader.get()) {
+            answer.put(key);
+            count++;
+        }
+        filter = answer;
+        LOG.debug("Filled Bloom filter with {} bits with {} existing keys from repository: {}", answer.bits, count, delegate);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(delegate);
+    }
+
+    /**
+     * A thread safe Bloom filter which uses double hashing of a 64-bit hash of the key to select the bits.
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        private BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+            long size
+                    = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+            int length = (int) Math.min(Integer.MAX_VALUE - 8, (size + 63) / 64);
+            this.words = new AtomicLongArray(length);
+            this.bits = (long) length * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        }
+
+        private void put(String key) {
+            long hash = Fingerprints.fingerprint(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long index = bitIndex(h1 + i * h2);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long value = words.get(word);
+                while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                    value = words.get(word);
+                }
+            }
+        }
+
+        private boolean mightContain(String key) {
+            long hash = Fingerprints.fingerprint(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long index = bitIndex(h1 + i * h2);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long bitIndex(int combined) {
+            return (combined & Integer.MAX_VALUE) % bits;
+        }
+
+        private double estimatedFalsePositiveProbability() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return Math.pow((double) set / bits, hashes);
+        }
+    }
+
+}
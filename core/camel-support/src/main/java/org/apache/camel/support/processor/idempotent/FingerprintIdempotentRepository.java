@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository} which only stores a 64-bit hash
+ * (fingerprint) of the keys, instead of the keys.
+ * <p/>
+ * Each key takes between 11 and 22 bytes of memory, instead of the 100 or more bytes of the keys and map entries in
+ * {@link MemoryIdempotentRepository}, which allows to keep tens of millions of keys in a few hundred MB of memory. The
+ * price is that two different keys can have the same fingerprint, in which case the second key is regarded as a
+ * duplicate. The probability that a new key is regarded as a duplicate is about <tt>n / 2^64</tt> where <tt>n</tt> is
+ * the number of keys in the repository, which is about 1 in 10^12 for 10 million keys.
+ * <p/>
+ * The fingerprints are kept in a number of segments, which are primitive <tt>long</tt> hash sets. New keys are added to
+ * the newest segment, and when the newest segment is full, the oldest segment is discarded and a new segment is
+ * created. This evicts the oldest keys in batches, so the repository holds between
+ * <tt>maxSize * (segments - 1) / segments</tt> and <tt>maxSize</tt> of the most recently added keys.
+ */
+@Metadata(label = "bean",
+          description = "A memory based IdempotentRepository which stores 64-bit fingerprints of the keys to use less memory.",
+          annotations = { "interfaceName=org.apache.camel.spi.IdempotentRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Fingerprint memory based idempotent repository")
+public class FingerprintIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final int MAX_SIZE = 1000000;
+    private static final int SEGMENTS = 4;
+    // the largest segment which fits in the largest table at a load factor of 0.75
+    private static final int MAX_SEGMENT_SIZE = (1 << 30) / 4 * 3;
+    // the value used for empty slots, keys with this fingerprint are stored as the alternative value
+    private static final long EMPTY = 0L;
+    private static final long EMPTY_ALTERNATIVE = 1L;
+
+    private final Lock lock = new ReentrantLock();
+    private LongHashSet[] sets;
+    private int newest;
+
+    @Metadata(description = "Maximum number of keys that can be stored", defaultValue = "" + MAX_SIZE)
+    private int maxSize = MAX_SIZE;
+    @Metadata(description = "Number of segments the keys are stored in. When the repository is full, then the keys in the oldest segment are evicted.",
+              defaultValue = "" + SEGMENTS)
+    private int segments = SEGMENTS;
+
+    public FingerprintIdempotentRepository() {
+    }
+
+    public FingerprintIdempotentRepository(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a new fingerprint memory based repository.
+     *
+     * @param maxSize the maximum number of keys to store
+     */
+    public static IdempotentRepository fingerprintIdempotentRepository(int maxSize) {
+        FingerprintIdempotentRepository answer = new FingerprintIdempotentRepository(maxSize);
+        ServiceHelper.startService(answer);
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        long fp = fingerprint(key);
+        lock.lock();
+        try {
+            if (find(fp) != null) {
+                return false;
+            }
+            LongHashSet set = sets[newest];
+            if (set.isFull()) {
+                newest = (newest + 1) % sets.length;
+                set = new LongHashSet(set.maxSize);
+                sets[newest] = set;
+            }
+            set.add(fp);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        long fp = fingerprint(key);
+        lock.lock();
+        try {
+            return find(fp) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        long fp = fingerprint(key);
+        lock.lock();
+        try {
+            LongHashSet set = find(fp);
+            return set != null && set.remove(fp);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        lock.lock();
+        try {
+            int segmentSize = sets[newest].maxSize;
+            for (int i = 0; i < sets.length; i++) {
+                sets[i] = null;
+            }
+            newest = 0;
+            sets[0] = new LongHashSet(segmentSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The current number of keys in the store")
+    public long getSize() {
+        lock.lock();
+        try {
+            long size = 0;
+            for (LongHashSet set : sets) {
+                if (set != null) {
+                    size += set.size;
+                }
+            }
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The memory in bytes used by the store")
+    public long getMemoryUsage() {
+        lock.lock();
+        try {
+            long bytes = 0;
+            for (LongHashSet set : sets) {
+                if (set != null) {
+                    bytes += 8L * set.table.length;
+                }
+            }
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The maximum number of keys in the store")
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @ManagedAttribute(description = "The number of segments the keys are stored in")
+    public int getSegments() {
+        return segments;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("MaxSize must be positive, was: " + maxSize);
+        }
+        if (segments <= 0) {
+            throw new IllegalArgumentException("Segments must be positive, was: " + segments);
+        }
+        if (maxSize / segments > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException(
+                    "MaxSize / segments must be at most " + MAX_SEGMENT_SIZE + ", was: " + maxSize / segments);
+        }
+        if (sets == null) {
+            sets = new LongHashSet[segments];
+            newest = 0;
+            sets[0] = new LongHashSet(Math.max(1, maxSize / segments));
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        sets = null;
+    }
+
+    private LongHashSet find(long fp) {
+        // the newest keys are the most likely to be looked up
+        for (int i = 0; i < sets.length; i++) {
+            LongHashSet set = sets[Math.floorMod(newest - i, sets.length)];
+            if (set != null && set.contains(fp)) {
+                return set;
+            }
+        }
+        return null;
+    }
+
+    private static long fingerprint(String key) {
+        long fp = Fingerprints.fingerprint(key);
+        return fp == EMPTY ? EMPTY_ALTERNATIVE : fp;
+    }
+
+    /**
+     * A hash set of <tt>long</tt> values using open addressing with linear probing, which holds up to a fixed number of
+     * values at a load factor of at most 0.75.
+     */
+    private static final class LongHashSet {
+        private final long[] table;
+        private final int mask;
+        private final int maxSize;
+        private int size;
+
+        private LongHashSet(int maxSize) {
+            int capacity = Integer.highestOneBit(Math.max(2, (int) Math.min(1 << 30, (long) maxSize * 4 / 3)) - 1) << 1;
+            this.table = new long[capacity];
+            this.mask = capacity - 1;
+            this.maxSize = maxSize;
+        }
+
+        private boolean isFull() {
+            return size >= maxSize;
+        }
+
+        private boolean contains(long value) {
+            int i = index(value);
+            long current;
+            while ((current = table[i]) != EMPTY) {
+                if (current == value) {
+                    return true;
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+
+        private void add(long value) {
+            int i = index(value);
+            while (table[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+            size++;
+        }
+
+        private boolean remove(long value) {
+            int i = index(value);
+            long current;
+            while ((current = table[i]) != EMPTY) {
+                if (current == value) {
+                    shiftBack(i);
+                    size--;
+                    return true;
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+
+        /**
+         * Removes the value at the given slot, and moves the following values of the probe sequence back so that no
+         * tombstones are needed.
+         */
+        private void shiftBack(int gap) {
+            int i = gap;
+            while (true) {
+                i = (i + 1) & mask;
+                long current = table[i];
+                if (current == EMPTY) {
+                    break;
+                }
+                int home = index(current);
+                // move the value into the gap if its home slot is not between the gap and its slot
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    table[gap] = current;
+                    gap = i;
+                }
+            }
+            table[gap] = EMPTY;
+        }
+
+        private int index(long value) {
+            // the fingerprints are already well mixed
+            return (int) value & mask;
+        }
+    }
+}
@@ -0,0 +1,1030 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} which stores the keys in an
+ * append-only log, and uses a memory-mapped hash index to look up the keys.
+ * <p/>
+ * Unlike {@link FileIdempotentRepository}, the keys are never re-written when they are added or removed, and the file
+ * is never scanned to check whether a key exists. Instead, adding and removing keys append a record to the newest log
+ * segment file, and the index maps a 64-bit hash of each key to the record of the key. The index is a file as well, so
+ * when starting, only the records added after the last sync of the index are read from the log.
+ * <p/>
+ * The log is split into segment files of {@link #getSegmentSize()} bytes. A background task compacts sealed segments
+ * which have a high ratio of removed keys, by copying the remaining keys to the newest segment and deleting the old
+ * segment. When {@link #getMaxStoreSize()} is set, the background task deletes the oldest segments and their keys when
+ * the log grows larger than this size, which replaces the trunk of the oldest entries of
+ * {@link FileIdempotentRepository}.
+ * <p/>
+ * The log and index are written to disk (fsync) every {@link #getSyncInterval()} millis, so keys added within this
+ * interval can be lost if the machine crashes. Set the interval to 0 to write to disk on every change.
+ */
+@Metadata(label = "bean",
+          description = "A file based idempotent repository which appends the keys to a log, and uses a memory-mapped hash index to look up the keys.",
+          annotations = { "interfaceName=org.apache.camel.spi.IdempotentRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Log file based idempotent repository")
+public class LogFileIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogFileIdempotentRepository.class);
+
+    private static final String INDEX_FILE = "index.idx";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long INDEX_MAGIC = 0x43414d454c494458L;
+    // header: magic, capacity, size, checkpoint segment, checkpoint offset
+    private static final int INDEX_HEADER = 32;
+    // slot: fingerprint, segment, offset
+    private static final int SLOT = 16;
+    private static final int MAX_INDEX_CAPACITY = 1 << 26;
+    private static final double MAX_LOAD = 0.7;
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 2;
+    // record: key length, operation, key, crc
+    private static final int RECORD_OVERHEAD = 9;
+    private static final int MAX_KEY_LENGTH = 64 * 1024;
+
+    private final Lock lock = new ReentrantLock();
+    private final Lock compactionLock = new ReentrantLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private CamelContext camelContext;
+    private ScheduledExecutorService executorService;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+    private Segment active;
+    private boolean dirty;
+    private volatile long compactionCounter;
+    private volatile long droppedSegmentCounter;
+
+    @Metadata(description = "The directory to store the log segments and the index in", required = true)
+    private File directory;
+    @Metadata(description = "The maximum size in bytes of a log segment file", defaultValue = "" + 16 * 1024 * 1024)
+    private int segmentSize = 16 * 1024 * 1024;
+    @Metadata(description = "The maximum size in bytes of all the log segments. When the log grows larger, then the oldest segment and its keys are deleted."
+                            + " The default is 0 which means unlimited.")
+    private long maxStoreSize;
+    @Metadata(description = "Interval in millis to write the log and index to disk (fsync). Set to 0 to write to disk on every change.",
+              defaultValue = "1000")
+    private long syncInterval = 1000;
+    @Metadata(description = "Interval in millis to check for segments to compact or delete", defaultValue = "60000")
+    private long compactionInterval = 60000;
+    @Metadata(description = "The ratio of removed keys in a segment, before the segment is compacted", defaultValue = "0.5")
+    private double compactionThreshold = 0.5;
+    @Metadata(description = "The initial number of slots in the index, which grows when needed", defaultValue = "65536")
+    private int initialIndexCapacity = 65536;
+
+    public LogFileIdempotentRepository() {
+    }
+
+    public LogFileIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        long fp = Fingerprints.fingerprint(key);
+        lock.lock();
+        try {
+            if (findSlot(fp, data) >= 0) {
+                return false;
+            }
+            long offset = append(OP_ADD, data);
+            putSlot(fp, active.seq, (int) offset);
+            afterWrite();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        long fp = Fingerprints.fingerprint(key);
+        lock.lock();
+        try {
+            return findSlot(fp, data) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        long fp = Fingerprints.fingerprint(key);
+        lock.lock();
+        try {
+            int slot = findSlot(fp, data);
+            if (slot < 0) {
+                return false;
+            }
+            markDead(slot, data.length);
+            deleteSlot(slot);
+            append(OP_REMOVE, data);
+            afterWrite();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        // must not clear while compacting (same lock order as the compaction), as the compaction would otherwise
+        // delete the recreated segments
+        compactionLock.lock();
+        lock.lock();
+        try {
+            closeFiles();
+            for (Segment segment : segments.values()) {
+                Files.deleteIfExists(segment.path);
+            }
+            segments.clear();
+            Files.deleteIfExists(indexPath());
+            openFiles();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the log and the index to disk.
+     */
+    @ManagedOperation(description = "Writes the log and index to disk")
+    public void sync() {
+        lock.lock();
+        try {
+            doSync();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the oldest segments if the log is larger than the maximum store size, and compacts the segments which
+     * have a high ratio of removed keys. This is done periodically by a background task.
+     */
+    @ManagedOperation(description = "Compacts the log")
+    public void compact() {
+        compactionLock.lock();
+        try {
+            while (dropOldestSegment()) {
+                droppedSegmentCounter++;
+            }
+            for (Segment segment : sealedSegments()) {
+                if (!segment.scanned) {
+                    scanSegment(segment);
+                }
+                if (segment.length > 0 && (double) segment.deadBytes / segment.length >= compactionThreshold) {
+                    compactSegment(segment);
+                    compactionCounter++;
+                }
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The maximum size in bytes of a log segment file")
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @ManagedAttribute(description = "The maximum size in bytes of all the log segments")
+    public long getMaxStoreSize() {
+        return maxStoreSize;
+    }
+
+    public void setMaxStoreSize(long maxStoreSize) {
+        this.maxStoreSize = maxStoreSize;
+    }
+
+    @ManagedAttribute(description = "Interval in millis to write the log and index to disk")
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    @ManagedAttribute(description = "Interval in millis to check for segments to compact or delete")
+    public long getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    public void setCompactionInterval(long compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
+
+    @ManagedAttribute(description = "The ratio of removed keys in a segment, before the segment is compacted")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public int getInitialIndexCapacity() {
+        return initialIndexCapacity;
+    }
+
+    public void setInitialIndexCapacity(int initialIndexCapacity) {
+        this.initialIndexCapacity = initialIndexCapacity;
+    }
+
+    @ManagedAttribute(description = "The directory of the store")
+    public String getDirectoryPath() {
+        return directory.getPath();
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public int getSize() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The number of slots in the index")
+    public int getIndexCapacity() {
+        lock.lock();
+        try {
+            return capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The number of log segment files")
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The size in bytes of all the log segments")
+    public long getStoreSize() {
+        lock.lock();
+        try {
+            return storeSize();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of segments compacted")
+    public long getCompactionCounter() {
+        return compactionCounter;
+    }
+
+    @ManagedAttribute(description = "Number of oldest segments deleted because the maximum store size was hit")
+    public long getDroppedSegmentCounter() {
+        return droppedSegmentCounter;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+        if (segmentSize <= RECORD_OVERHEAD || segmentSize > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("SegmentSize is invalid: " + segmentSize);
+        }
+        if (compactionThreshold <= 0 || compactionThreshold > 1) {
+            throw new IllegalArgumentException("CompactionThreshold must be between 0 and 1, was: " + compactionThreshold);
+        }
+
+        lock.lock();
+        try {
+            openFiles();
+        } finally {
+            lock.unlock();
+        }
+
+        if (camelContext != null) {
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "LogFileIdempotentRepository");
+        } else {
+            executorService = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "LogFileIdempotentRepository");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (syncInterval > 0) {
+            executorService.scheduleWithFixedDelay(this::backgroundSync, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        }
+        if (compactionInterval > 0) {
+            executorService.scheduleWithFixedDelay(this::backgroundCompact, compactionInterval, compactionInterval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            if (camelContext != null) {
+                camelContext.getExecutorServiceManager().shutdownGraceful(executorService);
+            } else {
+                executorService.shutdown();
+                executorService.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            executorService = null;
+        }
+        lock.lock();
+        try {
+            if (index != null) {
+                doSync();
+            }
+            closeFiles();
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backgroundSync() {
+        try {
+            sync();
+        } catch (Exception e) {
+            LOG.warn("Error writing idempotent log store: {} to disk. This exception is ignored.", directory, e);
+        }
+    }
+
+    private void backgroundCompact() {
+        try {
+            compact();
+        } catch (Exception e) {
+            LOG.warn("Error compacting idempotent log store: {}. This exception is ignored.", directory, e);
+        }
+    }
+
+    // files
+    // -------------------------------------------------------------------------
+
+    private Path indexPath() {
+        return directory.toPath().resolve(INDEX_FILE);
+    }
+
+    private Path segmentPath(int seq) {
+        return directory.toPath().resolve(String.format("%010d%s", seq, SEGMENT_SUFFIX));
+    }
+
+    private void openFiles() throws IOException {
+        Files.createDirectories(directory.toPath());
+        try (var stream = Files.list(directory.toPath())) {
+            for (Path path : stream.toList()) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    int seq = Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(seq, new Segment(seq, path, false));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(1, new Segment(1, segmentPath(1), true));
+        }
+        active = segments.lastEntry().getValue();
+
+        int startSeq = segments.firstKey();
+        long startOffset = 0;
+        if (openIndex()) {
+            startSeq = (int) index.getLong(16);
+            startOffset = index.getLong(24);
+        } else {
+            createIndex(indexPath(), Math.max(16, initialIndexCapacity));
+        }
+        long time = System.currentTimeMillis();
+        long records = replay(startSeq, startOffset);
+        LOG.debug("Opened idempotent log store: {} with {} keys in {} segments, replayed {} records in {} millis", directory,
+                size, segments.size(), records, System.currentTimeMillis() - time);
+        doSync();
+    }
+
+    private boolean openIndex() throws IOException {
+        Path path = indexPath();
+        if (!Files.exists(path) || Files.size(path) < INDEX_HEADER) {
+            return false;
+        }
+        indexChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+        int cap = index.getInt(8);
+        if (index.getLong(0) != INDEX_MAGIC || Integer.bitCount(cap) != 1
+                || indexChannel.size() != INDEX_HEADER + (long) cap * SLOT) {
+            LOG.warn("Idempotent log store index: {} is invalid. The index is rebuilt from the log.", path);
+            closeIndex();
+            Files.delete(path);
+            return false;
+        }
+        capacity = cap;
+        // the slots may be newer than the size in the header, such as when the store was not stopped cleanly,
+        // so the size is counted from the slots
+        int count = 0;
+        for (int i = 0; i < cap; i++) {
+            if (index.getLong(slotOffset(i)) != 0) {
+                count++;
+            }
+        }
+        size = count;
+        return true;
+    }
+
+    private void createIndex(Path path, int cap) throws IOException {
+        int slots = Integer.highestOneBit(Math.min(cap, MAX_INDEX_CAPACITY) - 1) << 1;
+        indexChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER + (long) slots * SLOT);
+        index.putLong(0, INDEX_MAGIC);
+        index.putInt(8, slots);
+        index.putInt(12, 0);
+        index.putLong(16, segments.isEmpty() ? 1 : segments.firstKey());
+        index.putLong(24, 0);
+        capacity = slots;
+        size = 0;
+    }
+
+    private void closeIndex() {
+        IOHelper.close(indexChannel, "Closing idempotent log store index", LOG);
+        indexChannel = null;
+        index = null;
+    }
+
+    private void closeFiles() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        closeIndex();
+    }
+
+    private void doSync() throws IOException {
+        if (active.channel != null) {
+            active.channel.force(false);
+        }
+        index.putInt(12, size);
+        index.putLong(16, active.seq);
+        index.putLong(24, active.length);
+        index.force();
+        dirty = false;
+    }
+
+    private void afterWrite() {
+        dirty = true;
+        if (syncInterval <= 0) {
+            try {
+                doSync();
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
+    }
+
+    private long storeSize() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.length;
+        }
+        return total;
+    }
+
+    private List<Segment> sealedSegments() {
+        lock.lock();
+        try {
+            return new ArrayList<>(segments.headMap(active.seq).values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // log
+    // -------------------------------------------------------------------------
+
+    /**
+     * Appends a record to the active segment, and returns the offset of the record
+     */
+    private long append(byte op, byte[] data) {
+        if (data.length > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Key is too long: " + data.length + " bytes");
+        }
+        try {
+            int length = data.length + RECORD_OVERHEAD;
+            if (active.length > 0 && active.length + length > segmentSize) {
+                roll();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            buffer.putInt(data.length);
+            buffer.put(op);
+            buffer.put(data);
+            buffer.putInt(crc(op, data, 0, data.length));
+            buffer.flip();
+            long offset = active.length;
+            FileChannel channel = active.channel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            active.length += length;
+            return offset;
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private void roll() throws IOException {
+        doSync();
+        int seq = active.seq + 1;
+        active = new Segment(seq, segmentPath(seq), true);
+        segments.put(seq, active);
+        LOG.debug("Rolled idempotent log store: {} to new segment: {}", directory, active.path);
+        if (maxStoreSize > 0 && storeSize() > maxStoreSize && executorService != null) {
+            executorService.execute(this::backgroundCompact);
+        }
+    }
+
+    /**
+     * Reads the key of the record at the given location, or null if there is no valid record
+     */
+    private byte[] readKey(int seq, long offset, byte op) throws IOException {
+        Segment segment = segments.get(seq);
+        if (segment == null || offset + RECORD_OVERHEAD > segment.length) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(5);
+        readFully(segment.channel(), header, offset);
+        int length = header.getInt(0);
+        if (length < 0 || length > MAX_KEY_LENGTH || offset + RECORD_OVERHEAD + length > segment.length
+                || header.get(4) != op) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length + 4);
+        readFully(segment.channel(), body, offset + 5);
+        byte[] data = new byte[length];
+        body.get(0, data);
+        if (body.getInt(length) != crc(op, data, 0, length)) {
+            return null;
+        }
+        return data;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+    }
+
+    private static int crc(byte op, byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(op);
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Visits the records of a segment from the given offset, and returns the offset after the last valid record.
+     */
+    private static long readRecords(FileChannel channel, long start, long end, RecordVisitor visitor) throws IOException {
+        if (start >= end) {
+            return start;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        int limit = buffer.limit();
+        int position = 0;
+        while (limit - position >= RECORD_OVERHEAD) {
+            int length = buffer.getInt(position);
+            if (length < 0 || length > MAX_KEY_LENGTH || limit - position < RECORD_OVERHEAD + length) {
+                break;
+            }
+            byte op = buffer.get(position + 4);
+            byte[] data = new byte[length];
+            buffer.get(position + 5, data);
+            if (op != OP_ADD && op != OP_REMOVE || buffer.getInt(position + 5 + length) != crc(op, data, 0, length)) {
+                break;
+            }
+            visitor.visit(op, data, start + position);
+            position += RECORD_OVERHEAD + length;
+        }
+        return start + position;
+    }
+
+    /**
+     * Replays the records of the log from the given location into the index
+     */
+    private long replay(int fromSeq, long fromOffset) throws IOException {
+        long[] count = new long[1];
+        for (Segment segment : new ArrayList<>(segments.tailMap(fromSeq).values())) {
+            long end = segment.channel().size();
+            long start = segment.seq == fromSeq ? Math.min(fromOffset, end) : 0;
+            long valid = readRecords(segment.channel(), start, end, (op, data, offset) -> {
+                count[0]++;
+                long fp = Fingerprints.fingerprint(new String(data, StandardCharsets.UTF_8));
+                int slot = findSlot(fp, data);
+                if (op == OP_ADD) {
+                    if (slot < 0) {
+                        putSlot(fp, segment.seq, (int) offset);
+                    } else if (index.getInt(slotOffset(slot) + 8) != segment.seq
+                            || index.getInt(slotOffset(slot) + 12) != offset) {
+                        // the key was added again, so the previous record is no longer needed
+                        markDead(slot, data.length);
+                        index.putInt(slotOffset(slot) + 8, segment.seq);
+                        index.putInt(slotOffset(slot) + 12, (int) offset);
+                    }
+                } else if (slot >= 0) {
+                    markDead(slot, data.length);
+                    deleteSlot(slot);
+                }
+            });
+            if (valid < end) {
+                LOG.warn("Idempotent log store segment: {} has an invalid record at offset: {}. Truncating the segment.",
+                        segment.path, valid);
+                segment.channel().truncate(valid);
+            }
+            segment.length = valid;
+        }
+        return count[0];
+    }
+
+    // index
+    // -------------------------------------------------------------------------
+
+    private static int slotOffset(int slot) {
+        return INDEX_HEADER + slot * SLOT;
+    }
+
+    /**
+     * Finds the index slot of the given key, or -1 if the key is not in the store
+     */
+    private int findSlot(long fp, byte[] data) {
+        int mask = capacity - 1;
+        int slot = (int) fp & mask;
+        long current;
+        while ((current = index.getLong(slotOffset(slot))) != 0) {
+            if (current == fp) {
+                int seq = index.getInt(slotOffset(slot) + 8);
+                int offset = index.getInt(slotOffset(slot) + 12);
+                byte[] key;
+                try {
+                    key = readKey(seq, offset, OP_ADD);
+                } catch (IOException e) {
+                    throw RuntimeCamelException.wrapRuntimeCamelException(e);
+                }
+                if (key == null) {
+                    // the record is gone, such as when it was not written to disk before a crash
+                    deleteSlot(slot);
+                    return findSlot(fp, data);
+                }
+                if (Arrays.equals(key, data)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the index slot which points to the given record, or -1 if the record is not the current record of its key
+     */
+    private int findSlot(long fp, int seq, long offset) {
+        int mask = capacity - 1;
+        int slot = (int) fp & mask;
+        long current;
+        while ((current = index.getLong(slotOffset(slot))) != 0) {
+            if (current == fp && index.getInt(slotOffset(slot) + 8) == seq
+                    && index.getInt(slotOffset(slot) + 12) == offset) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void putSlot(long fp, int seq, int offset) {
+        if (size + 1 > capacity * MAX_LOAD) {
+            growIndex();
+        }
+        int mask = capacity - 1;
+        int slot = (int) fp & mask;
+        while (index.getLong(slotOffset(slot)) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index.putLong(slotOffset(slot), fp);
+        index.putInt(slotOffset(slot) + 8, seq);
+        index.putInt(slotOffset(slot) + 12, offset);
+        size++;
+    }
+
+    /**
+     * Deletes the given slot, and moves the following slots of the probe sequence back so that no tombstones are
+     * needed.
+     */
+    private void deleteSlot(int gap) {
+        int mask = capacity - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long current = index.getLong(slotOffset(slot));
+            if (current == 0) {
+                break;
+            }
+            int home = (int) current & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                index.putLong(slotOffset(gap), current);
+                index.putLong(slotOffset(gap) + 8, index.getLong(slotOffset(slot) + 8));
+                gap = slot;
+            }
+        }
+        index.putLong(slotOffset(gap), 0);
+        index.putLong(slotOffset(gap) + 8, 0);
+        size--;
+    }
+
+    private void markDead(int slot, int length) {
+        Segment segment = segments.get(index.getInt(slotOffset(slot) + 8));
+        if (segment != null) {
+            segment.deadBytes += RECORD_OVERHEAD + length;
+        }
+    }
+
+    private void growIndex() {
+        if (capacity >= MAX_INDEX_CAPACITY) {
+            if (size + 1 > capacity * 0.9) {
+                throw new IllegalStateException(
+                        "Idempotent log store index: " + indexPath() + " is full with " + size + " keys");
+            }
+            return;
+        }
+        try {
+            Path tmp = directory.toPath().resolve(INDEX_FILE + ".tmp");
+            MappedByteBuffer old = index;
+            FileChannel oldChannel = indexChannel;
+            int oldCapacity = capacity;
+            int oldSize = size;
+            createIndex(tmp, oldCapacity * 2);
+            for (int i = 0; i < oldCapacity; i++) {
+                long fp = old.getLong(slotOffset(i));
+                if (fp != 0) {
+                    int slot = (int) fp & (capacity - 1);
+                    while (index.getLong(slotOffset(slot)) != 0) {
+                        slot = (slot + 1) & (capacity - 1);
+                    }
+                    index.putLong(slotOffset(slot), fp);
+                    index.putLong(slotOffset(slot) + 8, old.getLong(slotOffset(i) + 8));
+                }
+            }
+            size = oldSize;
+            IOHelper.close(oldChannel, "Closing idempotent log store index", LOG);
+            doSync();
+            Files.move(tmp, indexPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Resized idempotent log store index: {} to {} slots", indexPath(), capacity);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    // compaction
+    // -------------------------------------------------------------------------
+
+    /**
+     * Calculates the removed bytes of a segment which was written before the store was started
+     */
+    private void scanSegment(Segment segment) throws IOException {
+        long[] live = new long[1];
+        readRecords(segment.channel(), 0, segment.length, (op, data, offset) -> {
+            if (op == OP_REMOVE || isCurrent(data, segment.seq, offset)) {
+                live[0] += RECORD_OVERHEAD + data.length;
+            }
+        });
+        lock.lock();
+        try {
+            segment.deadBytes = segment.length - live[0];
+            segment.scanned = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isCurrent(byte[] data, int seq, long offset) {
+        long fp = Fingerprints.fingerprint(new String(data, StandardCharsets.UTF_8));
+        lock.lock();
+        try {
+            return index != null && findSlot(fp, seq, offset) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the current keys of the segment to the active segment, and deletes the segment
+     */
+    private void compactSegment(Segment segment) throws IOException {
+        LOG.debug("Compacting idempotent log store segment: {} with {} of {} bytes removed", segment.path,
+                segment.deadBytes, segment.length);
+        boolean oldest;
+        lock.lock();
+        try {
+            oldest = segments.firstKey() == segment.seq;
+        } finally {
+            lock.unlock();
+        }
+        readRecords(segment.channel(), 0, segment.length, (op, data, offset) -> {
+            long fp = Fingerprints.fingerprint(new String(data, StandardCharsets.UTF_8));
+            lock.lock();
+            try {
+                if (op == OP_ADD) {
+                    int slot = findSlot(fp, segment.seq, offset);
+                    if (slot >= 0) {
+                        long moved = append(OP_ADD, data);
+                        index.putInt(slotOffset(slot) + 8, active.seq);
+                        index.putInt(slotOffset(slot) + 12, (int) moved);
+                    }
+                } else if (!oldest && findSlot(fp, data) < 0) {
+                    // keep the removal, as an older segment may still have the key, unless the key has been added
+                    // again in a later segment, as the removal would then remove the key when replaying the log
+                    append(OP_REMOVE, data);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        deleteSegment(segment);
+    }
+
+    /**
+     * Deletes the oldest segment and its keys if the store is larger than the maximum size
+     */
+    private boolean dropOldestSegment() throws IOException {
+        Segment segment;
+        lock.lock();
+        try {
+            if (maxStoreSize <= 0 || segments.size() <= 1 || storeSize() <= maxStoreSize) {
+                return false;
+            }
+            segment = segments.firstEntry().getValue();
+        } finally {
+            lock.unlock();
+        }
+        LOG.debug("Dropping oldest idempotent log store segment: {} as the store is larger than {} bytes", segment.path,
+                maxStoreSize);
+        readRecords(segment.channel(), 0, segment.length, (op, data, offset) -> {
+            long fp = Fingerprints.fingerprint(new String(data, StandardCharsets.UTF_8));
+            lock.lock();
+            try {
+                int slot = op == OP_ADD ? findSlot(fp, segment.seq, offset) : -1;
+                if (slot >= 0) {
+                    deleteSlot(slot);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        deleteSegment(segment);
+        return true;
+    }
+
+    private void deleteSegment(Segment segment) throws IOException {
+        lock.lock();
+        try {
+            // make sure the index no longer needs the segment when starting
+            doSync();
+            if (!segments.remove(segment.seq, segment)) {
+                // the segment has been replaced by a new segment with the same sequence number
+                return;
+            }
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(byte op, byte[] data, long offset) throws IOException;
+    }
+
+    private static final class Segment {
+        private final int seq;
+        private final Path path;
+        private FileChannel channel;
+        private long length;
+        private long deadBytes;
+        private boolean scanned;
+
+        private Segment(int seq, Path path, boolean scanned) throws IOException {
+            this.seq = seq;
+            this.path = path;
+            this.scanned = scanned;
+            this.length = Files.exists(path) ? Files.size(path) : 0;
+        }
+
+        private FileChannel channel() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            return channel;
+        }
+
+        private void close() {
+            IOHelper.close(channel, "Closing idempotent log store segment", LOG);
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * A map that can be shared with copies of itself (see {@link #share()}) until either map is updated, which then first
+ * copies the underlying map (copy-on-write).
+ * <p/>
+ * Unlike {@link java.util.concurrent.CopyOnWriteArrayList} the underlying map is only copied on the first update after
+ * it has been shared, and then updated in place.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe, however copying the shared map is guarded so concurrent copies of
+ * the same map can be updated from different threads (such as parallel multicast branches).
+ */
+public class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+
+    private final UnaryOperator<Map<K, V>> copier;
+    private volatile Map<K, V> map;
+    private volatile boolean shared;
+    private EntrySet entrySet;
+
+    /**
+     * Creates a map
+     *
+     * @param map    the underlying map
+     * @param copier to copy the underlying map when it is updated while shared
+     */
+    public CopyOnWriteMap(Map<K, V> map, UnaryOperator<Map<K, V>> copier) {
+        this.map = map;
+        this.copier = copier;
+    }
+
+    private CopyOnWriteMap(CopyOnWriteMap<K, V> parent) {
+        this.map = parent.map;
+        this.copier = parent.copier;
+        this.shared = true;
+    }
+
+    /**
+     * Creates a copy of this map which shares the underlying map, until either map is updated.
+     */
+    public CopyOnWriteMap<K, V> share() {
+        this.shared = true;
+        return new CopyOnWriteMap<>(this);
+    }
+
+    /**
+     * Whether the underlying map is (possibly) shared with a copy of this map
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * The function used to copy the underlying map
+     */
+    public UnaryOperator<Map<K, V>> getCopier() {
+        return copier;
+    }
+
+    private Map<K, V> writable() {
+        if (shared) {
+            copyShared();
+        }
+        return map;
+    }
+
+    private synchronized void copyShared() {
+        if (shared) {
+            this.map = copier.apply(map);
+            this.shared = false;
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return writable().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (shared && !map.containsKey(key)) {
+            // no need to copy
+            return null;
+        }
+        return writable().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        if (!m.isEmpty()) {
+            writable().putAll(m);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            // no need to copy the entries
+            synchronized (this) {
+                Map<K, V> answer = copier.apply(Map.of());
+                this.map = answer;
+                this.shared = false;
+            }
+        } else {
+            map.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || map.equals(o instanceof CopyOnWriteMap<?, ?> other ? other.map : o);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator(map);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            CopyOnWriteMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        // the map being iterated, which may no longer be the current map if updated while iterating
+        private final Map<K, V> source;
+        private final Iterator<Entry<K, V>> it;
+        private Entry<K, V> last;
+
+        private EntryIterator(Map<K, V> source) {
+            this.source = source;
+            this.it = source.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            last = it.next();
+            return new IteratorEntry(source, last);
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (!shared && map == source) {
+                it.remove();
+            } else {
+                writable().remove(last.getKey());
+            }
+            last = null;
+        }
+    }
+
+    private final class IteratorEntry implements Entry<K, V> {
+        private final Map<K, V> source;
+        private final Entry<K, V> entry;
+
+        private IteratorEntry(Map<K, V> source, Entry<K, V> entry) {
+            this.source = source;
+            this.entry = entry;
+        }
+
+        @Override
+        public K getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public V getValue() {
+            return map == source ? entry.getValue() : map.get(entry.getKey());
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (!shared && map == source) {
+                return entry.setValue(value);
+            }
+            return writable().put(entry.getKey(), value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return entry.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return entry.toString();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map that uses case insensitive keys, but preserves the original key cases.
+ * <p/>
+ * The map is based on open addressing (linear probing) over plain arrays, and therefore does not allocate an entry
+ * object per key. The case insensitive hash of each key is stored alongside the key, so it is only computed once per
+ * put and get. Well-known keys (such as the Camel header constants) can be interned via {@link #intern(Collection)},
+ * which precomputes their hash and lets lookups with the same constant be resolved by an identity compare.
+ * <p/>
+ * Copying a map of the same type (see {@link #InternedCaseInsensitiveMap(Map)}) is an array clone.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed by the
+ * Camel routing engine. The iteration order is not defined.
+ */
+public class InternedCaseInsensitiveMap extends AbstractMap<String, Object> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    // a unique instance which marks a removed slot
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    private static final String DELETED = new String("<deleted>");
+
+    private static volatile Map<String, InternedKey> interned = Map.of();
+
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+    // number of used slots including removed
+    private int used;
+    private EntrySet entrySet;
+
+    public InternedCaseInsensitiveMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InternedCaseInsensitiveMap(int initialCapacity) {
+        int capacity = DEFAULT_CAPACITY;
+        // keep the load factor below 0.75
+        while (capacity * 3 / 4 <= initialCapacity) {
+            capacity <<= 1;
+        }
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+    }
+
+    public InternedCaseInsensitiveMap(Map<? extends String, ?> map) {
+        if (map instanceof InternedCaseInsensitiveMap other) {
+            keys = other.keys.clone();
+            values = other.values.clone();
+            hashes = other.hashes.clone();
+            size = other.size;
+            used = other.used;
+        } else {
+            int capacity = DEFAULT_CAPACITY;
+            while (capacity * 3 / 4 <= map.size()) {
+                capacity <<= 1;
+            }
+            keys = new String[capacity];
+            values = new Object[capacity];
+            hashes = new int[capacity];
+            putAll(map);
+        }
+    }
+
+    /**
+     * Interns the given well-known keys, which is shared by all maps of this type.
+     *
+     * @param names the keys
+     */
+    public static synchronized void intern(Collection<String> names) {
+        Map<String, InternedKey> answer = new HashMap<>(interned);
+        for (String name : names) {
+            if (name != null && !answer.containsKey(name)) {
+                answer.put(name, new InternedKey(name, hash(name)));
+            }
+        }
+        // copy on write as interning is rare and lookups are frequent
+        interned = Map.copyOf(answer);
+    }
+
+    /**
+     * Whether the given key has been interned
+     */
+    public static boolean isInterned(String name) {
+        return interned.containsKey(name);
+    }
+
+    static int hash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            // same folding as String.equalsIgnoreCase
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        // spread the higher bits as we mask with the capacity
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String name)) {
+            return -1;
+        }
+        String canonical = name;
+        int h;
+        InternedKey ik = interned.get(name);
+        if (ik != null) {
+            canonical = ik.name;
+            h = ik.hash;
+        } else {
+            h = hash(name);
+        }
+        int mask = keys.length - 1;
+        int i = h & mask;
+        for (;;) {
+            String k = keys[i];
+            if (k == null) {
+                return -1;
+            } else if (k == canonical || hashes[i] == h && k != DELETED && k.equalsIgnoreCase(name)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        int h;
+        InternedKey ik = interned.get(key);
+        if (ik != null) {
+            // store the canonical instance so lookups by the constant are identity compares
+            key = ik.name;
+            h = ik.hash;
+        } else {
+            h = hash(key);
+        }
+        int mask = keys.length - 1;
+        int i = h & mask;
+        int free = -1;
+        for (;;) {
+            String k = keys[i];
+            if (k == null) {
+                break;
+            } else if (k == DELETED) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (k == key || hashes[i] == h && k.equalsIgnoreCase(key)) {
+                // preserve the original key case as CaseInsensitiveMap does
+                Object answer = values[i];
+                values[i] = value;
+                return answer;
+            }
+            i = (i + 1) & mask;
+        }
+        if (free >= 0) {
+            i = free;
+        } else {
+            used++;
+        }
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = h;
+        size++;
+        if (used >= keys.length * 3 / 4) {
+            // grow unless there are many removed slots which is enough to purge
+            rehash(size >= keys.length / 2 ? keys.length << 1 : keys.length);
+        }
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        return removeAt(i);
+    }
+
+    private Object removeAt(int i) {
+        Object answer = values[i];
+        keys[i] = DELETED;
+        values[i] = null;
+        size--;
+        return answer;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        used = 0;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            String k = oldKeys[j];
+            if (k != null && k != DELETED) {
+                int i = oldHashes[j] & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+        used = size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private record InternedKey(String name, int hash) {
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            InternedCaseInsensitiveMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next = advance(0);
+        private int last = -1;
+
+        private int advance(int i) {
+            while (i < keys.length && (keys[i] == null || keys[i] == DELETED)) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (next >= keys.length) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new SlotEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            last = -1;
+        }
+    }
+
+    private final class SlotEntry implements Entry<String, Object> {
+        private final String key;
+        private final int index;
+
+        private SlotEntry(int index) {
+            this.key = keys[index];
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            // the slot is only valid as long as the map is not rehashed
+            return keys[index] == key ? values[index] : get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if (keys[index] == key) {
+                Object answer = values[index];
+                values[index] = value;
+                return answer;
+            }
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> e && key.equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
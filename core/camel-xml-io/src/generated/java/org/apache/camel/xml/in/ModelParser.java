@@ -91,6 +91,7 @@ public class ModelParser extends BaseParser {
                 case "executorService": def.setExecutorService(val); yield true;
                 case "forceCompletionOnStop": def.setForceCompletionOnStop(val); yield true;
                 case "ignoreInvalidCorrelationKeys": def.setIgnoreInvalidCorrelationKeys(val); yield true;
+                case "lockStripes": def.setLockStripes(val); yield true;
                 case "optimisticLocking": def.setOptimisticLocking(val); yield true;
                 case "parallelProcessing": def.setParallelProcessing(val); yield true;
                 case "timeoutCheckerExecutorService": def.setTimeoutCheckerExecutorService(val); yield true;
@@ -281,9 +282,20 @@ public class ModelParser extends BaseParser {
                 case "filter": def.setFilter(val); yield true;
                 case "key": def.setKey(val); yield true;
                 case "operation": def.setOperation(val); yield true;
+                case "repository": def.setRepository(val); yield true;
                 default: yield processorDefinitionAttributeHandler().accept(def, key, val);
             }, optionalIdentifiedDefinitionElementHandler(), noValueHandler());
     }
+    protected ConcurrencyLimitDefinition doParseConcurrencyLimitDefinition() throws IOException, XmlPullParserException {
+        return doParse(new ConcurrencyLimitDefinition(), (def, key, val) -> switch (key) {
+                case "algorithm": def.setAlgorithm(val); yield true;
+                case "initialLimit": def.setInitialLimit(val); yield true;
+                case "maxLimit": def.setMaxLimit(val); yield true;
+                case "maxQueueSize": def.setMaxQueueSize(val); yield true;
+                case "minLimit": def.setMinLimit(val); yield true;
+                default: yield processorDefinitionAttributeHandler().accept(def, key, val);
+            }, outputDefinitionElementHandler(), noValueHandler());
+    }
     protected ContextScanDefinition doParseContextScanDefinition() throws IOException, XmlPullParserException {
         return doParse(new ContextScanDefinition(), (def, key, val) -> switch (key) {
                 case "includeNonSingletons": def.setIncludeNonSingletons(val); yield true;
@@ -375,6 +387,8 @@ public class ModelParser extends BaseParser {
                 case "aggregationStrategyMethodName": def.setAggregationStrategyMethodName(val); yield true;
                 case "allowOptimisedComponents": def.setAllowOptimisedComponents(val); yield true;
                 case "autoStartComponents": def.setAutoStartComponents(val); yield true;
+                case "batchSize": def.setBatchSize(val); yield true;
+                case "batchTimeout": def.setBatchTimeout(val); yield true;
                 case "cacheSize": def.setCacheSize(val); yield true;
                 case "ignoreInvalidEndpoint": def.setIgnoreInvalidEndpoint(val); yield true;
                 case "shareUnitOfWork": def.setShareUnitOfWork(val); yield true;
@@ -506,6 +520,8 @@ public class ModelParser extends BaseParser {
         return doParse(new LoadBalanceDefinition(), processorDefinitionAttributeHandler(), (def, key) -> switch (key) {
                 case "customLoadBalancer": def.setLoadBalancerType(doParseCustomLoadBalancerDefinition()); yield true;
                 case "failoverLoadBalancer": def.setLoadBalancerType(doParseFailoverLoadBalancerDefinition()); yield true;
+                case "leastInFlightLoadBalancer": def.setLoadBalancerType(doParseLeastInFlightLoadBalancerDefinition()); yield true;
+                case "peakEwmaLoadBalancer": def.setLoadBalancerType(doParsePeakEwmaLoadBalancerDefinition()); yield true;
                 case "randomLoadBalancer": def.setLoadBalancerType(doParseRandomLoadBalancerDefinition()); yield true;
                 case "roundRobinLoadBalancer": def.setLoadBalancerType(doParseRoundRobinLoadBalancerDefinition()); yield true;
                 case "stickyLoadBalancer": def.setLoadBalancerType(doParseStickyLoadBalancerDefinition()); yield true;
@@ -548,6 +564,14 @@ public class ModelParser extends BaseParser {
                 return optionalIdentifiedDefinitionElementHandler().accept(def, key);
             }, noValueHandler());
     }
+    protected MicroBatchDefinition doParseMicroBatchDefinition() throws IOException, XmlPullParserException {
+        return doParse(new MicroBatchDefinition(), (def, key, val) -> switch (key) {
+                case "maxBytes": def.setMaxBytes(val); yield true;
+                case "size": def.setSize(val); yield true;
+                case "timeout": def.setTimeout(val); yield true;
+                default: yield processorDefinitionAttributeHandler().accept(def, key, val);
+            }, outputDefinitionElementHandler(), noValueHandler());
+    }
     protected MulticastDefinition doParseMulticastDefinition() throws IOException, XmlPullParserException {
         return doParse(new MulticastDefinition(), (def, key, val) -> switch (key) {
                 case "aggregationStrategy": def.setAggregationStrategy(val); yield true;
@@ -1132,6 +1156,7 @@ public class ModelParser extends BaseParser {
                 case "aggregationStrategyMethodName": def.setAggregationStrategyMethodName(val); yield true;
                 case "delimiter": def.setDelimiter(val); yield true;
                 case "executorService": def.setExecutorService(val); yield true;
+                case "maxInFlight": def.setMaxInFlight(val); yield true;
                 case "onPrepare": def.setOnPrepare(val); yield true;
                 case "parallelAggregate": def.setParallelAggregate(val); yield true;
                 case "parallelProcessing": def.setParallelProcessing(val); yield true;
@@ -1351,9 +1376,12 @@ public class ModelParser extends BaseParser {
     protected WireTapDefinition doParseWireTapDefinition() throws IOException, XmlPullParserException {
         return doParse(new WireTapDefinition(), (def, key, val) -> switch (key) {
                 case "copy": def.setCopy(val); yield true;
+                case "drainBatchSize": def.setDrainBatchSize(val); yield true;
                 case "dynamicUri": def.setDynamicUri(val); yield true;
                 case "executorService": def.setExecutorService(val); yield true;
                 case "onPrepare": def.setOnPrepare(val); yield true;
+                case "queueOverflow": def.setQueueOverflow(val); yield true;
+                case "queueSize": def.setQueueSize(val); yield true;
                 default: yield toDynamicDefinitionAttributeHandler().accept(def, key, val);
             }, optionalIdentifiedDefinitionElementHandler(), noValueHandler());
     }
@@ -2514,6 +2542,15 @@ public class ModelParser extends BaseParser {
                 default: yield false;
             }, noValueHandler());
     }
+    protected LeastInFlightLoadBalancerDefinition doParseLeastInFlightLoadBalancerDefinition() throws IOException, XmlPullParserException {
+        return doParse(new LeastInFlightLoadBalancerDefinition(), identifiedTypeAttributeHandler(), noElementHandler(), noValueHandler());
+    }
+    protected PeakEwmaLoadBalancerDefinition doParsePeakEwmaLoadBalancerDefinition() throws IOException, XmlPullParserException {
+        return doParse(new PeakEwmaLoadBalancerDefinition(), (def, key, val) -> switch (key) {
+                case "decayTime": def.setDecayTime(val); yield true;
+                default: yield identifiedTypeAttributeHandler().accept(def, key, val);
+            }, noElementHandler(), noValueHandler());
+    }
     protected RandomLoadBalancerDefinition doParseRandomLoadBalancerDefinition() throws IOException, XmlPullParserException {
         return doParse(new RandomLoadBalancerDefinition(), identifiedTypeAttributeHandler(), noElementHandler(), noValueHandler());
     }
@@ -2859,6 +2896,7 @@ public class ModelParser extends BaseParser {
             case "choice": return doParseChoiceDefinition();
             case "circuitBreaker": return doParseCircuitBreakerDefinition();
             case "claimCheck": return doParseClaimCheckDefinition();
+            case "concurrencyLimit": return doParseConcurrencyLimitDefinition();
             case "convertBodyTo": return doParseConvertBodyDefinition();
             case "convertHeaderTo": return doParseConvertHeaderDefinition();
             case "convertVariableTo": return doParseConvertVariableDefinition();
@@ -2876,6 +2914,7 @@ public class ModelParser extends BaseParser {
             case "log": return doParseLogDefinition();
             case "loop": return doParseLoopDefinition();
             case "marshal": return doParseMarshalDefinition();
+            case "microBatch": return doParseMicroBatchDefinition();
             case "multicast": return doParseMulticastDefinition();
             case "onCompletion": return doParseOnCompletionDefinition();
             case "onException": return doParseOnExceptionDefinition();
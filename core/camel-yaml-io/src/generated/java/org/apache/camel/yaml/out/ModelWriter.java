@@ -73,6 +73,9 @@ public class ModelWriter extends BaseWriter {
     public void writeClaimCheckDefinition(ClaimCheckDefinition def) throws IOException {
         doWriteClaimCheckDefinition("claimCheck", def);
     }
+    public void writeConcurrencyLimitDefinition(ConcurrencyLimitDefinition def) throws IOException {
+        doWriteConcurrencyLimitDefinition("concurrencyLimit", def);
+    }
     public void writeContextScanDefinition(ContextScanDefinition def) throws IOException {
         doWriteContextScanDefinition("contextScan", def);
     }
@@ -148,6 +151,9 @@ public class ModelWriter extends BaseWriter {
     public void writeMarshalDefinition(MarshalDefinition def) throws IOException {
         doWriteMarshalDefinition("marshal", def);
     }
+    public void writeMicroBatchDefinition(MicroBatchDefinition def) throws IOException {
+        doWriteMicroBatchDefinition("microBatch", def);
+    }
     public void writeMulticastDefinition(MulticastDefinition def) throws IOException {
         doWriteMulticastDefinition("multicast", def);
     }
@@ -685,6 +691,12 @@ public class ModelWriter extends BaseWriter {
     public void writeFailoverLoadBalancerDefinition(FailoverLoadBalancerDefinition def) throws IOException {
         doWriteFailoverLoadBalancerDefinition("failoverLoadBalancer", def);
     }
+    public void writeLeastInFlightLoadBalancerDefinition(LeastInFlightLoadBalancerDefinition def) throws IOException {
+        doWriteLeastInFlightLoadBalancerDefinition("leastInFlightLoadBalancer", def);
+    }
+    public void writePeakEwmaLoadBalancerDefinition(PeakEwmaLoadBalancerDefinition def) throws IOException {
+        doWritePeakEwmaLoadBalancerDefinition("peakEwmaLoadBalancer", def);
+    }
     public void writeRandomLoadBalancerDefinition(RandomLoadBalancerDefinition def) throws IOException {
         doWriteRandomLoadBalancerDefinition("randomLoadBalancer", def);
     }
@@ -834,6 +846,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("completionFromBatchConsumer", def.getCompletionFromBatchConsumer(), null);
         doWriteAttribute("completeAllOnStop", def.getCompleteAllOnStop(), null);
         doWriteAttribute("completionSize", def.getCompletionSize(), null);
+        doWriteAttribute("lockStripes", def.getLockStripes(), null);
         doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName(), null);
         doWriteAttribute("aggregateController", def.getAggregateController(), null);
         doWriteAttribute("completionTimeout", def.getCompletionTimeout(), null);
@@ -925,11 +938,23 @@ public class ModelWriter extends BaseWriter {
         doWriteProcessorDefinitionAttributes(def);
         doWriteAttribute("filter", def.getFilter(), null);
         doWriteAttribute("aggregationStrategy", def.getAggregationStrategy(), null);
+        doWriteAttribute("repository", def.getRepository(), null);
         doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName(), null);
         doWriteAttribute("operation", def.getOperation(), null);
         doWriteAttribute("key", def.getKey(), null);
         endElement(name);
     }
+    protected void doWriteConcurrencyLimitDefinition(String name, ConcurrencyLimitDefinition def) throws IOException {
+        startElement(name);
+        doWriteProcessorDefinitionAttributes(def);
+        doWriteAttribute("initialLimit", def.getInitialLimit(), "20");
+        doWriteAttribute("maxQueueSize", def.getMaxQueueSize(), "100");
+        doWriteAttribute("maxLimit", def.getMaxLimit(), "200");
+        doWriteAttribute("minLimit", def.getMinLimit(), "1");
+        doWriteAttribute("algorithm", def.getAlgorithm(), "Vegas");
+        doWriteList(null, null, def.getOutputs(), this::doWriteProcessorDefinitionRef);
+        endElement(name);
+    }
     protected void doWriteContextScanDefinition(String name, ContextScanDefinition def) throws IOException {
         startElement(name);
         doWriteAttribute("includeNonSingletons", def.getIncludeNonSingletons(), null);
@@ -991,15 +1016,17 @@ public class ModelWriter extends BaseWriter {
     protected void doWriteEnrichDefinition(String name, EnrichDefinition def) throws IOException {
         startElement(name);
         doWriteProcessorDefinitionAttributes(def);
-        doWriteAttribute("variableReceive", def.getVariableReceive(), null);
         doWriteAttribute("variableSend", def.getVariableSend(), null);
         doWriteAttribute("cacheSize", def.getCacheSize(), null);
         doWriteAttribute("aggregationStrategy", def.getAggregationStrategy(), null);
+        doWriteAttribute("allowOptimisedComponents", def.getAllowOptimisedComponents(), "true");
+        doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName(), null);
+        doWriteAttribute("batchTimeout", def.getBatchTimeout(), "100");
+        doWriteAttribute("variableReceive", def.getVariableReceive(), null);
         doWriteAttribute("ignoreInvalidEndpoint", def.getIgnoreInvalidEndpoint(), null);
         doWriteAttribute("autoStartComponents", def.getAutoStartComponents(), "true");
-        doWriteAttribute("allowOptimisedComponents", def.getAllowOptimisedComponents(), "true");
+        doWriteAttribute("batchSize", def.getBatchSize(), null);
         doWriteAttribute("aggregateOnException", def.getAggregateOnException(), null);
-        doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName(), null);
         doWriteAttribute("shareUnitOfWork", def.getShareUnitOfWork(), null);
         doWriteAttribute("aggregationStrategyMethodAllowNull", def.getAggregationStrategyMethodAllowNull(), null);
         doWriteExpressionNodeElements(def);
@@ -1157,6 +1184,8 @@ public class ModelWriter extends BaseWriter {
             switch (v.getClass().getSimpleName()) {
                 case "CustomLoadBalancerDefinition" -> doWriteCustomLoadBalancerDefinition("customLoadBalancer", (CustomLoadBalancerDefinition) v);
                 case "FailoverLoadBalancerDefinition" -> doWriteFailoverLoadBalancerDefinition("failoverLoadBalancer", (FailoverLoadBalancerDefinition) v);
+                case "LeastInFlightLoadBalancerDefinition" -> doWriteLeastInFlightLoadBalancerDefinition("leastInFlightLoadBalancer", (LeastInFlightLoadBalancerDefinition) v);
+                case "PeakEwmaLoadBalancerDefinition" -> doWritePeakEwmaLoadBalancerDefinition("peakEwmaLoadBalancer", (PeakEwmaLoadBalancerDefinition) v);
                 case "RandomLoadBalancerDefinition" -> doWriteRandomLoadBalancerDefinition("randomLoadBalancer", (RandomLoadBalancerDefinition) v);
                 case "RoundRobinLoadBalancerDefinition" -> doWriteRoundRobinLoadBalancerDefinition("roundRobinLoadBalancer", (RoundRobinLoadBalancerDefinition) v);
                 case "StickyLoadBalancerDefinition" -> doWriteStickyLoadBalancerDefinition("stickyLoadBalancer", (StickyLoadBalancerDefinition) v);
@@ -1248,6 +1277,15 @@ public class ModelWriter extends BaseWriter {
         });
         endElement(name);
     }
+    protected void doWriteMicroBatchDefinition(String name, MicroBatchDefinition def) throws IOException {
+        startElement(name);
+        doWriteProcessorDefinitionAttributes(def);
+        doWriteAttribute("size", def.getSize(), "100");
+        doWriteAttribute("maxBytes", def.getMaxBytes(), null);
+        doWriteAttribute("timeout", def.getTimeout(), "1000");
+        doWriteList(null, null, def.getOutputs(), this::doWriteProcessorDefinitionRef);
+        endElement(name);
+    }
     protected void doWriteMulticastDefinition(String name, MulticastDefinition def) throws IOException {
         startElement(name);
         doWriteProcessorDefinitionAttributes(def);
@@ -1800,6 +1838,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("stopOnException", def.getStopOnException(), null);
         doWriteAttribute("delimiter", def.getDelimiter(), ",");
         doWriteAttribute("parallelProcessing", def.getParallelProcessing(), null);
+        doWriteAttribute("maxInFlight", def.getMaxInFlight(), null);
         doWriteAttribute("parallelAggregate", def.getParallelAggregate(), null);
         doWriteAttribute("shareUnitOfWork", def.getShareUnitOfWork(), null);
         doWriteAttribute("aggregationStrategyMethodAllowNull", def.getAggregationStrategyMethodAllowNull(), null);
@@ -2030,9 +2069,12 @@ public class ModelWriter extends BaseWriter {
         startElement(name);
         doWriteToDynamicDefinitionAttributes(def);
         doWriteAttribute("dynamicUri", def.getDynamicUri(), "true");
+        doWriteAttribute("drainBatchSize", def.getDrainBatchSize(), "1");
+        doWriteAttribute("queueSize", def.getQueueSize(), null);
         doWriteAttribute("onPrepare", def.getOnPrepare(), null);
         doWriteAttribute("executorService", def.getExecutorService(), null);
         doWriteAttribute("copy", def.getCopy(), "true");
+        doWriteAttribute("queueOverflow", def.getQueueOverflow(), "DropOldest");
         endElement(name);
     }
     protected void doWriteApplicationDefinition(String name, ApplicationDefinition def) throws IOException {
@@ -3308,6 +3350,17 @@ public class ModelWriter extends BaseWriter {
         doWriteList(null, "exception", def.getExceptions(), this::doWriteString);
         endElement(name);
     }
+    protected void doWriteLeastInFlightLoadBalancerDefinition(String name, LeastInFlightLoadBalancerDefinition def) throws IOException {
+        startElement(name);
+        doWriteIdentifiedTypeAttributes(def);
+        endElement(name);
+    }
+    protected void doWritePeakEwmaLoadBalancerDefinition(String name, PeakEwmaLoadBalancerDefinition def) throws IOException {
+        startElement(name);
+        doWriteIdentifiedTypeAttributes(def);
+        doWriteAttribute("decayTime", def.getDecayTime(), "10000");
+        endElement(name);
+    }
     protected void doWriteRandomLoadBalancerDefinition(String name, RandomLoadBalancerDefinition def) throws IOException {
         startElement(name);
         doWriteIdentifiedTypeAttributes(def);
@@ -3795,6 +3848,7 @@ public class ModelWriter extends BaseWriter {
                 case "ChoiceDefinition" -> doWriteChoiceDefinition("choice", (ChoiceDefinition) v);
                 case "CircuitBreakerDefinition" -> doWriteCircuitBreakerDefinition("circuitBreaker", (CircuitBreakerDefinition) v);
                 case "ClaimCheckDefinition" -> doWriteClaimCheckDefinition("claimCheck", (ClaimCheckDefinition) v);
+                case "ConcurrencyLimitDefinition" -> doWriteConcurrencyLimitDefinition("concurrencyLimit", (ConcurrencyLimitDefinition) v);
                 case "ConvertBodyDefinition" -> doWriteConvertBodyDefinition("convertBodyTo", (ConvertBodyDefinition) v);
                 case "ConvertHeaderDefinition" -> doWriteConvertHeaderDefinition("convertHeaderTo", (ConvertHeaderDefinition) v);
                 case "ConvertVariableDefinition" -> doWriteConvertVariableDefinition("convertVariableTo", (ConvertVariableDefinition) v);
@@ -3814,6 +3868,7 @@ public class ModelWriter extends BaseWriter {
                 case "LogDefinition" -> doWriteLogDefinition("log", (LogDefinition) v);
                 case "LoopDefinition" -> doWriteLoopDefinition("loop", (LoopDefinition) v);
                 case "MarshalDefinition" -> doWriteMarshalDefinition("marshal", (MarshalDefinition) v);
+                case "MicroBatchDefinition" -> doWriteMicroBatchDefinition("microBatch", (MicroBatchDefinition) v);
                 case "MulticastDefinition" -> doWriteMulticastDefinition("multicast", (MulticastDefinition) v);
                 case "OnCompletionDefinition" -> doWriteOnCompletionDefinition("onCompletion", (OnCompletionDefinition) v);
                 case "OnExceptionDefinition" -> doWriteOnExceptionDefinition("onException", (OnExceptionDefinition) v);
@@ -3902,6 +3957,7 @@ public class ModelWriter extends BaseWriter {
                 case "ChoiceDefinition" -> doWriteChoiceDefinition("choice", (ChoiceDefinition) v);
                 case "CircuitBreakerDefinition" -> doWriteCircuitBreakerDefinition("circuitBreaker", (CircuitBreakerDefinition) v);
                 case "ClaimCheckDefinition" -> doWriteClaimCheckDefinition("claimCheck", (ClaimCheckDefinition) v);
+                case "ConcurrencyLimitDefinition" -> doWriteConcurrencyLimitDefinition("concurrencyLimit", (ConcurrencyLimitDefinition) v);
                 case "ConvertBodyDefinition" -> doWriteConvertBodyDefinition("convertBodyTo", (ConvertBodyDefinition) v);
                 case "ConvertHeaderDefinition" -> doWriteConvertHeaderDefinition("convertHeaderTo", (ConvertHeaderDefinition) v);
                 case "ConvertVariableDefinition" -> doWriteConvertVariableDefinition("convertVariableTo", (ConvertVariableDefinition) v);
@@ -3919,6 +3975,7 @@ public class ModelWriter extends BaseWriter {
                 case "LogDefinition" -> doWriteLogDefinition("log", (LogDefinition) v);
                 case "LoopDefinition" -> doWriteLoopDefinition("loop", (LoopDefinition) v);
                 case "MarshalDefinition" -> doWriteMarshalDefinition("marshal", (MarshalDefinition) v);
+                case "MicroBatchDefinition" -> doWriteMicroBatchDefinition("microBatch", (MicroBatchDefinition) v);
                 case "MulticastDefinition" -> doWriteMulticastDefinition("multicast", (MulticastDefinition) v);
                 case "OnCompletionDefinition" -> doWriteOnCompletionDefinition("onCompletion", (OnCompletionDefinition) v);
                 case "OnExceptionDefinition" -> doWriteOnExceptionDefinition("onException", (OnExceptionDefinition) v);
@@ -17,6 +17,7 @@ import org.apache.camel.model.CatchDefinition;
 import org.apache.camel.model.ChoiceDefinition;
 import org.apache.camel.model.CircuitBreakerDefinition;
 import org.apache.camel.model.ClaimCheckDefinition;
+import org.apache.camel.model.ConcurrencyLimitDefinition;
 import org.apache.camel.model.ContextScanDefinition;
 import org.apache.camel.model.ConvertBodyDefinition;
 import org.apache.camel.model.ConvertHeaderDefinition;
@@ -40,6 +41,7 @@ import org.apache.camel.model.LoadBalanceDefinition;
 import org.apache.camel.model.LogDefinition;
 import org.apache.camel.model.LoopDefinition;
 import org.apache.camel.model.MarshalDefinition;
+import org.apache.camel.model.MicroBatchDefinition;
 import org.apache.camel.model.MulticastDefinition;
 import org.apache.camel.model.OnCompletionDefinition;
 import org.apache.camel.model.OnExceptionDefinition;
@@ -217,6 +219,8 @@ import org.apache.camel.model.language.XPathExpression;
 import org.apache.camel.model.language.XQueryExpression;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInFlightLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -362,6 +366,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "forceCompletionOnStop", type = "boolean", description = "Indicates to complete all current aggregated exchanges when the context is stopped", displayName = "Force Completion On Stop"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
                     @YamlProperty(name = "ignoreInvalidCorrelationKeys", type = "boolean", description = "If a correlation key cannot be successfully evaluated it will be ignored by logging a DEBUG and then just ignore the incoming Exchange.", displayName = "Ignore Invalid Correlation Keys"),
+                    @YamlProperty(name = "lockStripes", type = "number", description = "Stripes the aggregation lock over the given number of locks, which allows exchanges with different correlation keys to be aggregated in parallel. Exchanges with the same correlation key are still aggregated one at a time. This option cannot be used together with optimistic locking, completionFromBatchConsumer or completionOnNewCorrelationGroup. The aggregation strategy is then called concurrently for different correlation keys, so it must be thread-safe.", displayName = "Lock Stripes"),
                     @YamlProperty(name = "optimisticLockRetryPolicy", type = "object:org.apache.camel.model.OptimisticLockRetryPolicyDefinition", description = "Allows to configure retry settings when using optimistic locking.", displayName = "Optimistic Lock Retry Policy"),
                     @YamlProperty(name = "optimisticLocking", type = "boolean", description = "Turns on using optimistic locking, which requires the aggregationRepository being used, is supporting this by implementing org.apache.camel.spi.OptimisticLockingAggregationRepository .", displayName = "Optimistic Locking"),
                     @YamlProperty(name = "parallelProcessing", type = "boolean", description = "When aggregated are completed they are being send out of the aggregator. This option indicates whether or not Camel should use a thread pool with multiple threads for concurrency. If no custom thread pool has been specified then Camel creates a default pool with 10 concurrent threads.", displayName = "Parallel Processing"),
@@ -504,6 +509,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setIgnoreInvalidCorrelationKeys(val);
                     break;
                 }
+                case "lockStripes": {
+                    String val = asText(node);
+                    target.setLockStripes(val);
+                    break;
+                }
                 case "optimisticLockRetryPolicy": {
                     org.apache.camel.model.OptimisticLockRetryPolicyDefinition val = asType(node, org.apache.camel.model.OptimisticLockRetryPolicyDefinition.class);
                     target.setOptimisticLockRetryPolicyDefinition(val);
@@ -2134,7 +2144,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "filter", type = "string", description = "Specify a filter to control what data gets merged data back from the claim check repository. The following syntax is supported: body - to aggregate the message body attachments - to aggregate all the message attachments headers - to aggregate all the message headers header:pattern - to aggregate all the message headers that matches the pattern. The following pattern rules are applied in this order: exact match, returns true wildcard match (pattern ends with a and the name starts with the pattern), returns true regular expression match, returns true otherwise returns false You can specify multiple rules separated by comma. For example, the following includes the message body and all headers starting with foo: body,header:foo. The syntax supports the following prefixes which can be used to specify include,exclude, or remove - to include (which is the default mode) - - to exclude (exclude takes precedence over include) -- - to remove (remove takes precedence) For example to exclude a header name foo, and remove all headers starting with bar, -header:foo,--headers:bar Note you cannot have both include and exclude header:pattern at the same time.", displayName = "Filter"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
                     @YamlProperty(name = "key", type = "string", description = "To use a specific key for claim check id (for dynamic keys use simple language syntax as the key).", displayName = "Key"),
-                    @YamlProperty(name = "operation", type = "enum:Get,GetAndRemove,Set,Push,Pop", description = "The claim check operation to use. The following operations are supported: Get - Gets (does not remove) the claim check by the given key. GetAndRemove - Gets and removes the claim check by the given key. Set - Sets a new (will override if key already exists) claim check with the given key. Push - Sets a new claim check on the stack (does not use key). Pop - Gets the latest claim check from the stack (does not use key).", displayName = "Operation")
+                    @YamlProperty(name = "operation", type = "enum:Get,GetAndRemove,Set,Push,Pop", description = "The claim check operation to use. The following operations are supported: Get - Gets (does not remove) the claim check by the given key. GetAndRemove - Gets and removes the claim check by the given key. Set - Sets a new (will override if key already exists) claim check with the given key. Push - Sets a new claim check on the stack (does not use key). Pop - Gets the latest claim check from the stack (does not use key).", displayName = "Operation"),
+                    @YamlProperty(name = "repository", type = "string", description = "To use a shared ClaimCheckRepository instead of the default repository, which is private per exchange. For example the org.apache.camel.processor.FileClaimCheckRepository which stores the message bodies on disk.", displayName = "Repository")
             }
     )
     public static class ClaimCheckDefinitionDeserializer extends YamlDeserializerBase<ClaimCheckDefinition> {
@@ -2182,6 +2193,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setOperation(val);
                     break;
                 }
+                case "repository": {
+                    String val = asText(node);
+                    target.setRepository(val);
+                    break;
+                }
                 case "id": {
                     String val = asText(node);
                     target.setId(val);
@@ -2436,6 +2452,95 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         }
     }
 
+    @YamlType(
+            nodes = {
+                    "concurrency-limit",
+                    "concurrencyLimit"
+            },
+            types = org.apache.camel.model.ConcurrencyLimitDefinition.class,
+            order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
+            displayName = "Concurrency Limit",
+            description = "Limits the number of messages processed concurrently by its outputs, where the limit adapts to the latency of the outputs",
+            deprecated = false,
+            properties = {
+                    @YamlProperty(name = "algorithm", type = "enum:Vegas,Gradient", defaultValue = "Vegas", description = "The algorithm used to adapt the concurrency limit, either Vegas or Gradient.", displayName = "Algorithm"),
+                    @YamlProperty(name = "description", type = "string", description = "Sets the description of this node", displayName = "Description"),
+                    @YamlProperty(name = "disabled", type = "boolean", description = "Whether to disable this EIP from the route during build time. Once an EIP has been disabled then it cannot be enabled later at runtime.", displayName = "Disabled"),
+                    @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
+                    @YamlProperty(name = "initialLimit", type = "number", defaultValue = "20", description = "The concurrency limit to start with, before it has been adapted.", displayName = "Initial Limit"),
+                    @YamlProperty(name = "maxLimit", type = "number", defaultValue = "200", description = "The highest concurrency limit.", displayName = "Max Limit"),
+                    @YamlProperty(name = "maxQueueSize", type = "number", defaultValue = "100", description = "The maximum number of messages to queue when the concurrency limit is reached. When the queue is full, then messages are rejected. Use 0 to reject right away.", displayName = "Max Queue Size"),
+                    @YamlProperty(name = "minLimit", type = "number", defaultValue = "1", description = "The lowest concurrency limit.", displayName = "Min Limit"),
+                    @YamlProperty(name = "steps", type = "array:org.apache.camel.model.ProcessorDefinition")
+            }
+    )
+    public static class ConcurrencyLimitDefinitionDeserializer extends YamlDeserializerBase<ConcurrencyLimitDefinition> {
+        public ConcurrencyLimitDefinitionDeserializer() {
+            super(ConcurrencyLimitDefinition.class);
+        }
+
+        @Override
+        protected ConcurrencyLimitDefinition newInstance() {
+            return new ConcurrencyLimitDefinition();
+        }
+
+        @Override
+        protected boolean setProperty(ConcurrencyLimitDefinition target, String propertyKey,
+                String propertyName, Node node) {
+            propertyKey = org.apache.camel.util.StringHelper.dashToCamelCase(propertyKey);
+            switch(propertyKey) {
+                case "algorithm": {
+                    String val = asText(node);
+                    target.setAlgorithm(val);
+                    break;
+                }
+                case "disabled": {
+                    String val = asText(node);
+                    target.setDisabled(val);
+                    break;
+                }
+                case "initialLimit": {
+                    String val = asText(node);
+                    target.setInitialLimit(val);
+                    break;
+                }
+                case "maxLimit": {
+                    String val = asText(node);
+                    target.setMaxLimit(val);
+                    break;
+                }
+                case "maxQueueSize": {
+                    String val = asText(node);
+                    target.setMaxQueueSize(val);
+                    break;
+                }
+                case "minLimit": {
+                    String val = asText(node);
+                    target.setMinLimit(val);
+                    break;
+                }
+                case "id": {
+                    String val = asText(node);
+                    target.setId(val);
+                    break;
+                }
+                case "description": {
+                    String val = asText(node);
+                    target.setDescription(val);
+                    break;
+                }
+                case "steps": {
+                    setSteps(target, node);
+                    break;
+                }
+                default: {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @YamlType(
             nodes = "constant",
             inline = true,
@@ -5347,6 +5452,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "aggregationStrategyMethodName", type = "string", description = "This option can be used to explicit declare the method name to use, when using POJOs as the AggregationStrategy.", displayName = "Aggregation Strategy Method Name"),
                     @YamlProperty(name = "allowOptimisedComponents", type = "boolean", description = "Whether to allow components to optimise enricher if they are org.apache.camel.spi.SendDynamicAware .", displayName = "Allow Optimised Components"),
                     @YamlProperty(name = "autoStartComponents", type = "boolean", description = "Whether to auto startup components when enricher is starting up.", displayName = "Auto Start Components"),
+                    @YamlProperty(name = "batchSize", type = "number", description = "Enables batched lookups, where up to this number of messages are enriched with a single call to the resource endpoint. The resource is called with a List of the message bodies as the keys to lookup, and must reply with a Map of the results by key, or a List of the results in the same order as the keys. Each message is then aggregated with its own result using the AggregationStrategy.", displayName = "Batch Size"),
+                    @YamlProperty(name = "batchTimeout", type = "string", defaultValue = "100", description = "The maximum time in millis to wait for more messages to fill up a batch, when using batched lookups. The batch is sent to the resource endpoint when the time has elapsed since the first message was added, even if it is not full. The timeout must be positive.", displayName = "Batch Timeout"),
                     @YamlProperty(name = "cacheSize", type = "number", description = "Sets the maximum size used by the org.apache.camel.spi.ProducerCache which is used to cache and reuse producer when uris are reused. Beware that when using dynamic endpoints then it affects how well the cache can be utilized. If each dynamic endpoint is unique then its best to turn off caching by setting this to -1, which allows Camel to not cache both the producers and endpoints; they are regarded as prototype scoped and will be stopped and discarded after use. This reduces memory usage as otherwise producers/endpoints are stored in memory in the caches. However if there are a high degree of dynamic endpoints that have been used before, then it can benefit to use the cache to reuse both producers and endpoints and therefore the cache size can be set accordingly or rely on the default size (1000). If there is a mix of unique and used before dynamic endpoints, then setting a reasonable cache size can help reduce memory usage to avoid storing too many non frequent used producers.", displayName = "Cache Size"),
                     @YamlProperty(name = "description", type = "string", description = "Sets the description of this node", displayName = "Description"),
                     @YamlProperty(name = "disabled", type = "boolean", description = "Whether to disable this EIP from the route during build time. Once an EIP has been disabled then it cannot be enabled later at runtime.", displayName = "Disabled"),
@@ -5403,6 +5510,16 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setAutoStartComponents(val);
                     break;
                 }
+                case "batchSize": {
+                    String val = asText(node);
+                    target.setBatchSize(val);
+                    break;
+                }
+                case "batchTimeout": {
+                    String val = asText(node);
+                    target.setBatchTimeout(val);
+                    break;
+                }
                 case "cacheSize": {
                     String val = asText(node);
                     target.setCacheSize(val);
@@ -9358,6 +9475,46 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         }
     }
 
+    @YamlType(
+            nodes = {
+                    "least-in-flight-load-balancer",
+                    "leastInFlightLoadBalancer"
+            },
+            types = org.apache.camel.model.loadbalancer.LeastInFlightLoadBalancerDefinition.class,
+            order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
+            displayName = "Least In Flight Load Balancer",
+            description = "The destination endpoints are selected by picking two at random, and choosing the one with the fewest in-flight exchanges.",
+            deprecated = false,
+            properties = @YamlProperty(name = "id", type = "string", description = "The id of this node", displayName = "Id")
+    )
+    public static class LeastInFlightLoadBalancerDefinitionDeserializer extends YamlDeserializerBase<LeastInFlightLoadBalancerDefinition> {
+        public LeastInFlightLoadBalancerDefinitionDeserializer() {
+            super(LeastInFlightLoadBalancerDefinition.class);
+        }
+
+        @Override
+        protected LeastInFlightLoadBalancerDefinition newInstance() {
+            return new LeastInFlightLoadBalancerDefinition();
+        }
+
+        @Override
+        protected boolean setProperty(LeastInFlightLoadBalancerDefinition target, String propertyKey,
+                String propertyName, Node node) {
+            propertyKey = org.apache.camel.util.StringHelper.dashToCamelCase(propertyKey);
+            switch(propertyKey) {
+                case "id": {
+                    String val = asText(node);
+                    target.setId(val);
+                    break;
+                }
+                default: {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @YamlType(
             nodes = {
                     "load-balance",
@@ -9374,6 +9531,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "disabled", type = "boolean", description = "Whether to disable this EIP from the route during build time. Once an EIP has been disabled then it cannot be enabled later at runtime.", displayName = "Disabled"),
                     @YamlProperty(name = "failoverLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
+                    @YamlProperty(name = "leastInFlightLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.LeastInFlightLoadBalancerDefinition", oneOf = "loadBalancerType"),
+                    @YamlProperty(name = "peakEwmaLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "randomLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "roundRobinLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "steps", type = "array:org.apache.camel.model.ProcessorDefinition"),
@@ -9417,6 +9576,16 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setLoadBalancerType(val);
                     break;
                 }
+                case "leastInFlightLoadBalancer": {
+                    org.apache.camel.model.loadbalancer.LeastInFlightLoadBalancerDefinition val = asType(node, org.apache.camel.model.loadbalancer.LeastInFlightLoadBalancerDefinition.class);
+                    target.setLoadBalancerType(val);
+                    break;
+                }
+                case "peakEwmaLoadBalancer": {
+                    org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition val = asType(node, org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition.class);
+                    target.setLoadBalancerType(val);
+                    break;
+                }
                 case "randomLoadBalancer": {
                     org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition val = asType(node, org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition.class);
                     target.setLoadBalancerType(val);
@@ -10153,6 +10322,83 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         }
     }
 
+    @YamlType(
+            nodes = {
+                    "micro-batch",
+                    "microBatch"
+            },
+            types = org.apache.camel.model.MicroBatchDefinition.class,
+            order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
+            displayName = "Micro Batch",
+            description = "Groups messages into batches with a List body, which are completed by size, time or the accumulated size of the message bodies",
+            deprecated = false,
+            properties = {
+                    @YamlProperty(name = "description", type = "string", description = "Sets the description of this node", displayName = "Description"),
+                    @YamlProperty(name = "disabled", type = "boolean", description = "Whether to disable this EIP from the route during build time. Once an EIP has been disabled then it cannot be enabled later at runtime.", displayName = "Disabled"),
+                    @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
+                    @YamlProperty(name = "maxBytes", type = "number", description = "The accumulated size in bytes of the message bodies in a batch. The batch is completed when the bodies added reach this size. The size is known for bodies which are byte arrays, strings, byte buffers, files or stream caches, otherwise the Content-Length header is used if present.", displayName = "Max Bytes"),
+                    @YamlProperty(name = "size", type = "number", defaultValue = "100", description = "The number of messages in a batch. The batch is completed when this number of messages has been added.", displayName = "Size"),
+                    @YamlProperty(name = "steps", type = "array:org.apache.camel.model.ProcessorDefinition"),
+                    @YamlProperty(name = "timeout", type = "string", defaultValue = "1000", description = "The maximum time a batch is kept open, counted from when its first message was added. The batch is completed when the time has elapsed, even if it has not reached its size. Use 0 to only complete by size or bytes.", displayName = "Timeout")
+            }
+    )
+    public static class MicroBatchDefinitionDeserializer extends YamlDeserializerBase<MicroBatchDefinition> {
+        public MicroBatchDefinitionDeserializer() {
+            super(MicroBatchDefinition.class);
+        }
+
+        @Override
+        protected MicroBatchDefinition newInstance() {
+            return new MicroBatchDefinition();
+        }
+
+        @Override
+        protected boolean setProperty(MicroBatchDefinition target, String propertyKey,
+                String propertyName, Node node) {
+            propertyKey = org.apache.camel.util.StringHelper.dashToCamelCase(propertyKey);
+            switch(propertyKey) {
+                case "disabled": {
+                    String val = asText(node);
+                    target.setDisabled(val);
+                    break;
+                }
+                case "maxBytes": {
+                    String val = asText(node);
+                    target.setMaxBytes(val);
+                    break;
+                }
+                case "size": {
+                    String val = asText(node);
+                    target.setSize(val);
+                    break;
+                }
+                case "timeout": {
+                    String val = asText(node);
+                    target.setTimeout(val);
+                    break;
+                }
+                case "id": {
+                    String val = asText(node);
+                    target.setId(val);
+                    break;
+                }
+                case "description": {
+                    String val = asText(node);
+                    target.setDescription(val);
+                    break;
+                }
+                case "steps": {
+                    setSteps(target, node);
+                    break;
+                }
+                default: {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @YamlType(
             nodes = {
                     "mime-multipart",
@@ -11992,6 +12238,54 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         }
     }
 
+    @YamlType(
+            nodes = {
+                    "peak-ewma-load-balancer",
+                    "peakEwmaLoadBalancer"
+            },
+            types = org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition.class,
+            order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
+            displayName = "Peak EWMA Load Balancer",
+            description = "The destination endpoints are selected by picking two at random, and choosing the one with the lowest peak exponentially weighted moving average of the latency, multiplied by the in-flight exchanges.",
+            deprecated = false,
+            properties = {
+                    @YamlProperty(name = "decayTime", type = "string", defaultValue = "10000", description = "The time for the moving average of the latency to decay. A shorter time reacts faster to a destination which has become faster again, but is more sensitive to noise. The default value is 10 seconds.", displayName = "Decay Time"),
+                    @YamlProperty(name = "id", type = "string", description = "The id of this node", displayName = "Id")
+            }
+    )
+    public static class PeakEwmaLoadBalancerDefinitionDeserializer extends YamlDeserializerBase<PeakEwmaLoadBalancerDefinition> {
+        public PeakEwmaLoadBalancerDefinitionDeserializer() {
+            super(PeakEwmaLoadBalancerDefinition.class);
+        }
+
+        @Override
+        protected PeakEwmaLoadBalancerDefinition newInstance() {
+            return new PeakEwmaLoadBalancerDefinition();
+        }
+
+        @Override
+        protected boolean setProperty(PeakEwmaLoadBalancerDefinition target, String propertyKey,
+                String propertyName, Node node) {
+            propertyKey = org.apache.camel.util.StringHelper.dashToCamelCase(propertyKey);
+            switch(propertyKey) {
+                case "decayTime": {
+                    String val = asText(node);
+                    target.setDecayTime(val);
+                    break;
+                }
+                case "id": {
+                    String val = asText(node);
+                    target.setId(val);
+                    break;
+                }
+                default: {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @YamlType(
             nodes = "pipeline",
             types = org.apache.camel.model.PipelineDefinition.class,
@@ -17545,6 +17839,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "executorService", type = "string", description = "To use a custom Thread Pool to be used for parallel processing. Notice if you set this option, then parallel processing is automatically implied, and you do not have to enable that option as well.", displayName = "Executor Service"),
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition", description = "Expression of how to split the message body, such as as-is, using a tokenizer, or using a xpath.", displayName = "Expression", oneOf = "expression"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
+                    @YamlProperty(name = "maxInFlight", type = "number", description = "Sets the maximum number of split messages that can be in-flight at the same time, when using parallel processing in streaming mode. The splitter only splits the next message when a previous split message has completed and been aggregated. The replies are aggregated in the same order as the messages was split, by holding back replies that complete before the previous messages. This allows splitting big messages in parallel with bounded memory. By default there is no limit.", displayName = "Max In Flight"),
                     @YamlProperty(name = "onPrepare", type = "string", description = "Uses the Processor when preparing the org.apache.camel.Exchange to be sent. This can be used to deep-clone messages that should be sent, or any custom logic needed before the exchange is sent.", displayName = "On Prepare"),
                     @YamlProperty(name = "parallelAggregate", type = "boolean", deprecated = true, description = "If enabled then the aggregate method on AggregationStrategy can be called concurrently. Notice that this would require the implementation of AggregationStrategy to be implemented as thread-safe. By default this is false meaning that Camel synchronizes the call to the aggregate method. Though in some use-cases this can be used to archive higher performance when the AggregationStrategy is implemented as thread-safe.", displayName = "Parallel Aggregate"),
                     @YamlProperty(name = "parallelProcessing", type = "boolean", description = "If enabled then processing each split messages occurs concurrently. Note the caller thread will still wait until all messages has been fully processed, before it continues. It's only processing the sub messages from the splitter which happens concurrently. When parallel processing is enabled, then the Camel routing engin will continue processing using last used thread from the parallel thread pool. However, if you want to use the original thread that called the splitter, then make sure to enable the synchronous option as well. In parallel processing mode, you may want to also synchronous = true to force this EIP to process the sub-tasks using the upper bounds of the thread-pool. If using synchronous = false then Camel will allow its reactive routing engine to use as many threads as possible, which may be available due to sub-tasks using other thread-pools such as CompletableFuture.runAsync or others.", displayName = "Parallel Processing"),
@@ -17606,6 +17901,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setExpression(val);
                     break;
                 }
+                case "maxInFlight": {
+                    String val = asText(node);
+                    target.setMaxInFlight(val);
+                    break;
+                }
                 case "onPrepare": {
                     String val = asText(node);
                     target.setOnPrepare(val);
@@ -18641,7 +18941,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "executorService", type = "string", description = "To use a custom thread pool (ScheduledExecutorService) by the throttler.", displayName = "Executor Service"),
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition", description = "Expression to configure the maximum number of messages to throttle per request", displayName = "Expression", oneOf = "expression"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
-                    @YamlProperty(name = "mode", type = "enum:TotalRequests,ConcurrentRequests", defaultValue = "TotalRequests", description = "Sets the throttling mode to one of the available modes enumerated in ThrottlingMode", displayName = "Mode"),
+                    @YamlProperty(name = "mode", type = "enum:TotalRequests,ConcurrentRequests,TokenBucket", defaultValue = "TotalRequests", description = "Sets the throttling mode to one of the available modes enumerated in ThrottlingMode", displayName = "Mode"),
                     @YamlProperty(name = "rejectExecution", type = "boolean", description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit Is by default false", displayName = "Reject Execution"),
                     @YamlProperty(name = "timePeriodMillis", type = "string", defaultValue = "1000", description = "Sets the time period during which the maximum request count is valid for", displayName = "Time Period Millis")
             }
@@ -20933,6 +21233,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "copy", type = "boolean", description = "Uses a copy of the original exchange", displayName = "Copy"),
                     @YamlProperty(name = "description", type = "string", description = "Sets the description of this node", displayName = "Description"),
                     @YamlProperty(name = "disabled", type = "boolean", description = "Whether to disable this EIP from the route during build time. Once an EIP has been disabled then it cannot be enabled later at runtime.", displayName = "Disabled"),
+                    @YamlProperty(name = "drainBatchSize", type = "number", defaultValue = "1", description = "Drains up to this number of tapped exchanges from the queue at once, and sends them to the tap destination as a single message with a java.util.List of the message bodies (only in use when queue size is configured).", displayName = "Drain Batch Size"),
                     @YamlProperty(name = "dynamicUri", type = "boolean", description = "Whether the uri is dynamic or static. If the uri is dynamic then the simple language is used to evaluate a dynamic uri to use as the wire-tap destination, for each incoming message. This works similar to how the toD EIP pattern works. If static then the uri is used as-is as the wire-tap destination.", displayName = "Dynamic Uri"),
                     @YamlProperty(name = "executorService", type = "string", description = "Uses a custom thread pool", displayName = "Executor Service"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
@@ -20940,6 +21241,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "onPrepare", type = "string", description = "Uses the Processor when preparing the org.apache.camel.Exchange to be sent. This can be used to deep-clone messages that should be sent, or any custom logic needed before the exchange is sent.", displayName = "On Prepare"),
                     @YamlProperty(name = "parameters", type = "object"),
                     @YamlProperty(name = "pattern", type = "enum:InOnly,InOut", description = "Sets the optional ExchangePattern used to invoke this endpoint", displayName = "Pattern"),
+                    @YamlProperty(name = "queueOverflow", type = "enum:DropOldest,DropNewest,Block", defaultValue = "DropOldest", description = "What to do when the queue is full (only in use when queue size is configured). DropOldest drops the oldest tapped exchange in the queue to make room, DropNewest drops the new tapped exchange, and Block waits for room in the queue, which slows down the route to the speed of the tap destination.", displayName = "Queue Overflow"),
+                    @YamlProperty(name = "queueSize", type = "number", description = "Sends the tapped exchanges via a bounded queue with this capacity, which is drained by a single thread from the thread pool. This decouples the route from the speed of the tap destination, as the original exchange is never waiting for the thread pool; when the queue is full then the queue overflow policy is applied.", displayName = "Queue Size"),
                     @YamlProperty(name = "uri", type = "string", required = true, description = "The uri of the endpoint to send to. The uri can be dynamic computed using the org.apache.camel.language.simple.SimpleLanguage expression.", displayName = "Uri"),
                     @YamlProperty(name = "variableReceive", type = "string", description = "To use a variable as the source for the message body to send. This makes it handy to use variables for user data and to easily control what data to use for sending and receiving. Important: When using send variable then the message body is taken from this variable instead of the current Message , however the headers from the Message will still be used as well. In other words, the variable is used instead of the message body, but everything else is as usual.", displayName = "Variable Receive"),
                     @YamlProperty(name = "variableSend", type = "string", description = "To use a variable as the source for the message body to send. This makes it handy to use variables for user data and to easily control what data to use for sending and receiving. Important: When using send variable then the message body is taken from this variable instead of the current message, however the headers from the message will still be used as well. In other words, the variable is used instead of the message body, but everything else is as usual.", displayName = "Variable Send")
@@ -20991,6 +21294,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setDisabled(val);
                     break;
                 }
+                case "drainBatchSize": {
+                    String val = asText(node);
+                    target.setDrainBatchSize(val);
+                    break;
+                }
                 case "dynamicUri": {
                     String val = asText(node);
                     target.setDynamicUri(val);
@@ -21016,6 +21324,16 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setPattern(val);
                     break;
                 }
+                case "queueOverflow": {
+                    String val = asText(node);
+                    target.setQueueOverflow(val);
+                    break;
+                }
+                case "queueSize": {
+                    String val = asText(node);
+                    target.setQueueSize(val);
+                    break;
+                }
                 case "uri": {
                     String val = asText(node);
                     target.setUri(val);
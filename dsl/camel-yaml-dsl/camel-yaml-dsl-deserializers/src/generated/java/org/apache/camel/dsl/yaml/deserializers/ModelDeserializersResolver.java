@@ -78,6 +78,9 @@ public final class ModelDeserializersResolver implements YamlDeserializerResolve
             case "combinedServiceFilter": return new ModelDeserializers.CombinedServiceCallServiceFilterConfigurationDeserializer();
             case "org.apache.camel.model.cloud.CombinedServiceCallServiceFilterConfiguration": return new ModelDeserializers.CombinedServiceCallServiceFilterConfigurationDeserializer();
             case "org.apache.camel.model.app.ComponentScanDefinition": return new ModelDeserializers.ComponentScanDefinitionDeserializer();
+            case "concurrency-limit": return new ModelDeserializers.ConcurrencyLimitDefinitionDeserializer();
+            case "concurrencyLimit": return new ModelDeserializers.ConcurrencyLimitDefinitionDeserializer();
+            case "org.apache.camel.model.ConcurrencyLimitDefinition": return new ModelDeserializers.ConcurrencyLimitDefinitionDeserializer();
             case "constant": return new ModelDeserializers.ConstantExpressionDeserializer();
             case "org.apache.camel.model.language.ConstantExpression": return new ModelDeserializers.ConstantExpressionDeserializer();
             case "consul-service-discovery": return new ModelDeserializers.ConsulServiceCallServiceDiscoveryConfigurationDeserializer();
@@ -266,6 +269,9 @@ public final class ModelDeserializersResolver implements YamlDeserializerResolve
             case "org.apache.camel.model.tokenizer.LangChain4jWordTokenizerDefinition": return new ModelDeserializers.LangChain4jWordTokenizerDefinitionDeserializer();
             case "language": return new ModelDeserializers.LanguageExpressionDeserializer();
             case "org.apache.camel.model.language.LanguageExpression": return new ModelDeserializers.LanguageExpressionDeserializer();
+            case "least-in-flight-load-balancer": return new ModelDeserializers.LeastInFlightLoadBalancerDefinitionDeserializer();
+            case "leastInFlightLoadBalancer": return new ModelDeserializers.LeastInFlightLoadBalancerDefinitionDeserializer();
+            case "org.apache.camel.model.loadbalancer.LeastInFlightLoadBalancerDefinition": return new ModelDeserializers.LeastInFlightLoadBalancerDefinitionDeserializer();
             case "load-balance": return new ModelDeserializers.LoadBalanceDefinitionDeserializer();
             case "loadBalance": return new ModelDeserializers.LoadBalanceDefinitionDeserializer();
             case "org.apache.camel.model.LoadBalanceDefinition": return new ModelDeserializers.LoadBalanceDefinitionDeserializer();
@@ -280,6 +286,9 @@ public final class ModelDeserializersResolver implements YamlDeserializerResolve
             case "org.apache.camel.model.MarshalDefinition": return new ModelDeserializers.MarshalDefinitionDeserializer();
             case "method": return new ModelDeserializers.MethodCallExpressionDeserializer();
             case "org.apache.camel.model.language.MethodCallExpression": return new ModelDeserializers.MethodCallExpressionDeserializer();
+            case "micro-batch": return new ModelDeserializers.MicroBatchDefinitionDeserializer();
+            case "microBatch": return new ModelDeserializers.MicroBatchDefinitionDeserializer();
+            case "org.apache.camel.model.MicroBatchDefinition": return new ModelDeserializers.MicroBatchDefinitionDeserializer();
             case "mime-multipart": return new ModelDeserializers.MimeMultipartDataFormatDeserializer();
             case "mimeMultipart": return new ModelDeserializers.MimeMultipartDataFormatDeserializer();
             case "org.apache.camel.model.dataformat.MimeMultipartDataFormat": return new ModelDeserializers.MimeMultipartDataFormatDeserializer();
@@ -341,6 +350,9 @@ public final class ModelDeserializersResolver implements YamlDeserializerResolve
             case "org.apache.camel.model.rest.PatchDefinition": return new ModelDeserializers.PatchDefinitionDeserializer();
             case "pausable": return new ModelDeserializers.PausableDefinitionDeserializer();
             case "org.apache.camel.model.PausableDefinition": return new ModelDeserializers.PausableDefinitionDeserializer();
+            case "peak-ewma-load-balancer": return new ModelDeserializers.PeakEwmaLoadBalancerDefinitionDeserializer();
+            case "peakEwmaLoadBalancer": return new ModelDeserializers.PeakEwmaLoadBalancerDefinitionDeserializer();
+            case "org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition": return new ModelDeserializers.PeakEwmaLoadBalancerDefinitionDeserializer();
             case "pipeline": return new ModelDeserializers.PipelineDefinitionDeserializer();
             case "org.apache.camel.model.PipelineDefinition": return new ModelDeserializers.PipelineDefinitionDeserializer();
             case "policy": return new ModelDeserializers.PolicyDefinitionDeserializer();
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Common settings for launching the JMH benchmarks from a JUnit test.
+ * <p/>
+ * All benchmarks measure throughput and use the GC profiler so the allocation rate per operation
+ * ({@code gc.alloc.rate.norm}) is reported side by side with the number of operations per second. The results are
+ * stored as JSON in the <tt>target</tt> directory so they can be compared with the baseline results.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Runs all the benchmarks in the given class.
+     */
+    public static void launch(Class<?> benchmark) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(benchmark.getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(3)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .jvmArgsAppend("-Xms1g", "-Xmx1g")
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result-" + benchmark.getSimpleName() + ".json")
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
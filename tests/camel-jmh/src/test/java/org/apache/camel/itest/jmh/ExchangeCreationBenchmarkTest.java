@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultMessage;
+import org.apache.camel.support.ExchangeHelper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the creation and copying of {@link DefaultExchange} and {@link DefaultMessage}.
+ */
+public class ExchangeCreationBenchmarkTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.launch(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            camel.disableJMX();
+            camel.start();
+
+            exchange = new DefaultExchange(camel);
+            exchange.getMessage().setBody("Hello World");
+            for (int i = 0; i < 30; i++) {
+                exchange.getMessage().setHeader("header" + i, "value" + i);
+            }
+            exchange.setProperty("foo", "bar");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void newExchange(BenchmarkState state, Blackhole bh) {
+        Exchange exchange = new DefaultExchange(state.camel);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", "bar");
+        bh.consume(exchange);
+    }
+
+    @Benchmark
+    public void newMessage(BenchmarkState state, Blackhole bh) {
+        DefaultMessage message = new DefaultMessage(state.camel);
+        message.setBody("Hello World");
+        message.setHeader("foo", "bar");
+        bh.consume(message);
+    }
+
+    @Benchmark
+    public void exchangeFactory(BenchmarkState state, Blackhole bh) {
+        Exchange exchange = state.camel.getCamelContextExtension().getExchangeFactory().create(false);
+        exchange.getIn().setBody("Hello World");
+        bh.consume(exchange);
+        state.camel.getCamelContextExtension().getExchangeFactory().release(exchange);
+    }
+
+    @Benchmark
+    public void copyExchange(BenchmarkState state, Blackhole bh) {
+        bh.consume(ExchangeHelper.createCopy(state.exchange, true));
+    }
+
+}
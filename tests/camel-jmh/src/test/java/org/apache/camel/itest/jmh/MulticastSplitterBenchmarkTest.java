@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the fan-out of the {@link org.apache.camel.processor.MulticastProcessor} and
+ * {@link org.apache.camel.processor.Splitter}, where each branch gets a copy of a message with 50 headers.
+ */
+public class MulticastSplitterBenchmarkTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.launch(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        ProducerTemplate producer;
+        List<String> lines = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            for (int i = 0; i < 10; i++) {
+                lines.add("Line " + i);
+            }
+
+            camel = new DefaultCamelContext();
+            camel.disableJMX();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("direct:multicast")
+                            .process(e -> {
+                                for (int i = 0; i < 50; i++) {
+                                    e.getMessage().setHeader("header" + i, i);
+                                }
+                            })
+                            .multicast()
+                            .to("direct:a", "direct:b", "direct:c", "direct:d", "direct:e", "direct:f", "direct:g",
+                                    "direct:h", "direct:i", "direct:j");
+
+                    from("direct:split")
+                            .process(e -> {
+                                for (int i = 0; i < 50; i++) {
+                                    e.getMessage().setHeader("header" + i, i);
+                                }
+                            })
+                            .split(body())
+                            .to("direct:a")
+                            .end();
+
+                    from("direct:splitStreaming")
+                            .split(body()).streaming()
+                                .to("direct:a")
+                            .end();
+
+                    for (char c = 'a'; c <= 'j'; c++) {
+                        from("direct:" + c).setHeader("branch", constant(c));
+                    }
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void multicast(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:multicast", "Hello World"));
+    }
+
+    @Benchmark
+    public void split(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:split", state.lines));
+    }
+
+    @Benchmark
+    public void splitStreaming(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody("direct:splitStreaming", state.lines));
+    }
+
+}
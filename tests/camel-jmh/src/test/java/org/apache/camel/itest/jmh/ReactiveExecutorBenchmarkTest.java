@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the scheduling of tasks with the {@link org.apache.camel.impl.engine.DefaultReactiveExecutor}.
+ */
+public class ReactiveExecutorBenchmarkTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.launch(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        ReactiveExecutor executor;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            camel.disableJMX();
+            camel.start();
+            executor = camel.getCamelContextExtension().getReactiveExecutor();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void scheduleMain(BenchmarkState state, Blackhole bh) {
+        state.executor.scheduleMain(() -> bh.consume(1));
+    }
+
+    @Benchmark
+    public void scheduleChain(BenchmarkState state, Blackhole bh) {
+        // simulates a pipeline of 5 steps where each step schedules the next step
+        state.executor.scheduleMain(new Step(state.executor, bh, 5));
+    }
+
+    private static final class Step implements Runnable {
+
+        private final ReactiveExecutor executor;
+        private final Blackhole bh;
+        private final int remaining;
+
+        Step(ReactiveExecutor executor, Blackhole bh, int remaining) {
+            this.executor = executor;
+            this.bh = bh;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public void run() {
+            bh.consume(remaining);
+            if (remaining > 0) {
+                executor.schedule(new Step(executor, bh, remaining - 1));
+            }
+        }
+    }
+
+}
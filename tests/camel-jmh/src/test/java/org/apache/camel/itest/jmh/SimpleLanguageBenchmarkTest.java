@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.Language;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the evaluation of pre-parsed expressions and predicates with the
+ * {@link org.apache.camel.language.simple.SimpleLanguage}.
+ */
+public class SimpleLanguageBenchmarkTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.launch(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        Exchange exchange;
+        Expression bodyExpression;
+        Expression templateExpression;
+        Predicate headerPredicate;
+        Predicate compoundPredicate;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            camel.disableJMX();
+            camel.start();
+
+            exchange = new DefaultExchange(camel);
+            exchange.getMessage().setBody("Hello World");
+            exchange.getMessage().setHeader("foo", "bar");
+            exchange.getMessage().setHeader("level", 5);
+
+            Language simple = camel.resolveLanguage("simple");
+            bodyExpression = simple.createExpression("${body}");
+            templateExpression = simple.createExpression("Got ${body} with ${header.foo} at level ${header.level}");
+            headerPredicate = simple.createPredicate("${header.foo} == 'bar'");
+            compoundPredicate = simple.createPredicate("${header.level} > 3 && ${body} contains 'World'");
+            bodyExpression.init(camel);
+            templateExpression.init(camel);
+            headerPredicate.init(camel);
+            compoundPredicate.init(camel);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void bodyExpression(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.bodyExpression.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void templateExpression(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.templateExpression.evaluate(state.exchange, String.class));
+    }
+
+    @Benchmark
+    public void headerPredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.headerPredicate.matches(state.exchange));
+    }
+
+    @Benchmark
+    public void compoundPredicate(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.compoundPredicate.matches(state.exchange));
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tests the lookup and conversion in the {@link org.apache.camel.impl.converter.BaseTypeConverterRegistry} for direct
+ * hits, conversions that requires walking the type hierarchy and misses.
+ */
+public class TypeConverterBenchmarkTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        BenchmarkSupport.launch(getClass());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        CamelContext camel;
+        TypeConverter converter;
+        byte[] bytes = "Hello World".getBytes(StandardCharsets.UTF_8);
+        List<String> list = List.of("a", "b", "c");
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            camel.disableJMX();
+            camel.start();
+            converter = camel.getTypeConverter();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            camel.stop();
+        }
+    }
+
+    @Benchmark
+    public void sameType(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, "Hello World"));
+    }
+
+    @Benchmark
+    public void stringToInteger(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(Integer.class, "12345"));
+    }
+
+    @Benchmark
+    public void bytesToString(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(String.class, state.bytes));
+    }
+
+    @Benchmark
+    public void bytesToInputStream(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.convertTo(InputStream.class, state.bytes));
+    }
+
+    @Benchmark
+    public void hierarchyLookup(BenchmarkState state, Blackhole bh) {
+        // List.of returns an internal implementation class so the converter must be found by walking the hierarchy
+        bh.consume(state.converter.convertTo(String.class, state.list));
+    }
+
+    @Benchmark
+    public void miss(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.converter.tryConvertTo(TypeConverterBenchmarkTest.class, "Hello World"));
+    }
+
+}